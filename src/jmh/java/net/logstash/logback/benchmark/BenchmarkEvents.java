@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.benchmark;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.logstash.logback.marker.Markers;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.slf4j.event.KeyValuePair;
+
+/**
+ * Builds the logging events used by the benchmarks.
+ */
+final class BenchmarkEvents {
+
+    private BenchmarkEvents() {
+        // utility class
+    }
+
+    /**
+     * A typical event: a short message with a couple of arguments, a few MDC entries and no exception.
+     *
+     * @param context the context the logger belongs to
+     * @return a new event
+     */
+    static LoggingEvent typical(LoggerContext context) {
+        Logger logger = context.getLogger("org.company.service.OrderService");
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.INFO,
+                "Order {} processed in {} ms", null, new Object[] {kv("orderId", "ord-42"), 123});
+        event.setThreadName("http-nio-8080-exec-1");
+        event.setMDCPropertyMap(mdc(4));
+        return event;
+    }
+
+    /**
+     * A heavy event: a longer message, structured arguments, a large MDC,
+     * key value pairs, markers, caller data and a nested exception.
+     *
+     * @param context the context the logger belongs to
+     * @return a new event
+     */
+    static LoggingEvent heavy(LoggerContext context) {
+        Logger logger = context.getLogger("org.company.service.OrderService");
+        Exception exception = new IllegalStateException("Unable to process order",
+                new IllegalArgumentException("Invalid quantity \"-1\" for item\titem-7"));
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.ERROR,
+                "Failed to process order {} for customer {} after {} attempts: {}", exception,
+                new Object[] {kv("orderId", "ord-42"), kv("customer", Map.of("id", 7, "name", "Jane Doe")), 3, "timeout"});
+        event.setThreadName("http-nio-8080-exec-1");
+        event.setMDCPropertyMap(mdc(20));
+        event.addKeyValuePair(new KeyValuePair("tenant", "acme"));
+        event.addKeyValuePair(new KeyValuePair("durationMs", 1234L));
+        event.addMarker(Markers.append("region", "eu-west-1").and(Markers.append("retryable", true)));
+        event.setCallerData(exception.getStackTrace());
+        return event;
+    }
+
+    private static Map<String, String> mdc(int size) {
+        Map<String, String> mdc = new HashMap<>();
+        mdc.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        mdc.put("spanId", "00f067aa0ba902b7");
+        for (int i = mdc.size(); i < size; i++) {
+            mdc.put("key" + i, "value of MDC entry " + i);
+        }
+        return mdc;
+    }
+}
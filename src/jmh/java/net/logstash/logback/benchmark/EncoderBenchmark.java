@@ -0,0 +1,162 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.logstash.logback.composite.loggingevent.ArgumentsJsonProvider;
+import net.logstash.logback.composite.loggingevent.LogLevelJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
+import net.logstash.logback.composite.loggingevent.LoggingEventThreadNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.MdcJsonProvider;
+import net.logstash.logback.composite.loggingevent.MessageJsonProvider;
+import net.logstash.logback.composite.loggingevent.StackTraceJsonProvider;
+import net.logstash.logback.encoder.CompositeJsonEncoder;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes a whole event with the {@link LogstashEncoder} and the {@link LoggingEventCompositeJsonEncoder}.
+ *
+ * <p>The {@code typical} configuration uses the default settings and a simple event, while the
+ * {@code heavy} configuration includes caller data, custom fields, a shortened stack trace and
+ * encodes an event with a large MDC, structured arguments and a nested exception.
+ * Each configuration is measured with and without the {@link CompositeJsonEncoder#setFastJsonWriter(boolean) fast JSON writer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncoderBenchmark {
+
+    @Param({"logstash", "composite"})
+    private String encoderType;
+
+    @Param({"typical", "heavy"})
+    private String config;
+
+    @Param({"false", "true"})
+    private boolean fastJsonWriter;
+
+    private LoggerContext context;
+
+    private static final int BATCH_SIZE = 100;
+
+    private CompositeJsonEncoder<ILoggingEvent> encoder;
+
+    private ILoggingEvent event;
+
+    private List<ILoggingEvent> batch;
+
+    private final OutputStream outputStream = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() {
+        context = new LoggerContext();
+        boolean heavy = "heavy".equals(config);
+        encoder = "logstash".equals(encoderType) ? logstashEncoder(heavy) : compositeEncoder(heavy);
+        encoder.setContext(context);
+        encoder.setFastJsonWriter(fastJsonWriter);
+        encoder.start();
+        event = heavy ? BenchmarkEvents.heavy(context) : BenchmarkEvents.typical(context);
+        batch = Collections.nCopies(BATCH_SIZE, event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.stop();
+        context.stop();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encode(event);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void encodeLoop() throws IOException {
+        for (ILoggingEvent e : batch) {
+            encoder.encode(e, outputStream);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void encodeBatch() throws IOException {
+        encoder.encodeBatch(batch, outputStream);
+    }
+
+    private static LogstashEncoder logstashEncoder(boolean heavy) {
+        LogstashEncoder encoder = new LogstashEncoder();
+        if (heavy) {
+            encoder.setIncludeCallerData(true);
+            encoder.setCustomFields("{\"application\":\"orders\",\"environment\":\"production\"}");
+            ShortenedThrowableConverter throwableConverter = new ShortenedThrowableConverter();
+            throwableConverter.setMaxDepthPerThrowable(20);
+            throwableConverter.setShortenedClassNameLength(20);
+            throwableConverter.setRootCauseFirst(true);
+            encoder.setThrowableConverter(throwableConverter);
+        }
+        return encoder;
+    }
+
+    private static LoggingEventCompositeJsonEncoder compositeEncoder(boolean heavy) {
+        LoggingEventCompositeJsonEncoder encoder = new LoggingEventCompositeJsonEncoder();
+        LoggingEventJsonProviders providers = new LoggingEventJsonProviders();
+        providers.addTimestamp(new LoggingEventFormattedTimestampJsonProvider());
+        providers.addLogLevel(new LogLevelJsonProvider());
+        providers.addLoggerName(new LoggerNameJsonProvider());
+        providers.addThreadName(new LoggingEventThreadNameJsonProvider());
+        providers.addMessage(new MessageJsonProvider());
+        providers.addMdc(new MdcJsonProvider());
+        providers.addArguments(new ArgumentsJsonProvider());
+        if (heavy) {
+            StackTraceJsonProvider stackTrace = new StackTraceJsonProvider();
+            ShortenedThrowableConverter throwableConverter = new ShortenedThrowableConverter();
+            throwableConverter.setMaxDepthPerThrowable(20);
+            stackTrace.setThrowableConverter(throwableConverter);
+            providers.addStackTrace(stackTrace);
+        }
+        encoder.setProviders(providers);
+        return encoder;
+    }
+}
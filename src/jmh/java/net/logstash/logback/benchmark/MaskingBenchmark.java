@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.mask.MaskingJsonGeneratorDecorator;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes a heavy event with a {@link LogstashEncoder} decorated by a {@link MaskingJsonGeneratorDecorator}
+ * configured with an increasing number of path and value masking rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaskingBenchmark {
+
+    /**
+     * Number of path rules and of value rules.
+     */
+    @Param({"0", "10", "100"})
+    private int rules;
+
+    private LoggerContext context;
+
+    private LogstashEncoder encoder;
+
+    private ILoggingEvent event;
+
+    @Setup
+    public void setup() {
+        context = new LoggerContext();
+        encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        if (rules > 0) {
+            MaskingJsonGeneratorDecorator decorator = new MaskingJsonGeneratorDecorator();
+            decorator.addPath("customer/name");
+            decorator.addValue("ord-\\d+");
+            for (int i = 1; i < rules; i++) {
+                decorator.addPath("secret" + i);
+                decorator.addValue("(?i)token" + i + "=[a-z0-9]+");
+            }
+            decorator.start();
+            encoder.addDecorator(decorator);
+        }
+        encoder.start();
+        event = BenchmarkEvents.heavy(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.stop();
+        context.stop();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encode(event);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import net.logstash.logback.composite.loggingevent.LoggingEventCompositeJsonFormatter;
+import net.logstash.logback.composite.loggingevent.LoggingEventPatternJsonProvider;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes an event with the {@link LoggingEventPatternJsonProvider}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternJsonProviderBenchmark {
+
+    private static final String SIMPLE_PATTERN = "{"
+            + "\"level\": \"%level\","
+            + "\"logger\": \"%logger\","
+            + "\"message\": \"%message\""
+            + "}";
+
+    private static final String COMPLEX_PATTERN = "{"
+            + "\"timestamp\": \"%date{ISO8601}\","
+            + "\"level\": \"%level\","
+            + "\"logger\": \"%logger{20}\","
+            + "\"thread\": \"%thread\","
+            + "\"message\": \"%message\","
+            + "\"trace\": {\"traceId\": \"%mdc{traceId}\", \"spanId\": \"%mdc{spanId}\"},"
+            + "\"attempt\": \"#asLong{%mdc{key3}}\","
+            + "\"details\": \"#asJson{{\\\"tenant\\\":\\\"%kvp{tenant}\\\"}}\","
+            + "\"omitted\": \"%mdc{missing}\""
+            + "}";
+
+    @Param({"simple", "complex"})
+    private String pattern;
+
+    private LoggerContext context;
+
+    private LoggingEventCompositeJsonFormatter formatter;
+
+    private ILoggingEvent event;
+
+    private final OutputStream outputStream = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() {
+        context = new LoggerContext();
+        LoggingEventPatternJsonProvider provider = new LoggingEventPatternJsonProvider();
+        provider.setPattern("simple".equals(pattern) ? SIMPLE_PATTERN : COMPLEX_PATTERN);
+        provider.setOmitEmptyFields(true);
+
+        ContextAwareBase origin = new ContextAwareBase();
+        origin.setContext(context);
+        formatter = new LoggingEventCompositeJsonFormatter(origin);
+        formatter.setContext(context);
+        formatter.getProviders().addProvider(provider);
+        formatter.start();
+        event = BenchmarkEvents.heavy(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        formatter.stop();
+        context.stop();
+    }
+
+    @Benchmark
+    public void writeEvent() throws IOException {
+        formatter.writeEvent(event, outputStream);
+    }
+}
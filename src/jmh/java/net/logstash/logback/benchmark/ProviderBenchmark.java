@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import net.logstash.logback.composite.JsonProvider;
+import net.logstash.logback.composite.loggingevent.ArgumentsJsonProvider;
+import net.logstash.logback.composite.loggingevent.CallerDataJsonProvider;
+import net.logstash.logback.composite.loggingevent.KeyValuePairsJsonProvider;
+import net.logstash.logback.composite.loggingevent.LogLevelJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventCompositeJsonFormatter;
+import net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventThreadNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.LogstashMarkersJsonProvider;
+import net.logstash.logback.composite.loggingevent.MdcJsonProvider;
+import net.logstash.logback.composite.loggingevent.MessageJsonProvider;
+import net.logstash.logback.composite.loggingevent.StackHashJsonProvider;
+import net.logstash.logback.composite.loggingevent.StackTraceJsonProvider;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes a heavy event with a formatter configured with a single provider,
+ * to compare the cost of the individual providers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderBenchmark {
+
+    @Param({
+        "timestamp",
+        "message",
+        "loggerName",
+        "threadName",
+        "logLevel",
+        "mdc",
+        "keyValuePairs",
+        "arguments",
+        "logstashMarkers",
+        "callerData",
+        "stackTrace",
+        "stackHash"
+    })
+    private String provider;
+
+    private LoggerContext context;
+
+    private LoggingEventCompositeJsonFormatter formatter;
+
+    private ILoggingEvent event;
+
+    private final OutputStream outputStream = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() {
+        context = new LoggerContext();
+        ContextAwareBase origin = new ContextAwareBase();
+        origin.setContext(context);
+        formatter = new LoggingEventCompositeJsonFormatter(origin);
+        formatter.setContext(context);
+        formatter.getProviders().addProvider(createProvider(provider));
+        formatter.start();
+        event = BenchmarkEvents.heavy(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        formatter.stop();
+        context.stop();
+    }
+
+    @Benchmark
+    public void writeEvent() throws IOException {
+        formatter.writeEvent(event, outputStream);
+    }
+
+    private static JsonProvider<ILoggingEvent> createProvider(String name) {
+        switch (name) {
+            case "timestamp":
+                return new LoggingEventFormattedTimestampJsonProvider();
+            case "message":
+                return new MessageJsonProvider();
+            case "loggerName":
+                return new LoggerNameJsonProvider();
+            case "threadName":
+                return new LoggingEventThreadNameJsonProvider();
+            case "logLevel":
+                return new LogLevelJsonProvider();
+            case "mdc":
+                return new MdcJsonProvider();
+            case "keyValuePairs":
+                return new KeyValuePairsJsonProvider();
+            case "arguments":
+                return new ArgumentsJsonProvider();
+            case "logstashMarkers":
+                return new LogstashMarkersJsonProvider();
+            case "callerData":
+                return new CallerDataJsonProvider();
+            case "stackTrace":
+                return new StackTraceJsonProvider();
+            case "stackHash":
+                return new StackHashJsonProvider();
+            default:
+                throw new IllegalArgumentException("Unknown provider: " + name);
+        }
+    }
+}
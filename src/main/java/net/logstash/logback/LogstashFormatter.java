@@ -404,6 +404,14 @@ public class LogstashFormatter extends LoggingEventCompositeJsonFormatter {
         this.stackTraceProvider.setWriteAsArray(writeStackTraceAsArray);
     }
 
+    public boolean isWriteStructuredStackTrace() {
+        return this.stackTraceProvider.isStructured();
+    }
+
+    public void setWriteStructuredStackTrace(boolean writeStructuredStackTrace) {
+        this.stackTraceProvider.setStructured(writeStructuredStackTrace);
+    }
+
     public String getVersion() {
         return this.versionProvider.getVersion();
     }
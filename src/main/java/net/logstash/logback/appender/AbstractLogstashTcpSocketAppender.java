@@ -29,6 +29,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Formatter;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -363,6 +364,19 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
          * Set when {@link #onStart()} but stays uninitialized if encoder is a "raw" {@link Encoder}.
          */
         private ReusableByteBuffer buffer;
+
+        /**
+         * Events of the current batch of the ring buffer, encoded together with
+         * {@link StreamingEncoder#encodeBatch(List, OutputStream)} once the last one is available.
+         * Set when {@link #onStart()} but stays uninitialized if encoder is a "raw" {@link Encoder}.
+         */
+        private List<Event> batch;
+
+        /**
+         * Whether the events can only be encoded as a batch, even a batch of a single event
+         * (see {@link StreamingEncoder#isBatchOnly()}).
+         */
+        private boolean batchOnly;
         
         /**
          * When run, if the {@link AbstractLogstashTcpSocketAppender#keepAliveDuration}
@@ -521,7 +535,30 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
         
         @Override
         public void onEvent(LogEvent<Event> logEvent, long sequence, boolean endOfBatch) throws Exception {
+            if (batch == null) {
+                sendEvent(logEvent, endOfBatch);
+                return;
+            }
+
+            /*
+             * The events already available in the ring buffer are encoded together
+             * when the last one is handled.
+             * A null event (keep alive) is not part of the batch, but still ends it.
+             */
+            if (logEvent.event != null) {
+                batch.add(logEvent.event);
+            }
+            if (!endOfBatch) {
+                return;
+            }
+            try {
+                sendEvent(logEvent, endOfBatch);
+            } finally {
+                batch.clear();
+            }
+        }
 
+        private void sendEvent(LogEvent<Event> logEvent, boolean endOfBatch) throws Exception {
             while (true) {
                 /*
                  * Save local references to the outputStream and socket
@@ -536,7 +573,7 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
                      *
                      * This will occur if shutdown occurred during reopen()
                      */
-                    fireEventSendFailure(logEvent.event, SHUTDOWN_IN_PROGRESS_EXCEPTION);
+                    fireSendFailure(logEvent, SHUTDOWN_IN_PROGRESS_EXCEPTION);
                     break;
                 }
 
@@ -585,8 +622,12 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
                     /*
                      * Encoding threw an exception. Warn and drop event before it becomes a "poison".
                      */
-                    addWarn(peerId + "Encoder failed to encode event. Dropping event.", e.getCause());
-                    fireEventSendFailure(logEvent.event, e.getCause());
+                    if (batch != null && batch.size() > 1) {
+                        addWarn(peerId + "Encoder failed to encode a batch of " + batch.size() + " events. Dropping events.", e.getCause());
+                    } else {
+                        addWarn(peerId + "Encoder failed to encode event. Dropping event.", e.getCause());
+                    }
+                    fireSendFailure(logEvent, e.getCause());
                     break;
                     
                 } catch (Exception e) {
@@ -609,7 +650,13 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
              * A null event indicates that this is a keep alive message,
              * or an event sent from the ReaderCallable.
              */
-            if (logEvent.event != null) {
+            if (batch != null && !batch.isEmpty()) {
+                /*
+                 * Standard (non-keepAlive) events are available.
+                 * Therefore, we need to send them.
+                 */
+                encodeBatch(outputStream);
+            } else if (batch == null && logEvent.event != null) {
                 /*
                  * This is a standard (non-keepAlive) event.
                  * Therefore, we need to send the event.
@@ -628,7 +675,11 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
             long endNanoTime = System.nanoTime();
             lastSendEndNanoTime = endNanoTime;
 
-            if (logEvent.event != null) {
+            if (batch != null) {
+                for (Event event : batch) {
+                    fireEventSent(socket, event, endNanoTime - startNanoTime);
+                }
+            } else if (logEvent.event != null) {
                 fireEventSent(socket, logEvent.event, endNanoTime - startNanoTime);
             }
 
@@ -674,6 +725,71 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
         }
         
         
+        /**
+         * Encode the events of the {@link #batch} together.
+         *
+         * <p>If the batch fails to be encoded, its events are encoded again one at a time
+         * so that only the events failing to be encoded are dropped, unless the encoder
+         * can only encode batches: the whole batch is dropped then.
+         */
+        @SuppressWarnings("unchecked")
+        private void encodeBatch(OutputStream outputStream) throws IOException, EncoderException {
+            if (batch.size() == 1 && !batchOnly) {
+                encode(batch.get(0), outputStream);
+                return;
+            }
+            /*
+             * Use a temporary buffer to avoid writing "partial" content in the output
+             * stream if the Encoder throws an exception.
+             */
+            try {
+                try {
+                    ((StreamingEncoder<Event>) encoder).encodeBatch(batch, buffer);
+                } catch (Exception e) {
+                    if (batchOnly) {
+                        throw new EncoderException(e);
+                    }
+                    buffer.reset();
+                    encodeBatchEventsSeparately();
+                }
+                buffer.writeTo(outputStream);
+            } finally {
+                buffer.reset();
+            }
+        }
+
+        /**
+         * Encode the events of the {@link #batch} one at a time in the {@link #buffer},
+         * removing from the batch the events failing to be encoded.
+         */
+        private void encodeBatchEventsSeparately() throws IOException {
+            for (Iterator<Event> iterator = batch.iterator(); iterator.hasNext();) {
+                Event event = iterator.next();
+                byte[] data;
+                try {
+                    data = encoder.encode(event);
+                } catch (Exception e) {
+                    addWarn(peerId + "Encoder failed to encode event. Dropping event.", e);
+                    fireEventSendFailure(event, e);
+                    iterator.remove();
+                    continue;
+                }
+                if (data != null) {
+                    buffer.write(data);
+                }
+            }
+        }
+
+        private void fireSendFailure(LogEvent<Event> logEvent, Throwable reason) {
+            if (batch == null) {
+                fireEventSendFailure(logEvent.event, reason);
+            } else {
+                for (Event event : batch) {
+                    fireEventSendFailure(event, reason);
+                }
+            }
+        }
+        
         private boolean hasKeepAliveDurationElapsed(long lastSentNanoTime, long currentNanoTime) {
             return isKeepAliveEnabled()
                     && lastSentNanoTime + TimeUnit.MILLISECONDS.toNanos(keepAliveDuration.getMilliseconds()) < currentNanoTime;
@@ -688,6 +804,10 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
             } else if (encoder instanceof StreamingEncoder) {
                 this.buffer = new ReusableByteBuffer();
             }
+            if (encoder instanceof StreamingEncoder) {
+                this.batch = new ArrayList<>();
+                this.batchOnly = ((StreamingEncoder<Event>) encoder).isBatchOnly();
+            }
             
             openSocket();
             scheduleKeepAlive(System.nanoTime());
@@ -714,6 +834,7 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
          * <p>If the socket is non-null when this method returns,
          * then it should be able to be used to send.</p>
          */
+        @SuppressWarnings("unchecked")
         private synchronized void openSocket() {
             int errorCount = 0;
             int destinationIndex = connectedDestinationIndex;
@@ -784,6 +905,14 @@ public abstract class AbstractLogstashTcpSocketAppender<Event extends DeferredPr
                     this.socket = tempSocket;
                     this.outputStream = tempOutputStream;
 
+                    /*
+                     * The destination has to be able to decode the events without the ones
+                     * sent in a previous connection.
+                     */
+                    if (encoder instanceof StreamingEncoder) {
+                        ((StreamingEncoder<Event>) encoder).resetSession();
+                    }
+
                     boolean shouldUpdateThreadName = (destinationIndex != connectedDestinationIndex);
                     connectedDestinationIndex = destinationIndex;
                     connectedDestination = currentDestination;
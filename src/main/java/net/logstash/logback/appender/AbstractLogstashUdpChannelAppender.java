@@ -0,0 +1,776 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.appender;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import net.logstash.logback.appender.listener.UdpAppenderListener;
+import net.logstash.logback.encoder.CompositeJsonEncoder;
+import net.logstash.logback.encoder.StreamingEncoder;
+import net.logstash.logback.util.CompressingOutputStream;
+import net.logstash.logback.util.ReusableByteBuffer;
+
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.net.SyslogConstants;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import ch.qos.logback.core.util.CloseUtil;
+import ch.qos.logback.core.util.Duration;
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * An {@link AsyncDisruptorAppender} appender that sends events over UDP
+ * using a connected {@link DatagramChannel}.
+ * <p>
+ *
+ * Unlike {@link AbstractLogstashUdpSocketAppender}, this appender uses an {@link Encoder}
+ * instead of a {@link ch.qos.logback.core.Layout}. When the encoder is a {@link StreamingEncoder},
+ * events are encoded directly into a reusable direct {@link ByteBuffer} which is then handed
+ * to the channel without any intermediate {@link String} or {@code byte[]}.
+ * <p>
+ *
+ * Encoding and sending happen in the handler thread of the {@link AsyncDisruptorAppender},
+ * so that threads logging events never block on the socket.
+ * <p>
+ *
+ * By default, each event is sent in a single datagram and events whose encoded size exceeds
+ * {@link #setMaxDatagramSize(int) maxDatagramSize} are dropped. When {@link #setChunking(boolean) chunking}
+ * is enabled, such events are split into multiple datagrams using the GELF chunking format instead.
+ * Events can also be {@link #setCompression(DatagramCompression) compressed} before they are sent,
+ * or {@link #setBatching(boolean) batched} so that multiple small events travel in the same datagram.
+ */
+public abstract class AbstractLogstashUdpChannelAppender<Event extends DeferredProcessingAware, Listener extends UdpAppenderListener<Event>>
+        extends AsyncDisruptorAppender<Event, Listener> {
+
+    /**
+     * The default port number of the remote server (514).
+     */
+    public static final int DEFAULT_PORT = SyslogConstants.SYSLOG_PORT;
+
+    /**
+     * The default maximum size of a datagram payload in bytes (65507),
+     * which is the largest payload allowed by UDP over IPv4.
+     */
+    public static final int DEFAULT_MAX_DATAGRAM_SIZE = 65507;
+
+    /**
+     * Maximum number of chunks an event can be split into.
+     */
+    public static final int MAX_CHUNKS = 128;
+
+    /**
+     * Max number of consecutive send failures for which
+     * logback status messages will be logged.
+     *
+     * <p>After this many failures, sending will still be attempted
+     * but failures will not be logged again (until after a send is
+     * successful, and then fails again.)</p>
+     */
+    private static final int MAX_REPEAT_SEND_ERROR_LOG = 5;
+
+    /**
+     * Magic bytes starting each chunk when an event is split into multiple datagrams.
+     */
+    private static final byte[] CHUNK_MAGIC_BYTES = new byte[] {0x1e, 0x0f};
+
+    /**
+     * Size of the header prepended to each chunk (magic bytes, message id, sequence number and sequence count).
+     */
+    private static final int CHUNK_HEADER_SIZE = 12;
+
+    /**
+     * The host name of the remote server.
+     */
+    private String host;
+
+    /**
+     * The port of the remote server.
+     * Default is {@value #DEFAULT_PORT}.
+     */
+    private int port = DEFAULT_PORT;
+
+    /**
+     * The encoder which is ultimately responsible for writing the event
+     * into the datagram.
+     */
+    private Encoder<Event> encoder;
+
+    /**
+     * The maximum size (in bytes) of a datagram payload.
+     * Default is {@value #DEFAULT_MAX_DATAGRAM_SIZE}.
+     */
+    private int maxDatagramSize = DEFAULT_MAX_DATAGRAM_SIZE;
+
+    /**
+     * When {@code true}, events larger than {@link #maxDatagramSize} are split
+     * into multiple datagrams using the GELF chunking format.
+     * When {@code false} (the default), such events are dropped.
+     */
+    private boolean chunking;
+
+    /**
+     * Compression applied to the encoded events before they are sent.
+     * Default is {@link DatagramCompression#NONE}.
+     */
+    private DatagramCompression compression = DatagramCompression.NONE;
+
+    /**
+     * When {@code true}, multiple events are packed into each datagram,
+     * up to {@link #maxDatagramSize} bytes.
+     */
+    private boolean batching;
+
+    /**
+     * When batching, the maximum amount of time events are held waiting for more events
+     * to fill the datagram. When zero (the default), the pending datagram is sent as soon
+     * as the ring buffer is drained.
+     */
+    private Duration lingerTime = Duration.buildByMilliseconds(0);
+
+    /**
+     * Executor used to periodically send pending batches when a {@link #lingerTime} is configured.
+     */
+    private ScheduledExecutorService lingerExecutor;
+
+    /**
+     * Event handler responsible for performing the UDP transmission.
+     */
+    private class UdpSendingEventHandler implements EventHandler<LogEvent<Event>> {
+
+        /**
+         * The channel through which datagrams are sent.
+         * Lazily (re)opened when needed.
+         */
+        private DatagramChannel channel;
+
+        /**
+         * Reusable direct buffer holding the payload of the datagram being sent.
+         */
+        private ByteBuffer buffer;
+
+        /**
+         * Intermediate buffer holding the whole encoded event when it must be compressed
+         * or may span multiple datagrams.
+         * Stays uninitialized when events are encoded straight into {@link #buffer}.
+         */
+        private ReusableByteBuffer encodedBuffer;
+
+        /**
+         * Buffer holding the compressed event.
+         * Stays uninitialized if compression is disabled.
+         */
+        private ReusableByteBuffer compressedBuffer;
+
+        /**
+         * Compresses {@link #encodedBuffer} into {@link #compressedBuffer}.
+         * Stays uninitialized if compression is disabled.
+         */
+        private CompressingOutputStream compressor;
+
+        /**
+         * Splits payloads larger than {@link AbstractLogstashUdpChannelAppender#maxDatagramSize} into chunks.
+         * Stays uninitialized if chunking is disabled.
+         */
+        private ChunkingOutputStream chunker;
+
+        /**
+         * Events accumulated in {@link #buffer} and not sent yet.
+         * Stays uninitialized if batching is disabled.
+         */
+        private List<Event> batch;
+
+        /**
+         * Number of consecutive send failures (used to limit status messages).
+         */
+        private int errorCount;
+
+        @Override
+        public void onEvent(LogEvent<Event> logEvent, long sequence, boolean endOfBatch) throws Exception {
+            Event event = logEvent.event;
+            if (event != null) {
+                handleEvent(event);
+            }
+
+            /*
+             * Send the pending batch once the ring buffer is drained, or when the
+             * linger timer fires if a linger time is configured.
+             *
+             * A null event indicates that the linger timer fired.
+             */
+            if (batch != null && (event == null || (endOfBatch && !isLingerEnabled()))) {
+                sendBatch();
+            }
+        }
+
+        private void handleEvent(Event event) throws IOException {
+            long startNanoTime = System.nanoTime();
+
+            /*
+             * Encode (and compress) the event.
+             * Drop the event if the encoder throws an exception or the event is too large.
+             */
+            ReusableByteBuffer payload;
+            try {
+                payload = preparePayload(event);
+            } catch (DatagramTooLargeException e) {
+                addWarn(e.getMessage() + " Dropping event.");
+                fireEventSendFailure(event, e);
+                return;
+            } catch (Exception e) {
+                addWarn("Encoder failed to encode event. Dropping event.", e);
+                fireEventSendFailure(event, e);
+                return;
+            }
+
+            if (batch != null) {
+                /*
+                 * Append the event to the current batch if it fits in a single datagram,
+                 * sending the batch first if there is not enough room left.
+                 * Larger events are sent on their own after the pending batch to preserve ordering.
+                 */
+                if (payload.size() <= maxDatagramSize) {
+                    if (payload.size() > buffer.remaining()) {
+                        sendBatch();
+                    }
+                    payload.writeTo(buffer);
+                    batch.add(event);
+                    return;
+                }
+                sendBatch();
+            }
+
+            /*
+             * Send the datagram(s). Close the channel on failure so that a fresh one is
+             * opened when sending the next event.
+             */
+            try {
+                DatagramChannel channel = ensureChannelOpen();
+                if (payload == null) {
+                    channel.write(buffer);
+                } else {
+                    sendPayload(channel, payload);
+                }
+                errorCount = 0;
+                fireEventSent(event, System.nanoTime() - startNanoTime);
+
+            } catch (IOException | RuntimeException e) {
+                handleSendFailure(e);
+                fireEventSendFailure(event, e);
+            }
+        }
+
+        /**
+         * Send the events accumulated in {@link #buffer} in a single datagram.
+         */
+        private void sendBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            long startNanoTime = System.nanoTime();
+            buffer.flip();
+            try {
+                ensureChannelOpen().write(buffer);
+                errorCount = 0;
+                long durationInNanos = System.nanoTime() - startNanoTime;
+                for (Event event : batch) {
+                    fireEventSent(event, durationInNanos);
+                }
+
+            } catch (IOException | RuntimeException e) {
+                handleSendFailure(e);
+                for (Event event : batch) {
+                    fireEventSendFailure(event, e);
+                }
+
+            } finally {
+                batch.clear();
+                buffer.clear();
+            }
+        }
+
+        private void handleSendFailure(Exception e) {
+            if (errorCount++ < MAX_REPEAT_SEND_ERROR_LOG) {
+                addWarn("Unable to send event to " + host + ":" + port + ".", e);
+            }
+            closeChannel();
+        }
+
+        /**
+         * Encode the event, and compress it if enabled.
+         *
+         * @param event the event to encode
+         * @return the buffer holding the payload to send, or {@code null} if the event
+         *         was encoded straight into {@link #buffer} (which is ready to be sent).
+         */
+        private ReusableByteBuffer preparePayload(Event event) throws IOException, DatagramTooLargeException {
+            if (encodedBuffer == null) {
+                buffer.clear();
+                int size = encode(event, buffer);
+                if (size < 0) {
+                    throw new DatagramTooLargeException("Encoded event (" + -size + " bytes) exceeds the maximum datagram size of " + maxDatagramSize + " bytes.");
+                }
+                buffer.flip();
+                return null;
+            }
+
+            ReusableByteBuffer payload = encodedBuffer;
+            payload.reset();
+            encode(event, payload);
+
+            if (compressor != null) {
+                compressedBuffer.reset();
+                compressor.start(compressedBuffer);
+                payload.writeTo(compressor);
+                compressor.finish();
+                payload = compressedBuffer;
+            }
+
+            int size = payload.size();
+            if (size > maxDatagramSize) {
+                if (chunker == null) {
+                    throw new DatagramTooLargeException("Encoded event (" + size + " bytes) exceeds the maximum datagram size of " + maxDatagramSize + " bytes.");
+                }
+                if (chunker.getChunkCount(size) > MAX_CHUNKS) {
+                    throw new DatagramTooLargeException("Encoded event (" + size + " bytes) exceeds the maximum of " + MAX_CHUNKS + " chunks of " + maxDatagramSize + " bytes.");
+                }
+            }
+            return payload;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void encode(Event event, OutputStream outputStream) throws IOException {
+            if (encoder instanceof StreamingEncoder) {
+                ((StreamingEncoder<Event>) encoder).encode(event, outputStream);
+            } else {
+                byte[] data = encoder.encode(event);
+                if (data != null) {
+                    outputStream.write(data);
+                }
+            }
+        }
+
+        /**
+         * Encode the event into the given buffer.
+         *
+         * @return the number of bytes written, or the negated size of the encoded event
+         *         if it does not fit in the remaining space of the buffer
+         */
+        @SuppressWarnings("unchecked")
+        private int encode(Event event, ByteBuffer target) throws IOException {
+            if (encoder instanceof StreamingEncoder) {
+                return ((StreamingEncoder<Event>) encoder).encode(event, target);
+            }
+            byte[] data = encoder.encode(event);
+            if (data == null) {
+                return 0;
+            }
+            if (data.length > target.remaining()) {
+                return -data.length;
+            }
+            target.put(data);
+            return data.length;
+        }
+
+        private void sendPayload(DatagramChannel channel, ReusableByteBuffer payload) throws IOException {
+            if (payload.size() <= maxDatagramSize) {
+                buffer.clear();
+                payload.writeTo(buffer);
+                buffer.flip();
+                channel.write(buffer);
+            } else {
+                chunker.send(channel, payload);
+            }
+        }
+
+        private DatagramChannel ensureChannelOpen() throws IOException {
+            if (channel == null || !channel.isOpen()) {
+                InetSocketAddress address = new InetSocketAddress(host, port);
+                if (address.isUnresolved()) {
+                    throw new UnknownHostException(host);
+                }
+                DatagramChannel tempChannel = DatagramChannel.open();
+                try {
+                    tempChannel.connect(address);
+                } catch (IOException | RuntimeException e) {
+                    CloseUtil.closeQuietly(tempChannel);
+                    throw e;
+                }
+                channel = tempChannel;
+            }
+            return channel;
+        }
+
+        private void closeChannel() {
+            CloseUtil.closeQuietly(channel);
+            channel = null;
+        }
+
+        @Override
+        public void onStart() {
+            this.buffer = ByteBuffer.allocateDirect(maxDatagramSize);
+
+            if (chunking || batching || compression != DatagramCompression.NONE) {
+                this.encodedBuffer = encoder instanceof CompositeJsonEncoder
+                        ? new ReusableByteBuffer(((CompositeJsonEncoder<Event>) encoder).getMinBufferSize())
+                        : new ReusableByteBuffer();
+            }
+            if (compression != DatagramCompression.NONE) {
+                this.compressedBuffer = new ReusableByteBuffer();
+                this.compressor = new CompressingOutputStream(compression == DatagramCompression.GZIP);
+            }
+            if (chunking) {
+                this.chunker = new ChunkingOutputStream(buffer);
+            }
+            if (batching) {
+                this.batch = new ArrayList<>();
+            }
+        }
+
+        @Override
+        public void onShutdown() {
+            if (batch != null) {
+                sendBatch();
+            }
+            closeChannel();
+            encoder.stop();
+            if (compressor != null) {
+                compressor.close();
+            }
+            buffer = null;
+            encodedBuffer = null;
+            compressedBuffer = null;
+            compressor = null;
+            chunker = null;
+            batch = null;
+        }
+    }
+
+    /**
+     * Splits a payload into multiple datagrams (chunks) following the
+     * GELF chunking format.
+     * <p>
+     *
+     * Each chunk starts with a {@value #CHUNK_HEADER_SIZE} bytes header made of:
+     * <ul>
+     * <li>the magic bytes {@code 0x1e 0x0f},</li>
+     * <li>an 8 bytes message id, identical for all the chunks of the same payload,</li>
+     * <li>a 1 byte sequence number, starting at 0,</li>
+     * <li>a 1 byte sequence count (the total number of chunks).</li>
+     * </ul>
+     */
+    private class ChunkingOutputStream extends OutputStream {
+
+        private final ByteBuffer buffer;
+
+        private DatagramChannel channel;
+
+        private long messageId;
+
+        private int chunkCount;
+
+        private int sequenceNumber;
+
+        ChunkingOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int getChunkCount(int payloadSize) {
+            int chunkPayloadSize = maxDatagramSize - CHUNK_HEADER_SIZE;
+            return (payloadSize + chunkPayloadSize - 1) / chunkPayloadSize;
+        }
+
+        void send(DatagramChannel channel, ReusableByteBuffer payload) throws IOException {
+            this.channel = channel;
+            this.messageId = ThreadLocalRandom.current().nextLong();
+            this.chunkCount = getChunkCount(payload.size());
+            this.sequenceNumber = 0;
+            try {
+                startChunk();
+                payload.writeTo(this);
+                sendChunk();
+            } finally {
+                this.channel = null;
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                sendChunk();
+                startChunk();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!buffer.hasRemaining()) {
+                    sendChunk();
+                    startChunk();
+                }
+                int length = Math.min(len, buffer.remaining());
+                buffer.put(b, off, length);
+                off += length;
+                len -= length;
+            }
+        }
+
+        private void startChunk() {
+            buffer.clear();
+            buffer.put(CHUNK_MAGIC_BYTES)
+                  .putLong(messageId)
+                  .put((byte) sequenceNumber++)
+                  .put((byte) chunkCount);
+        }
+
+        private void sendChunk() throws IOException {
+            buffer.flip();
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    protected EventHandler<LogEvent<Event>> createEventHandler() {
+        return new UdpSendingEventHandler();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        int errorCount = 0;
+        if (encoder == null) {
+            errorCount++;
+            addError("No encoder was configured. Use <encoder> to specify the fully qualified class name of the encoder to use");
+        }
+        if (host == null) {
+            errorCount++;
+            addError("No host was configured. Use <host> to specify the host where log output should go");
+        }
+        if (port <= 0) {
+            errorCount++;
+            addError("port must be > 0");
+        }
+        if (maxDatagramSize <= 0) {
+            errorCount++;
+            addError("maxDatagramSize must be > 0");
+        }
+        if (chunking && maxDatagramSize <= CHUNK_HEADER_SIZE) {
+            errorCount++;
+            addError("maxDatagramSize must be > " + CHUNK_HEADER_SIZE + " when chunking is enabled");
+        }
+        if (batching && compression != DatagramCompression.NONE) {
+            errorCount++;
+            addError("batching cannot be combined with compression");
+        }
+        if (batching && encoder instanceof CompositeJsonEncoder && ((CompositeJsonEncoder<Event>) encoder).getLineSeparator() == null) {
+            addWarn("batching is enabled but the encoder has no lineSeparator: events packed in the same datagram will not be delimited");
+        }
+        if (encoder instanceof StreamingEncoder && ((StreamingEncoder<Event>) encoder).isBatchOnly()) {
+            errorCount++;
+            addError("The encoder can only encode batches of events, but the UDP appenders encode events one at a time. Use a TCP appender with this encoder");
+        }
+        if (encoder instanceof StreamingEncoder && ((StreamingEncoder<Event>) encoder).isStreamSession()) {
+            addWarn("The encoder writes stream sessions, which cannot be decoded once a datagram is lost or reordered. Disable streamSession with UDP appenders");
+        }
+
+        if (errorCount == 0) {
+            encoder.setContext(getContext());
+            if (!encoder.isStarted()) {
+                encoder.start();
+            }
+            super.start();
+
+            if (batching && isLingerEnabled()) {
+                /*
+                 * Publish a null event to the RingBuffer at every lingerTime to trigger
+                 * the sending of the pending batch.
+                 *
+                 * Use tryPublishEvent instead of publishEvent, because if the ring buffer is full,
+                 * there's really no need to publish, since the batch will be filled anyway.
+                 */
+                long delay = lingerTime.getMilliseconds();
+                lingerExecutor = Executors.newSingleThreadScheduledExecutor(getThreadFactory());
+                lingerExecutor.scheduleWithFixedDelay(
+                        () -> getDisruptor().getRingBuffer().tryPublishEvent(getEventTranslator(), null),
+                        delay,
+                        delay,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        if (lingerExecutor != null) {
+            lingerExecutor.shutdownNow();
+            lingerExecutor = null;
+        }
+        super.stop();
+    }
+
+    private boolean isLingerEnabled() {
+        return lingerTime != null && lingerTime.getMilliseconds() > 0;
+    }
+
+    protected void fireEventSent(Event event, long durationInNanos) {
+        safelyFireEvent(l -> l.eventSent(this, event, durationInNanos));
+    }
+
+    protected void fireEventSendFailure(Event event, Throwable reason) {
+        safelyFireEvent(l -> l.eventSendFailure(this, event, reason));
+    }
+
+    public Encoder<Event> getEncoder() {
+        return encoder;
+    }
+
+    public void setEncoder(Encoder<Event> encoder) {
+        this.encoder = encoder;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * The name of the host where log output should go.
+     *
+     * @param host the host name
+     */
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * The port of the host where log output should go.
+     * Default is {@value #DEFAULT_PORT}.
+     *
+     * @param port the port number
+     */
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+
+    /**
+     * The maximum size (in bytes) of a datagram payload.
+     * Default is {@value #DEFAULT_MAX_DATAGRAM_SIZE}.
+     *
+     * <p>A direct buffer of this size is allocated when the appender is started.
+     *
+     * @param maxDatagramSize the maximum datagram payload size in bytes
+     */
+    public void setMaxDatagramSize(int maxDatagramSize) {
+        this.maxDatagramSize = maxDatagramSize;
+    }
+
+    public boolean isChunking() {
+        return chunking;
+    }
+
+    /**
+     * Whether events larger than {@link #setMaxDatagramSize(int) maxDatagramSize} should be split
+     * into multiple datagrams (up to {@value #MAX_CHUNKS}) using the GELF chunking format.
+     * When {@code false} (the default), such events are dropped.
+     *
+     * <p>Note that the receiving end must be able to reassemble the chunks.
+     *
+     * @param chunking {@code true} to enable chunking
+     */
+    public void setChunking(boolean chunking) {
+        this.chunking = chunking;
+    }
+
+    public DatagramCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * The compression applied to the encoded events before they are sent
+     * (and before they are split into chunks if needed).
+     * Default is {@link DatagramCompression#NONE}.
+     *
+     * @param compression the compression to use
+     */
+    public void setCompression(DatagramCompression compression) {
+        this.compression = Objects.requireNonNull(compression, "compression must not be null");
+    }
+
+    public boolean isBatching() {
+        return batching;
+    }
+
+    /**
+     * Whether multiple events should be packed into each datagram, up to
+     * {@link #setMaxDatagramSize(int) maxDatagramSize} bytes.
+     *
+     * <p>Events are simply concatenated, and are therefore expected to be terminated by a line
+     * separator (which is the default for the {@link CompositeJsonEncoder}s).
+     * Events larger than {@code maxDatagramSize} are sent on their own.
+     *
+     * <p>A datagram is sent when the next event does not fit in it anymore, and when the
+     * ring buffer is drained (or after {@link #setLingerTime(Duration) lingerTime} if configured).
+     *
+     * <p>Batching cannot be combined with compression.
+     *
+     * @param batching {@code true} to enable batching
+     */
+    public void setBatching(boolean batching) {
+        this.batching = batching;
+    }
+
+    public Duration getLingerTime() {
+        return lingerTime;
+    }
+
+    /**
+     * When {@link #setBatching(boolean) batching}, the maximum amount of time events are held
+     * waiting for more events to fill the datagram.
+     *
+     * <p>When zero (the default), the pending datagram is sent as soon as the ring buffer is drained.
+     * Otherwise, it is sent when it is full or after at most {@code lingerTime}.
+     *
+     * @param lingerTime the linger time
+     */
+    public void setLingerTime(Duration lingerTime) {
+        this.lingerTime = lingerTime;
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.appender;
+
+/**
+ * Compression applied to the payload of the datagrams sent by a {@link AbstractLogstashUdpChannelAppender}.
+ */
+public enum DatagramCompression {
+
+    /**
+     * Payload is sent uncompressed.
+     */
+    NONE,
+
+    /**
+     * Payload is compressed using the GZIP format (RFC 1952).
+     */
+    GZIP,
+
+    /**
+     * Payload is compressed using the ZLIB format (RFC 1950).
+     */
+    DEFLATE
+}
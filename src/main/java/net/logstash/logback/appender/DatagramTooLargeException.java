@@ -0,0 +1,28 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.appender;
+
+/**
+ * Indicates that an encoded event does not fit in the datagram(s) a UDP appender is allowed to send.
+ */
+@SuppressWarnings("serial")
+public class DatagramTooLargeException extends Exception {
+
+    public DatagramTooLargeException(String message) {
+        super(message);
+    }
+
+}
@@ -15,13 +15,22 @@
  */
 package net.logstash.logback.composite;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceConfigurationError;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import net.logstash.logback.dataformat.DataFormatFactory;
 import net.logstash.logback.dataformat.json.JsonDataFormatFactory;
@@ -32,6 +41,9 @@ import net.logstash.logback.decorate.Decorator;
 import net.logstash.logback.decorate.JsonGeneratorDecorator;
 import net.logstash.logback.decorate.MapperBuilderDecorator;
 import net.logstash.logback.decorate.TokenStreamFactoryBuilderDecorator;
+import net.logstash.logback.util.BoundedObjectPool;
+import net.logstash.logback.util.ObjectPool;
+import net.logstash.logback.util.ObjectPoolStrategy;
 import net.logstash.logback.util.ProxyOutputStream;
 import net.logstash.logback.util.ThreadLocalHolder;
 
@@ -44,9 +56,11 @@ import ch.qos.logback.core.spi.LifeCycle;
 import ch.qos.logback.core.util.CloseUtil;
 import tools.jackson.core.JsonEncoding;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
 import tools.jackson.core.StreamWriteFeature;
 import tools.jackson.core.TSFBuilder;
 import tools.jackson.core.TokenStreamFactory;
+import tools.jackson.core.json.JsonFactory;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.SerializationFeature;
 import tools.jackson.databind.cfg.MapperBuilder;
@@ -78,7 +92,9 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
             DataFormatFactory.JSON, "net.logstash.logback.dataformat.json.JsonDataFormatFactory",
             DataFormatFactory.YAML, "net.logstash.logback.dataformat.yaml.YamlDataFormatFactory",
             DataFormatFactory.CBOR, "net.logstash.logback.dataformat.cbor.CborDataFormatFactory",
-            DataFormatFactory.SMILE, "net.logstash.logback.dataformat.smile.SmileDataFormatFactory");
+            DataFormatFactory.SMILE, "net.logstash.logback.dataformat.smile.SmileDataFormatFactory",
+            DataFormatFactory.OTLP, "net.logstash.logback.dataformat.otlp.OtlpDataFormatFactory",
+            DataFormatFactory.ARROW, "net.logstash.logback.dataformat.arrow.ArrowDataFormatFactory");
 
     /**
      * Factory for creating builders for a data format supported by jackson.
@@ -117,9 +133,100 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
 
     private boolean findAndRegisterJacksonModules = true;
 
+    /**
+     * When true, a writer calling the {@link #jsonProviders} directly in order is generated
+     * when started. See {@link FusedJsonProviders}.
+     */
+    private boolean fuseProviders = true;
+
+    /**
+     * Writer generated when started, or {@code null} to loop over the {@link #jsonProviders}.
+     */
+    private FusedJsonProviders.Writer<Event> fusedProviders;
+
+    /**
+     * When true, the output of consecutive {@link ConstantJsonProvider}s is serialized once
+     * and spliced into every event. See {@link PrecomputedFieldsJsonProvider}.
+     */
+    private boolean precomputeConstantFields = true;
+
+    /**
+     * Providers invoked for every event, in which consecutive {@link ConstantJsonProvider}s may have
+     * been grouped into a {@link PrecomputedFieldsJsonProvider}.
+     * {@code null} when {@link JsonProviders#writeTo(JsonGenerator, DeferredProcessingAware)} is overridden
+     * and must be invoked instead.
+     */
+    private List<JsonProvider<Event>> writtenProviders;
+
+    /**
+     * Maximum number of bytes written for an event, or {@code 0} for no limit.
+     * See {@link TruncatingJsonGenerator}.
+     */
+    private int maxEventBytes;
+
+    /**
+     * Average number of events between two events whose providers are profiled, or {@code 0} to disable profiling.
+     * See {@link JsonProviderProfiler}.
+     */
+    private int providerProfilingInterval;
+
+    /**
+     * Profiler created when started if {@link #providerProfilingInterval} is set, {@code null} otherwise.
+     */
+    private JsonProviderProfiler<Event> providerProfiler;
+
+    /**
+     * Name under which the {@link #providerProfiler} is registered in the platform MBean server.
+     */
+    private ObjectName providerProfilerName;
+
+    /**
+     * When true, events are written with a {@link FastJsonWriter} instead of a {@link JsonGenerator}
+     * whenever possible. See {@link FastJsonProvider}.
+     */
+    private boolean fastJsonWriter;
+
+    /**
+     * Providers written with a {@link FastJsonWriter}, selected when started if {@link #fastJsonWriter} is set
+     * and the output of the writer is the same as the output of the {@link JsonGenerator}, {@code null} otherwise.
+     */
+    private List<FastJsonProvider<Event>> fastProviders;
+
+    /**
+     * Strategy used to reuse the {@link JsonGenerator}s.
+     */
+    private ObjectPoolStrategy poolStrategy = ObjectPoolStrategy.THREAD_LOCAL;
+
+    /**
+     * Maximum number of idle {@link JsonGenerator}s kept when using the {@link ObjectPoolStrategy#BOUNDED} strategy.
+     */
+    private int poolSize = BoundedObjectPool.DEFAULT_CAPACITY;
+
     private volatile boolean started;
 
-    private ThreadLocalHolder<JsonFormatter> threadLocalJsonFormatter;
+    /**
+     * String holding every ASCII character and a few multi-byte characters, used to
+     * compare the output of the {@link JsonGenerator} with the one of the {@link FastJsonWriter}.
+     */
+    private static final String FAST_JSON_WRITER_PROBE;
+    static {
+        StringBuilder probe = new StringBuilder();
+        for (char c = 0; c < 0x80; c++) {
+            probe.append(c);
+        }
+        FAST_JSON_WRITER_PROBE = probe.append("\u00e9\u20ac\ud83d\ude00\u2028\u00a0").toString();
+    }
+
+    private static final List<Object> FAST_JSON_WRITER_PROBE_VALUES = List.of(
+            FAST_JSON_WRITER_PROBE, Boolean.TRUE, Boolean.FALSE, Long.MAX_VALUE, -42, (short) 7, (byte) -8);
+
+    private ObjectPool<JsonFormatter> jsonFormatterPool;
+
+    /**
+     * Incremented by {@link #resetSession()} so that the pooled {@link JsonFormatter}s
+     * created in a previous session replace their {@link JsonGenerator}.
+     */
+    private final AtomicInteger session = new AtomicInteger();
 
 
     public AbstractCompositeJsonFormatter(ContextAware declaredOrigin) {
@@ -140,16 +247,27 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
         jsonProviders.setContext(context);
         jsonProviders.setObjectMapper(objectMapper);
         jsonProviders.start();
+
+        writtenProviders = isJsonProvidersWriteToOverridden() ? null : createWrittenProviders();
+        fusedProviders = fuseProviders && writtenProviders != null ? createFusedProviders(writtenProviders) : null;
+        providerProfiler = providerProfilingInterval > 0 ? createProviderProfiler() : null;
+        fastProviders = fastJsonWriter ? createFastProviders() : null;
         
-        threadLocalJsonFormatter = new ThreadLocalHolder<>(this::createJsonFormatter);
+        jsonFormatterPool = poolStrategy == ObjectPoolStrategy.BOUNDED
+                ? new BoundedObjectPool<>(this::createJsonFormatter, poolSize)
+                : new ThreadLocalHolder<>(this::createJsonFormatter);
         started = true;
     }
 
     @Override
     public void stop() {
         if (isStarted()) {
-            threadLocalJsonFormatter.close();
+            jsonFormatterPool.close();
             jsonProviders.stop();
+            stopProviderProfiler();
+            fastProviders = null;
+            fusedProviders = null;
+            writtenProviders = null;
             objectMapper = null;
             started = false;
         }
@@ -182,6 +300,249 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
         return mapperBuilder.build();
     }
 
+    /**
+     * Whether a custom {@link JsonProviders} overrides the way providers are invoked.
+     */
+    private boolean isJsonProvidersWriteToOverridden() {
+        try {
+            return jsonProviders.getClass().getMethod("writeTo", JsonGenerator.class, DeferredProcessingAware.class).getDeclaringClass() != JsonProviders.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Group consecutive {@link ConstantJsonProvider#isPrecomputable() precomputable} {@link ConstantJsonProvider}s
+     * into {@link PrecomputedFieldsJsonProvider}s when {@link #precomputeConstantFields} is enabled and the output is JSON text.
+     *
+     * <p>Not applied when {@link #maxEventBytes} is set: the pre-serialized fields are written raw
+     * and could not be omitted by the {@link TruncatingJsonGenerator} without leaving a dangling comma,
+     * so the providers are invoked for every event and their fields accounted for one by one.
+     *
+     * @return the providers to invoke for every event
+     */
+    @SuppressWarnings("unchecked")
+    private List<JsonProvider<Event>> createWrittenProviders() {
+        List<JsonProvider<Event>> providers = jsonProviders.getProviders();
+        if (!precomputeConstantFields || maxEventBytes > 0 || !(objectMapper.tokenStreamFactory() instanceof JsonFactory)) {
+            return providers;
+        }
+
+        List<JsonProvider<Event>> result = new ArrayList<>(providers.size());
+        List<ConstantJsonProvider<Event>> constantProviders = new ArrayList<>();
+        for (JsonProvider<Event> provider : providers) {
+            if (provider instanceof ConstantJsonProvider<Event> constantProvider && constantProvider.isPrecomputable()) {
+                constantProviders.add(constantProvider);
+                continue;
+            }
+            addPrecomputedFields(result, constantProviders);
+            result.add(provider);
+        }
+        addPrecomputedFields(result, constantProviders);
+        return result;
+    }
+
+    private void addPrecomputedFields(List<JsonProvider<Event>> providers, List<ConstantJsonProvider<Event>> constantProviders) {
+        if (constantProviders.isEmpty()) {
+            return;
+        }
+        PrecomputedFieldsJsonProvider<Event> provider = new PrecomputedFieldsJsonProvider<>(constantProviders, objectMapper,
+                writer -> this.jsonGeneratorDecorator.decorate(objectMapper.createGenerator(writer)));
+        provider.setContext(context);
+        provider.start();
+        providers.add(provider);
+        constantProviders.clear();
+    }
+
+    /**
+     * Generate a {@link FusedJsonProviders.Writer} for the given providers.
+     *
+     * @param providers the providers to invoke for every event
+     * @return the generated writer, or {@code null} to fall back to looping over the providers
+     */
+    private FusedJsonProviders.Writer<Event> createFusedProviders(List<JsonProvider<Event>> providers) {
+        try {
+            return FusedJsonProviders.generate(providers);
+
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            addWarn("Unable to generate a fused writer for the JSON providers, falling back to invoking them in a loop", e);
+            return null;
+        }
+    }
+
+    /**
+     * Create a {@link JsonProviderProfiler} for the {@link #writtenProviders} and register it
+     * in the platform MBean server.
+     *
+     * @return the profiler, or {@code null} when the providers cannot be profiled individually
+     */
+    private JsonProviderProfiler<Event> createProviderProfiler() {
+        if (writtenProviders == null) {
+            addWarn("Unable to profile the JSON providers because " + jsonProviders.getClass().getName() + " overrides writeTo()");
+            return null;
+        }
+        JsonProviderProfiler<Event> profiler = new JsonProviderProfiler<>(providerProfilingInterval, writtenProviders,
+                AbstractCompositeJsonFormatter::getOutputPosition);
+        try {
+            Object origin = getDeclaredOrigin();
+            ObjectName name = new ObjectName("net.logstash.logback:type=JsonProviderProfiler"
+                    + ",context=" + ObjectName.quote(String.valueOf(context == null ? null : context.getName()))
+                    + ",name=" + ObjectName.quote(origin.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(origin))));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(profiler, name);
+            providerProfilerName = name;
+        } catch (JMException | RuntimeException e) {
+            addWarn("Unable to register the JSON provider profiler in the platform MBean server", e);
+        }
+        return profiler;
+    }
+
+    /**
+     * Report the measurements of the {@link #providerProfiler} as a status message and unregister it.
+     */
+    private void stopProviderProfiler() {
+        if (providerProfiler == null) {
+            return;
+        }
+        if (providerProfiler.getProfiledEvents() > 0) {
+            addInfo(providerProfiler.toString());
+        }
+        if (providerProfilerName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(providerProfilerName);
+            } catch (JMException | RuntimeException e) {
+                addWarn("Unable to unregister the JSON provider profiler from the platform MBean server", e);
+            }
+        }
+        providerProfiler = null;
+        providerProfilerName = null;
+    }
+
+    /**
+     * Select the providers written with a {@link FastJsonWriter}.
+     *
+     * @return the providers, or {@code null} when the events must all be written by the {@link JsonGenerator}
+     */
+    @SuppressWarnings("unchecked")
+    private List<FastJsonProvider<Event>> createFastProviders() {
+        String reason = null;
+        if (writtenProviders == null) {
+            reason = jsonProviders.getClass().getName() + " overrides writeTo()";
+        } else if (!(objectMapper.tokenStreamFactory() instanceof JsonFactory) || encoding != JsonEncoding.UTF8) {
+            reason = "the output is not UTF-8 encoded JSON";
+        } else if (!jsonGeneratorDecorator.isEmpty()) {
+            reason = "JSON generator decorators are configured";
+        } else if (maxEventBytes > 0) {
+            reason = "maxEventBytes is set";
+        } else if (providerProfiler != null) {
+            reason = "provider profiling is enabled";
+        } else if (isWriteEventToGeneratorOverridden()) {
+            reason = getClass().getName() + " overrides writeEventToGenerator()";
+        } else {
+            for (JsonProvider<Event> provider : writtenProviders) {
+                if (!isFastJsonProvider(provider)) {
+                    reason = provider.getClass().getName() + " cannot write with a " + FastJsonWriter.class.getSimpleName();
+                    break;
+                }
+            }
+        }
+        if (reason == null && !isFastJsonWriterEquivalent()) {
+            reason = "the configuration of the JSON generator changes its output";
+        }
+        if (reason != null) {
+            addWarn("Unable to write events with a " + FastJsonWriter.class.getSimpleName() + " because " + reason);
+            return null;
+        }
+
+        List<FastJsonProvider<Event>> result = new ArrayList<>(writtenProviders.size());
+        for (JsonProvider<Event> provider : writtenProviders) {
+            result.add((FastJsonProvider<Event>) provider);
+        }
+        return result;
+    }
+
+    /**
+     * Whether a subclass overrides the way events are written to the {@link JsonGenerator}.
+     */
+    private boolean isWriteEventToGeneratorOverridden() {
+        for (Class<?> type = getClass(); type != AbstractCompositeJsonFormatter.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("writeEventToGenerator", JsonGenerator.class, DeferredProcessingAware.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not declared at this level
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the given provider implements {@link FastJsonProvider} in a class that does not
+     * override {@link JsonProvider#writeTo(JsonGenerator, DeferredProcessingAware)} afterwards.
+     */
+    private static boolean isFastJsonProvider(JsonProvider<?> provider) {
+        if (!(provider instanceof FastJsonProvider)) {
+            return false;
+        }
+        try {
+            Class<?> generatorWriter = provider.getClass().getMethod("writeTo", JsonGenerator.class, DeferredProcessingAware.class).getDeclaringClass();
+            Class<?> fastWriter = provider.getClass().getMethod("writeTo", FastJsonWriter.class, DeferredProcessingAware.class).getDeclaringClass();
+            return generatorWriter.isAssignableFrom(fastWriter);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Write the same content with a {@link JsonGenerator} and a {@link FastJsonWriter}, and compare their output.
+     * Detects the features and serializers that change the output of the generator
+     * (escaping of non-ASCII characters, numbers written as strings, root value separator, etc).
+     *
+     * @return {@code true} if both outputs are the same
+     */
+    private boolean isFastJsonWriterEquivalent() {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        FastJsonWriter writer = new FastJsonWriter();
+        SerializableString name = JsonWritingUtils.serializeFieldName(FAST_JSON_WRITER_PROBE);
+        try (JsonGenerator generator = createGenerator(expected)) {
+            for (int i = 0; i < 2; i++) {
+                generator.writeStartObject();
+                writer.writeStartObject();
+                generator.writeName(name);
+                writer.writeName(name);
+                generator.writeString(FAST_JSON_WRITER_PROBE);
+                writer.writeString(FAST_JSON_WRITER_PROBE);
+                generator.writeName(FAST_JSON_WRITER_PROBE);
+                writer.writeName(FAST_JSON_WRITER_PROBE);
+                generator.writeStartArray();
+                writer.writeStartArray();
+                for (Object value : FAST_JSON_WRITER_PROBE_VALUES) {
+                    generator.writePOJO(value);
+                    writer.writeSimpleValue(value);
+                }
+                generator.writeNumber(Long.MIN_VALUE);
+                writer.writeNumber(Long.MIN_VALUE);
+                generator.writeEndArray();
+                writer.writeEndArray();
+                generator.writeEndObject();
+                writer.writeEndObject();
+            }
+            generator.flush();
+
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+        return Arrays.equals(expected.toByteArray(), writer.toByteArray());
+    }
+
+    /**
+     * Number of bytes written by the generator since it was connected to the target output stream,
+     * including the bytes still buffered by the generator.
+     */
+    private static long getOutputPosition(JsonGenerator generator) {
+        long flushed = generator.streamWriteOutputTarget() instanceof DisconnectedOutputStream stream ? stream.getCount() : 0;
+        return flushed + Math.max(0, generator.streamWriteOutputBuffered());
+    }
+
     private TokenStreamFactory createTokenStreamFactory() {
         return ((TSFBuilder) tokenStreamFactoryBuilderDecorator.decorate(dataFormatFactory.createTokenStreamFactoryBuilder()))
                 /*
@@ -205,10 +566,73 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
             throw new IllegalStateException("Formatter is not started");
         }
         
-        try (JsonFormatter formatter = this.threadLocalJsonFormatter.acquire()) {
+        try (JsonFormatter formatter = this.jsonFormatterPool.acquire()) {
             formatter.writeEvent(outputStream, event);
         }
     }
+
+    /**
+     * Write several events in the given output stream, reusing the same {@link JsonGenerator} for all of them.
+     *
+     * <p>The output of each event is pushed to the output stream as soon as it is written, but the output stream
+     * itself is flushed only once, after the last event.
+     * If an event fails to be written, the events written before it remain in the output stream.
+     *
+     * @param events the events to write
+     * @param outputStream the output stream to write the events into
+     * @param delimiter writes the bytes surrounding each event, or {@code null} if none
+     * @throws IOException thrown upon failure to write an event
+     */
+    public void writeEvents(List<? extends Event> events, OutputStream outputStream, EventDelimiter<? super Event> delimiter) throws IOException {
+        Objects.requireNonNull(outputStream);
+        if (!isStarted()) {
+            throw new IllegalStateException("Formatter is not started");
+        }
+
+        try (JsonFormatter formatter = this.jsonFormatterPool.acquire()) {
+            formatter.writeEvents(outputStream, events, delimiter);
+        }
+    }
+
+    /**
+     * Start a new session: the events written afterwards do not depend on the events written before.
+     *
+     * <p>Generators are reused from one event to the next, and some data formats (such as Smile
+     * or CBOR) back-reference the names and values already written by the same generator instead of
+     * repeating them. Such output can only be decoded from the start of the session.
+     * This method must be called whenever the events start being written to a new destination
+     * (for instance when a connection is re-established), so that a new generator is used for the
+     * next events, which starts again with a new header and empty back-reference tables.</p>
+     */
+    public void resetSession() {
+        session.incrementAndGet();
+    }
+
+    /**
+     * Writes the bytes surrounding each event written by {@link #writeEvents(List, OutputStream, EventDelimiter)}.
+     *
+     * @param <Event> type of event ({@link ILoggingEvent} or {@link IAccessEvent}).
+     */
+    public interface EventDelimiter<Event> {
+
+        /**
+         * Write the bytes preceding an event.
+         *
+         * @param event the event about to be written
+         * @param outputStream the output stream the event is written into
+         * @throws IOException thrown upon failure to write
+         */
+        void writeBefore(Event event, OutputStream outputStream) throws IOException;
+
+        /**
+         * Write the bytes following an event.
+         *
+         * @param event the event just written
+         * @param outputStream the output stream the event is written into
+         * @throws IOException thrown upon failure to write
+         */
+        void writeAfter(Event event, OutputStream outputStream) throws IOException;
+    }
     
     
     /**
@@ -217,30 +641,70 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
      * @return {@link JsonFormatter} writing JSON content in the output stream
      */
     private JsonFormatter createJsonFormatter() {
+        DisconnectedOutputStream outputStream = new DisconnectedOutputStream();
+        return new JsonFormatter(outputStream, fastProviders != null ? new FastJsonWriter() : null);
+    }
+
+    /**
+     * Create the {@link JsonGenerator} of a {@link JsonFormatter}, writing into its {@link DisconnectedOutputStream}.
+     */
+    private JsonGenerator createEventGenerator(DisconnectedOutputStream outputStream) {
         try {
-            DisconnectedOutputStream outputStream = new DisconnectedOutputStream();
             JsonGenerator generator = createGenerator(outputStream);
-            return new JsonFormatter(outputStream, generator);
+            dataFormatFactory.writeSessionStart(generator);
+            if (maxEventBytes > 0) {
+                generator = new TruncatingJsonGenerator(generator, maxEventBytes, encoding, outputStream::getCount);
+            }
+            return generator;
         } catch (IOException e) {
             throw new IllegalStateException("Unable to initialize Jackson JSON layer", e);
         }
-        
     }
     
     private class JsonFormatter implements ThreadLocalHolder.Lifecycle, Closeable {
-        private final JsonGenerator generator;
+        private JsonGenerator generator;
+        private int generatorSession;
         private final DisconnectedOutputStream stream;
+        private final FastJsonWriter fastWriter;
         private boolean recyclable = true;
         
-        JsonFormatter(DisconnectedOutputStream outputStream, JsonGenerator generator) {
+        JsonFormatter(DisconnectedOutputStream outputStream, FastJsonWriter fastWriter) {
             this.stream = Objects.requireNonNull(outputStream);
-            this.generator = Objects.requireNonNull(generator);
+            this.generatorSession = session.get();
+            this.generator = createEventGenerator(outputStream);
+            this.fastWriter = fastWriter;
+        }
+
+        /**
+         * Replace the generator if it was created before the last {@link #resetSession()},
+         * so that no state (such as names or values back-referenced by binary data formats)
+         * is carried over from the previous session.
+         */
+        private void ensureCurrentSession() {
+            int currentSession = session.get();
+            if (generatorSession != currentSession) {
+                /*
+                 * Whatever the generator writes when closed (such as the end of the
+                 * session of some data formats) belongs to the previous destination.
+                 */
+                stream.connect(OutputStream.nullOutputStream());
+                try {
+                    generator.close();
+                } finally {
+                    stream.disconnect();
+                }
+                generator = createEventGenerator(stream);
+                generatorSession = currentSession;
+            }
         }
         
         public void writeEvent(OutputStream outputStream, Event event) throws IOException {
             try {
+                ensureCurrentSession();
                 this.stream.connect(outputStream);
-                writeEventToGenerator(generator, event);
+                if (!writeEventToFastWriter(event)) {
+                    writeEventToGenerator(generator, event);
+                }
                 
             } catch (IOException | RuntimeException e) {
                 this.recyclable = false;
@@ -250,7 +714,64 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
                 this.stream.disconnect();
             }
         }
+
+        public void writeEvents(OutputStream outputStream, List<? extends Event> events, EventDelimiter<? super Event> delimiter) throws IOException {
+            try {
+                /*
+                 * The generator flushes after every event: push its output to the
+                 * output stream, but only flush the output stream after the last event.
+                 */
+                ensureCurrentSession();
+                this.stream.connect(outputStream);
+                this.stream.setFlushEnabled(false);
+                dataFormatFactory.writeBatchStart(generator);
+                for (Event event : events) {
+                    if (delimiter != null) {
+                        delimiter.writeBefore(event, outputStream);
+                    }
+                    if (!writeEventToFastWriter(event)) {
+                        writeEventToGenerator(generator, event);
+                    }
+                    if (delimiter != null) {
+                        delimiter.writeAfter(event, outputStream);
+                    }
+                }
+                dataFormatFactory.writeBatchEnd(generator);
+                generator.flush();
+                outputStream.flush();
+
+            } catch (IOException | RuntimeException e) {
+                this.recyclable = false;
+                throw e;
+
+            } finally {
+                this.stream.disconnect();
+            }
+        }
         
+        /**
+         * Write the event with the {@link #fastWriter} if all the providers are able to.
+         *
+         * @return {@code false} if the event must be written with the {@link #generator} instead
+         */
+        private boolean writeEventToFastWriter(Event event) throws IOException {
+            List<FastJsonProvider<Event>> providers = fastProviders;
+            if (fastWriter == null || providers == null) {
+                return false;
+            }
+            fastWriter.reset();
+            fastWriter.writeStartObject();
+            for (FastJsonProvider<Event> provider : providers) {
+                if (!provider.writeTo(fastWriter, event)) {
+                    return false;
+                }
+            }
+            fastWriter.writeEndObject();
+            fastWriter.writeTo(stream);
+            stream.flush();
+            return true;
+        }
+
         @Override
         public boolean recycle() {
             return this.recyclable;
@@ -270,17 +791,62 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
         
         @Override
         public void close() {
-            AbstractCompositeJsonFormatter.this.threadLocalJsonFormatter.release();
+            AbstractCompositeJsonFormatter.this.jsonFormatterPool.release(this);
         }
     }
     
     private static class DisconnectedOutputStream extends ProxyOutputStream {
+        /**
+         * Number of bytes written since connected.
+         */
+        private long count;
+
+        /**
+         * Whether {@link #flush()} is propagated to the connected output stream.
+         */
+        private boolean flushEnabled = true;
+
         DisconnectedOutputStream() {
             super(null);
         }
         
         public void connect(OutputStream out) {
             this.delegate = out;
+            this.count = 0;
+            this.flushEnabled = true;
+        }
+
+        public void setFlushEnabled(boolean flushEnabled) {
+            this.flushEnabled = flushEnabled;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            super.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b) throws IOException {
+            super.write(b);
+            count += b.length;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (flushEnabled) {
+                super.flush();
+            }
         }
         
         public void disconnect() {
@@ -290,7 +856,19 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
     
     protected void writeEventToGenerator(JsonGenerator generator, Event event) throws IOException {
         generator.writeStartObject();
-        jsonProviders.writeTo(generator, event);
+        JsonProviderProfiler<Event> profiler = providerProfiler;
+        if (profiler != null && profiler.sample()) {
+            profiler.writeTo(generator, event);
+        } else if (fusedProviders != null) {
+            fusedProviders.writeTo(generator, event);
+        } else if (writtenProviders != null) {
+            List<JsonProvider<Event>> providers = writtenProviders;
+            for (int i = 0; i < providers.size(); i++) {
+                providers.get(i).writeTo(generator, event);
+            }
+        } else {
+            jsonProviders.writeTo(generator, event);
+        }
         generator.writeEndObject();
         generator.flush();
     }
@@ -317,8 +895,10 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
      * Sets the dataformat to one of the build-in data formats (
      * {@value DataFormatFactory#JSON},
      * {@value DataFormatFactory#YAML},
-     * {@value DataFormatFactory#CBOR}, or
-     * {@value DataFormatFactory#SMILE}).
+     * {@value DataFormatFactory#CBOR},
+     * {@value DataFormatFactory#SMILE},
+     * {@value DataFormatFactory#OTLP}, or
+     * {@value DataFormatFactory#ARROW}).
      *
      * <p>For non-JSON data formats, the appropriate Jackson data format module must be on the classpath.</p>
      *
@@ -326,8 +906,10 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
      *
      * @param dataFormat {@value DataFormatFactory#JSON},
      *                   {@value DataFormatFactory#YAML},
-     *                   {@value DataFormatFactory#CBOR}, or
-     *                    {@value DataFormatFactory#SMILE}
+     *                   {@value DataFormatFactory#CBOR},
+     *                   {@value DataFormatFactory#SMILE},
+     *                   {@value DataFormatFactory#OTLP}, or
+     *                   {@value DataFormatFactory#ARROW}
      * @see #setDataFormatFactory(DataFormatFactory)
      */
     public void setDataFormat(String dataFormat) {
@@ -462,4 +1044,130 @@ public abstract class AbstractCompositeJsonFormatter<Event extends DeferredProce
     public void setFindAndRegisterJacksonModules(boolean findAndRegisterJacksonModules) {
         this.findAndRegisterJacksonModules = findAndRegisterJacksonModules;
     }
+
+    public ObjectPoolStrategy getPoolStrategy() {
+        return poolStrategy;
+    }
+
+    /**
+     * Set the strategy used to reuse the {@link JsonGenerator}s (default {@link ObjectPoolStrategy#THREAD_LOCAL}).
+     *
+     * @param poolStrategy the strategy to use
+     */
+    public void setPoolStrategy(ObjectPoolStrategy poolStrategy) {
+        this.poolStrategy = Objects.requireNonNull(poolStrategy);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Set the maximum number of idle {@link JsonGenerator}s kept when using the
+     * {@link ObjectPoolStrategy#BOUNDED} strategy (default: twice the number of available processors).
+     *
+     * @param poolSize the maximum number of idle generators
+     */
+    public void setPoolSize(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be greater than 0");
+        }
+        this.poolSize = poolSize;
+    }
+
+    public boolean isFuseProviders() {
+        return fuseProviders;
+    }
+
+    /**
+     * Whether to generate, when started, a writer invoking the providers directly in order instead
+     * of looping over them. See {@link FusedJsonProviders}.
+     * Falls back to looping over the providers, with a warning status, when the writer cannot be generated.
+     *
+     * @param fuseProviders {@code true} to generate a fused writer (default), {@code false} to loop over the providers
+     */
+    public void setFuseProviders(boolean fuseProviders) {
+        this.fuseProviders = fuseProviders;
+    }
+
+    public boolean isPrecomputeConstantFields() {
+        return precomputeConstantFields;
+    }
+
+    /**
+     * Whether to serialize the output of consecutive {@link ConstantJsonProvider}s once
+     * and splice the pre-serialized fields into every event instead of invoking the providers.
+     * Only applies to JSON output without pretty printing nor {@link #setMaxEventBytes(int) maxEventBytes}.
+     *
+     * @param precomputeConstantFields {@code true} to pre-serialize constant fields (default), {@code false} to invoke the providers for every event
+     */
+    public void setPrecomputeConstantFields(boolean precomputeConstantFields) {
+        this.precomputeConstantFields = precomputeConstantFields;
+    }
+
+    public int getMaxEventBytes() {
+        return maxEventBytes;
+    }
+
+    /**
+     * Maximum number of bytes written for an event.
+     *
+     * <p>The limit is enforced while the event is written: string values that would exceed it are
+     * truncated and end with {@code ...[truncated]}, other values are replaced by this marker, and
+     * properties that do not fit at all are omitted, so that the output remains valid JSON.
+     *
+     * @param maxEventBytes the maximum number of bytes, or {@code 0} for no limit (default)
+     */
+    public void setMaxEventBytes(int maxEventBytes) {
+        if (maxEventBytes < 0) {
+            throw new IllegalArgumentException("maxEventBytes must be >= 0");
+        }
+        this.maxEventBytes = maxEventBytes;
+    }
+
+    public boolean isFastJsonWriter() {
+        return fastJsonWriter;
+    }
+
+    /**
+     * Whether to write events with a lightweight {@link FastJsonWriter} instead of a Jackson {@link JsonGenerator}
+     * when all the providers implement {@link FastJsonProvider}.
+     *
+     * <p>The writer is only used when its output is the same as the output of the generator: for UTF-8 encoded
+     * JSON output, without JSON generator decorators, {@link #setMaxEventBytes(int) maxEventBytes} nor
+     * {@link #setProviderProfilingInterval(int) provider profiling}. Events holding values only Jackson knows
+     * how to serialize (markers, arbitrary objects, etc) are still written by the generator.
+     *
+     * @param fastJsonWriter {@code true} to write events with a {@link FastJsonWriter}, {@code false} to always use the generator (default)
+     */
+    public void setFastJsonWriter(boolean fastJsonWriter) {
+        this.fastJsonWriter = fastJsonWriter;
+    }
+
+    public int getProviderProfilingInterval() {
+        return providerProfilingInterval;
+    }
+
+    /**
+     * Measure the time spent and the bytes written by every provider for one event out of
+     * {@code providerProfilingInterval} on average.
+     *
+     * <p>The measurements are exposed by a {@link JsonProviderProfilerMBean} registered in the platform
+     * MBean server, and reported as a status message when stopped.
+     *
+     * @param providerProfilingInterval average number of events between two profiled events, or {@code 0} to disable profiling (default)
+     */
+    public void setProviderProfilingInterval(int providerProfilingInterval) {
+        if (providerProfilingInterval < 0) {
+            throw new IllegalArgumentException("providerProfilingInterval must be >= 0");
+        }
+        this.providerProfilingInterval = providerProfilingInterval;
+    }
+
+    /**
+     * @return the profiler measuring the providers, or {@code null} when profiling is disabled or the formatter is not started
+     */
+    public JsonProviderProfiler<Event> getProviderProfiler() {
+        return providerProfiler;
+    }
 }
@@ -18,6 +18,7 @@ package net.logstash.logback.composite;
 import ch.qos.logback.access.common.spi.IAccessEvent;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import tools.jackson.core.SerializableString;
 
 /**
  * A {@link JsonProvider} that has a configurable field name.
@@ -30,6 +31,12 @@ public abstract class AbstractFieldJsonProvider<Event extends DeferredProcessing
      * The field name used in the generated JSON when this provider writes its output.
      */
     private String fieldName;
+
+    /**
+     * The {@link #fieldName} pre-serialized once when configured, so that it is copied as-is
+     * into the output instead of being quoted and encoded again for every event.
+     */
+    private SerializableString serializedFieldName;
     
     public String getFieldName() {
         return fieldName;
@@ -37,6 +44,16 @@ public abstract class AbstractFieldJsonProvider<Event extends DeferredProcessing
     
     public void setFieldName(String fieldName) {
         this.fieldName = fieldName;
+        this.serializedFieldName = JsonWritingUtils.serializeFieldName(fieldName);
+    }
+
+    /**
+     * Get the pre-serialized form of the configured field name.
+     *
+     * @return the pre-serialized field name, or {@code null} if no field name is configured
+     */
+    protected SerializableString getSerializedFieldName() {
+        return serializedFieldName;
     }
     
 }
@@ -29,6 +29,7 @@ import net.logstash.logback.util.TimeZoneUtils;
 
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
 
 /**
  * Writes the timestamp field as either:
@@ -38,7 +39,7 @@ import tools.jackson.core.JsonGenerator;
  *      <li>A number value of the milliseconds since unix epoch (designated by specifying the pattern value as {@value #UNIX_TIMESTAMP_AS_NUMBER})</li>
  * </ul>
  */
-public abstract class AbstractFormattedTimestampJsonProvider<Event extends DeferredProcessingAware, FieldNames extends LogstashCommonFieldNames> extends AbstractFieldJsonProvider<Event> implements FieldNamesAware<FieldNames> {
+public abstract class AbstractFormattedTimestampJsonProvider<Event extends DeferredProcessingAware, FieldNames extends LogstashCommonFieldNames> extends AbstractFieldJsonProvider<Event> implements FastJsonProvider<Event>, FieldNamesAware<FieldNames> {
 
     public static final String FIELD_TIMESTAMP = "@timestamp";
 
@@ -93,7 +94,7 @@ public abstract class AbstractFormattedTimestampJsonProvider<Event extends Defer
      * Writes the timestamp to the JsonGenerator
      */
     protected interface TimestampWriter {
-        void writeTo(JsonGenerator generator, String fieldName, Instant timestamp);
+        void writeTo(JsonGenerator generator, SerializableString fieldName, Instant timestamp);
 
         String getTimestampAsString(Instant timestamp);
     }
@@ -105,7 +106,7 @@ public abstract class AbstractFormattedTimestampJsonProvider<Event extends Defer
     protected static class NumberTimestampWriter implements TimestampWriter {
 
         @Override
-        public void writeTo(JsonGenerator generator, String fieldName, Instant timestamp) {
+        public void writeTo(JsonGenerator generator, SerializableString fieldName, Instant timestamp) {
             JsonWritingUtils.writeNumberField(generator, fieldName, timestamp.toEpochMilli());
         }
 
@@ -127,7 +128,7 @@ public abstract class AbstractFormattedTimestampJsonProvider<Event extends Defer
         }
         
         @Override
-        public void writeTo(JsonGenerator generator, String fieldName, Instant timestamp) {
+        public void writeTo(JsonGenerator generator, SerializableString fieldName, Instant timestamp) {
             JsonWritingUtils.writeStringField(generator, fieldName, getTimestampAsString(timestamp));
         }
 
@@ -160,7 +161,17 @@ public abstract class AbstractFormattedTimestampJsonProvider<Event extends Defer
 
     @Override
     public void writeTo(JsonGenerator generator, Event event) {
-        timestampWriter.writeTo(generator, getFieldName(), getTimestampAsInstant(event));
+        timestampWriter.writeTo(generator, getSerializedFieldName(), getTimestampAsInstant(event));
+    }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, Event event) {
+        Instant timestamp = getTimestampAsInstant(event);
+        if (timestampWriter instanceof NumberTimestampWriter) {
+            writer.writeNumberField(getSerializedFieldName(), timestamp.toEpochMilli());
+            return true;
+        }
+        return writer.writeStringField(getSerializedFieldName(), timestampWriter.getTimestampAsString(timestamp));
     }
 
     protected String getFormattedTimestamp(Event event) {
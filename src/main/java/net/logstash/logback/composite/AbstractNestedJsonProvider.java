@@ -56,7 +56,8 @@ public abstract class AbstractNestedJsonProvider<Event extends DeferredProcessin
     
     @Override
     public void writeTo(JsonGenerator generator, Event event) {
-        generator.writeObjectPropertyStart(getFieldName());
+        JsonWritingUtils.writeName(generator, getSerializedFieldName());
+        generator.writeStartObject();
         jsonProviders.writeTo(generator, event);
         generator.writeEndObject();
     }
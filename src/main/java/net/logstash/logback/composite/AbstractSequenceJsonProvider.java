@@ -74,7 +74,7 @@ public abstract class AbstractSequenceJsonProvider<Event extends DeferredProcess
         if (!isStarted()) {
             throw new IllegalStateException("Provider " + this.getClass().getName() + " is  not started");
         }
-        JsonWritingUtils.writeNumberField(generator, getFieldName(), sequenceProvider.apply(event));
+        JsonWritingUtils.writeNumberField(generator, getSerializedFieldName(), sequenceProvider.apply(event));
     }
 
     /**
@@ -20,7 +20,7 @@ import net.logstash.logback.fieldnames.LogstashCommonFieldNames;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import tools.jackson.core.JsonGenerator;
 
-public abstract class AbstractThreadNameJsonProvider<Event extends DeferredProcessingAware> extends AbstractFieldJsonProvider<Event> implements FieldNamesAware<LogstashCommonFieldNames> {
+public abstract class AbstractThreadNameJsonProvider<Event extends DeferredProcessingAware> extends AbstractFieldJsonProvider<Event> implements FastJsonProvider<Event>, FieldNamesAware<LogstashCommonFieldNames> {
 
     public static final String FIELD_THREAD_NAME = "thread_name";
     
@@ -30,7 +30,12 @@ public abstract class AbstractThreadNameJsonProvider<Event extends DeferredProce
     
     @Override
     public void writeTo(JsonGenerator generator, Event event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), getThreadName(event));
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), getThreadName(event));
+    }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, Event event) {
+        return writer.writeStringField(getSerializedFieldName(), getThreadName(event));
     }
     
     @Override
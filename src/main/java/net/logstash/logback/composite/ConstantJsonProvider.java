@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import ch.qos.logback.access.common.spi.IAccessEvent;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+
+/**
+ * A {@link JsonProvider} whose output does not depend on the event being written,
+ * or only changes on rare occasions (for instance when the properties of the logback
+ * context are modified).
+ *
+ * <p>The {@link AbstractCompositeJsonFormatter} serializes the output of consecutive
+ * constant providers once, and splices the resulting pre-serialized fragment into every
+ * event instead of invoking the providers again.
+ * See {@link AbstractCompositeJsonFormatter#setPrecomputeConstantFields(boolean)}.
+ *
+ * @param <Event> type of event ({@link ILoggingEvent} or {@link IAccessEvent}).
+ */
+public interface ConstantJsonProvider<Event extends DeferredProcessingAware> extends JsonProvider<Event> {
+
+    /**
+     * Tell whether the output written by the last invocation of {@link #writeTo}
+     * would still be the same for the given event.
+     *
+     * <p>Called for every event before reusing the pre-serialized output of this provider,
+     * so implementations must be cheap. When {@code false} is returned, the output is
+     * serialized again by calling {@link #writeTo}.
+     *
+     * @param event the event about to be written
+     * @return {@code true} if the previous output is still valid
+     */
+    default boolean isOutputUpToDate(Event event) {
+        return true;
+    }
+
+    /**
+     * Tell whether the output of this provider can be pre-serialized at all.
+     *
+     * <p>Called once the provider is started. Providers unable to tell cheaply whether their
+     * output is still up to date return {@code false}, and are invoked for every event.
+     *
+     * @return {@code true} if the output of this provider can be pre-serialized
+     */
+    default boolean isPrecomputable() {
+        return true;
+    }
+}
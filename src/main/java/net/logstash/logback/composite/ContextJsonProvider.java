@@ -15,11 +15,18 @@
  */
 package net.logstash.logback.composite;
 
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import net.logstash.logback.fieldnames.LogstashCommonFieldNames;
 
 import ch.qos.logback.access.common.spi.IAccessEvent;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.spi.ConfigurationEvent;
+import ch.qos.logback.core.spi.ConfigurationEventListener;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import tools.jackson.core.JsonGenerator;
 
@@ -30,17 +37,57 @@ import tools.jackson.core.JsonGenerator;
  * to that field as a subobject.
  * Otherwise, the properties are written inline.
  *
+ * <p>With a logback-classic {@code LoggerContext}, the output is considered {@link ConstantJsonProvider constant}
+ * until a property of the context is added, removed or changed, or until the context is reconfigured.
+ * Other contexts do not tell when their properties change, so their properties are written for every event.
+ *
  * @param <Event> type of event ({@link ILoggingEvent} or {@link IAccessEvent}).
  */
-public class ContextJsonProvider<Event extends DeferredProcessingAware> extends AbstractFieldJsonProvider<Event> implements FieldNamesAware<LogstashCommonFieldNames> {
+public class ContextJsonProvider<Event extends DeferredProcessingAware> extends AbstractFieldJsonProvider<Event> implements ConstantJsonProvider<Event>, FieldNamesAware<LogstashCommonFieldNames> {
+
+    /**
+     * Incremented every time the context is (re)configured.
+     */
+    private final AtomicInteger configurationCount = new AtomicInteger();
+
+    private final ConfigurationEventListener configurationEventListener = this::onConfigurationEvent;
+
+    /**
+     * Version of the properties written by the last invocation of {@link #writeTo(JsonGenerator, DeferredProcessingAware)}
+     * together with the {@link #configurationCount} at that time, or {@code null} if the context is not a {@code LoggerContext}.
+     */
+    private volatile WrittenProperties writtenProperties;
+
+    @Override
+    public void start() {
+        if (getContext() instanceof ContextBase contextBase) {
+            contextBase.addConfigurationEventListener(configurationEventListener);
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (getContext() instanceof ContextBase contextBase) {
+            contextBase.removeConfigurationEventListener(configurationEventListener);
+        }
+        writtenProperties = null;
+        super.stop();
+    }
 
     @Override
     public void writeTo(JsonGenerator generator, Event event) {
         if (getContext() != null) {
+            int count = configurationCount.get();
+            Object version = LoggerContextVersion.of(context);
+            Map<String, String> properties = context.getCopyOfPropertyMap();
+            writtenProperties = version == null ? null : new WrittenProperties(count, version);
+
             if (getFieldName() != null) {
-                generator.writeObjectPropertyStart(getFieldName());
+                JsonWritingUtils.writeName(generator, getSerializedFieldName());
+                generator.writeStartObject();
             }
-            JsonWritingUtils.writeMapEntries(generator, context.getCopyOfPropertyMap());
+            JsonWritingUtils.writeMapEntries(generator, properties);
 
             if (getFieldName() != null) {
                 generator.writeEndObject();
@@ -48,9 +95,86 @@ public class ContextJsonProvider<Event extends DeferredProcessingAware> extends
         }
     }
 
+    @Override
+    public boolean isOutputUpToDate(Event event) {
+        Context context = getContext();
+        if (context == null) {
+            return true;
+        }
+        WrittenProperties written = writtenProperties;
+        return written != null
+                && written.configurationCount == configurationCount.get()
+                && written.version == LoggerContextVersion.of(context);
+    }
+
+    /**
+     * Only the properties of a {@code LoggerContext} can be pre-serialized, see {@link LoggerContextVersion}.
+     */
+    @Override
+    public boolean isPrecomputable() {
+        return getContext() == null || LoggerContextVersion.of(getContext()) != null;
+    }
+
+    private void onConfigurationEvent(ConfigurationEvent event) {
+        switch (event.getEventType()) {
+            case CONFIGURATION_STARTED:
+            case PARTIAL_CONFIGURATION_ENDED_SUCCESSFULLY:
+            case CONFIGURATION_ENDED_SUCCESSFULLY:
+            case CONFIGURATION_ENDED_WITH_XML_PARSING_ERRORS:
+                configurationCount.incrementAndGet();
+                break;
+            default:
+                break;
+        }
+    }
+
     @Override
     public void setFieldNames(LogstashCommonFieldNames fieldNames) {
         setFieldName(fieldNames.getContext());
     }
 
+
+    private static final class WrittenProperties {
+        private final int configurationCount;
+        private final Object version;
+
+        WrittenProperties(int configurationCount, Object version) {
+            this.configurationCount = configurationCount;
+            this.version = version;
+        }
+    }
+
+    /**
+     * A {@code LoggerContext} replaces its {@code LoggerContextVO} every time a property is put,
+     * so the identity of the value object tells whether the properties changed without copying them.
+     *
+     * <p>logback-classic is optional, so it is only referenced once found on the classpath.
+     */
+    private static final class LoggerContextVersion {
+        private static final boolean AVAILABLE = isAvailable();
+
+        /**
+         * @return the current {@code LoggerContextVO} of the given context, or {@code null} if it is not a {@code LoggerContext}
+         */
+        static Object of(Context context) {
+            return AVAILABLE ? Classic.of(context) : null;
+        }
+
+        private static boolean isAvailable() {
+            try {
+                Class.forName("ch.qos.logback.classic.LoggerContext", false, ContextJsonProvider.class.getClassLoader());
+                return true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        private static final class Classic {
+            static Object of(Context context) {
+                return context instanceof LoggerContext loggerContext
+                        ? loggerContext.getLoggerContextRemoteView()
+                        : null;
+            }
+        }
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import ch.qos.logback.access.common.spi.IAccessEvent;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import tools.jackson.core.JsonGenerator;
+
+/**
+ * A {@link JsonProvider} able to write its output with a {@link FastJsonWriter}
+ * instead of a Jackson {@link JsonGenerator}.
+ *
+ * <p>When every provider of a formatter implements this interface, the formatter can write events
+ * without Jackson. See {@link AbstractCompositeJsonFormatter#setFastJsonWriter(boolean)}.
+ *
+ * @param <Event> type of event ({@link ILoggingEvent} or {@link IAccessEvent}).
+ */
+public interface FastJsonProvider<Event extends DeferredProcessingAware> extends JsonProvider<Event> {
+
+    /**
+     * Write the same output as {@link #writeTo(JsonGenerator, DeferredProcessingAware)} with the given writer.
+     *
+     * <p>Implementations return {@code false} when the event holds values that only Jackson knows how
+     * to serialize (for instance arbitrary objects or markers). The output written for the event is
+     * then discarded, and the event is written again by the Jackson generator.
+     *
+     * @param writer the writer to write the output with
+     * @param event the event being written
+     * @return {@code true} if the output was written, {@code false} if the event must be written by Jackson
+     */
+    boolean writeTo(FastJsonWriter writer, Event event);
+}
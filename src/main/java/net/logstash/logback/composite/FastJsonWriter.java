@@ -0,0 +1,484 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+
+/**
+ * Minimal JSON writer encoding directly into a reusable UTF-8 byte array, used by
+ * {@link FastJsonProvider}s to write the common fields of an event without going
+ * through a {@link JsonGenerator}.
+ *
+ * <p>The output is the same as the one produced by a Jackson {@link JsonGenerator} with the default
+ * settings: no pretty printing, only the quote, the backslash and the control characters escaped,
+ * and the control characters without a short escape sequence written as <code>&#92;u00XX</code> with
+ * upper case hexadecimal digits.
+ *
+ * <p>Strings containing unpaired surrogate characters are not written: the methods writing a string
+ * return {@code false}, after which the content written so far must be discarded and the event
+ * written by Jackson instead.
+ *
+ * <p>Instances are not thread safe and are meant to be reused for consecutive events.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public final class FastJsonWriter {
+
+    private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    /**
+     * Escape sequence of the ASCII characters: {@code 0} when the character is written as-is,
+     * the character following the backslash for a short escape sequence, or {@code -1}
+     * for a <code>&#92;u00XX</code> escape sequence.
+     */
+    private static final int[] ESCAPES = new int[128];
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = -1;
+        }
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+    }
+
+    /**
+     * Number of characters of a string encoded between two capacity checks.
+     */
+    private static final int CHUNK_LENGTH = 1024;
+
+    /**
+     * Maximum number of bytes written for a single character: a <code>&#92;u00XX</code> escape sequence.
+     */
+    private static final int MAX_BYTES_PER_CHAR = 6;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private byte[] buffer;
+
+    private int position;
+
+    /**
+     * Current nesting depth, {@code 0} for the root level.
+     */
+    private int depth;
+
+    /**
+     * Whether the object or array at the given depth has no entry yet.
+     */
+    private boolean[] empty = new boolean[8];
+
+    /**
+     * Whether the container at the given depth is an array.
+     */
+    private boolean[] array = new boolean[8];
+
+    public FastJsonWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FastJsonWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+        reset();
+    }
+
+    /**
+     * Discard the content written so far.
+     */
+    public void reset() {
+        position = 0;
+        depth = 0;
+        empty[0] = true;
+        array[0] = true;
+    }
+
+    /**
+     * @return the number of bytes written since the last {@link #reset()}
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Copy the content written so far into the given output stream.
+     *
+     * @param outputStream the stream to write into
+     * @throws IOException thrown upon failure to write into the output stream
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, position);
+    }
+
+    /**
+     * @return a copy of the content written so far
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public void writeStartObject() {
+        beforeValue();
+        writeByte('{');
+        push(false);
+    }
+
+    public void writeEndObject() {
+        writeByte('}');
+        depth--;
+    }
+
+    public void writeStartArray() {
+        beforeValue();
+        writeByte('[');
+        push(true);
+    }
+
+    public void writeEndArray() {
+        writeByte(']');
+        depth--;
+    }
+
+    /**
+     * Write a pre-serialized property name.
+     *
+     * @param name the property name
+     */
+    public void writeName(SerializableString name) {
+        byte[] quoted = name.asQuotedUTF8();
+        beforeName();
+        ensureCapacity(quoted.length + 3);
+        buffer[position++] = '"';
+        System.arraycopy(quoted, 0, buffer, position, quoted.length);
+        position += quoted.length;
+        buffer[position++] = '"';
+        buffer[position++] = ':';
+    }
+
+    /**
+     * Write a property name.
+     *
+     * @param name the property name
+     * @return {@code false} if the name contains unpaired surrogates and was not written
+     */
+    public boolean writeName(String name) {
+        beforeName();
+        if (!writeQuoted(name)) {
+            return false;
+        }
+        writeByte(':');
+        return true;
+    }
+
+    /**
+     * Write a string value.
+     *
+     * @param value the value
+     * @return {@code false} if the value contains unpaired surrogates and was not written
+     */
+    public boolean writeString(String value) {
+        beforeValue();
+        return writeQuoted(value);
+    }
+
+    /**
+     * Write a pre-serialized string value.
+     *
+     * @param value the value
+     */
+    public void writeString(SerializableString value) {
+        byte[] quoted = value.asQuotedUTF8();
+        beforeValue();
+        ensureCapacity(quoted.length + 2);
+        buffer[position++] = '"';
+        System.arraycopy(quoted, 0, buffer, position, quoted.length);
+        position += quoted.length;
+        buffer[position++] = '"';
+    }
+
+    public void writeNumber(long value) {
+        beforeValue();
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            if (value == Long.MIN_VALUE) {
+                // Cannot be negated: write the last digit separately
+                writeDigits(-(value / 10));
+                buffer[position++] = (byte) ('0' - (int) (value % 10));
+                return;
+            }
+            value = -value;
+        }
+        writeDigits(value);
+    }
+
+    public void writeBoolean(boolean value) {
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+    }
+
+    public void writeNull() {
+        beforeValue();
+        writeBytes(NULL);
+    }
+
+    /**
+     * Write a value of one of the types whose serialization is the same for every
+     * Jackson configuration: {@link String}, {@link Boolean}, {@link Long}, {@link Integer},
+     * {@link Short} and {@link Byte}.
+     *
+     * @param value the value (not {@code null})
+     * @return {@code false} if the value is of another type or cannot be written
+     */
+    public boolean writeSimpleValue(Object value) {
+        if (value instanceof String string) {
+            return writeString(string);
+        }
+        if (value instanceof Boolean bool) {
+            writeBoolean(bool);
+            return true;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeNumber(((Number) value).longValue());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tell whether {@link #writeSimpleValue(Object)} accepts the given value.
+     *
+     * @param value the value
+     * @return {@code true} if the value is of a type written by {@link #writeSimpleValue(Object)}
+     */
+    public static boolean isSimpleValue(Object value) {
+        return value instanceof String
+                || value instanceof Boolean
+                || value instanceof Long
+                || value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte;
+    }
+
+    /**
+     * Writes the field if and only if the {@code fieldName} and {@code fieldValue} are not {@code null}.
+     *
+     * @param fieldName the pre-serialized field name
+     * @param fieldValue the field value
+     * @return {@code false} if the value cannot be written
+     * @see JsonWritingUtils#writeStringField(JsonGenerator, SerializableString, String)
+     */
+    public boolean writeStringField(SerializableString fieldName, String fieldValue) {
+        if (JsonWritingUtils.shouldWriteField(fieldName) && fieldValue != null) {
+            writeName(fieldName);
+            return writeString(fieldValue);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the field if and only if the {@code fieldName} is not {@code null}.
+     *
+     * @param fieldName the pre-serialized field name
+     * @param fieldValue the field value
+     * @see JsonWritingUtils#writeNumberField(JsonGenerator, SerializableString, long)
+     */
+    public void writeNumberField(SerializableString fieldName, long fieldValue) {
+        if (JsonWritingUtils.shouldWriteField(fieldName)) {
+            writeName(fieldName);
+            writeNumber(fieldValue);
+        }
+    }
+
+    /**
+     * Writes an array of strings if and only if the {@code fieldName} and values are not {@code null}.
+     *
+     * @param fieldName the pre-serialized field name
+     * @param fieldValues the field values
+     * @return {@code false} if one of the values cannot be written
+     * @see JsonWritingUtils#writeStringArrayField(JsonGenerator, SerializableString, String[])
+     */
+    public boolean writeStringArrayField(SerializableString fieldName, String[] fieldValues) {
+        if (JsonWritingUtils.shouldWriteField(fieldName) && fieldValues != null && fieldValues.length > 0) {
+            writeName(fieldName);
+            writeStartArray();
+            for (String fieldValue : fieldValues) {
+                if (!writeString(fieldValue)) {
+                    return false;
+                }
+            }
+            writeEndArray();
+        }
+        return true;
+    }
+
+    /**
+     * Splice pre-serialized properties into the current object.
+     *
+     * @param fields the UTF-8 encoded properties, starting with the comma separating them from the previous ones
+     */
+    void writeRawFields(byte[] fields) {
+        int offset = empty[depth] ? 1 : 0;
+        empty[depth] = false;
+        ensureCapacity(fields.length);
+        System.arraycopy(fields, offset, buffer, position, fields.length - offset);
+        position += fields.length - offset;
+    }
+
+    /**
+     * Write a pre-serialized value.
+     *
+     * @param value the UTF-8 encoded value
+     */
+    void writeRawValue(byte[] value) {
+        beforeValue();
+        writeBytes(value);
+    }
+
+    private void push(boolean isArray) {
+        depth++;
+        if (depth == empty.length) {
+            empty = Arrays.copyOf(empty, depth * 2);
+            array = Arrays.copyOf(array, depth * 2);
+        }
+        empty[depth] = true;
+        array[depth] = isArray;
+    }
+
+    private void beforeName() {
+        if (empty[depth]) {
+            empty[depth] = false;
+        } else {
+            writeByte(',');
+        }
+    }
+
+    private void beforeValue() {
+        if (array[depth]) {
+            // Root values are not separated
+            if (!empty[depth] && depth > 0) {
+                writeByte(',');
+            }
+            empty[depth] = false;
+        }
+    }
+
+    private boolean writeQuoted(String value) {
+        int length = value.length();
+        int start = position;
+        ensureCapacity(Math.min(length, CHUNK_LENGTH) * MAX_BYTES_PER_CHAR + 2);
+        byte[] buf = buffer;
+        int pos = position;
+        buf[pos++] = '"';
+
+        int i = 0;
+        while (i < length) {
+            int chunkEnd = Math.min(length, i + CHUNK_LENGTH);
+            if (i > 0) {
+                position = pos;
+                ensureCapacity((chunkEnd - i) * MAX_BYTES_PER_CHAR + 1);
+                buf = buffer;
+            }
+            for (; i < chunkEnd; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    int escape = ESCAPES[c];
+                    if (escape == 0) {
+                        buf[pos++] = (byte) c;
+                    } else if (escape > 0) {
+                        buf[pos++] = '\\';
+                        buf[pos++] = (byte) escape;
+                    } else {
+                        buf[pos++] = '\\';
+                        buf[pos++] = 'u';
+                        buf[pos++] = '0';
+                        buf[pos++] = '0';
+                        buf[pos++] = HEX_DIGITS[c >> 4];
+                        buf[pos++] = HEX_DIGITS[c & 0xF];
+                    }
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (!Character.isSurrogate(c)) {
+                    buf[pos++] = (byte) (0xE0 | (c >> 12));
+                    buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else {
+                    char low = i + 1 < length ? value.charAt(i + 1) : 0;
+                    if (!Character.isHighSurrogate(c) || !Character.isLowSurrogate(low)) {
+                        position = start;
+                        return false;
+                    }
+                    // The 4 bytes fit in the 6 bytes reserved for the two characters
+                    int codePoint = Character.toCodePoint(c, low);
+                    buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                    i++;
+                }
+            }
+        }
+        position = pos;
+        ensureCapacity(1);
+        buffer[position++] = '"';
+        return true;
+    }
+
+    private void writeDigits(long value) {
+        int digits = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        int pos = end;
+        do {
+            buffer[--pos] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = position + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
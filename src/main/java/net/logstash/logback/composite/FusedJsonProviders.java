@@ -0,0 +1,354 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import tools.jackson.core.JsonGenerator;
+
+/**
+ * Generates at runtime a {@link Writer} calling a fixed list of {@link JsonProvider}s in order,
+ * as a replacement of the loop in {@link JsonProviders#writeTo(JsonGenerator, DeferredProcessingAware)}.
+ *
+ * <p>The loop calls every provider through the same {@code writeTo} call site. With more than two
+ * provider types this call site becomes megamorphic, which prevents the JIT from inlining the
+ * providers into the formatting code. The generated writer is a hidden class (see
+ * {@link MethodHandles.Lookup#defineHiddenClass(byte[], boolean, MethodHandles.Lookup.ClassOption...)})
+ * with one field and one dedicated call site per provider. A new class is generated for every
+ * list of providers, so each call site only ever sees the type of its own provider: its type
+ * profile stays monomorphic and the JIT can inline the provider behind a type guard.
+ *
+ * <p>The class file is assembled by hand: its methods are straight-line code (no branches), so it
+ * only needs a constant pool and two {@code Code} attributes.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public final class FusedJsonProviders {
+
+    /**
+     * Maximum number of providers supported by a generated writer.
+     * Each provider adds 11 bytes to the {@code writeTo} method: above this limit the method
+     * would come close to the size the JIT refuses to compile.
+     */
+    public static final int MAX_PROVIDERS = 256;
+
+    /**
+     * Writes the output of a fixed list of providers.
+     *
+     * @param <Event> type of event
+     */
+    public interface Writer<Event extends DeferredProcessingAware> {
+        /**
+         * Invoke {@link JsonProvider#writeTo(JsonGenerator, DeferredProcessingAware)} on every provider, in order.
+         *
+         * @param generator the {@link JsonGenerator} to produce JSON content
+         * @param event the event to convert into JSON
+         */
+        void writeTo(JsonGenerator generator, Event event);
+    }
+
+    private static final String CLASS_NAME = FusedJsonProviders.class.getName().replace('.', '/') + "$Generated";
+    private static final String WRITER_NAME = Writer.class.getName().replace('.', '/');
+    private static final String PROVIDER_NAME = JsonProvider.class.getName().replace('.', '/');
+    private static final String PROVIDER_DESCRIPTOR = "L" + PROVIDER_NAME + ";";
+    private static final String WRITE_TO_DESCRIPTOR = "(L" + JsonGenerator.class.getName().replace('.', '/') + ";"
+            + "L" + DeferredProcessingAware.class.getName().replace('.', '/') + ";)V";
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + PROVIDER_DESCRIPTOR + ")V";
+
+    private static final int CLASS_FILE_VERSION = 61; // Java 17
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int AALOAD = 0x32;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEINTERFACE = 0xb9;
+
+    private FusedJsonProviders() {
+        // utility class
+    }
+
+    /**
+     * Generate a {@link Writer} invoking the given providers in order.
+     *
+     * @param <Event> type of event
+     * @param providers the providers to invoke
+     * @return a writer invoking the given providers
+     * @throws IllegalArgumentException if there are more than {@link #MAX_PROVIDERS} providers
+     * @throws ReflectiveOperationException if the generated class cannot be defined or instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public static <Event extends DeferredProcessingAware> Writer<Event> generate(List<JsonProvider<Event>> providers) throws ReflectiveOperationException {
+        if (providers.size() > MAX_PROVIDERS) {
+            throw new IllegalArgumentException("Cannot fuse more than " + MAX_PROVIDERS + " providers (got " + providers.size() + ")");
+        }
+
+        Class<?> writerClass = MethodHandles.lookup()
+                .defineHiddenClass(generateClassFile(providers.size()), true)
+                .lookupClass();
+
+        JsonProvider<?>[] args = providers.toArray(new JsonProvider<?>[0]);
+        return (Writer<Event>) writerClass.getConstructor(JsonProvider[].class).newInstance((Object) args);
+    }
+
+    /**
+     * Assemble the class file of a writer for the given number of providers.
+     * The generated class is equivalent to:
+     *
+     * <pre>
+     * public final class Generated implements Writer {
+     *     private final JsonProvider p0;
+     *     private final JsonProvider p1;
+     *
+     *     public Generated(JsonProvider[] providers) {
+     *         this.p0 = providers[0];
+     *         this.p1 = providers[1];
+     *     }
+     *
+     *     public void writeTo(JsonGenerator generator, DeferredProcessingAware event) {
+     *         p0.writeTo(generator, event);
+     *         p1.writeTo(generator, event);
+     *     }
+     * }
+     * </pre>
+     */
+    static byte[] generateClassFile(int providerCount) {
+        ConstantPool cp = new ConstantPool();
+        int thisClass = cp.classRef(CLASS_NAME);
+        int superClass = cp.classRef("java/lang/Object");
+        int writerInterface = cp.classRef(WRITER_NAME);
+        int objectInit = cp.methodRef(superClass, "<init>", "()V");
+        int providerWriteTo = cp.interfaceMethodRef(cp.classRef(PROVIDER_NAME), "writeTo", WRITE_TO_DESCRIPTOR);
+        int codeAttribute = cp.utf8("Code");
+
+        int[] fieldNames = new int[providerCount];
+        int[] fieldRefs = new int[providerCount];
+        int fieldDescriptor = cp.utf8(PROVIDER_DESCRIPTOR);
+        for (int i = 0; i < providerCount; i++) {
+            fieldNames[i] = cp.utf8("p" + i);
+            fieldRefs[i] = cp.fieldRef(thisClass, "p" + i, PROVIDER_DESCRIPTOR);
+        }
+
+        /*
+         * Constructor
+         */
+        ByteArrayOutputStream init = new ByteArrayOutputStream();
+        init.write(ALOAD_0);
+        writeOpcode(init, INVOKESPECIAL, objectInit);
+        for (int i = 0; i < providerCount; i++) {
+            init.write(ALOAD_0);
+            init.write(ALOAD_1);
+            pushInt(init, i);
+            init.write(AALOAD);
+            writeOpcode(init, PUTFIELD, fieldRefs[i]);
+        }
+        init.write(RETURN);
+
+        /*
+         * writeTo
+         */
+        ByteArrayOutputStream writeTo = new ByteArrayOutputStream();
+        for (int i = 0; i < providerCount; i++) {
+            writeTo.write(ALOAD_0);
+            writeOpcode(writeTo, GETFIELD, fieldRefs[i]);
+            writeTo.write(ALOAD_1);
+            writeTo.write(ALOAD_2);
+            writeOpcode(writeTo, INVOKEINTERFACE, providerWriteTo);
+            writeTo.write(3); // argument slots, including the receiver
+            writeTo.write(0);
+        }
+        writeTo.write(RETURN);
+
+        int initName = cp.utf8("<init>");
+        int initDescriptor = cp.utf8(CONSTRUCTOR_DESCRIPTOR);
+        int writeToName = cp.utf8("writeTo");
+        int writeToDescriptor = cp.utf8(WRITE_TO_DESCRIPTOR);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            cp.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(writerInterface);
+
+            out.writeShort(providerCount);
+            for (int i = 0; i < providerCount; i++) {
+                out.writeShort(ACC_PRIVATE | ACC_FINAL);
+                out.writeShort(fieldNames[i]);
+                out.writeShort(fieldDescriptor);
+                out.writeShort(0);
+            }
+
+            out.writeShort(2);
+            writeMethod(out, initName, initDescriptor, codeAttribute, 3, 2, init.toByteArray());
+            writeMethod(out, writeToName, writeToDescriptor, codeAttribute, 3, 3, writeTo.toByteArray());
+
+            out.writeShort(0);
+            out.flush();
+            return bytes.toByteArray();
+
+        } catch (IOException e) {
+            // Cannot happen when writing into a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeAttribute, int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+
+    private static void writeOpcode(ByteArrayOutputStream code, int opcode, int index) {
+        code.write(opcode);
+        code.write(index >> 8);
+        code.write(index);
+    }
+
+    private static void pushInt(ByteArrayOutputStream code, int value) {
+        if (value <= 5) {
+            code.write(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            code.write(BIPUSH);
+            code.write(value);
+        } else {
+            code.write(SIPUSH);
+            code.write(value >> 8);
+            code.write(value);
+        }
+    }
+
+
+    /**
+     * Minimal class file constant pool, deduplicating its entries.
+     */
+    private static class ConstantPool {
+        private static final int CONSTANT_UTF8 = 1;
+        private static final int CONSTANT_CLASS = 7;
+        private static final int CONSTANT_FIELDREF = 9;
+        private static final int CONSTANT_METHODREF = 10;
+        private static final int CONSTANT_INTERFACE_METHODREF = 11;
+        private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, () -> {
+                out.writeByte(CONSTANT_UTF8);
+                out.writeUTF(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, () -> {
+                out.writeByte(CONSTANT_CLASS);
+                out.writeShort(name);
+            });
+        }
+
+        int fieldRef(int owner, String name, String descriptor) {
+            return memberRef(CONSTANT_FIELDREF, owner, name, descriptor);
+        }
+
+        int methodRef(int owner, String name, String descriptor) {
+            return memberRef(CONSTANT_METHODREF, owner, name, descriptor);
+        }
+
+        int interfaceMethodRef(int owner, String name, String descriptor) {
+            return memberRef(CONSTANT_INTERFACE_METHODREF, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, int owner, String name, String descriptor) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("N" + name + ":" + descriptor, () -> {
+                out.writeByte(CONSTANT_NAME_AND_TYPE);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return entry("M" + tag + ":" + owner + ":" + nameAndType, () -> {
+                out.writeByte(tag);
+                out.writeShort(owner);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int entry(String key, EntryWriter writer) {
+            Integer index = entries.get(key);
+            if (index == null) {
+                try {
+                    writer.write();
+                } catch (IOException e) {
+                    // Cannot happen when writing into a ByteArrayOutputStream
+                    throw new IllegalStateException(e);
+                }
+                index = count++;
+                entries.put(key, index);
+            }
+            return index;
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write() throws IOException;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import tools.jackson.core.JsonGenerator;
+
+/**
+ * Measures the time spent and the number of bytes written by each {@link JsonProvider}.
+ *
+ * <p>Only one event out of {@link #getSampleInterval()} on average is profiled, so that the overhead
+ * remains low enough to be enabled in production. Profiled events are written by invoking the providers
+ * in a loop (see {@link #writeTo(JsonGenerator, DeferredProcessingAware)}), other events are written as usual.
+ *
+ * <p>The number of bytes written by a provider is the difference between the position of the output
+ * before and after invoking it. It is not available for data formats whose generator does not report
+ * the amount of buffered output.
+ *
+ * @param <Event> type of event ({@link ch.qos.logback.classic.spi.ILoggingEvent} or {@link ch.qos.logback.access.common.spi.IAccessEvent}).
+ */
+public class JsonProviderProfiler<Event extends DeferredProcessingAware> implements JsonProviderProfilerMBean {
+
+    private final int sampleInterval;
+
+    private final List<JsonProvider<Event>> providers;
+
+    private final ToLongFunction<JsonGenerator> outputPosition;
+
+    private final LongAdder profiledEvents = new LongAdder();
+
+    private final LongAdder[] nanos;
+
+    private final LongAdder[] bytes;
+
+    /**
+     * @param sampleInterval average number of events between two profiled events
+     * @param providers the providers to invoke in order for profiled events
+     * @param outputPosition returns the number of bytes written by a generator so far
+     */
+    JsonProviderProfiler(int sampleInterval, List<JsonProvider<Event>> providers, ToLongFunction<JsonGenerator> outputPosition) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("sampleInterval must be > 0");
+        }
+        this.sampleInterval = sampleInterval;
+        this.providers = List.copyOf(providers);
+        this.outputPosition = outputPosition;
+        this.nanos = newAdders(providers.size());
+        this.bytes = newAdders(providers.size());
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * @return whether the current event should be profiled
+     */
+    boolean sample() {
+        return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+    }
+
+    /**
+     * Write the event by invoking the providers in order, measuring each of them.
+     *
+     * @param generator the generator to write the event to
+     * @param event the event to write
+     */
+    void writeTo(JsonGenerator generator, Event event) {
+        for (int i = 0; i < providers.size(); i++) {
+            long startPosition = outputPosition.applyAsLong(generator);
+            long startNanos = System.nanoTime();
+
+            providers.get(i).writeTo(generator, event);
+
+            nanos[i].add(System.nanoTime() - startNanos);
+            bytes[i].add(outputPosition.applyAsLong(generator) - startPosition);
+        }
+        profiledEvents.increment();
+    }
+
+    @Override
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    @Override
+    public long getProfiledEvents() {
+        return profiledEvents.sum();
+    }
+
+    @Override
+    public String[] getProviderProfiles() {
+        long events = Math.max(1, profiledEvents.sum());
+        long[] providerNanos = new long[providers.size()];
+        long totalNanos = 0;
+        for (int i = 0; i < providerNanos.length; i++) {
+            providerNanos[i] = nanos[i].sum();
+            totalNanos += providerNanos[i];
+        }
+
+        String[] profiles = new String[providers.size()];
+        for (int i = 0; i < profiles.length; i++) {
+            double share = totalNanos == 0 ? 0 : 100.0 * providerNanos[i] / totalNanos;
+            profiles[i] = String.format("%s: %d ns/event, %d bytes/event, %.1f%% of time",
+                    describe(providers.get(i)), providerNanos[i] / events, bytes[i].sum() / events, share);
+        }
+        return profiles;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < providers.size(); i++) {
+            nanos[i].reset();
+            bytes[i].reset();
+        }
+        profiledEvents.reset();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(System.lineSeparator() + "  ", "Provider profiles over " + getProfiledEvents() + " events:" + System.lineSeparator() + "  ", "");
+        for (String profile : getProviderProfiles()) {
+            joiner.add(profile);
+        }
+        return joiner.toString();
+    }
+
+    private static String describe(JsonProvider<?> provider) {
+        if (provider instanceof PrecomputedFieldsJsonProvider<?> precomputed) {
+            StringJoiner joiner = new StringJoiner(", ", "precomputed[", "]");
+            for (JsonProvider<?> constant : precomputed.getProviders()) {
+                joiner.add(describe(constant));
+            }
+            return joiner.toString();
+        }
+        String name = provider.getClass().getSimpleName().isEmpty() ? provider.getClass().getName() : provider.getClass().getSimpleName();
+        if (provider instanceof AbstractFieldJsonProvider<?> fieldProvider && fieldProvider.getFieldName() != null) {
+            return name + "(" + fieldProvider.getFieldName() + ")";
+        }
+        return name;
+    }
+}
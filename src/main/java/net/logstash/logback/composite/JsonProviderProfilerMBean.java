@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+/**
+ * Management interface of the {@link JsonProviderProfiler}, registered in the platform MBean server
+ * under the {@code net.logstash.logback} domain.
+ */
+public interface JsonProviderProfilerMBean {
+
+    /**
+     * @return the average number of events between two profiled events
+     */
+    int getSampleInterval();
+
+    /**
+     * @return the number of events profiled since started or last reset
+     */
+    long getProfiledEvents();
+
+    /**
+     * The profile of every provider, in the order they are invoked: average time and bytes written per
+     * profiled event, and share of the time spent in all the providers.
+     *
+     * @return one line per provider
+     */
+    String[] getProviderProfiles();
+
+    /**
+     * Discard the measurements collected so far.
+     */
+    void reset();
+}
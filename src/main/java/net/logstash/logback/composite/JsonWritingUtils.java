@@ -20,6 +20,11 @@ import java.util.Map;
 import net.logstash.logback.fieldnames.LogstashCommonFieldNames;
 
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.core.json.JsonGeneratorBase;
+import tools.jackson.core.json.JsonWriteFeature;
+import tools.jackson.core.util.JsonGeneratorDelegate;
 
 /**
  * Utilities for writing JSON
@@ -137,6 +142,141 @@ public class JsonWritingUtils {
         }
     }
 
+    /**
+     * Writes a map as String fields to the generator if and only if the {@code fieldName}
+     * and values are not {@code null}.
+     *
+     * @param generator the {@link JsonGenerator} to produce JSON content
+     * @param fieldName pre-serialized name of the JSON property to write the map content under
+     * @param map map whose entries are written as JSON field/values
+     * @param lowerCaseKeys when true, the map keys will be written in lower case.
+     */
+    public static void writeMapStringFields(JsonGenerator generator, SerializableString fieldName, Map<String, String> map, boolean lowerCaseKeys) {
+        if (shouldWriteField(fieldName) && map != null && !map.isEmpty()) {
+            writeName(generator, fieldName);
+            generator.writeStartObject();
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                String key = entry.getKey() != null && lowerCaseKeys
+                        ? entry.getKey().toLowerCase()
+                        : entry.getKey();
+                writeStringField(generator, key, entry.getValue());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes an array of strings to the generator if and only if the {@code fieldName}
+     * and values are not {@code null}.
+     *
+     * @param generator the {@link JsonGenerator} to produce JSON content
+     * @param fieldName the pre-serialized field name
+     * @param fieldValues the field values
+     */
+    public static void writeStringArrayField(JsonGenerator generator, SerializableString fieldName, String[] fieldValues) {
+        if (shouldWriteField(fieldName) && fieldValues != null && fieldValues.length > 0) {
+            writeName(generator, fieldName);
+            generator.writeStartArray();
+            for (String fieldValue : fieldValues) {
+                generator.writeString(fieldValue);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes the field to the generator if and only if the {@code fieldName} and
+     * {@code fieldValue} are not {@code null}.
+     *
+     * @param generator the {@link JsonGenerator} to produce JSON content
+     * @param fieldName the pre-serialized field name
+     * @param fieldValue the field value
+     */
+    public static void writeStringField(JsonGenerator generator, SerializableString fieldName, String fieldValue) {
+        if (shouldWriteField(fieldName) && fieldValue != null) {
+            writeName(generator, fieldName);
+            generator.writeString(fieldValue);
+        }
+    }
+
+    /**
+     * Writes the field to the generator if and only if the {@code fieldName} is not {@code null}.
+     *
+     * @param generator the {@link JsonGenerator} to produce JSON content
+     * @param fieldName the pre-serialized field name
+     * @param fieldValue the field value
+     */
+    public static void writeNumberField(JsonGenerator generator, SerializableString fieldName, int fieldValue) {
+        if (shouldWriteField(fieldName)) {
+            writeName(generator, fieldName);
+            generator.writeNumber(fieldValue);
+        }
+    }
+
+    /**
+     * Writes the field to the generator if and only if the {@code fieldName} is not {@code null}.
+     *
+     * @param generator the {@link JsonGenerator} to produce JSON content
+     * @param fieldName the pre-serialized field name
+     * @param fieldValue the field value
+     */
+    public static void writeNumberField(JsonGenerator generator, SerializableString fieldName, long fieldValue) {
+        if (shouldWriteField(fieldName)) {
+            writeName(generator, fieldName);
+            generator.writeNumber(fieldValue);
+        }
+    }
+
+    /**
+     * Writes a pre-serialized field name.
+     *
+     * <p>Pre-serialized names are escaped with the standard JSON escaping and copied as is by
+     * the generator. The name is written as a String instead when the generator escapes other
+     * characters, so that it is escaped like the other names and values.
+     *
+     * @param generator the {@link JsonGenerator} to produce JSON content
+     * @param fieldName the pre-serialized field name
+     * @see #hasStandardEscaping(JsonGenerator)
+     */
+    public static void writeName(JsonGenerator generator, SerializableString fieldName) {
+        if (hasStandardEscaping(generator)) {
+            generator.writeName(fieldName);
+        } else {
+            generator.writeName(fieldName.getValue());
+        }
+    }
+
+    /**
+     * Indicates whether the given generator escapes the same characters as {@link SerializedString},
+     * that is without custom character escapes nor escaping of non-ASCII characters or of forward slashes.
+     * Pre-serialized strings are only written as is by such generators.
+     *
+     * @param generator the generator
+     * @return {@code true} if pre-serialized strings are written as the generator would write them
+     */
+    public static boolean hasStandardEscaping(JsonGenerator generator) {
+        if (generator.getCharacterEscapes() != null || generator.getHighestNonEscapedChar() != 0) {
+            return false;
+        }
+        JsonGenerator target = generator;
+        while (target instanceof JsonGeneratorDelegate delegate) {
+            target = delegate.delegate();
+        }
+        return !(target instanceof JsonGeneratorBase jsonGenerator)
+            || !jsonGenerator.isEnabled(JsonWriteFeature.ESCAPE_FORWARD_SLASHES);
+    }
+
+    /**
+     * Pre-serialize the given field name so it can be written by the generator without being
+     * quoted and encoded again for every event.
+     *
+     * @param fieldName the field name (may be {@code null})
+     * @return the pre-serialized field name, or {@code null} if the field name is {@code null}
+     */
+    public static SerializableString serializeFieldName(String fieldName) {
+        return fieldName == null ? null : new SerializedString(fieldName);
+    }
+
     /**
      * Indicates whether the given field name must be written or not.
      * A field should be written if its name is not null and not ignored.
@@ -149,4 +289,16 @@ public class JsonWritingUtils {
     public static boolean shouldWriteField(String fieldName) {
         return fieldName != null && !fieldName.equals(LogstashCommonFieldNames.IGNORE_FIELD_INDICATOR);
     }
+
+    /**
+     * Indicates whether the given pre-serialized field name must be written or not.
+     *
+     * @param fieldName the pre-serialized field name
+     * @return {@code true} if the field should be written, {@code false} otherwise
+     *
+     * @see #shouldWriteField(String)
+     */
+    public static boolean shouldWriteField(SerializableString fieldName) {
+        return fieldName != null && shouldWriteField(fieldName.getValue());
+    }
 }
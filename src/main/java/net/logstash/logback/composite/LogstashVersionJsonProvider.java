@@ -30,7 +30,7 @@ import tools.jackson.core.JsonGenerator;
  *
  * @param <Event> type of event ({@link ILoggingEvent} or {@link IAccessEvent}).
  */
-public class LogstashVersionJsonProvider<Event extends DeferredProcessingAware> extends AbstractFieldJsonProvider<Event> implements FieldNamesAware<LogstashCommonFieldNames> {
+public class LogstashVersionJsonProvider<Event extends DeferredProcessingAware> extends AbstractFieldJsonProvider<Event> implements ConstantJsonProvider<Event>, FastJsonProvider<Event>, FieldNamesAware<LogstashCommonFieldNames> {
     
     public static final String FIELD_VERSION = "@version";
     
@@ -53,11 +53,20 @@ public class LogstashVersionJsonProvider<Event extends DeferredProcessingAware>
     @Override
     public void writeTo(JsonGenerator generator, Event event) {
         if (writeAsInteger) {
-            JsonWritingUtils.writeNumberField(generator, getFieldName(), versionAsInteger);
+            JsonWritingUtils.writeNumberField(generator, getSerializedFieldName(), versionAsInteger);
         } else {
-            JsonWritingUtils.writeStringField(generator, getFieldName(), version);
+            JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), version);
         }
     }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, Event event) {
+        if (writeAsInteger) {
+            writer.writeNumberField(getSerializedFieldName(), versionAsInteger);
+            return true;
+        }
+        return writer.writeStringField(getSerializedFieldName(), version);
+    }
     
     @Override
     public void setFieldNames(LogstashCommonFieldNames fieldNames) {
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.Function;
+
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes the output of a sequence of {@link ConstantJsonProvider}s as a pre-serialized
+ * fragment of JSON text instead of invoking the providers for every event.
+ *
+ * <p>The fragment is produced by invoking the providers against a generator obtained from
+ * the same factory as the one used for the events, so that generator decorators are honoured.
+ * It is produced again whenever one of the providers reports its output is not
+ * {@link ConstantJsonProvider#isOutputUpToDate(DeferredProcessingAware) up to date} anymore.
+ *
+ * <p>The fields are spliced into the event with {@link JsonGenerator#writeRaw(SerializableString)},
+ * except for the last one whose name goes through {@link JsonGenerator#writeName(SerializableString)}
+ * so that the generator keeps track of the fields written in the current object and properly
+ * separates the fields written afterwards.
+ *
+ * <p>Falls back to invoking the providers directly when the generator uses a pretty printer,
+ * when it escapes other characters than the standard JSON escaping (the name of the last field
+ * would not be escaped like the others) or when the fragment cannot be produced.
+ *
+ * @param <Event> type of event
+ */
+final class PrecomputedFieldsJsonProvider<Event extends DeferredProcessingAware> extends AbstractJsonProvider<Event> implements FastJsonProvider<Event> {
+
+    private final List<ConstantJsonProvider<Event>> providers;
+
+    /**
+     * Used to parse the fragment written by the providers.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the generators used to write the fragment.
+     */
+    private final Function<Writer, JsonGenerator> generatorFactory;
+
+    private volatile Fragment fragment;
+
+    /**
+     * When true, the providers are invoked directly.
+     */
+    private volatile boolean disabled;
+
+
+    PrecomputedFieldsJsonProvider(List<ConstantJsonProvider<Event>> providers, ObjectMapper objectMapper, Function<Writer, JsonGenerator> generatorFactory) {
+        this.providers = List.copyOf(providers);
+        this.objectMapper = objectMapper;
+        this.generatorFactory = generatorFactory;
+    }
+
+    @Override
+    public void writeTo(JsonGenerator generator, Event event) {
+        Fragment current = getFragment(event);
+        if (current != null) {
+            current.writeTo(generator);
+            return;
+        }
+        for (int i = 0; i < providers.size(); i++) {
+            providers.get(i).writeTo(generator, event);
+        }
+    }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, Event event) {
+        Fragment current = getFragment(event);
+        if (current == null) {
+            return false;
+        }
+        current.writeTo(writer);
+        return true;
+    }
+
+    @Override
+    public void prepareForDeferredProcessing(Event event) {
+        for (ConstantJsonProvider<Event> provider : providers) {
+            provider.prepareForDeferredProcessing(event);
+        }
+    }
+
+    List<ConstantJsonProvider<Event>> getProviders() {
+        return providers;
+    }
+
+    /**
+     * @return the fragment to write for the given event, or {@code null} if the providers must be invoked directly
+     */
+    private Fragment getFragment(Event event) {
+        if (disabled) {
+            return null;
+        }
+        Fragment current = fragment;
+        if (current == null || !isOutputUpToDate(event)) {
+            current = refresh(event);
+        }
+        return current;
+    }
+
+    private boolean isOutputUpToDate(Event event) {
+        for (int i = 0; i < providers.size(); i++) {
+            if (!providers.get(i).isOutputUpToDate(event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Produce the fragment again.
+     *
+     * <p>Synchronized so that the fragment stored last is always the one matching the state
+     * the providers recorded during their last invocation.
+     *
+     * @return the new fragment, or {@code null} if the providers must be invoked directly
+     */
+    private synchronized Fragment refresh(Event event) {
+        if (disabled) {
+            return null;
+        }
+        Fragment current = fragment;
+        if (current != null && isOutputUpToDate(event)) {
+            return current;
+        }
+
+        try {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = generatorFactory.apply(writer)) {
+                if (generator.getPrettyPrinter() != null || !JsonWritingUtils.hasStandardEscaping(generator)) {
+                    disabled = true;
+                    return null;
+                }
+                generator.writeStartObject();
+                for (ConstantJsonProvider<Event> provider : providers) {
+                    provider.writeTo(generator, event);
+                }
+                generator.writeEndObject();
+            }
+            current = Fragment.parse(objectMapper, writer.toString());
+
+        } catch (RuntimeException e) {
+            addWarn("Unable to pre-serialize the output of constant JSON providers, falling back to invoking them for every event", e);
+            disabled = true;
+            return null;
+        }
+
+        fragment = current;
+        return current;
+    }
+
+
+    /**
+     * Pre-serialized fields.
+     */
+    static final class Fragment {
+
+        private static final Fragment EMPTY = new Fragment(null, null, null, null);
+
+        /**
+         * All the fields but the last one, prefixed with a comma.
+         * {@code null} if there is a single field.
+         */
+        private final SerializableString leadingFields;
+
+        /**
+         * All the fields but the last one, followed by a comma.
+         * {@code null} if there is a single field.
+         */
+        private final SerializableString trailingFields;
+
+        /**
+         * Name of the last field, or {@code null} if there are no fields at all.
+         */
+        private final SerializableString lastName;
+
+        /**
+         * Serialized value of the last field.
+         */
+        private final SerializableString lastValue;
+
+        private Fragment(String fields, String lastName, String lastValue) {
+            this(fields == null ? null : new SerializedString("," + fields),
+                 fields == null ? null : new SerializedString(fields + ","),
+                 new SerializedString(lastName),
+                 new SerializedString(lastValue));
+        }
+
+        private Fragment(SerializableString leadingFields, SerializableString trailingFields, SerializableString lastName, SerializableString lastValue) {
+            this.leadingFields = leadingFields;
+            this.trailingFields = trailingFields;
+            this.lastName = lastName;
+            this.lastValue = lastValue;
+        }
+
+        /**
+         * Split the given serialized JSON object into its fields.
+         *
+         * @param objectMapper the mapper used to parse the object
+         * @param json the serialized JSON object
+         * @return the fragment holding the fields of the object
+         */
+        static Fragment parse(ObjectMapper objectMapper, String json) {
+            try (JsonParser parser = objectMapper.createParser(json)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalStateException("Expected a JSON object but got " + json);
+                }
+                int firstNameStart = -1;
+                int lastNameStart = -1;
+                int lastValueStart = -1;
+                String lastName = null;
+
+                while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                    lastNameStart = (int) parser.currentTokenLocation().getCharOffset();
+                    lastName = parser.currentName();
+                    if (firstNameStart < 0) {
+                        firstNameStart = lastNameStart;
+                    }
+                    parser.nextToken();
+                    lastValueStart = (int) parser.currentTokenLocation().getCharOffset();
+                    parser.skipChildren();
+                }
+                if (lastName == null) {
+                    return EMPTY;
+                }
+                int end = (int) parser.currentTokenLocation().getCharOffset();
+
+                String fields = null;
+                if (firstNameStart < lastNameStart) {
+                    // Strip the comma separating the last field from the previous ones
+                    fields = json.substring(firstNameStart, json.lastIndexOf(',', lastNameStart)).trim();
+                }
+                return new Fragment(fields, lastName, json.substring(lastValueStart, end).trim());
+            }
+        }
+
+        void writeTo(JsonGenerator generator) {
+            if (lastName == null) {
+                return;
+            }
+            if (leadingFields != null) {
+                generator.writeRaw(generator.streamWriteContext().getEntryCount() > 0 ? leadingFields : trailingFields);
+            }
+            generator.writeName(lastName);
+            generator.writeRawValue(lastValue);
+        }
+
+        void writeTo(FastJsonWriter writer) {
+            if (lastName == null) {
+                return;
+            }
+            if (leadingFields != null) {
+                writer.writeRawFields(leadingFields.asUnquotedUTF8());
+            }
+            writer.writeName(lastName);
+            writer.writeRawValue(lastValue.asUnquotedUTF8());
+        }
+    }
+}
@@ -39,7 +39,7 @@ public class SequenceJsonProvider<Event extends DeferredProcessingAware> extends
 
     @Override
     public void writeTo(JsonGenerator generator, Event iLoggingEvent) {
-        JsonWritingUtils.writeNumberField(generator, getFieldName(), sequenceNumber.incrementAndGet());
+        JsonWritingUtils.writeNumberField(generator, getSerializedFieldName(), sequenceNumber.incrementAndGet());
     }
 
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+
+/**
+ * A bounded cache of {@link SerializableString}s for string values that repeat across events,
+ * so that they are escaped and encoded to UTF-8 once instead of for every event.
+ *
+ * <p>Values are admitted according to their frequency, following the TinyLFU policy: the number
+ * of lookups of every value is estimated by a count-min sketch whose counters are halved
+ * periodically, and a value replaces the one occupying its slot only if it has been looked up
+ * more often. A value is admitted in an empty slot when it is looked up for the second time.
+ * High-cardinality values such as identifiers are therefore seldom admitted and do not evict
+ * frequent values.
+ *
+ * <p>Values are stored in a direct-mapped table indexed by their hash code and compared by
+ * equality. Values longer than {@value #MAX_VALUE_LENGTH} characters are not cached.
+ *
+ * <p>The cached values are escaped with the standard JSON escaping of {@link SerializedString}.
+ * They must not be written by generators escaping other characters, see {@link #canWriteTo(JsonGenerator)}.
+ *
+ * <p>This class is thread-safe. The table and the counters are updated without synchronization:
+ * concurrent updates may be lost, which only affects the accuracy of the frequencies.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public final class SerializedStringCache {
+
+    /**
+     * Maximum length of the cached values.
+     */
+    static final int MAX_VALUE_LENGTH = 512;
+
+    private static final int ROWS = 4;
+
+    private static final int MAX_COUNT = 15;
+
+    private static final int[] SEEDS = {0x97CB3127, 0xB2F1A3A5, 0x6C8E9CF5, 0x3C6EF372};
+
+    private static final class Entry {
+        final String value;
+        final SerializableString serialized;
+        final int hash;
+
+        Entry(String value, SerializableString serialized, int hash) {
+            this.value = value;
+            this.serialized = serialized;
+            this.hash = hash;
+        }
+    }
+
+    private final Entry[] entries;
+
+    private final int mask;
+
+    /**
+     * Count-min sketch: {@link #ROWS} rows of {@code counterMask + 1} counters.
+     */
+    private final byte[] counters;
+
+    private final int counterMask;
+
+    /**
+     * Number of increments after which the counters are halved.
+     */
+    private final int sampleSize;
+
+    private int increments;
+
+    /**
+     * Create a new cache.
+     *
+     * @param capacity the maximum number of cached values, rounded up to a power of two
+     */
+    public SerializedStringCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+
+        int width = Math.max(16, size * 2);
+        this.counters = new byte[ROWS * width];
+        this.counterMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * Whether the cached values can be written by the given generator, that is whether the generator
+     * escapes the same characters as {@link SerializedString}: cached values are written as is,
+     * bypassing custom character escapes, the escaping of non-ASCII characters and the escaping
+     * of forward slashes.
+     *
+     * @param generator the generator
+     * @return {@code true} if the cached values are written as the generator would write them
+     */
+    public static boolean canWriteTo(JsonGenerator generator) {
+        return JsonWritingUtils.hasStandardEscaping(generator);
+    }
+
+    /**
+     * Return the cached serialized form of the given value, admitting it in the cache if it is
+     * frequent enough.
+     *
+     * @param value the value
+     * @return the serialized value, or {@code null} if the value is not cached
+     */
+    public SerializableString get(String value) {
+        if (value.length() > MAX_VALUE_LENGTH) {
+            return null;
+        }
+        int hash = spread(value.hashCode());
+        int index = hash & mask;
+        int frequency = increment(hash);
+
+        Entry entry = entries[index];
+        if (entry != null && entry.hash == hash && (entry.value == value || entry.value.equals(value))) {
+            return entry.serialized;
+        }
+        if (entry == null ? frequency < 2 : frequency <= frequency(entry.hash)) {
+            return null;
+        }
+
+        SerializedString serialized = new SerializedString(value);
+        try {
+            // Encode eagerly, failing for values with unpaired surrogates
+            serialized.asQuotedUTF8();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        entries[index] = new Entry(value, serialized, hash);
+        return serialized;
+    }
+
+    private int increment(int hash) {
+        int min = MAX_COUNT;
+        for (int row = 0; row < ROWS; row++) {
+            int index = counterIndex(hash, row);
+            int count = counters[index];
+            if (count < MAX_COUNT) {
+                counters[index] = (byte) ++count;
+            }
+            min = Math.min(min, count);
+        }
+        if (++increments >= sampleSize) {
+            age();
+        }
+        return min;
+    }
+
+    private int frequency(int hash) {
+        int min = MAX_COUNT;
+        for (int row = 0; row < ROWS; row++) {
+            min = Math.min(min, counters[counterIndex(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Halve all the counters so that the frequencies follow the recent lookups.
+     */
+    private void age() {
+        increments = 0;
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = (byte) (counters[i] >> 1);
+        }
+    }
+
+    private int counterIndex(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return row * (counterMask + 1) + (h & counterMask);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,603 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+
+import tools.jackson.core.Base64Variant;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.TokenStreamContext;
+import tools.jackson.core.util.JsonGeneratorDelegate;
+
+/**
+ * {@link JsonGenerator} enforcing a maximum size on the events it writes, while they are being written.
+ *
+ * <p>Before writing a value, the generator compares the number of bytes written so far for the
+ * current event with the remaining budget, keeping enough room to close the objects and arrays
+ * still open:
+ * <ul>
+ * <li>string values that do not fit are truncated and end with {@value #TRUNCATION_MARKER},</li>
+ * <li>other values that do not fit are replaced by {@value #TRUNCATION_MARKER},</li>
+ * <li>properties whose name does not fit, and array elements that do not fit at all, are omitted
+ *     together with their value.</li>
+ * </ul>
+ * The output therefore remains a valid JSON document. Truncated strings leave an eighth of the
+ * maximum size available for the values written after them, so that a large message or stack
+ * trace does not cause all the following fields to be omitted.
+ *
+ * <p>The size of strings is estimated from their characters, assuming control characters
+ * are escaped. Escaping of non-ASCII characters is not accounted for. Content written with
+ * {@link #writeRaw(String)} is counted once written but never truncated nor omitted, which is why
+ * the formatter does not splice precomputed constant fields into events written by this generator.
+ *
+ * <p>A new event starts whenever an object or array is started at the root level.
+ */
+final class TruncatingJsonGenerator extends JsonGeneratorDelegate {
+
+    /**
+     * Appended to truncated strings and written in place of values that do not fit.
+     */
+    static final String TRUNCATION_MARKER = "...[truncated]";
+
+    /**
+     * Number of characters kept available for the value of a property when writing its name:
+     * enough to write a number, or {@link #TRUNCATION_MARKER} and its quotes.
+     */
+    private static final int MIN_VALUE_LENGTH = 24;
+
+    /**
+     * Number of characters assumed for a number when its exact length is unknown.
+     */
+    private static final int NUMBER_LENGTH = 24;
+
+    private final int maxEventBytes;
+
+    /**
+     * Number of bytes left available by truncated strings for the values written after them.
+     */
+    private final int tailBytes;
+
+    /**
+     * Number of bytes flushed by the delegate so far.
+     */
+    private final LongSupplier flushedBytes;
+
+    /**
+     * Number of bytes of a character: 1 for UTF-8 (ASCII), 2 for UTF-16, 4 for UTF-32.
+     */
+    private final int unitBytes;
+
+    private final boolean utf8;
+
+    private final int markerBytes;
+
+    /**
+     * Nesting depth within the property or array element being omitted, or {@code -1} when writing.
+     * {@code 0} means the value following an omitted property name has not been started yet.
+     */
+    private int skipDepth = -1;
+
+    /**
+     * Number of bytes written by the delegate before the current event.
+     */
+    private long eventStart;
+
+
+    TruncatingJsonGenerator(JsonGenerator delegate, int maxEventBytes, JsonEncoding encoding, LongSupplier flushedBytes) {
+        super(delegate, false);
+        this.maxEventBytes = maxEventBytes;
+        this.tailBytes = maxEventBytes / 8;
+        this.flushedBytes = flushedBytes;
+        this.unitBytes = encoding.bits() / 8;
+        this.utf8 = encoding == JsonEncoding.UTF8;
+        this.markerBytes = TRUNCATION_MARKER.length() * unitBytes;
+    }
+
+
+    /*
+     * Structures
+     */
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        if (!skipStructure()) {
+            delegate.writeStartObject();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(Object forValue) {
+        if (!skipStructure()) {
+            delegate.writeStartObject(forValue);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(Object forValue, int size) {
+        if (!skipStructure()) {
+            delegate.writeStartObject(forValue, size);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndObject() {
+        if (!skipEnd()) {
+            delegate.writeEndObject();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        if (!skipStructure()) {
+            delegate.writeStartArray();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(Object forValue) {
+        if (!skipStructure()) {
+            delegate.writeStartArray(forValue);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(Object forValue, int size) {
+        if (!skipStructure()) {
+            delegate.writeStartArray(forValue, size);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndArray() {
+        if (!skipEnd()) {
+            delegate.writeEndArray();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeArray(int[] array, int offset, int length) {
+        writeStartArray(array, length);
+        for (int i = offset; i < offset + length; i++) {
+            writeNumber(array[i]);
+        }
+        return writeEndArray();
+    }
+
+    @Override
+    public JsonGenerator writeArray(long[] array, int offset, int length) {
+        writeStartArray(array, length);
+        for (int i = offset; i < offset + length; i++) {
+            writeNumber(array[i]);
+        }
+        return writeEndArray();
+    }
+
+    @Override
+    public JsonGenerator writeArray(double[] array, int offset, int length) {
+        writeStartArray(array, length);
+        for (int i = offset; i < offset + length; i++) {
+            writeNumber(array[i]);
+        }
+        return writeEndArray();
+    }
+
+    @Override
+    public JsonGenerator writeArray(String[] array, int offset, int length) {
+        writeStartArray(array, length);
+        for (int i = offset; i < offset + length; i++) {
+            writeString(array[i]);
+        }
+        return writeEndArray();
+    }
+
+
+    /*
+     * Property names
+     */
+
+    @Override
+    public JsonGenerator writeName(String name) {
+        if (!skipName(name)) {
+            delegate.writeName(name);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeName(SerializableString name) {
+        if (!skipName(name.getValue())) {
+            delegate.writeName(name);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writePropertyId(long id) {
+        if (!skipName(Long.toString(id))) {
+            delegate.writePropertyId(id);
+        }
+        return this;
+    }
+
+
+    /*
+     * Strings
+     */
+
+    @Override
+    public JsonGenerator writeString(String text) {
+        if (text == null) {
+            return writeNull();
+        }
+        if (!skipValue(0)) {
+            writeString(text, available() - 2 * unitBytes);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeString(char[] buffer, int offset, int length) {
+        if (!skipValue(0)) {
+            int available = available() - 2 * unitBytes;
+            if (length * unitBytes * 6 <= available) {
+                delegate.writeString(buffer, offset, length);
+            } else {
+                writeString(new String(buffer, offset, length), available);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeString(SerializableString text) {
+        if (!skipValue(0)) {
+            int available = available() - 2 * unitBytes;
+            if (fits(text.getValue(), available)) {
+                delegate.writeString(text);
+            } else {
+                writeString(text.getValue(), available);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeString(Reader reader, int length) {
+        if (!skipValue(Math.max(length, 0))) {
+            delegate.writeString(reader, length);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeUTF8String(byte[] buffer, int offset, int length) {
+        return writeString(new String(buffer, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public JsonGenerator writeRawUTF8String(byte[] buffer, int offset, int length) {
+        if (!skipValue(0)) {
+            if ((length + 2) * unitBytes <= available()) {
+                delegate.writeRawUTF8String(buffer, offset, length);
+            } else {
+                delegate.writeString(TRUNCATION_MARKER);
+            }
+        }
+        return this;
+    }
+
+
+    /*
+     * Other values
+     */
+
+    @Override
+    public JsonGenerator writeRawValue(String text) {
+        return writeRawValue(text, 0, text.length());
+    }
+
+    @Override
+    public JsonGenerator writeRawValue(String text, int offset, int length) {
+        if (!skipValue(length)) {
+            if (length * unitBytes <= available()) {
+                delegate.writeRawValue(text, offset, length);
+            } else {
+                delegate.writeString(TRUNCATION_MARKER);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeRawValue(char[] text, int offset, int length) {
+        if (!skipValue(length)) {
+            if (length * unitBytes <= available()) {
+                delegate.writeRawValue(text, offset, length);
+            } else {
+                delegate.writeString(TRUNCATION_MARKER);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeBinary(Base64Variant b64variant, byte[] data, int offset, int length) {
+        int encodedLength = (length + 2) / 3 * 4 + 2;
+        if (!skipValue(encodedLength)) {
+            if (encodedLength * unitBytes <= available()) {
+                delegate.writeBinary(b64variant, data, offset, length);
+            } else {
+                delegate.writeString(TRUNCATION_MARKER);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(short value) {
+        if (!skipValue(NUMBER_LENGTH)) {
+            delegate.writeNumber(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(int value) {
+        if (!skipValue(NUMBER_LENGTH)) {
+            delegate.writeNumber(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(long value) {
+        if (!skipValue(NUMBER_LENGTH)) {
+            delegate.writeNumber(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(BigInteger value) {
+        if (value == null) {
+            return writeNull();
+        }
+        return writeNumber(value.toString());
+    }
+
+    @Override
+    public JsonGenerator writeNumber(double value) {
+        if (!skipValue(NUMBER_LENGTH)) {
+            delegate.writeNumber(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(float value) {
+        if (!skipValue(NUMBER_LENGTH)) {
+            delegate.writeNumber(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(BigDecimal value) {
+        if (!skipValue(value == null ? NUMBER_LENGTH : value.precision() + NUMBER_LENGTH)) {
+            delegate.writeNumber(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(String encodedValue) {
+        if (encodedValue == null) {
+            return writeNull();
+        }
+        if (!skipValue(encodedValue.length())) {
+            if (encodedValue.length() * unitBytes <= available()) {
+                delegate.writeNumber(encodedValue);
+            } else {
+                delegate.writeString(TRUNCATION_MARKER);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(char[] encodedValueBuffer, int offset, int length) {
+        return writeNumber(new String(encodedValueBuffer, offset, length));
+    }
+
+    @Override
+    public JsonGenerator writeBoolean(boolean state) {
+        if (!skipValue(5)) {
+            delegate.writeBoolean(state);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        if (!skipValue(4)) {
+            delegate.writeNull();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEmbeddedObject(Object object) {
+        if (!skipValue(NUMBER_LENGTH)) {
+            delegate.writeEmbeddedObject(object);
+        }
+        return this;
+    }
+
+
+    /*
+     * Budget
+     */
+
+    /**
+     * Number of bytes that can still be written for the current event, keeping enough room
+     * to close the objects and arrays currently open.
+     */
+    private int available() {
+        TokenStreamContext context = delegate.streamWriteContext();
+        long written = writtenBytes() - eventStart;
+        long closing = (long) context.getNestingDepth() * unitBytes;
+        // comma before an array element, or colon before the value of a property
+        long separator = context.inObject() || context.getEntryCount() > 0 ? unitBytes : 0;
+        return (int) Math.max(Math.min(maxEventBytes - written - closing - separator, Integer.MAX_VALUE), -1);
+    }
+
+    private long writtenBytes() {
+        return flushedBytes.getAsLong() + Math.max(delegate.streamWriteOutputBuffered(), 0);
+    }
+
+    private boolean skipStructure() {
+        TokenStreamContext context = delegate.streamWriteContext();
+        if (context.inRoot()) {
+            // new event
+            skipDepth = -1;
+            eventStart = writtenBytes();
+            return false;
+        }
+        if (skipDepth >= 0) {
+            skipDepth++;
+            return true;
+        }
+        if (context.inArray() && 2 * unitBytes > available()) {
+            skipDepth = 1;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean skipEnd() {
+        if (skipDepth < 0) {
+            return false;
+        }
+        if (--skipDepth <= 0) {
+            skipDepth = -1;
+        }
+        return true;
+    }
+
+    private boolean skipName(String name) {
+        if (skipDepth >= 0) {
+            return true;
+        }
+        TokenStreamContext context = delegate.streamWriteContext();
+        int separator = context.getEntryCount() > 0 ? unitBytes : 0;
+        // available() already accounts for the colon
+        int available = available() - separator - (2 + MIN_VALUE_LENGTH) * unitBytes;
+        if (!fits(name, available)) {
+            skipDepth = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the value about to be written must be omitted, either because it belongs
+     * to an omitted property or because it does not fit in the array it is an element of.
+     *
+     * @param length the number of characters of the value (or 0 if it can be truncated)
+     */
+    private boolean skipValue(int length) {
+        if (skipDepth >= 0) {
+            if (skipDepth == 0) {
+                skipDepth = -1;
+            }
+            return true;
+        }
+        return delegate.streamWriteContext().inArray()
+                && Math.max(length * unitBytes, markerBytes + 2 * unitBytes) > available();
+    }
+
+    private void writeString(String text, int available) {
+        if (fits(text, available)) {
+            delegate.writeString(text);
+            return;
+        }
+        int budget = available - markerBytes;
+        if (budget > tailBytes) {
+            budget -= tailBytes;
+        }
+        int length = fittingLength(text, budget);
+        if (length > 0 && Character.isHighSurrogate(text.charAt(length - 1))) {
+            length--;
+        }
+        delegate.writeString(text.substring(0, length).concat(TRUNCATION_MARKER));
+    }
+
+    /**
+     * Whether the given text fits in the given number of bytes once written.
+     */
+    private boolean fits(String text, int available) {
+        int length = text.length();
+        if (length * unitBytes * 6 <= available) {
+            // Fits even if every character was escaped
+            return true;
+        }
+        return length * unitBytes <= available && fittingLength(text, available) == length;
+    }
+
+    /**
+     * Number of leading characters of the given text fitting in the given number of bytes once written.
+     */
+    private int fittingLength(String text, int available) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            bytes += charBytes(text.charAt(i));
+            if (bytes > available) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    private int charBytes(char c) {
+        if (c < 0x20) {
+            return 6 * unitBytes;
+        }
+        if (c == '"' || c == '\\') {
+            return 2 * unitBytes;
+        }
+        if (!utf8 || c < 0x80) {
+            return unitBytes;
+        }
+        if (c < 0x800 || Character.isSurrogate(c)) {
+            return 2;
+        }
+        return 3;
+    }
+}
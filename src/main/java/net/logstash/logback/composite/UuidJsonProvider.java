@@ -63,7 +63,7 @@ public class UuidJsonProvider<Event extends DeferredProcessingAware> extends Abs
 
     @Override
     public void writeTo(JsonGenerator generator, Event event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), uuids.generate().toString());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), uuids.generate().toString());
     }
 
     public String getStrategy() {
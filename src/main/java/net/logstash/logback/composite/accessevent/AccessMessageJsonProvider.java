@@ -33,7 +33,7 @@ public class AccessMessageJsonProvider extends AccessEventFormattedTimestampJson
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
         JsonWritingUtils.writeStringField(generator,
-                getFieldName(),
+                getSerializedFieldName(),
                 String.format("%s - %s [%s] \"%s\" %s %s",
                         event.getRemoteHost(),
                         event.getRemoteUser() == null ? "-" : event.getRemoteUser(),
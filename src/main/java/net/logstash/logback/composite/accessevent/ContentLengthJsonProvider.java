@@ -33,7 +33,7 @@ public class ContentLengthJsonProvider extends AbstractFieldJsonProvider<IAccess
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeNumberField(generator, getFieldName(), event.getContentLength());
+        JsonWritingUtils.writeNumberField(generator, getSerializedFieldName(), event.getContentLength());
     }
     
     @Override
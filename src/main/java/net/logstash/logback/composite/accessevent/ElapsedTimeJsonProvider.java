@@ -33,7 +33,7 @@ public class ElapsedTimeJsonProvider extends AbstractFieldJsonProvider<IAccessEv
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeNumberField(generator, getFieldName(), event.getElapsedTime());
+        JsonWritingUtils.writeNumberField(generator, getSerializedFieldName(), event.getElapsedTime());
     }
     
     @Override
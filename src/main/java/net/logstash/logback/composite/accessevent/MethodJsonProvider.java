@@ -33,7 +33,7 @@ public class MethodJsonProvider extends AbstractFieldJsonProvider<IAccessEvent>
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getMethod());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getMethod());
     }
     
     @Override
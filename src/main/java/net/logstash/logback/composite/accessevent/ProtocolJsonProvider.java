@@ -33,7 +33,7 @@ public class ProtocolJsonProvider extends AbstractFieldJsonProvider<IAccessEvent
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getProtocol());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getProtocol());
     }
     
     @Override
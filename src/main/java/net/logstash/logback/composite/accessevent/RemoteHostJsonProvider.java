@@ -33,7 +33,7 @@ public class RemoteHostJsonProvider extends AbstractFieldJsonProvider<IAccessEve
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getRemoteHost());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getRemoteHost());
     }
     
     @Override
@@ -33,7 +33,7 @@ public class RemoteUserJsonProvider extends AbstractFieldJsonProvider<IAccessEve
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getRemoteUser());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getRemoteUser());
     }
     
     @Override
@@ -49,7 +49,7 @@ public class RequestHeadersJsonProvider extends AbstractFieldJsonProvider<IAcces
                 }
             }
         }
-        JsonWritingUtils.writeMapStringFields(generator, getFieldName(), headers, lowerCaseHeaderNames);
+        JsonWritingUtils.writeMapStringFields(generator, getSerializedFieldName(), headers, lowerCaseHeaderNames);
     }
 
     @Override
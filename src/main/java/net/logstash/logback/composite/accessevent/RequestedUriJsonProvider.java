@@ -33,7 +33,7 @@ public class RequestedUriJsonProvider extends AbstractFieldJsonProvider<IAccessE
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getRequestURI());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getRequestURI());
     }
     
     @Override
@@ -33,7 +33,7 @@ public class RequestedUrlJsonProvider extends AbstractFieldJsonProvider<IAccessE
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getRequestURL());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getRequestURL());
     }
     
     @Override
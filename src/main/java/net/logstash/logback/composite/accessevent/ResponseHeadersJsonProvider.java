@@ -49,7 +49,7 @@ public class ResponseHeadersJsonProvider extends AbstractFieldJsonProvider<IAcce
                 }
             }
         }
-        JsonWritingUtils.writeMapStringFields(generator, getFieldName(), headers, lowerCaseHeaderNames);
+        JsonWritingUtils.writeMapStringFields(generator, getSerializedFieldName(), headers, lowerCaseHeaderNames);
     }
 
     @Override
@@ -33,7 +33,7 @@ public class StatusCodeJsonProvider extends AbstractFieldJsonProvider<IAccessEve
     
     @Override
     public void writeTo(JsonGenerator generator, IAccessEvent event) {
-        JsonWritingUtils.writeNumberField(generator, getFieldName(), event.getStatusCode());
+        JsonWritingUtils.writeNumberField(generator, getSerializedFieldName(), event.getStatusCode());
     }
     
     @Override
@@ -37,7 +37,7 @@ public abstract class AbstractThrowableClassNameJsonProvider extends AbstractFie
         IThrowableProxy throwable = getThrowable(event.getThrowableProxy());
         if (throwable != null) {
             String throwableClassName = determineClassName(throwable);
-            JsonWritingUtils.writeStringField(generator, getFieldName(), throwableClassName);
+            JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), throwableClassName);
         }
     }
 
@@ -38,7 +38,7 @@ public abstract class AbstractThrowableMessageJsonProvider extends AbstractField
         IThrowableProxy throwable = getThrowable(event);
         if (throwable != null) {
             String throwableMessage = throwable.getMessage();
-            JsonWritingUtils.writeStringField(generator, getFieldName(), throwableMessage);
+            JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), throwableMessage);
         }
     }
 
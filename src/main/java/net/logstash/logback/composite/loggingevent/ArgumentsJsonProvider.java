@@ -17,8 +17,12 @@ package net.logstash.logback.composite.loggingevent;
 
 import net.logstash.logback.argument.StructuredArgument;
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
+import net.logstash.logback.composite.JsonWritingUtils;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
+import net.logstash.logback.marker.ObjectAppendingMarker;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import tools.jackson.core.JsonGenerator;
@@ -40,7 +44,7 @@ import tools.jackson.core.JsonGenerator;
  * If the fieldName is non-null, then the arguments will be written to that field as a subobject.
  * Otherwise, the arguments are written inline.
  */
-public class ArgumentsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class ArgumentsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     private boolean includeStructuredArguments = true;
     private boolean includeNonStructuredArguments;
@@ -69,14 +73,16 @@ public class ArgumentsJsonProvider extends AbstractFieldJsonProvider<ILoggingEve
             if (arg instanceof StructuredArgument structuredArgument) {
                 if (includeStructuredArguments) {
                     if (!hasWrittenFieldName && getFieldName() != null) {
-                        generator.writeObjectPropertyStart(getFieldName());
+                        JsonWritingUtils.writeName(generator, getSerializedFieldName());
+                        generator.writeStartObject();
                         hasWrittenFieldName = true;
                     }
                     structuredArgument.writeTo(generator);
                 }
             } else if (includeNonStructuredArguments) {
                 if (!hasWrittenFieldName && getFieldName() != null) {
-                    generator.writeObjectPropertyStart(getFieldName());
+                    JsonWritingUtils.writeName(generator, getSerializedFieldName());
+                    generator.writeStartObject();
                     hasWrittenFieldName = true;
                 }
                 String fieldName = nonStructuredArgumentsFieldPrefix + argIndex;
@@ -88,6 +94,58 @@ public class ArgumentsJsonProvider extends AbstractFieldJsonProvider<ILoggingEve
             generator.writeEndObject();
         }
     }
+
+    /**
+     * Only {@link ObjectAppendingMarker} structured arguments and non-structured arguments whose value
+     * is a string, a boolean or an integral number are written, the others are left to the Jackson generator.
+     */
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        if (!includeStructuredArguments && !includeNonStructuredArguments) {
+            return true;
+        }
+        Object[] args = event.getArgumentArray();
+        if (args == null || args.length == 0) {
+            return true;
+        }
+        boolean hasWrittenFieldName = false;
+
+        for (int argIndex = 0; argIndex < args.length; argIndex++) {
+            Object arg = args[argIndex];
+            String fieldName;
+            Object value;
+            if (arg instanceof StructuredArgument) {
+                if (!includeStructuredArguments) {
+                    continue;
+                }
+                if (arg.getClass() != ObjectAppendingMarker.class) {
+                    return false;
+                }
+                fieldName = ((ObjectAppendingMarker) arg).getFieldName();
+                value = ((ObjectAppendingMarker) arg).getFieldValue();
+            } else if (includeNonStructuredArguments) {
+                fieldName = nonStructuredArgumentsFieldPrefix + argIndex;
+                value = arg;
+            } else {
+                continue;
+            }
+            if (!FastJsonWriter.isSimpleValue(value)) {
+                return false;
+            }
+            if (!hasWrittenFieldName && getFieldName() != null) {
+                writer.writeName(getSerializedFieldName());
+                writer.writeStartObject();
+                hasWrittenFieldName = true;
+            }
+            if (!writer.writeName(fieldName) || !writer.writeSimpleValue(value)) {
+                return false;
+            }
+        }
+        if (hasWrittenFieldName) {
+            writer.writeEndObject();
+        }
+        return true;
+    }
     
     public boolean isIncludeStructuredArguments() {
         return includeStructuredArguments;
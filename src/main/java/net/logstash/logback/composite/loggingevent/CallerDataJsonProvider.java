@@ -22,6 +22,7 @@ import net.logstash.logback.fieldnames.LogstashFieldNames;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
 
 public class CallerDataJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
 
@@ -34,6 +35,11 @@ public class CallerDataJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
     private String methodFieldName = FIELD_CALLER_METHOD_NAME;
     private String fileFieldName = FIELD_CALLER_FILE_NAME;
     private String lineFieldName = FIELD_CALLER_LINE_NUMBER;
+
+    private SerializableString serializedClassFieldName = JsonWritingUtils.serializeFieldName(classFieldName);
+    private SerializableString serializedMethodFieldName = JsonWritingUtils.serializeFieldName(methodFieldName);
+    private SerializableString serializedFileFieldName = JsonWritingUtils.serializeFieldName(fileFieldName);
+    private SerializableString serializedLineFieldName = JsonWritingUtils.serializeFieldName(lineFieldName);
     
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
@@ -42,12 +48,13 @@ public class CallerDataJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
             return;
         }
         if (getFieldName() != null) {
-            generator.writeObjectPropertyStart(getFieldName());
+            JsonWritingUtils.writeName(generator, getSerializedFieldName());
+            generator.writeStartObject();
         }
-        JsonWritingUtils.writeStringField(generator, classFieldName, callerData.getClassName());
-        JsonWritingUtils.writeStringField(generator, methodFieldName, callerData.getMethodName());
-        JsonWritingUtils.writeStringField(generator, fileFieldName, callerData.getFileName());
-        JsonWritingUtils.writeNumberField(generator, lineFieldName, callerData.getLineNumber());
+        JsonWritingUtils.writeStringField(generator, serializedClassFieldName, callerData.getClassName());
+        JsonWritingUtils.writeStringField(generator, serializedMethodFieldName, callerData.getMethodName());
+        JsonWritingUtils.writeStringField(generator, serializedFileFieldName, callerData.getFileName());
+        JsonWritingUtils.writeNumberField(generator, serializedLineFieldName, callerData.getLineNumber());
         if (getFieldName() != null) {
             generator.writeEndObject();
         }
@@ -80,23 +87,27 @@ public class CallerDataJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
     }
     public void setClassFieldName(String callerClassFieldName) {
         this.classFieldName = callerClassFieldName;
+        this.serializedClassFieldName = JsonWritingUtils.serializeFieldName(callerClassFieldName);
     }
     public String getMethodFieldName() {
         return methodFieldName;
     }
     public void setMethodFieldName(String callerMethodFieldName) {
         this.methodFieldName = callerMethodFieldName;
+        this.serializedMethodFieldName = JsonWritingUtils.serializeFieldName(callerMethodFieldName);
     }
     public String getFileFieldName() {
         return fileFieldName;
     }
     public void setFileFieldName(String callerFileFieldName) {
         this.fileFieldName = callerFileFieldName;
+        this.serializedFileFieldName = JsonWritingUtils.serializeFieldName(callerFileFieldName);
     }
     public String getLineFieldName() {
         return lineFieldName;
     }
     public void setLineFieldName(String callerLineFieldName) {
         this.lineFieldName = callerLineFieldName;
+        this.serializedLineFieldName = JsonWritingUtils.serializeFieldName(callerLineFieldName);
     }
 }
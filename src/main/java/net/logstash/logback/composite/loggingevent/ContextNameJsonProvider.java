@@ -15,23 +15,38 @@
  */
 package net.logstash.logback.composite.loggingevent;
 
+import java.util.Objects;
+
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.ConstantJsonProvider;
 import net.logstash.logback.composite.JsonWritingUtils;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import tools.jackson.core.JsonGenerator;
 
-public class ContextNameJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> {
+public class ContextNameJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements ConstantJsonProvider<ILoggingEvent> {
 
     public static final String FIELD_CONTEXT_NAME = "context";
 
+    /**
+     * Context name written by the last invocation of {@link #writeTo(JsonGenerator, ILoggingEvent)}.
+     */
+    private volatile String writtenContextName;
+
     public ContextNameJsonProvider() {
         setFieldName(FIELD_CONTEXT_NAME);
     }
     
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getLoggerContextVO().getName());
+        String contextName = event.getLoggerContextVO().getName();
+        writtenContextName = contextName;
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), contextName);
+    }
+
+    @Override
+    public boolean isOutputUpToDate(ILoggingEvent event) {
+        return Objects.equals(writtenContextName, event.getLoggerContextVO().getName());
     }
     
 }
@@ -22,12 +22,17 @@ import java.util.List;
 import java.util.Map;
 
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
+import net.logstash.logback.composite.JsonWritingUtils;
+import net.logstash.logback.composite.SerializedStringCache;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import org.slf4j.event.KeyValuePair;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
 
 /**
  * Includes key value pairs added from slf4j's fluent api in the output according to
@@ -58,7 +63,7 @@ import tools.jackson.core.JsonGenerator;
  * to that field as a subobject.
  * Otherwise, the pairs are written inline.</p>
  */
-public class KeyValuePairsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class KeyValuePairsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     /**
      * See {@link KeyValuePairsJsonProvider}.
@@ -72,14 +77,38 @@ public class KeyValuePairsJsonProvider extends AbstractFieldJsonProvider<ILoggin
 
     private final Map<String, String> keyFieldNames = new HashMap<>();
 
+    /**
+     * Pre-serialized field names of the keys known at configuration time
+     * (from {@link #includeKeyNames} and {@link #keyFieldNames}), resolved when started.
+     */
+    private Map<String, SerializableString> serializedKeyFieldNames = Collections.emptyMap();
+
+    /**
+     * See {@link #setValueCacheSize(int)}.
+     */
+    private int valueCacheSize;
+
+    /**
+     * Cache of the pre-serialized string values, {@code null} when disabled.
+     */
+    private SerializedStringCache valueCache;
+
     @Override
     public void start() {
         if (!this.includeKeyNames.isEmpty() && !this.excludeKeyNames.isEmpty()) {
             addError("Both includeKeyNames and excludeKeyNames are not empty.  Only one is allowed to be not empty.");
         }
+        this.serializedKeyFieldNames = MdcJsonProvider.serializeFieldNames(includeKeyNames, keyFieldNames);
+        this.valueCache = valueCacheSize > 0 ? new SerializedStringCache(valueCacheSize) : null;
         super.start();
     }
 
+    @Override
+    public void stop() {
+        super.stop();
+        this.valueCache = null;
+    }
+
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
         List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
@@ -89,19 +118,30 @@ public class KeyValuePairsJsonProvider extends AbstractFieldJsonProvider<ILoggin
 
         String fieldName = getFieldName();
         if (fieldName != null) {
-            generator.writeObjectPropertyStart(getFieldName());
+            JsonWritingUtils.writeName(generator, getSerializedFieldName());
+            generator.writeStartObject();
         }
 
+        boolean useValueCache = valueCache != null && SerializedStringCache.canWriteTo(generator);
         for (KeyValuePair keyValuePair : keyValuePairs) {
-            if (keyValuePair.key != null && keyValuePair.value != null
-                    && (includeKeyNames.isEmpty() || includeKeyNames.contains(keyValuePair.key))
-                    && (excludeKeyNames.isEmpty() || !excludeKeyNames.contains(keyValuePair.key))) {
+            if (isIncluded(keyValuePair)) {
+                SerializableString serializedKey = serializedKeyFieldNames.get(keyValuePair.key);
+                SerializableString serializedValue = useValueCache ? getCachedValue(keyValuePair.value) : null;
+                if (serializedKey == null && serializedValue == null) {
+                    generator.writePOJOProperty(getKeyFieldName(keyValuePair.key), keyValuePair.value);
+                    continue;
+                }
 
-                String key = keyFieldNames.get(keyValuePair.key);
-                if (key == null) {
-                    key = keyValuePair.key;
+                if (serializedKey != null) {
+                    JsonWritingUtils.writeName(generator, serializedKey);
+                } else {
+                    generator.writeName(getKeyFieldName(keyValuePair.key));
+                }
+                if (serializedValue != null) {
+                    generator.writeString(serializedValue);
+                } else {
+                    generator.writePOJO(keyValuePair.value);
                 }
-                generator.writePOJOProperty(key, keyValuePair.value);
             }
         }
 
@@ -110,6 +150,58 @@ public class KeyValuePairsJsonProvider extends AbstractFieldJsonProvider<ILoggin
         }
     }
 
+    /**
+     * Values other than strings, booleans and integral numbers are left to the Jackson generator.
+     */
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+        if (keyValuePairs == null || keyValuePairs.isEmpty()) {
+            return true;
+        }
+
+        if (getFieldName() != null) {
+            writer.writeName(getSerializedFieldName());
+            writer.writeStartObject();
+        }
+        for (KeyValuePair keyValuePair : keyValuePairs) {
+            if (isIncluded(keyValuePair)) {
+                SerializableString serializedKey = serializedKeyFieldNames.get(keyValuePair.key);
+                if (serializedKey != null) {
+                    writer.writeName(serializedKey);
+                } else if (!writer.writeName(keyValuePair.key)) {
+                    return false;
+                }
+                SerializableString serializedValue = getCachedValue(keyValuePair.value);
+                if (serializedValue != null) {
+                    writer.writeString(serializedValue);
+                } else if (!writer.writeSimpleValue(keyValuePair.value)) {
+                    return false;
+                }
+            }
+        }
+        if (getFieldName() != null) {
+            writer.writeEndObject();
+        }
+        return true;
+    }
+
+    private String getKeyFieldName(String key) {
+        String fieldName = keyFieldNames.get(key);
+        return fieldName == null ? key : fieldName;
+    }
+
+    private SerializableString getCachedValue(Object value) {
+        SerializedStringCache cache = this.valueCache;
+        return cache != null && value instanceof String string ? cache.get(string) : null;
+    }
+
+    private boolean isIncluded(KeyValuePair keyValuePair) {
+        return keyValuePair.key != null && keyValuePair.value != null
+                && (includeKeyNames.isEmpty() || includeKeyNames.contains(keyValuePair.key))
+                && (excludeKeyNames.isEmpty() || !excludeKeyNames.contains(keyValuePair.key));
+    }
+
     @Override
     public void setFieldNames(LogstashFieldNames fieldNames) {
         setFieldName(fieldNames.getKeyValuePair());
@@ -139,6 +231,25 @@ public class KeyValuePairsJsonProvider extends AbstractFieldJsonProvider<ILoggin
         this.excludeKeyNames = new ArrayList<>(excludeKeyNames);
     }
 
+    public int getValueCacheSize() {
+        return valueCacheSize;
+    }
+
+    /**
+     * The maximum number of string values kept escaped and encoded for reuse by subsequent events,
+     * or {@code 0} to disable the cache (the default).
+     *
+     * <p>Values are admitted in the cache according to their frequency, so values repeating across
+     * events are cached while high-cardinality values are not. The cache is bypassed when the
+     * generator escapes other characters than the standard JSON escaping (custom character escapes,
+     * escaping of non-ASCII characters or of forward slashes).
+     *
+     * @param valueCacheSize the maximum number of cached values
+     */
+    public void setValueCacheSize(int valueCacheSize) {
+        this.valueCacheSize = valueCacheSize;
+    }
+
     public Map<String, String> getKeyFieldNames() {
         return keyFieldNames;
     }
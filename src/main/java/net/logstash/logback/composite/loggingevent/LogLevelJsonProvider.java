@@ -16,6 +16,8 @@
 package net.logstash.logback.composite.loggingevent;
 
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
 import net.logstash.logback.composite.JsonWritingUtils;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
@@ -23,7 +25,7 @@ import net.logstash.logback.fieldnames.LogstashFieldNames;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import tools.jackson.core.JsonGenerator;
 
-public class LogLevelJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class LogLevelJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     public static final String FIELD_LEVEL = "level";
     
@@ -33,7 +35,12 @@ public class LogLevelJsonProvider extends AbstractFieldJsonProvider<ILoggingEven
 
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getLevel().toString());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getLevel().toString());
+    }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        return writer.writeStringField(getSerializedFieldName(), event.getLevel().toString());
     }
     
     @Override
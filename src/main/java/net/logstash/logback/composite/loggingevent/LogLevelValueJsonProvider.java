@@ -16,6 +16,8 @@
 package net.logstash.logback.composite.loggingevent;
 
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
 import net.logstash.logback.composite.JsonWritingUtils;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
@@ -23,7 +25,7 @@ import net.logstash.logback.fieldnames.LogstashFieldNames;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import tools.jackson.core.JsonGenerator;
 
-public class LogLevelValueJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class LogLevelValueJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     public static final String FIELD_LEVEL_VALUE = "level_value";
     
@@ -33,7 +35,13 @@ public class LogLevelValueJsonProvider extends AbstractFieldJsonProvider<ILoggin
 
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
-        JsonWritingUtils.writeNumberField(generator, getFieldName(), event.getLevel().toInt());
+        JsonWritingUtils.writeNumberField(generator, getSerializedFieldName(), event.getLevel().toInt());
+    }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        writer.writeNumberField(getSerializedFieldName(), event.getLevel().toInt());
+        return true;
     }
     
     @Override
@@ -19,6 +19,8 @@ import java.util.Objects;
 
 import net.logstash.logback.abbreviator.DefaultTargetLengthAbbreviator;
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
 import net.logstash.logback.composite.JsonWritingUtils;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
@@ -29,7 +31,7 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.joran.spi.DefaultClass;
 import tools.jackson.core.JsonGenerator;
 
-public class LoggerNameJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class LoggerNameJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     public static final String FIELD_LOGGER_NAME = "logger_name";
 
@@ -48,7 +50,15 @@ public class LoggerNameJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
         if (!isStarted()) {
             throw new IllegalStateException("Generator is not started");
         }
-        JsonWritingUtils.writeStringField(generator, getFieldName(), abbreviator.abbreviate(event.getLoggerName()));
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), abbreviator.abbreviate(event.getLoggerName()));
+    }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        if (!isStarted()) {
+            throw new IllegalStateException("Generator is not started");
+        }
+        return writer.writeStringField(getSerializedFieldName(), abbreviator.abbreviate(event.getLoggerName()));
     }
     
     @Override
@@ -19,6 +19,8 @@ import java.util.Iterator;
 import java.util.List;
 
 import net.logstash.logback.composite.AbstractJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.JsonProvider;
 import net.logstash.logback.marker.LogstashMarker;
 import net.logstash.logback.marker.Markers;
@@ -31,13 +33,22 @@ import tools.jackson.core.JsonGenerator;
  * A {@link JsonProvider} that processes {@link LogstashMarker}s
  * (generally created via {@link Markers}).
  */
-public class LogstashMarkersJsonProvider extends AbstractJsonProvider<ILoggingEvent> {
+public class LogstashMarkersJsonProvider extends AbstractJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent> {
 
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
         writeLogstashMarkerIfNecessary(generator, event.getMarkerList());
     }
     
+    /**
+     * Markers are left to the Jackson generator.
+     */
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        List<Marker> markers = event.getMarkerList();
+        return markers == null || markers.isEmpty();
+    }
+
     private void writeLogstashMarkerIfNecessary(JsonGenerator generator, List<Marker> markers) {
         if (markers != null) {
             for (Marker marker: markers) {
@@ -20,15 +20,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
+import net.logstash.logback.composite.JsonWritingUtils;
+import net.logstash.logback.composite.SerializedStringCache;
+import net.logstash.logback.composite.loggingevent.MdcWritePlan.KeyPlan;
 import net.logstash.logback.composite.loggingevent.mdc.MdcEntryWriter;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import org.slf4j.MDC;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
 
 /**
  * Includes {@link MDC} properties in the JSON output according to
@@ -62,7 +69,7 @@ import tools.jackson.core.JsonGenerator;
  * <p>The output of the MDC entry values can be manipulated by the provided
  * {@link #mdcEntryWriters}. By default, all MDC entry values are written as texts.
  */
-public class MdcJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class MdcJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     /**
      * See {@link MdcJsonProvider}.
@@ -81,41 +88,147 @@ public class MdcJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> im
      */
     protected final List<MdcEntryWriter> mdcEntryWriters = new ArrayList<>();
 
+    /**
+     * See {@link #setValueCacheSize(int)}.
+     */
+    private int valueCacheSize;
+
+    /**
+     * The MDC entries to write, compiled when started.
+     */
+    private MdcWritePlan writePlan;
+
+    /**
+     * Cache of the pre-serialized MDC values, {@code null} when disabled.
+     */
+    private SerializedStringCache valueCache;
+
     @Override
     public void start() {
         if (!this.includeMdcKeyNames.isEmpty() && !this.excludeMdcKeyNames.isEmpty()) {
             addError("Both includeMdcKeyNames and excludeMdcKeyNames are not empty.  Only one is allowed to be not empty.");
         }
+        this.writePlan = MdcWritePlan.compile(includeMdcKeyNames, excludeMdcKeyNames, mdcKeyFieldNames, mdcEntryWriters, true);
+        this.valueCache = valueCacheSize > 0 ? new SerializedStringCache(valueCacheSize) : null;
         super.start();
     }
 
+    @Override
+    public void stop() {
+        super.stop();
+        this.writePlan = null;
+        this.valueCache = null;
+    }
+
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
         Map<String, String> mdcProperties = event.getMDCPropertyMap();
-        if (mdcProperties != null && !mdcProperties.isEmpty()) {
+        if (mdcProperties == null || mdcProperties.isEmpty()) {
+            return;
+        }
 
-            boolean hasWrittenStart = false;
+        MdcWritePlan plan = getWritePlan();
+        boolean hasWrittenStart = false;
 
-            for (Map.Entry<String, String> entry : mdcProperties.entrySet()) {
-                if (entry.getKey() != null && entry.getValue() != null
-                        && (includeMdcKeyNames.isEmpty() || includeMdcKeyNames.contains(entry.getKey()))
-                        && (excludeMdcKeyNames.isEmpty() || !excludeMdcKeyNames.contains(entry.getKey()))) {
+        KeyPlan[] includedKeys = plan.getIncludedKeys();
+        if (includedKeys != null) {
+            for (KeyPlan keyPlan : includedKeys) {
+                String value = mdcProperties.get(keyPlan.mdcKey);
+                if (value != null) {
+                    hasWrittenStart = writeStartIfNeeded(generator, hasWrittenStart);
+                    writeMdcEntry(generator, keyPlan, value);
+                }
+            }
+        } else {
+            hasWrittenStart = EntriesWriter.acquire().writeTo(this, plan, generator, mdcProperties);
+        }
+        if (hasWrittenStart) {
+            generator.writeEndObject();
+        }
+    }
 
-                    String fieldName = mdcKeyFieldNames.get(entry.getKey());
-                    if (fieldName == null) {
-                        fieldName = entry.getKey();
-                    }
-                    if (!hasWrittenStart && getFieldName() != null) {
-                        generator.writeObjectPropertyStart(getFieldName());
-                        hasWrittenStart = true;
+    private boolean writeStartIfNeeded(JsonGenerator generator, boolean hasWrittenStart) {
+        if (!hasWrittenStart && getFieldName() != null) {
+            JsonWritingUtils.writeName(generator, getSerializedFieldName());
+            generator.writeStartObject();
+            return true;
+        }
+        return hasWrittenStart;
+    }
+
+    /**
+     * Entries handled by MDC entry writers are left to the Jackson generator.
+     */
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        Map<String, String> mdcProperties = event.getMDCPropertyMap();
+        if (mdcProperties == null || mdcProperties.isEmpty()) {
+            return true;
+        }
+
+        MdcWritePlan plan = getWritePlan();
+        boolean hasWrittenStart = false;
+
+        KeyPlan[] includedKeys = plan.getIncludedKeys();
+        if (includedKeys != null) {
+            for (KeyPlan keyPlan : includedKeys) {
+                String value = mdcProperties.get(keyPlan.mdcKey);
+                if (value != null) {
+                    hasWrittenStart = writeStartIfNeeded(writer, hasWrittenStart);
+                    if (!writeMdcEntry(writer, keyPlan.writers, keyPlan.serializedFieldName, keyPlan.fieldName, value)) {
+                        return false;
                     }
-                    writeMdcEntry(generator, fieldName, entry.getKey(), entry.getValue());
                 }
             }
-            if (hasWrittenStart) {
-                generator.writeEndObject();
+        } else {
+            EntriesWriter entriesWriter = EntriesWriter.acquire();
+            if (!entriesWriter.writeTo(this, plan, writer, mdcProperties)) {
+                return false;
             }
+            hasWrittenStart = entriesWriter.hasWrittenStart;
         }
+        if (hasWrittenStart) {
+            writer.writeEndObject();
+        }
+        return true;
+    }
+
+    private boolean writeStartIfNeeded(FastJsonWriter writer, boolean hasWrittenStart) {
+        if (!hasWrittenStart && getFieldName() != null) {
+            writer.writeName(getSerializedFieldName());
+            writer.writeStartObject();
+            return true;
+        }
+        return hasWrittenStart;
+    }
+
+    private boolean writeMdcEntry(FastJsonWriter writer, MdcEntryWriter[] writers, SerializableString serializedFieldName, String fieldName, String value) {
+        if (writers.length > 0) {
+            return false;
+        }
+        if (serializedFieldName != null) {
+            writer.writeName(serializedFieldName);
+        } else if (!writer.writeName(fieldName)) {
+            return false;
+        }
+        SerializableString serializedValue = getCachedValue(value);
+        if (serializedValue != null) {
+            writer.writeString(serializedValue);
+            return true;
+        }
+        return writer.writeString(value);
+    }
+
+    /**
+     * Return the plan compiled when started, or compile one reflecting the current configuration
+     * if not started.
+     */
+    private MdcWritePlan getWritePlan() {
+        MdcWritePlan plan = this.writePlan;
+        if (plan == null) {
+            plan = MdcWritePlan.compile(includeMdcKeyNames, excludeMdcKeyNames, mdcKeyFieldNames, mdcEntryWriters, false);
+        }
+        return plan;
     }
 
     @Override
@@ -147,6 +260,26 @@ public class MdcJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> im
         this.excludeMdcKeyNames = new ArrayList<>(excludeMdcKeyNames);
     }
 
+    public int getValueCacheSize() {
+        return valueCacheSize;
+    }
+
+    /**
+     * The maximum number of MDC values kept escaped and encoded for reuse by subsequent events,
+     * or {@code 0} to disable the cache (the default).
+     *
+     * <p>Values are admitted in the cache according to their frequency, so values repeating across
+     * events (tenant, region, endpoint...) are cached while high-cardinality values are not.
+     * Values written by {@link #mdcEntryWriters} are not cached. The cache is bypassed when the
+     * generator escapes other characters than the standard JSON escaping (custom character escapes,
+     * escaping of non-ASCII characters or of forward slashes).
+     *
+     * @param valueCacheSize the maximum number of cached values
+     */
+    public void setValueCacheSize(int valueCacheSize) {
+        this.valueCacheSize = valueCacheSize;
+    }
+
     public Map<String, String> getMdcKeyFieldNames() {
         return mdcKeyFieldNames;
     }
@@ -172,25 +305,162 @@ public class MdcJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> im
         mdcKeyFieldNames.put(split[0], split[1]);
     }
 
+    private void writeMdcEntry(JsonGenerator generator, KeyPlan keyPlan, String mdcValue) {
+        writeMdcEntry(generator, keyPlan.writers, keyPlan.serializedFieldName, keyPlan.fieldName, keyPlan.mdcKey, mdcValue);
+    }
+
     /**
-     * Writes the MDC entry with the given generator by iterating over the chain of {@link #mdcEntryWriters}
-     * in the given order till the first {@link MdcEntryWriter} returns true.
+     * Writes the MDC entry with the given generator by iterating over the given chain of {@link MdcEntryWriter}s
+     * in order till the first {@link MdcEntryWriter} returns true.
      * <p>
-     * If none of the {@link #mdcEntryWriters} returned true, the MDC field is written as String value by default.
+     * If none of the {@link MdcEntryWriter}s returned true, the MDC field is written as String value by default.
      *
      * @param generator the generator to write the entry to.
+     * @param writers the MDC entry writers that may handle the entry.
+     * @param serializedFieldName the pre-serialized field name, or null.
      * @param fieldName the field name to use when writing the entry.
      * @param mdcKey    the key of the MDC map entry.
      * @param mdcValue  the value of the MDC map entry.
      */
-    private void writeMdcEntry(JsonGenerator generator, String fieldName, String mdcKey, String mdcValue) {
-        for (MdcEntryWriter mdcEntryWriter : this.mdcEntryWriters) {
+    private void writeMdcEntry(JsonGenerator generator, MdcEntryWriter[] writers, SerializableString serializedFieldName,
+            String fieldName, String mdcKey, String mdcValue) {
+        for (MdcEntryWriter mdcEntryWriter : writers) {
             if (mdcEntryWriter.writeMdcEntry(generator, fieldName, mdcKey, mdcValue)) {
                 return;
             }
         }
 
-        generator.writePOJOProperty(fieldName, mdcValue);
+        SerializableString serializedValue = getCachedValue(generator, mdcValue);
+        if (serializedValue != null) {
+            // the value cache is only used by generators with the standard escaping
+            if (serializedFieldName != null) {
+                generator.writeName(serializedFieldName);
+            } else {
+                generator.writeName(fieldName);
+            }
+            generator.writeString(serializedValue);
+        } else if (serializedFieldName != null) {
+            JsonWritingUtils.writeName(generator, serializedFieldName);
+            generator.writePOJO(mdcValue);
+        } else {
+            generator.writePOJOProperty(fieldName, mdcValue);
+        }
+    }
+
+    private SerializableString getCachedValue(String value) {
+        SerializedStringCache cache = this.valueCache;
+        return cache == null ? null : cache.get(value);
     }
 
+    private SerializableString getCachedValue(JsonGenerator generator, String value) {
+        SerializedStringCache cache = this.valueCache;
+        return cache != null && SerializedStringCache.canWriteTo(generator) ? cache.get(value) : null;
+    }
+
+    /**
+     * Pre-serialize the field names of the keys known at configuration time.
+     *
+     * @param includeKeyNames key names explicitly included, written using their own name unless renamed
+     * @param keyFieldNames alternative field names to use for some keys
+     * @return the pre-serialized field names indexed by key name
+     */
+    static Map<String, SerializableString> serializeFieldNames(List<String> includeKeyNames, Map<String, String> keyFieldNames) {
+        Map<String, SerializableString> serializedFieldNames = new HashMap<>();
+        for (String keyName : includeKeyNames) {
+            if (keyName != null) {
+                serializedFieldNames.put(keyName, JsonWritingUtils.serializeFieldName(keyName));
+            }
+        }
+        for (Map.Entry<String, String> entry : keyFieldNames.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                serializedFieldNames.put(entry.getKey(), JsonWritingUtils.serializeFieldName(entry.getValue()));
+            }
+        }
+        return serializedFieldNames;
+    }
+
+    /**
+     * Writes all the entries of the MDC with {@link Map#forEach(BiConsumer)}, which, unlike the
+     * iterator over the entry set, does not allocate.
+     *
+     * <p>Instances are reused by the thread they belong to, and hold no reference once the entries are written.
+     */
+    private static final class EntriesWriter implements BiConsumer<String, String> {
+
+        private static final ThreadLocal<EntriesWriter> INSTANCES = ThreadLocal.withInitial(EntriesWriter::new);
+
+        private MdcJsonProvider provider;
+        private MdcWritePlan plan;
+        private JsonGenerator generator;
+        private FastJsonWriter writer;
+        private boolean hasWrittenStart;
+        private boolean failed;
+
+        /**
+         * @return the instance of the current thread, or a new one if it is already in use
+         *         (MDC entry writers may log events written by the same thread)
+         */
+        static EntriesWriter acquire() {
+            EntriesWriter entriesWriter = INSTANCES.get();
+            return entriesWriter.provider == null ? entriesWriter : new EntriesWriter();
+        }
+
+        /**
+         * @return whether the start of the MDC object has been written
+         */
+        boolean writeTo(MdcJsonProvider provider, MdcWritePlan plan, JsonGenerator generator, Map<String, String> mdcProperties) {
+            this.generator = generator;
+            forEach(provider, plan, mdcProperties);
+            return hasWrittenStart;
+        }
+
+        /**
+         * @return {@code false} if an entry must be written by the generator instead,
+         *         see {@link MdcJsonProvider#writeTo(FastJsonWriter, ILoggingEvent)}
+         */
+        boolean writeTo(MdcJsonProvider provider, MdcWritePlan plan, FastJsonWriter writer, Map<String, String> mdcProperties) {
+            this.writer = writer;
+            forEach(provider, plan, mdcProperties);
+            return !failed;
+        }
+
+        private void forEach(MdcJsonProvider provider, MdcWritePlan plan, Map<String, String> mdcProperties) {
+            this.provider = provider;
+            this.plan = plan;
+            this.hasWrittenStart = false;
+            this.failed = false;
+            try {
+                mdcProperties.forEach(this);
+            } finally {
+                this.provider = null;
+                this.plan = null;
+                this.generator = null;
+                this.writer = null;
+            }
+        }
+
+        @Override
+        public void accept(String key, String value) {
+            if (key == null || value == null || failed) {
+                return;
+            }
+            KeyPlan keyPlan = plan.get(key);
+            if (keyPlan != null && keyPlan.skip) {
+                return;
+            }
+            if (generator != null) {
+                hasWrittenStart = provider.writeStartIfNeeded(generator, hasWrittenStart);
+                if (keyPlan == null) {
+                    provider.writeMdcEntry(generator, plan.getWriters(), null, key, key, value);
+                } else {
+                    provider.writeMdcEntry(generator, keyPlan, value);
+                }
+            } else {
+                hasWrittenStart = provider.writeStartIfNeeded(writer, hasWrittenStart);
+                failed = keyPlan == null
+                    ? !provider.writeMdcEntry(writer, plan.getWriters(), null, key, value)
+                    : !provider.writeMdcEntry(writer, keyPlan.writers, keyPlan.serializedFieldName, keyPlan.fieldName, value);
+            }
+        }
+    }
 }
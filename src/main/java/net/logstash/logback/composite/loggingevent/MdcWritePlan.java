@@ -0,0 +1,210 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite.loggingevent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.logstash.logback.composite.JsonWritingUtils;
+import net.logstash.logback.composite.loggingevent.mdc.MdcEntryWriter;
+
+import tools.jackson.core.SerializableString;
+
+/**
+ * The MDC entries written by a {@link MdcJsonProvider}, compiled from its include and exclude
+ * key names, alternative field names and {@link MdcEntryWriter}s.
+ *
+ * <p>The MDC keys known at configuration time are resolved once into a {@link KeyPlan} stored in
+ * an open-addressed hash table: whether the entry is skipped, the field name to use (optionally
+ * pre-serialized), and the {@link MdcEntryWriter}s that may write it as returned by
+ * {@link MdcEntryWriter#forMdcKey(String)}. Other keys are written using their own name and all
+ * the entry writers.
+ *
+ * <p>When key names are explicitly included, {@link #getIncludedKeys()} returns their plans so
+ * the provider can look them up in the MDC instead of iterating over the whole MDC.
+ */
+final class MdcWritePlan {
+
+    private static final MdcEntryWriter[] NO_WRITERS = new MdcEntryWriter[0];
+
+    /**
+     * How to write the entries of an MDC key.
+     */
+    static final class KeyPlan {
+        final String mdcKey;
+        final boolean skip;
+        final String fieldName;
+        final SerializableString serializedFieldName;
+        final MdcEntryWriter[] writers;
+
+        KeyPlan(String mdcKey, boolean skip, String fieldName, SerializableString serializedFieldName, MdcEntryWriter[] writers) {
+            this.mdcKey = mdcKey;
+            this.skip = skip;
+            this.fieldName = fieldName;
+            this.serializedFieldName = serializedFieldName;
+            this.writers = writers;
+        }
+    }
+
+    /**
+     * Keys of the hash table, {@code null} for empty slots.
+     */
+    private final String[] keys;
+
+    /**
+     * Plans of the {@link #keys} at the same index.
+     */
+    private final KeyPlan[] plans;
+
+    private final int mask;
+
+    /**
+     * Plans of the included keys, {@code null} when all keys are included.
+     */
+    private final KeyPlan[] includedKeys;
+
+    /**
+     * Entry writers of the keys not known at configuration time.
+     */
+    private final MdcEntryWriter[] writers;
+
+    private MdcWritePlan(Map<String, KeyPlan> keyPlans, KeyPlan[] includedKeys, MdcEntryWriter[] writers) {
+        int capacity = Integer.highestOneBit(Math.max(1, keyPlans.size()) * 2 - 1) << 1;
+        this.keys = new String[capacity];
+        this.plans = new KeyPlan[capacity];
+        this.mask = capacity - 1;
+        for (KeyPlan keyPlan : keyPlans.values()) {
+            int index = keyPlan.mdcKey.hashCode() & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = keyPlan.mdcKey;
+            plans[index] = keyPlan;
+        }
+        this.includedKeys = includedKeys;
+        this.writers = writers;
+    }
+
+    /**
+     * Compile the plan of a {@link MdcJsonProvider}.
+     *
+     * @param includeKeyNames key names to include, all keys are included when empty
+     * @param excludeKeyNames key names to exclude
+     * @param keyFieldNames alternative field names to use for some keys
+     * @param entryWriters the entry writers, in order
+     * @param serializeFieldNames whether to pre-serialize the field names of the known keys
+     * @return the compiled plan
+     */
+    static MdcWritePlan compile(List<String> includeKeyNames, List<String> excludeKeyNames, Map<String, String> keyFieldNames,
+            List<MdcEntryWriter> entryWriters, boolean serializeFieldNames) {
+
+        Map<String, KeyPlan> keyPlans = new LinkedHashMap<>();
+        for (String keyName : includeKeyNames) {
+            addKeyPlan(keyPlans, keyName, false, keyFieldNames, entryWriters, serializeFieldNames);
+        }
+        for (String keyName : keyFieldNames.keySet()) {
+            boolean skip = !includeKeyNames.isEmpty() && !includeKeyNames.contains(keyName) || excludeKeyNames.contains(keyName);
+            addKeyPlan(keyPlans, keyName, skip, keyFieldNames, entryWriters, serializeFieldNames);
+        }
+        for (String keyName : excludeKeyNames) {
+            addKeyPlan(keyPlans, keyName, true, keyFieldNames, entryWriters, serializeFieldNames);
+        }
+
+        KeyPlan[] includedKeys = null;
+        if (!includeKeyNames.isEmpty()) {
+            List<KeyPlan> included = new ArrayList<>();
+            for (KeyPlan keyPlan : keyPlans.values()) {
+                if (!keyPlan.skip && includeKeyNames.contains(keyPlan.mdcKey)) {
+                    included.add(keyPlan);
+                }
+            }
+            includedKeys = included.toArray(new KeyPlan[0]);
+        }
+        return new MdcWritePlan(keyPlans, includedKeys, toArray(entryWriters));
+    }
+
+    private static void addKeyPlan(Map<String, KeyPlan> keyPlans, String keyName, boolean skip, Map<String, String> keyFieldNames,
+            List<MdcEntryWriter> entryWriters, boolean serializeFieldNames) {
+        if (keyName == null || keyPlans.containsKey(keyName)) {
+            return;
+        }
+        if (skip) {
+            keyPlans.put(keyName, new KeyPlan(keyName, true, null, null, NO_WRITERS));
+            return;
+        }
+
+        String fieldName = keyFieldNames.get(keyName);
+        if (fieldName == null) {
+            fieldName = keyName;
+        }
+        List<MdcEntryWriter> writers = new ArrayList<>();
+        for (MdcEntryWriter entryWriter : entryWriters) {
+            MdcEntryWriter writer = entryWriter.forMdcKey(keyName);
+            if (writer != null) {
+                writers.add(writer);
+            }
+        }
+        keyPlans.put(keyName, new KeyPlan(
+                keyName,
+                false,
+                fieldName,
+                serializeFieldNames ? JsonWritingUtils.serializeFieldName(fieldName) : null,
+                toArray(writers)));
+    }
+
+    private static MdcEntryWriter[] toArray(Collection<MdcEntryWriter> writers) {
+        return writers.isEmpty() ? NO_WRITERS : writers.toArray(new MdcEntryWriter[0]);
+    }
+
+    /**
+     * Return the plan of the given key if it is known at configuration time.
+     *
+     * @param mdcKey the MDC key
+     * @return the plan of the key, or {@code null} if it is not known
+     */
+    KeyPlan get(String mdcKey) {
+        int index = mdcKey.hashCode() & mask;
+        String key;
+        while ((key = keys[index]) != null) {
+            if (key.equals(mdcKey)) {
+                return plans[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Return the plans of the included keys, in order.
+     *
+     * @return the plans of the included keys, or {@code null} when all keys are included
+     */
+    KeyPlan[] getIncludedKeys() {
+        return includedKeys;
+    }
+
+    /**
+     * Return the entry writers of the keys not known at configuration time.
+     *
+     * @return the entry writers
+     */
+    MdcEntryWriter[] getWriters() {
+        return writers;
+    }
+}
@@ -18,6 +18,8 @@ package net.logstash.logback.composite.loggingevent;
 import java.util.regex.Pattern;
 
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
 import net.logstash.logback.composite.JsonWritingUtils;
 import net.logstash.logback.encoder.SeparatorParser;
@@ -26,7 +28,7 @@ import net.logstash.logback.fieldnames.LogstashFieldNames;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import tools.jackson.core.JsonGenerator;
 
-public class MessageJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class MessageJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
     
     public static final String FIELD_MESSAGE = "message";
 
@@ -40,11 +42,19 @@ public class MessageJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
         if (messageSplitPattern != null) {
             String[] multiLineMessage = messageSplitPattern.split(event.getFormattedMessage());
-            JsonWritingUtils.writeStringArrayField(generator, getFieldName(), multiLineMessage);
+            JsonWritingUtils.writeStringArrayField(generator, getSerializedFieldName(), multiLineMessage);
         } else {
-            JsonWritingUtils.writeStringField(generator, getFieldName(), event.getFormattedMessage());
+            JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getFormattedMessage());
         }
     }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        if (messageSplitPattern != null) {
+            return writer.writeStringArrayField(getSerializedFieldName(), messageSplitPattern.split(event.getFormattedMessage()));
+        }
+        return writer.writeStringField(getSerializedFieldName(), event.getFormattedMessage());
+    }
     
     @Override
     public void setFieldNames(LogstashFieldNames fieldNames) {
@@ -31,7 +31,7 @@ public class RawMessageJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
 
     @Override
     public void writeTo(JsonGenerator generator, ILoggingEvent event) {
-        JsonWritingUtils.writeStringField(generator, getFieldName(), event.getMessage());
+        JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), event.getMessage());
     }
     
 }
@@ -24,6 +24,7 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.ThrowableProxy;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
 
 /**
  * A JSON provider that, for any log event with a stack trace,
@@ -41,6 +42,9 @@ public class RootStackTraceElementJsonProvider extends AbstractFieldJsonProvider
     private String classFieldName = FIELD_CLASS_NAME;
     private String methodFieldName = FIELD_METHOD_NAME;
 
+    private SerializableString serializedClassFieldName = JsonWritingUtils.serializeFieldName(classFieldName);
+    private SerializableString serializedMethodFieldName = JsonWritingUtils.serializeFieldName(methodFieldName);
+
     public RootStackTraceElementJsonProvider() {
         setFieldName(FIELD_STACKTRACE_ELEMENT);
     }
@@ -52,9 +56,10 @@ public class RootStackTraceElementJsonProvider extends AbstractFieldJsonProvider
             if (throwableProxy.getStackTraceElementProxyArray().length > 0) {
                 StackTraceElement stackTraceElement = throwableProxy.getStackTraceElementProxyArray()[0].getStackTraceElement();
 
-                generator.writeObjectPropertyStart(getFieldName());
-                JsonWritingUtils.writeStringField(generator, classFieldName, stackTraceElement.getClassName());
-                JsonWritingUtils.writeStringField(generator, methodFieldName, stackTraceElement.getMethodName());
+                JsonWritingUtils.writeName(generator, getSerializedFieldName());
+                generator.writeStartObject();
+                JsonWritingUtils.writeStringField(generator, serializedClassFieldName, stackTraceElement.getClassName());
+                JsonWritingUtils.writeStringField(generator, serializedMethodFieldName, stackTraceElement.getMethodName());
                 generator.writeEndObject();
             }
         }
@@ -69,9 +74,11 @@ public class RootStackTraceElementJsonProvider extends AbstractFieldJsonProvider
 
     public void setClassFieldName(String classFieldName) {
         this.classFieldName = classFieldName;
+        this.serializedClassFieldName = JsonWritingUtils.serializeFieldName(classFieldName);
     }
 
     public void setMethodFieldName(String methodFieldName) {
         this.methodFieldName = methodFieldName;
+        this.serializedMethodFieldName = JsonWritingUtils.serializeFieldName(methodFieldName);
     }
 }
@@ -108,7 +108,7 @@ public class StackHashJsonProvider extends AbstractFieldJsonProvider<ILoggingEve
         IThrowableProxy throwableProxy = event.getThrowableProxy();
         if (throwableProxy instanceof ThrowableProxy) {
             String hash = hasher.hexHash(((ThrowableProxy) event.getThrowableProxy()).getThrowable());
-            JsonWritingUtils.writeStringField(generator, getFieldName(), hash);
+            JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), hash);
         }
     }
 }
@@ -16,9 +16,12 @@
 package net.logstash.logback.composite.loggingevent;
 
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
 import net.logstash.logback.composite.JsonWritingUtils;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
 
 import ch.qos.logback.classic.pattern.ExtendedThrowableProxyConverter;
 import ch.qos.logback.classic.pattern.ThrowableHandlingConverter;
@@ -26,7 +29,7 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import tools.jackson.core.JsonGenerator;
 
-public class StackTraceJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class StackTraceJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     public static final String FIELD_STACK_TRACE = "stack_trace";
 
@@ -47,6 +50,19 @@ public class StackTraceJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
      */
     private boolean writeAsArray;
 
+    /**
+     * If true, stacktrace will be output as a json object holding the class name, message,
+     * frames, suppressed throwables and cause of the throwable.
+     * Requires the {@link #throwableConverter} to be a {@link ShortenedThrowableConverter}.
+     */
+    private boolean structured;
+
+    /**
+     * The {@link #throwableConverter} when the stacktrace is output as a structure.
+     * Initialized during {@link #start()}.
+     */
+    private ShortenedThrowableConverter structuredConverter;
+
     public StackTraceJsonProvider() {
         setFieldName(FIELD_STACK_TRACE);
     }
@@ -54,6 +70,14 @@ public class StackTraceJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
     @Override
     public void start() {
         this.throwableConverter.start();
+        this.structuredConverter = null;
+        if (structured) {
+            if (throwableConverter instanceof ShortenedThrowableConverter shortenedThrowableConverter) {
+                this.structuredConverter = shortenedThrowableConverter;
+            } else {
+                addWarn("[structured] requires a " + ShortenedThrowableConverter.class.getName() + " as throwableConverter, stacktrace will be output as a json string");
+            }
+        }
         super.start();
     }
 
@@ -69,13 +93,40 @@ public class StackTraceJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
         if (throwableProxy == null) {
             return;
         }
+        if (structuredConverter != null) {
+            if (JsonWritingUtils.shouldWriteField(getSerializedFieldName())) {
+                structuredConverter.visit(event, new StructuredStackTraceWriter.Generator(generator, getSerializedFieldName()));
+            }
+            return;
+        }
         String stacktrace = throwableConverter.convert(event);
         if (writeAsArray) {
             String[] lines = stacktrace.split("\n");
-            JsonWritingUtils.writeStringArrayField(generator, getFieldName(), lines);
+            JsonWritingUtils.writeStringArrayField(generator, getSerializedFieldName(), lines);
         } else {
-            JsonWritingUtils.writeStringField(generator, getFieldName(), stacktrace);
+            JsonWritingUtils.writeStringField(generator, getSerializedFieldName(), stacktrace);
+        }
+    }
+
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        IThrowableProxy throwableProxy = event.getThrowableProxy();
+        if (throwableProxy == null) {
+            return true;
         }
+        if (structuredConverter != null) {
+            if (!JsonWritingUtils.shouldWriteField(getSerializedFieldName())) {
+                return true;
+            }
+            StructuredStackTraceWriter.Fast structuredWriter = new StructuredStackTraceWriter.Fast(writer, getSerializedFieldName());
+            structuredConverter.visit(event, structuredWriter);
+            return structuredWriter.isWritten();
+        }
+        String stacktrace = throwableConverter.convert(event);
+        if (writeAsArray) {
+            return writer.writeStringArrayField(getSerializedFieldName(), stacktrace.split("\n"));
+        }
+        return writer.writeStringField(getSerializedFieldName(), stacktrace);
     }
 
     @Override
@@ -99,4 +150,20 @@ public class StackTraceJsonProvider extends AbstractFieldJsonProvider<ILoggingEv
         this.writeAsArray = writeAsArray;
     }
 
+    public boolean isStructured() {
+        return structured;
+    }
+
+    /**
+     * Output the stacktrace as a json object streamed to the generator instead of a json string.
+     * Takes precedence over {@link #setWriteAsArray(boolean) writeAsArray}.
+     * Requires the throwable converter to be a {@link ShortenedThrowableConverter}, whose shortening,
+     * exclusion and maxLength rules apply to the structure (see {@link ShortenedThrowableConverter#visit}).
+     *
+     * @param structured {@code true} to output the stacktrace as a json object
+     */
+    public void setStructured(boolean structured) {
+        this.structured = structured;
+    }
+
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite.loggingevent;
+
+import net.logstash.logback.composite.FastJsonWriter;
+import net.logstash.logback.composite.JsonWritingUtils;
+import net.logstash.logback.stacktrace.ThrowableVisitor;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+
+/**
+ * A {@link ThrowableVisitor} writing the structure of a throwable as a JSON object,
+ * used by {@link StackTraceJsonProvider} when {@link StackTraceJsonProvider#setStructured(boolean) structured}.
+ *
+ * <pre>
+ * {
+ *   "class": "java.lang.RuntimeException",
+ *   "message": "Unable to invoke service",
+ *   "hash": "4dd7a37e",
+ *   "frames": [
+ *     {"class": "o.c.s.g.StackGenerator", "method": "causedBy", "file": "StackGenerator.java", "line": 40},
+ *     {"omitted": 3, "reason": "frames excluded"}
+ *   ],
+ *   "suppressed": [ {...} ],
+ *   "cause": {...},
+ *   "truncated": true
+ * }
+ * </pre>
+ */
+abstract class StructuredStackTraceWriter implements ThrowableVisitor {
+
+    static final SerializableString FIELD_CLASS = JsonWritingUtils.serializeFieldName("class");
+    static final SerializableString FIELD_MESSAGE = JsonWritingUtils.serializeFieldName("message");
+    static final SerializableString FIELD_HASH = JsonWritingUtils.serializeFieldName("hash");
+    static final SerializableString FIELD_FRAMES = JsonWritingUtils.serializeFieldName("frames");
+    static final SerializableString FIELD_METHOD = JsonWritingUtils.serializeFieldName("method");
+    static final SerializableString FIELD_FILE = JsonWritingUtils.serializeFieldName("file");
+    static final SerializableString FIELD_LINE = JsonWritingUtils.serializeFieldName("line");
+    static final SerializableString FIELD_OMITTED = JsonWritingUtils.serializeFieldName("omitted");
+    static final SerializableString FIELD_REASON = JsonWritingUtils.serializeFieldName("reason");
+    static final SerializableString FIELD_SUPPRESSED = JsonWritingUtils.serializeFieldName("suppressed");
+    static final SerializableString FIELD_CAUSE = JsonWritingUtils.serializeFieldName("cause");
+    static final SerializableString FIELD_TRUNCATED = JsonWritingUtils.serializeFieldName("truncated");
+
+    /**
+     * Name of the field holding the outer-most throwable.
+     */
+    private final SerializableString fieldName;
+
+    private boolean started;
+
+    /**
+     * True while the frames array of the current throwable is open.
+     */
+    private boolean framesOpen;
+
+    StructuredStackTraceWriter(SerializableString fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    @Override
+    public void startThrowable(String className, String message, String hash) {
+        closeFrames();
+        if (!started) {
+            started = true;
+            writeName(fieldName);
+        }
+        writeStartObject();
+        writeStringField(FIELD_CLASS, className);
+        writeStringField(FIELD_MESSAGE, message);
+        writeStringField(FIELD_HASH, hash);
+    }
+
+    @Override
+    public void frame(String className, String methodName, String fileName, int lineNumber) {
+        openFrames();
+        writeStartObject();
+        writeStringField(FIELD_CLASS, className);
+        writeStringField(FIELD_METHOD, methodName);
+        writeStringField(FIELD_FILE, fileName);
+        if (lineNumber >= 0) {
+            writeName(FIELD_LINE);
+            writeNumber(lineNumber);
+        }
+        writeEndObject();
+    }
+
+    @Override
+    public void omittedFrames(int count, String reason) {
+        openFrames();
+        writeStartObject();
+        writeName(FIELD_OMITTED);
+        writeNumber(count);
+        writeStringField(FIELD_REASON, reason);
+        writeEndObject();
+    }
+
+    @Override
+    public void startSuppressed() {
+        closeFrames();
+        writeName(FIELD_SUPPRESSED);
+        writeStartArray();
+    }
+
+    @Override
+    public void endSuppressed() {
+        writeEndArray();
+    }
+
+    @Override
+    public void startCause() {
+        closeFrames();
+        writeName(FIELD_CAUSE);
+    }
+
+    @Override
+    public void truncated() {
+        closeFrames();
+        writeName(FIELD_TRUNCATED);
+        writeBoolean(true);
+    }
+
+    @Override
+    public void endThrowable() {
+        closeFrames();
+        writeEndObject();
+    }
+
+    private void openFrames() {
+        if (!framesOpen) {
+            framesOpen = true;
+            writeName(FIELD_FRAMES);
+            writeStartArray();
+        }
+    }
+
+    private void closeFrames() {
+        if (framesOpen) {
+            framesOpen = false;
+            writeEndArray();
+        }
+    }
+
+    private void writeStringField(SerializableString name, String value) {
+        if (value != null) {
+            writeName(name);
+            writeString(value);
+        }
+    }
+
+    protected abstract void writeName(SerializableString name);
+
+    protected abstract void writeString(String value);
+
+    protected abstract void writeNumber(int value);
+
+    protected abstract void writeBoolean(boolean value);
+
+    protected abstract void writeStartObject();
+
+    protected abstract void writeEndObject();
+
+    protected abstract void writeStartArray();
+
+    protected abstract void writeEndArray();
+
+    /**
+     * Writes the structure with a Jackson {@link JsonGenerator}.
+     */
+    static class Generator extends StructuredStackTraceWriter {
+        private final JsonGenerator generator;
+
+        Generator(JsonGenerator generator, SerializableString fieldName) {
+            super(fieldName);
+            this.generator = generator;
+        }
+
+        @Override
+        protected void writeName(SerializableString name) {
+            JsonWritingUtils.writeName(generator, name);
+        }
+
+        @Override
+        protected void writeString(String value) {
+            generator.writeString(value);
+        }
+
+        @Override
+        protected void writeNumber(int value) {
+            generator.writeNumber(value);
+        }
+
+        @Override
+        protected void writeBoolean(boolean value) {
+            generator.writeBoolean(value);
+        }
+
+        @Override
+        protected void writeStartObject() {
+            generator.writeStartObject();
+        }
+
+        @Override
+        protected void writeEndObject() {
+            generator.writeEndObject();
+        }
+
+        @Override
+        protected void writeStartArray() {
+            generator.writeStartArray();
+        }
+
+        @Override
+        protected void writeEndArray() {
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes the structure with a {@link FastJsonWriter}.
+     */
+    static class Fast extends StructuredStackTraceWriter {
+        private final FastJsonWriter writer;
+
+        /**
+         * False when a string could not be written by the {@link FastJsonWriter}.
+         */
+        private boolean written = true;
+
+        Fast(FastJsonWriter writer, SerializableString fieldName) {
+            super(fieldName);
+            this.writer = writer;
+        }
+
+        /**
+         * Return {@code true} if the whole structure was written, {@code false} if
+         * a string could not be written and the event must be written by Jackson.
+         */
+        boolean isWritten() {
+            return written;
+        }
+
+        @Override
+        protected void writeName(SerializableString name) {
+            writer.writeName(name);
+        }
+
+        @Override
+        protected void writeString(String value) {
+            written &= writer.writeString(value);
+        }
+
+        @Override
+        protected void writeNumber(int value) {
+            writer.writeNumber(value);
+        }
+
+        @Override
+        protected void writeBoolean(boolean value) {
+            writer.writeBoolean(value);
+        }
+
+        @Override
+        protected void writeStartObject() {
+            writer.writeStartObject();
+        }
+
+        @Override
+        protected void writeEndObject() {
+            writer.writeEndObject();
+        }
+
+        @Override
+        protected void writeStartArray() {
+            writer.writeStartArray();
+        }
+
+        @Override
+        protected void writeEndArray() {
+            writer.writeEndArray();
+        }
+    }
+}
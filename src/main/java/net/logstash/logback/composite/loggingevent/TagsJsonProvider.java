@@ -19,7 +19,10 @@ import java.util.Iterator;
 import java.util.List;
 
 import net.logstash.logback.composite.AbstractFieldJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.FieldNamesAware;
+import net.logstash.logback.composite.JsonWritingUtils;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
 import net.logstash.logback.marker.LogstashMarker;
 
@@ -33,7 +36,7 @@ import tools.jackson.core.JsonGenerator;
  * <p>Does not write any special {@link LogstashMarker}s
  * (Those are handled by {@link LogstashMarkersJsonProvider}).</p>
  */
-public class TagsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FieldNamesAware<LogstashFieldNames> {
+public class TagsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent>, FieldNamesAware<LogstashFieldNames> {
 
     public static final String FIELD_TAGS = "tags";
     
@@ -55,6 +58,15 @@ public class TagsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> i
         }
     }
 
+    /**
+     * Markers are left to the Jackson generator.
+     */
+    @Override
+    public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+        List<Marker> markers = event.getMarkerList();
+        return markers == null || markers.isEmpty();
+    }
+
     private boolean writeTagIfNecessary(JsonGenerator generator, boolean hasWrittenStart, final List<Marker> markers) {
         if (markers != null) {
             for (Marker marker: markers) {
@@ -69,7 +81,8 @@ public class TagsJsonProvider extends AbstractFieldJsonProvider<ILoggingEvent> i
         if (marker != null) {
             if (!LogstashMarkersJsonProvider.isLogstashMarker(marker)) {
                 if (!hasWrittenStart) {
-                    generator.writeArrayPropertyStart(getFieldName());
+                    JsonWritingUtils.writeName(generator, getSerializedFieldName());
+                    generator.writeStartArray();
                     hasWrittenStart = true;
                 }
                 generator.writeString(marker.getName());
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite.loggingevent.mdc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import tools.jackson.core.JsonGenerator;
+
+/**
+ * Writes MDC entries by delegating to other instances of {@link MdcEntryWriter}, remembering for each
+ * MDC key whether one of them handled the previous entry.
+ *
+ * <p>The writers are always tried in order, so that an entry is written by the first writer handling it,
+ * like when the writers are configured directly on the {@link net.logstash.logback.composite.loggingevent.MdcJsonProvider}.
+ *
+ * <p>When none of the writers handled the previous entry of a key (e.g. a {@code traceId} key
+ * whose values are never numbers), the next {@link #relearnInterval} entries of the key are not
+ * handled either without trying the writers, which avoids parsing attempts doomed to fail.
+ * The writers are tried again for the following entry. As a consequence, up to
+ * {@link #relearnInterval} entries of a key whose values were not handled so far are written as
+ * strings even if one of the writers would handle them (e.g. numeric values of a key whose
+ * previous value was not a number).
+ *
+ * <p>At most {@link #maxLearnedKeys} keys are remembered. The entries of other keys are handled by
+ * trying the writers in order. The keys known when the {@link net.logstash.logback.composite.loggingevent.MdcJsonProvider}
+ * is started are remembered separately, see {@link #forMdcKey(String)}.
+ */
+public class LearningMdcEntryWriter implements MdcEntryWriter {
+
+    private final List<MdcEntryWriter> mdcEntryWriters = new ArrayList<>();
+
+    private final Map<String, KeyWriter> keyWriters = new ConcurrentHashMap<>();
+
+    private int maxLearnedKeys = 1000;
+
+    private int relearnInterval = 100;
+
+    @Override
+    public boolean writeMdcEntry(JsonGenerator generator, String fieldName, String mdcKey, String mdcValue) {
+        KeyWriter keyWriter = keyWriters.get(mdcKey);
+        if (keyWriter == null) {
+            if (keyWriters.size() >= maxLearnedKeys) {
+                for (MdcEntryWriter mdcEntryWriter : this.mdcEntryWriters) {
+                    if (mdcEntryWriter.writeMdcEntry(generator, fieldName, mdcKey, mdcValue)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            keyWriter = keyWriters.computeIfAbsent(mdcKey, key -> new KeyWriter(this.mdcEntryWriters));
+        }
+        return keyWriter.writeMdcEntry(generator, fieldName, mdcKey, mdcValue);
+    }
+
+    /**
+     * Returns a writer remembering whether the delegate writers handle the entries of the given key.
+     */
+    @Override
+    public MdcEntryWriter forMdcKey(String mdcKey) {
+        List<MdcEntryWriter> writers = new ArrayList<>();
+        for (MdcEntryWriter mdcEntryWriter : this.mdcEntryWriters) {
+            MdcEntryWriter writer = mdcEntryWriter.forMdcKey(mdcKey);
+            if (writer != null) {
+                writers.add(writer);
+            }
+        }
+        return writers.isEmpty() ? null : new KeyWriter(writers);
+    }
+
+    public List<MdcEntryWriter> getMdcEntryWriters() {
+        return Collections.unmodifiableList(mdcEntryWriters);
+    }
+    public void addMdcEntryWriter(MdcEntryWriter mdcEntryWriter) {
+        this.mdcEntryWriters.add(mdcEntryWriter);
+    }
+
+    public int getMaxLearnedKeys() {
+        return maxLearnedKeys;
+    }
+    /**
+     * The maximum number of MDC keys for which whether their entries are handled is remembered.
+     *
+     * @param maxLearnedKeys the maximum number of remembered keys
+     */
+    public void setMaxLearnedKeys(int maxLearnedKeys) {
+        this.maxLearnedKeys = maxLearnedKeys;
+    }
+
+    public int getRelearnInterval() {
+        return relearnInterval;
+    }
+    /**
+     * The number of entries of a key not handled without trying the writers once none of them
+     * handled an entry of this key. Use {@code 0} to always try the writers.
+     *
+     * @param relearnInterval the number of entries written as text before trying the writers again
+     */
+    public void setRelearnInterval(int relearnInterval) {
+        this.relearnInterval = relearnInterval;
+    }
+
+    /**
+     * Remembers whether the entries of a single key are handled.
+     *
+     * <p>The state is updated without synchronization: threads may occasionally see a stale
+     * value, which only results in trying the writers once more or once less.
+     */
+    private class KeyWriter implements MdcEntryWriter {
+
+        private final MdcEntryWriter[] writers;
+
+        /**
+         * Whether none of the writers handled the previous entry of the key.
+         */
+        private boolean unhandled;
+
+        private int skipped;
+
+        KeyWriter(List<MdcEntryWriter> writers) {
+            this.writers = writers.toArray(new MdcEntryWriter[0]);
+        }
+
+        @Override
+        public boolean writeMdcEntry(JsonGenerator generator, String fieldName, String mdcKey, String mdcValue) {
+            if (this.unhandled && this.skipped++ < relearnInterval) {
+                return false;
+            }
+
+            this.skipped = 0;
+            for (MdcEntryWriter writer : writers) {
+                if (writer.writeMdcEntry(generator, fieldName, mdcKey, mdcValue)) {
+                    this.unhandled = false;
+                    return true;
+                }
+            }
+            this.unhandled = true;
+            return false;
+        }
+    }
+}
@@ -35,4 +35,15 @@ public interface MdcEntryWriter {
      */
     boolean writeMdcEntry(JsonGenerator generator, String fieldName, String mdcKey, String mdcValue);
 
+    /**
+     * Returns the writer to use for the entries of the given MDC key.
+     * Called once per key known at configuration time when the provider is started.
+     *
+     * @param mdcKey the key of the MDC map entries.
+     * @return the writer to use for the entries of this key, or null if this writer never handles them.
+     */
+    default MdcEntryWriter forMdcKey(String mdcKey) {
+        return this;
+    }
+
 }
@@ -52,6 +52,34 @@ public class RegexFilteringMdcEntryWriter implements MdcEntryWriter {
         return false;
     }
 
+    /**
+     * Resolves the key patterns and the delegate writers once for the given key.
+     */
+    @Override
+    public MdcEntryWriter forMdcKey(String mdcKey) {
+        if (!shouldWrite(mdcKey)) {
+            return null;
+        }
+        List<MdcEntryWriter> writers = new ArrayList<>();
+        for (MdcEntryWriter mdcEntryWriter : this.mdcEntryWriters) {
+            MdcEntryWriter writer = mdcEntryWriter.forMdcKey(mdcKey);
+            if (writer != null) {
+                writers.add(writer);
+            }
+        }
+        if (writers.isEmpty()) {
+            return null;
+        }
+        return (generator, fieldName, key, value) -> {
+            for (MdcEntryWriter writer : writers) {
+                if (writer.writeMdcEntry(generator, fieldName, key, value)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
     public Pattern getIncludeMdcKeyPattern() {
         return includeMdcKeyPattern;
     }
@@ -15,6 +15,7 @@
  */
 package net.logstash.logback.dataformat;
 
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.TSFBuilder;
 import tools.jackson.core.TokenStreamFactory;
 import tools.jackson.databind.ObjectMapper;
@@ -38,6 +39,8 @@ public interface DataFormatFactory<
     String YAML = "yaml";
     String SMILE = "smile";
     String CBOR = "cbor";
+    String OTLP = "otlp";
+    String ARROW = "arrow";
 
     /**
      * Returns the name of the data format.
@@ -59,4 +62,71 @@ public interface DataFormatFactory<
      * @return a new {@link MapperBuilder} for this data format backed by the given factory.
      */
     MB createMapperBuilder(F factory);
+
+    /**
+     * Returns whether each event written in this data format carries its own framing,
+     * in which case no line separator is written after it.
+     *
+     * @return true if events are self-delimited, false if they are separated by line separators.
+     */
+    default boolean isSelfDelimited() {
+        return false;
+    }
+
+    /**
+     * Returns whether the events written in a session depend on the events written before them
+     * (for instance by back-referencing the names and values already written), so that they can only
+     * be decoded in order from the start of the session.
+     *
+     * <p>The events of a session must then be encoded by a single thread writing to a single destination.</p>
+     *
+     * @return true if the events of a session depend on each other, false if each event can be decoded on its own.
+     * @see net.logstash.logback.composite.AbstractCompositeJsonFormatter#resetSession()
+     */
+    default boolean isStreamSession() {
+        return false;
+    }
+
+    /**
+     * Returns whether events can only be written together as a batch
+     * (see {@link #writeBatchStart(JsonGenerator)}), writing a single event failing.
+     *
+     * @return true if events can only be written as batches, false if they can also be written one at a time.
+     */
+    default boolean isBatchOnly() {
+        return false;
+    }
+
+    /**
+     * Writes what precedes the events of a session with the given generator,
+     * which then writes all the events of the session.
+     *
+     * <p>The default implementation writes nothing.</p>
+     *
+     * @param generator the generator about to write the events of a new session
+     * @see net.logstash.logback.composite.AbstractCompositeJsonFormatter#resetSession()
+     */
+    default void writeSessionStart(JsonGenerator generator) {
+    }
+
+    /**
+     * Writes what precedes the events written together as a batch.
+     *
+     * <p>The default implementation writes nothing.</p>
+     *
+     * @param generator the generator about to write the events of a batch
+     * @see net.logstash.logback.composite.AbstractCompositeJsonFormatter#writeEvents(java.util.List, java.io.OutputStream, net.logstash.logback.composite.AbstractCompositeJsonFormatter.EventDelimiter)
+     */
+    default void writeBatchStart(JsonGenerator generator) {
+    }
+
+    /**
+     * Writes what follows the events written together as a batch.
+     *
+     * <p>The default implementation writes nothing.</p>
+     *
+     * @param generator the generator that wrote the events of a batch
+     */
+    default void writeBatchEnd(JsonGenerator generator) {
+    }
 }
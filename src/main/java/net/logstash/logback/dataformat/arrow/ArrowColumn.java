@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import java.util.Arrays;
+
+/**
+ * Values of a column of the record batch being accumulated,
+ * as {@link Long}, {@link Double}, {@link Boolean} or {@link String} (or {@code null}), indexed by row.
+ */
+final class ArrowColumn {
+
+    private final String name;
+
+    private Object[] values = new Object[16];
+
+    ArrowColumn(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void set(int row, Object value) {
+        if (row >= values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, row + 1));
+        }
+        values[row] = value;
+    }
+
+    Object get(int row) {
+        return row < values.length ? values[row] : null;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.logstash.logback.dataformat.DataFormatFactory;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+
+/**
+ * A {@link DataFormatFactory} writing events as Apache Arrow record batches,
+ * each batch written as a complete Arrow IPC stream
+ * (see {@link ArrowGenerator} for how the columns are derived from the events).
+ *
+ * <p>Only events encoded together
+ * (see {@link net.logstash.logback.encoder.StreamingEncoder#encodeBatch(List, java.io.OutputStream)})
+ * are written, as a single batch. Encoding a single event fails, since every event would otherwise
+ * be written as a complete stream of a single row. The TCP appenders encode the events available
+ * together in their ring buffer as a batch, and can therefore use this data format. The other
+ * appenders encode events one at a time: the UDP appenders refuse to start with it.</p>
+ *
+ * <p>The string values of the {@link #getDictionaryFieldNames() dictionary field names}
+ * (by default {@code level}, {@code logger_name} and {@code thread_name}) are dictionary-encoded.</p>
+ */
+public class ArrowDataFormatFactory implements DataFormatFactory<ArrowFactory, ArrowFactoryBuilder, ArrowMapper, ArrowMapper.Builder> {
+
+    private List<String> dictionaryFieldNames = new ArrayList<>(List.of("level", "logger_name", "thread_name"));
+
+    @Override
+    public String getName() {
+        return ARROW;
+    }
+
+    /**
+     * Each batch is a complete Arrow IPC stream, so no line separator is needed between them.
+     */
+    @Override
+    public boolean isSelfDelimited() {
+        return true;
+    }
+
+    /**
+     * A single event would be written as a complete stream of a single row.
+     */
+    @Override
+    public boolean isBatchOnly() {
+        return true;
+    }
+
+    /**
+     * The events of a batch are written as the objects of an array, written as a single record batch.
+     */
+    @Override
+    public void writeBatchStart(JsonGenerator generator) {
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void writeBatchEnd(JsonGenerator generator) {
+        generator.writeEndArray();
+    }
+
+    @Override
+    public ArrowFactoryBuilder createTokenStreamFactoryBuilder() {
+        return ArrowFactory.builder()
+                .dictionaryFieldNames(dictionaryFieldNames)
+                /*
+                 * When ArrowGenerator is flushed, don't flush the underlying outputStream.
+                 *
+                 * The encoder generally determines when the stream should be flushed
+                 * by an 'immediateFlush' property.
+                 */
+                .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    @Override
+    public ArrowMapper.Builder createMapperBuilder(ArrowFactory factory) {
+        return ArrowMapper.builder(factory);
+    }
+
+    public List<String> getDictionaryFieldNames() {
+        return Collections.unmodifiableList(dictionaryFieldNames);
+    }
+
+    public void addDictionaryFieldName(String dictionaryFieldName) {
+        this.dictionaryFieldNames.add(dictionaryFieldName);
+    }
+
+    public void setDictionaryFieldNames(List<String> dictionaryFieldNames) {
+        this.dictionaryFieldNames = new ArrayList<>(dictionaryFieldNames);
+    }
+}
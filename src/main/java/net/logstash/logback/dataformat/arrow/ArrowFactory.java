@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import java.io.DataInput;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+
+import tools.jackson.core.FormatSchema;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.TokenStreamFactory;
+import tools.jackson.core.Version;
+import tools.jackson.core.base.BinaryTSFactory;
+import tools.jackson.core.io.IOContext;
+
+/**
+ * A {@link TokenStreamFactory} creating {@link ArrowGenerator}s,
+ * which write objects as the rows of Arrow record batches.
+ *
+ * <p>Only generation is supported.</p>
+ */
+public class ArrowFactory extends BinaryTSFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String FORMAT_NAME_ARROW = "Arrow";
+
+    protected final Set<String> dictionaryFieldNames;
+
+    public ArrowFactory() {
+        this(new ArrowFactoryBuilder());
+    }
+
+    public ArrowFactory(ArrowFactoryBuilder builder) {
+        super(builder);
+        this.dictionaryFieldNames = Set.copyOf(builder.dictionaryFieldNames());
+    }
+
+    protected ArrowFactory(ArrowFactory src) {
+        super(src);
+        this.dictionaryFieldNames = src.dictionaryFieldNames;
+    }
+
+    public static ArrowFactoryBuilder builder() {
+        return new ArrowFactoryBuilder();
+    }
+
+    @Override
+    public ArrowFactoryBuilder rebuild() {
+        return new ArrowFactoryBuilder(this);
+    }
+
+    @Override
+    public ArrowFactory copy() {
+        return new ArrowFactory(this);
+    }
+
+    /**
+     * Instances are immutable, so there is no need to copy them.
+     */
+    @Override
+    public ArrowFactory snapshot() {
+        return this;
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public String getFormatName() {
+        return FORMAT_NAME_ARROW;
+    }
+
+    @Override
+    public boolean canParseAsync() {
+        return false;
+    }
+
+    @Override
+    public boolean canUseSchema(FormatSchema schema) {
+        return false;
+    }
+
+    public Set<String> getDictionaryFieldNames() {
+        return dictionaryFieldNames;
+    }
+
+    @Override
+    protected JsonGenerator _createGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt, OutputStream out) {
+        return new ArrowGenerator(writeCtxt, ioCtxt, writeCtxt.getStreamWriteFeatures(_streamWriteFeatures), out,
+                new ArrowStreamWriter(dictionaryFieldNames));
+    }
+
+    @Override
+    protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt, InputStream in) {
+        return _unsupported("Reading Arrow record batches is not supported");
+    }
+
+    @Override
+    protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt, byte[] data, int offset, int len) {
+        return _unsupported("Reading Arrow record batches is not supported");
+    }
+
+    @Override
+    protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt, DataInput input) {
+        return _unsupported("Reading Arrow record batches is not supported");
+    }
+}
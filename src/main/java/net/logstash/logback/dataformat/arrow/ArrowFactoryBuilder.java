@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import tools.jackson.core.ErrorReportConfiguration;
+import tools.jackson.core.StreamReadConstraints;
+import tools.jackson.core.StreamWriteConstraints;
+import tools.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
+
+/**
+ * Builder for {@link ArrowFactory}, configuring which columns are dictionary-encoded.
+ */
+public class ArrowFactoryBuilder extends DecorableTSFBuilder<ArrowFactory, ArrowFactoryBuilder> {
+
+    private final Set<String> dictionaryFieldNames = new LinkedHashSet<>();
+
+    public ArrowFactoryBuilder() {
+        super(StreamReadConstraints.defaults(), StreamWriteConstraints.defaults(), ErrorReportConfiguration.defaults(), 0, 0);
+    }
+
+    public ArrowFactoryBuilder(ArrowFactory base) {
+        super(base);
+        this.dictionaryFieldNames.addAll(base.dictionaryFieldNames);
+    }
+
+    @Override
+    public ArrowFactory build() {
+        return new ArrowFactory(this);
+    }
+
+    public Set<String> dictionaryFieldNames() {
+        return dictionaryFieldNames;
+    }
+
+    /**
+     * Sets the names of the properties whose string values are dictionary-encoded.
+     *
+     * @param dictionaryFieldNames the property names
+     * @return this builder
+     */
+    public ArrowFactoryBuilder dictionaryFieldNames(Collection<String> dictionaryFieldNames) {
+        this.dictionaryFieldNames.clear();
+        this.dictionaryFieldNames.addAll(dictionaryFieldNames);
+        return this;
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import tools.jackson.core.Base64Variant;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.StreamWriteCapability;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.TokenStreamContext;
+import tools.jackson.core.Version;
+import tools.jackson.core.base.GeneratorBase;
+import tools.jackson.core.io.IOContext;
+import tools.jackson.core.util.JacksonFeatureSet;
+import tools.jackson.core.util.SimpleStreamWriteContext;
+
+/**
+ * Accumulates the objects of a root-level array as the rows of an Arrow record batch,
+ * and writes the batch as an Arrow IPC stream (see {@link ArrowStreamWriter}) when the array ends.
+ *
+ * <p>Root-level objects are rejected: written on their own, every object would be a complete
+ * IPC stream (schema, dictionaries, record batch and end-of-stream marker) holding a single row.</p>
+ *
+ * <p>Each property of the rows becomes a column, created the first time the property is written in a batch,
+ * so the schema of each batch is derived from the properties actually written
+ * (including dynamic ones, such as MDC entries).
+ * Nested objects and arrays are written as JSON text in {@code Utf8} columns.</p>
+ */
+public class ArrowGenerator extends GeneratorBase {
+
+    private final OutputStream out;
+
+    private final ArrowStreamWriter streamWriter;
+
+    private SimpleStreamWriteContext streamWriteContext;
+
+    /**
+     * Columns of the batch being accumulated, in the order their property was first written.
+     */
+    private final Map<String, ArrowColumn> columns = new LinkedHashMap<>();
+
+    private int rowCount;
+
+    private boolean inBatch;
+
+    private boolean inRow;
+
+    private String pendingName;
+
+    /**
+     * JSON text of the nested object or array being written in the current row.
+     */
+    private final StringBuilder nestedJson = new StringBuilder();
+    private int nestedDepth;
+    private boolean[] nestedHasValues = new boolean[8];
+    private boolean nestedAfterName;
+
+    ArrowGenerator(ObjectWriteContext writeContext, IOContext ioContext, int streamWriteFeatures, OutputStream out,
+            ArrowStreamWriter streamWriter) {
+        super(writeContext, ioContext, streamWriteFeatures);
+        this.out = out;
+        this.streamWriter = streamWriter;
+        this.streamWriteContext = SimpleStreamWriteContext.createRootContext(null);
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public JacksonFeatureSet<StreamWriteCapability> streamWriteCapabilities() {
+        return DEFAULT_BINARY_WRITE_CAPABILITIES;
+    }
+
+    @Override
+    public TokenStreamContext streamWriteContext() {
+        return streamWriteContext;
+    }
+
+    @Override
+    public Object currentValue() {
+        return streamWriteContext.currentValue();
+    }
+
+    @Override
+    public void assignCurrentValue(Object value) {
+        streamWriteContext.assignCurrentValue(value);
+    }
+
+    @Override
+    public Object streamWriteOutputTarget() {
+        return out;
+    }
+
+    @Override
+    public int streamWriteOutputBuffered() {
+        return -1;
+    }
+
+    /*
+     * Structure
+     */
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        _verifyValueWrite("start an object");
+        streamWriteContext = streamWriteContext.createChildObjectContext(null);
+        if (inRow) {
+            startNested('{');
+        } else if (inBatch) {
+            inRow = true;
+            rowCount++;
+        } else {
+            _reportError("Arrow record batches must be written as arrays of objects");
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(Object currentValue) {
+        writeStartObject();
+        streamWriteContext.assignCurrentValue(currentValue);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndObject() {
+        if (!streamWriteContext.inObject()) {
+            _reportError("Current context not an Object but " + streamWriteContext.typeDesc());
+        }
+        streamWriteContext = streamWriteContext.clearAndGetParent();
+        if (nestedDepth > 0) {
+            endNested('}');
+        } else {
+            inRow = false;
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        _verifyValueWrite("start an array");
+        boolean inRoot = streamWriteContext.inRoot();
+        streamWriteContext = streamWriteContext.createChildArrayContext(null);
+        if (inRow) {
+            startNested('[');
+        } else if (inRoot) {
+            inBatch = true;
+        } else {
+            _reportError("Arrow record batches must be written as arrays of objects");
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(Object currentValue) {
+        writeStartArray();
+        streamWriteContext.assignCurrentValue(currentValue);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndArray() {
+        if (!streamWriteContext.inArray()) {
+            _reportError("Current context not an Array but " + streamWriteContext.typeDesc());
+        }
+        streamWriteContext = streamWriteContext.clearAndGetParent();
+        if (nestedDepth > 0) {
+            endNested(']');
+        } else {
+            inBatch = false;
+            writeBatch();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeName(String name) {
+        if (!streamWriteContext.writeName(name)) {
+            _reportError("Cannot write a property name, expecting a value");
+        }
+        if (nestedDepth > 0) {
+            startNestedValue();
+            appendQuoted(name);
+            nestedJson.append(':');
+            nestedAfterName = true;
+        } else {
+            pendingName = name;
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writePropertyId(long id) {
+        return writeName(Long.toString(id));
+    }
+
+    /*
+     * Scalar values
+     */
+
+    @Override
+    public JsonGenerator writeString(String text) {
+        if (text == null) {
+            return writeNull();
+        }
+        _verifyValueWrite(WRITE_STRING);
+        if (nestedDepth > 0) {
+            startNestedValue();
+            appendQuoted(text);
+        } else {
+            setValue(text);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeString(char[] text, int offset, int len) {
+        return writeString(new String(text, offset, len));
+    }
+
+    @Override
+    public JsonGenerator writeString(SerializableString text) {
+        return writeString(text.getValue());
+    }
+
+    @Override
+    public JsonGenerator writeUTF8String(byte[] text, int offset, int length) {
+        return writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public JsonGenerator writeRawUTF8String(byte[] text, int offset, int length) {
+        return writeUTF8String(text, offset, length);
+    }
+
+    @Override
+    public JsonGenerator writeNumber(short v) {
+        return writeNumber((long) v);
+    }
+
+    @Override
+    public JsonGenerator writeNumber(int v) {
+        return writeNumber((long) v);
+    }
+
+    @Override
+    public JsonGenerator writeNumber(long v) {
+        _verifyValueWrite(WRITE_NUMBER);
+        if (nestedDepth > 0) {
+            startNestedValue();
+            nestedJson.append(v);
+        } else {
+            setValue(v);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(BigInteger v) {
+        if (v == null) {
+            return writeNull();
+        }
+        if (v.bitLength() < Long.SIZE) {
+            return writeNumber(v.longValue());
+        }
+        return writeNumber(v.toString());
+    }
+
+    @Override
+    public JsonGenerator writeNumber(double v) {
+        _verifyValueWrite(WRITE_NUMBER);
+        if (nestedDepth > 0) {
+            startNestedValue();
+            nestedJson.append(v);
+        } else {
+            setValue(v);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(float v) {
+        return writeNumber((double) v);
+    }
+
+    @Override
+    public JsonGenerator writeNumber(BigDecimal v) {
+        if (v == null) {
+            return writeNull();
+        }
+        return writeNumber(v.doubleValue());
+    }
+
+    /**
+     * Numbers given in their textual representation are kept as strings,
+     * since they might not fit in an int64 or a double.
+     */
+    @Override
+    public JsonGenerator writeNumber(String encodedValue) {
+        if (encodedValue == null) {
+            return writeNull();
+        }
+        _verifyValueWrite(WRITE_NUMBER);
+        if (nestedDepth > 0) {
+            startNestedValue();
+            nestedJson.append(encodedValue);
+        } else {
+            setValue(encodedValue);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeBoolean(boolean state) {
+        _verifyValueWrite(WRITE_BOOLEAN);
+        if (nestedDepth > 0) {
+            startNestedValue();
+            nestedJson.append(state);
+        } else {
+            setValue(state);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        _verifyValueWrite(WRITE_NULL);
+        if (nestedDepth > 0) {
+            startNestedValue();
+            nestedJson.append("null");
+        } else {
+            setValue(null);
+        }
+        return this;
+    }
+
+    /**
+     * Binary values are written as base64 strings.
+     */
+    @Override
+    public JsonGenerator writeBinary(Base64Variant bv, byte[] data, int offset, int len) {
+        if (data == null) {
+            return writeNull();
+        }
+        _checkRangeBoundsForByteArray(data, offset, len);
+        return writeString(bv.encode(Arrays.copyOfRange(data, offset, offset + len)));
+    }
+
+    /*
+     * Raw content cannot be represented in a column
+     */
+
+    @Override
+    public JsonGenerator writeRaw(String text) {
+        return _reportUnsupportedOperation();
+    }
+
+    @Override
+    public JsonGenerator writeRaw(String text, int offset, int len) {
+        return _reportUnsupportedOperation();
+    }
+
+    @Override
+    public JsonGenerator writeRaw(char[] text, int offset, int len) {
+        return _reportUnsupportedOperation();
+    }
+
+    @Override
+    public JsonGenerator writeRaw(char c) {
+        return _reportUnsupportedOperation();
+    }
+
+    /*
+     * Lifecycle
+     */
+
+    @Override
+    public void flush() {
+        if (isEnabled(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw _wrapIOFailure(e);
+            }
+        }
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        if (_ioContext.isResourceManaged() || isEnabled(StreamWriteFeature.AUTO_CLOSE_TARGET)) {
+            out.close();
+        } else if (isEnabled(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)) {
+            out.flush();
+        }
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+        // buffers are owned by this generator
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) {
+        if (!streamWriteContext.writeValue()) {
+            _reportError("Cannot " + typeMsg + ", expecting a property name");
+        }
+    }
+
+    /*
+     * Rows
+     */
+
+    private void setValue(Object value) {
+        if (!inRow) {
+            _reportError("Arrow record batches must be written as arrays of objects");
+        }
+        columns.computeIfAbsent(pendingName, ArrowColumn::new).set(rowCount - 1, value);
+    }
+
+    private void writeBatch() {
+        if (rowCount > 0) {
+            try {
+                streamWriter.writeStream(out, columns.values(), rowCount);
+            } catch (IOException e) {
+                throw _wrapIOFailure(e);
+            } finally {
+                columns.clear();
+                rowCount = 0;
+            }
+        }
+    }
+
+    /*
+     * Nested values, written as JSON text
+     */
+
+    private void startNested(char open) {
+        if (nestedDepth == 0) {
+            nestedJson.setLength(0);
+        } else {
+            startNestedValue();
+        }
+        nestedJson.append(open);
+        if (nestedDepth == nestedHasValues.length) {
+            nestedHasValues = Arrays.copyOf(nestedHasValues, nestedDepth * 2);
+        }
+        nestedHasValues[nestedDepth++] = false;
+    }
+
+    private void endNested(char close) {
+        nestedJson.append(close);
+        nestedDepth--;
+        if (nestedDepth == 0) {
+            setValue(nestedJson.toString());
+        }
+    }
+
+    /**
+     * Writes the separator preceding a value (or a property name) in the nested object or array.
+     */
+    private void startNestedValue() {
+        if (nestedAfterName) {
+            nestedAfterName = false;
+            return;
+        }
+        if (nestedHasValues[nestedDepth - 1]) {
+            nestedJson.append(',');
+        }
+        nestedHasValues[nestedDepth - 1] = true;
+    }
+
+    private void appendQuoted(String value) {
+        nestedJson.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    nestedJson.append("\\\"");
+                    break;
+                case '\\':
+                    nestedJson.append("\\\\");
+                    break;
+                case '\n':
+                    nestedJson.append("\\n");
+                    break;
+                case '\r':
+                    nestedJson.append("\\r");
+                    break;
+                case '\t':
+                    nestedJson.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        nestedJson.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        nestedJson.append(c);
+                    }
+                    break;
+            }
+        }
+        nestedJson.append('"');
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.cfg.MapperBuilder;
+import tools.jackson.databind.cfg.MapperBuilderState;
+
+/**
+ * An {@link ObjectMapper} writing Arrow record batches.
+ */
+// Inherent to subclasses of ObjectMapper: ObjectMapper implements the generic
+// TreeCodec.readTree(JsonParser) with a JsonNode return type, and rebuild() is declared with
+// type parameters that overriding methods can only bind to the concrete builder with an
+// unchecked conversion.
+@SuppressWarnings("unchecked")
+public class ArrowMapper extends ObjectMapper {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Builder for {@link ArrowMapper}.
+     */
+    public static class Builder extends MapperBuilder<ArrowMapper, Builder> {
+
+        public Builder(ArrowFactory factory) {
+            super(factory);
+        }
+
+        public Builder(StateImpl state) {
+            super(state);
+        }
+
+        @Override
+        public ArrowMapper build() {
+            return new ArrowMapper(this);
+        }
+
+        @Override
+        protected MapperBuilderState _saveState() {
+            return new StateImpl(this);
+        }
+
+        protected static class StateImpl extends MapperBuilderState {
+            private static final long serialVersionUID = 1L;
+
+            public StateImpl(Builder src) {
+                super(src);
+            }
+
+            @Override
+            protected Object readResolve() {
+                return new Builder(this).build();
+            }
+        }
+    }
+
+    public ArrowMapper() {
+        this(new ArrowFactory());
+    }
+
+    public ArrowMapper(ArrowFactory factory) {
+        this(new Builder(factory));
+    }
+
+    public ArrowMapper(Builder builder) {
+        super(builder);
+    }
+
+    public static Builder builder() {
+        return new Builder(new ArrowFactory());
+    }
+
+    public static Builder builder(ArrowFactory factory) {
+        return new Builder(factory);
+    }
+
+    @Override
+    public Builder rebuild() {
+        return new Builder((Builder.StateImpl) _savedBuilderState);
+    }
+
+    @Override
+    public ArrowFactory tokenStreamFactory() {
+        return (ArrowFactory) _streamFactory;
+    }
+}
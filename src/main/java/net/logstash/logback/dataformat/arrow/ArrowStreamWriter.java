@@ -0,0 +1,474 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes columns as an <a href="https://arrow.apache.org/docs/format/Columnar.html#ipc-streaming-format">Arrow IPC stream</a>
+ * made of a schema message, one dictionary batch per dictionary-encoded column,
+ * a single record batch and the end-of-stream marker.
+ *
+ * <p>Column types are inferred from their values:
+ * {@code Int64} if all values are {@link Long}s, {@code Float64} if all values are numbers,
+ * {@code Bool} if all values are {@link Boolean}s, and {@code Utf8} otherwise.
+ * {@code Utf8} columns whose name is one of the dictionary field names are dictionary-encoded
+ * with {@code Int32} indices.</p>
+ */
+final class ArrowStreamWriter {
+
+    private static final short METADATA_VERSION_V5 = 4;
+
+    /*
+     * MessageHeader union types
+     */
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_DICTIONARY_BATCH = 2;
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    /*
+     * Type union types
+     */
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_FLOATING_POINT = 3;
+    private static final byte TYPE_UTF8 = 5;
+    private static final byte TYPE_BOOL = 6;
+
+    private static final short PRECISION_DOUBLE = 2;
+
+    private static final int CONTINUATION = 0xFFFFFFFF;
+
+    private static final byte[] END_OF_STREAM = {-1, -1, -1, -1, 0, 0, 0, 0};
+
+    private final Set<String> dictionaryFieldNames;
+
+    ArrowStreamWriter(Set<String> dictionaryFieldNames) {
+        this.dictionaryFieldNames = dictionaryFieldNames;
+    }
+
+    /**
+     * Layout of a column in the record batch.
+     */
+    private static final class Field {
+        final ArrowColumn column;
+        final byte type;
+        /**
+         * Dictionary values and their index, or {@code null} if the column is not dictionary-encoded.
+         */
+        final Map<String, Integer> dictionary;
+        final int dictionaryId;
+
+        Field(ArrowColumn column, byte type, Map<String, Integer> dictionary, int dictionaryId) {
+            this.column = column;
+            this.type = type;
+            this.dictionary = dictionary;
+            this.dictionaryId = dictionaryId;
+        }
+    }
+
+    void writeStream(OutputStream out, Collection<ArrowColumn> columns, int rowCount) throws IOException {
+        List<Field> fields = new ArrayList<>(columns.size());
+        int dictionaryCount = 0;
+        for (ArrowColumn column : columns) {
+            byte type = inferType(column, rowCount);
+            if (type == TYPE_UTF8 && dictionaryFieldNames.contains(column.getName())) {
+                fields.add(new Field(column, type, buildDictionary(column, rowCount), dictionaryCount++));
+            } else {
+                fields.add(new Field(column, type, null, -1));
+            }
+        }
+
+        writeMessage(out, HEADER_SCHEMA, buildSchema(fields), null);
+
+        for (Field field : fields) {
+            if (field.dictionary != null) {
+                Body body = new Body();
+                body.writeUtf8(new ArrayList<>(field.dictionary.keySet()), field.dictionary.size());
+                writeMessage(out, HEADER_DICTIONARY_BATCH, buildDictionaryBatch(field.dictionaryId, body), body);
+            }
+        }
+
+        Body body = new Body();
+        for (Field field : fields) {
+            body.writeColumn(field, rowCount);
+        }
+        writeMessage(out, HEADER_RECORD_BATCH, buildRecordBatch(rowCount, body), body);
+
+        out.write(END_OF_STREAM);
+    }
+
+    private static byte inferType(ArrowColumn column, int rowCount) {
+        boolean any = false;
+        boolean allLong = true;
+        boolean allNumber = true;
+        boolean allBoolean = true;
+        for (int row = 0; row < rowCount; row++) {
+            Object value = column.get(row);
+            if (value != null) {
+                any = true;
+                allLong &= value instanceof Long;
+                allNumber &= value instanceof Number;
+                allBoolean &= value instanceof Boolean;
+            }
+        }
+        if (!any) {
+            return TYPE_UTF8;
+        }
+        if (allLong) {
+            return TYPE_INT;
+        }
+        if (allNumber) {
+            return TYPE_FLOATING_POINT;
+        }
+        if (allBoolean) {
+            return TYPE_BOOL;
+        }
+        return TYPE_UTF8;
+    }
+
+    private static Map<String, Integer> buildDictionary(ArrowColumn column, int rowCount) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            Object value = column.get(row);
+            if (value != null) {
+                dictionary.putIfAbsent(String.valueOf(value), dictionary.size());
+            }
+        }
+        return dictionary;
+    }
+
+    /*
+     * Metadata
+     */
+
+    private static int buildIntType(FlatBufferBuilder builder, int bitWidth) {
+        builder.startTable(2);
+        builder.addInt(0, bitWidth);
+        builder.addBoolean(1, true);
+        return builder.endTable();
+    }
+
+    private static int buildType(FlatBufferBuilder builder, byte type) {
+        switch (type) {
+            case TYPE_INT:
+                return buildIntType(builder, 64);
+            case TYPE_FLOATING_POINT:
+                builder.startTable(1);
+                builder.addShort(0, PRECISION_DOUBLE);
+                return builder.endTable();
+            default:
+                // Utf8 and Bool have no properties
+                builder.startTable(0);
+                return builder.endTable();
+        }
+    }
+
+    private static byte[] buildSchema(List<Field> fields) {
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        int[] fieldOffsets = new int[fields.size()];
+        for (int i = 0; i < fieldOffsets.length; i++) {
+            Field field = fields.get(i);
+            int name = builder.createString(field.column.getName());
+            int type = buildType(builder, field.type);
+            int dictionary = 0;
+            if (field.dictionary != null) {
+                int indexType = buildIntType(builder, 32);
+                builder.startTable(4);
+                builder.addLong(0, field.dictionaryId);
+                builder.addOffset(1, indexType);
+                builder.addBoolean(2, false);
+                dictionary = builder.endTable();
+            }
+            int children = builder.createOffsetVector(new int[0]);
+
+            builder.startTable(7);
+            builder.addOffset(0, name);
+            builder.addBoolean(1, true);
+            builder.addByte(2, field.type);
+            builder.addOffset(3, type);
+            if (dictionary != 0) {
+                builder.addOffset(4, dictionary);
+            }
+            builder.addOffset(5, children);
+            fieldOffsets[i] = builder.endTable();
+        }
+        int fieldsVector = builder.createOffsetVector(fieldOffsets);
+
+        builder.startTable(4);
+        // little endian
+        builder.addShort(0, 0);
+        builder.addOffset(1, fieldsVector);
+        int schema = builder.endTable();
+        return finishMessage(builder, HEADER_SCHEMA, schema, 0);
+    }
+
+    private static int buildRecordBatchTable(FlatBufferBuilder builder, long length, Body body) {
+        int nodes = builder.createLongPairVector(body.nodes());
+        int buffers = builder.createLongPairVector(body.buffers());
+        builder.startTable(5);
+        builder.addLong(0, length);
+        builder.addOffset(1, nodes);
+        builder.addOffset(2, buffers);
+        return builder.endTable();
+    }
+
+    private static byte[] buildRecordBatch(int rowCount, Body body) {
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        int recordBatch = buildRecordBatchTable(builder, rowCount, body);
+        return finishMessage(builder, HEADER_RECORD_BATCH, recordBatch, body.size());
+    }
+
+    private static byte[] buildDictionaryBatch(int id, Body body) {
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        int recordBatch = buildRecordBatchTable(builder, body.nodes()[0], body);
+        builder.startTable(3);
+        builder.addLong(0, id);
+        builder.addOffset(1, recordBatch);
+        int dictionaryBatch = builder.endTable();
+        return finishMessage(builder, HEADER_DICTIONARY_BATCH, dictionaryBatch, body.size());
+    }
+
+    private static byte[] finishMessage(FlatBufferBuilder builder, byte headerType, int header, long bodyLength) {
+        builder.startTable(5);
+        builder.addLong(3, bodyLength);
+        builder.addOffset(2, header);
+        builder.addShort(0, METADATA_VERSION_V5);
+        builder.addByte(1, headerType);
+        return builder.finish(builder.endTable());
+    }
+
+    /**
+     * Writes an encapsulated message: continuation marker, metadata length,
+     * metadata padded to 8 bytes, then body.
+     */
+    private static void writeMessage(OutputStream out, byte headerType, byte[] metadata, Body body) throws IOException {
+        int paddedLength = align8(metadata.length);
+        byte[] prefix = new byte[8];
+        putInt(prefix, 0, CONTINUATION);
+        putInt(prefix, 4, paddedLength);
+        out.write(prefix);
+        out.write(metadata);
+        out.write(new byte[paddedLength - metadata.length]);
+        if (body != null) {
+            body.writeTo(out);
+        }
+    }
+
+    private static int align8(int length) {
+        return (length + 7) & ~7;
+    }
+
+    private static void putInt(byte[] bytes, int index, int value) {
+        bytes[index] = (byte) value;
+        bytes[index + 1] = (byte) (value >> 8);
+        bytes[index + 2] = (byte) (value >> 16);
+        bytes[index + 3] = (byte) (value >> 24);
+    }
+
+    /**
+     * Body of a record batch: the buffers of the columns, each padded to 8 bytes,
+     * along with the field nodes and buffer locations describing them.
+     */
+    private static final class Body {
+        private byte[] bytes = new byte[1024];
+        private int size;
+        private long[] nodes = new long[8];
+        private int nodeValues;
+        private long[] buffers = new long[16];
+        private int bufferValues;
+        private int bufferStart;
+
+        int size() {
+            return size;
+        }
+
+        long[] nodes() {
+            return Arrays.copyOf(nodes, nodeValues);
+        }
+
+        long[] buffers() {
+            return Arrays.copyOf(buffers, bufferValues);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        private void ensureCapacity(int length) {
+            if (bytes.length - size < length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+        }
+
+        private void addNode(long length, long nullCount) {
+            if (nodeValues == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodeValues * 2);
+            }
+            nodes[nodeValues++] = length;
+            nodes[nodeValues++] = nullCount;
+        }
+
+        private void startBuffer() {
+            bufferStart = size;
+        }
+
+        private void endBuffer() {
+            if (bufferValues == buffers.length) {
+                buffers = Arrays.copyOf(buffers, bufferValues * 2);
+            }
+            buffers[bufferValues++] = bufferStart;
+            buffers[bufferValues++] = size - bufferStart;
+            int padding = align8(size) - size;
+            ensureCapacity(padding);
+            size += padding;
+        }
+
+        private void emptyBuffer() {
+            startBuffer();
+            endBuffer();
+        }
+
+        private void writeInt(int value) {
+            ensureCapacity(4);
+            putInt(bytes, size, value);
+            size += 4;
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(8);
+            for (int i = 0; i < 8; i++) {
+                bytes[size++] = (byte) (value >> (8 * i));
+            }
+        }
+
+        private void writeBytes(byte[] value) {
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        /**
+         * Writes a bitmap buffer where bit {@code i} is set if the value of row {@code i} matches.
+         */
+        private void writeBitmap(ArrowColumn column, int rowCount, boolean validity) {
+            int length = (rowCount + 7) / 8;
+            ensureCapacity(length);
+            startBuffer();
+            for (int row = 0; row < rowCount; row++) {
+                Object value = column.get(row);
+                if (validity ? value != null : Boolean.TRUE.equals(value)) {
+                    bytes[size + row / 8] |= (byte) (1 << (row % 8));
+                }
+            }
+            size += length;
+            endBuffer();
+        }
+
+        void writeColumn(Field field, int rowCount) {
+            ArrowColumn column = field.column;
+            int nullCount = 0;
+            for (int row = 0; row < rowCount; row++) {
+                if (column.get(row) == null) {
+                    nullCount++;
+                }
+            }
+            addNode(rowCount, nullCount);
+            if (nullCount > 0) {
+                writeBitmap(column, rowCount, true);
+            } else {
+                emptyBuffer();
+            }
+
+            if (field.dictionary != null) {
+                startBuffer();
+                for (int row = 0; row < rowCount; row++) {
+                    Object value = column.get(row);
+                    writeInt(value == null ? 0 : field.dictionary.get(String.valueOf(value)));
+                }
+                endBuffer();
+                return;
+            }
+
+            switch (field.type) {
+                case TYPE_INT:
+                    startBuffer();
+                    for (int row = 0; row < rowCount; row++) {
+                        Object value = column.get(row);
+                        writeLong(value == null ? 0 : (Long) value);
+                    }
+                    endBuffer();
+                    break;
+                case TYPE_FLOATING_POINT:
+                    startBuffer();
+                    for (int row = 0; row < rowCount; row++) {
+                        Object value = column.get(row);
+                        writeLong(value == null ? 0 : Double.doubleToRawLongBits(((Number) value).doubleValue()));
+                    }
+                    endBuffer();
+                    break;
+                case TYPE_BOOL:
+                    writeBitmap(column, rowCount, false);
+                    break;
+                default:
+                    List<String> values = new ArrayList<>(rowCount);
+                    for (int row = 0; row < rowCount; row++) {
+                        Object value = column.get(row);
+                        values.add(value == null ? null : String.valueOf(value));
+                    }
+                    writeUtf8Buffers(values, rowCount);
+                    break;
+            }
+        }
+
+        /**
+         * Writes a {@code Utf8} column without nulls (as used by dictionaries).
+         */
+        void writeUtf8(List<String> values, int rowCount) {
+            addNode(rowCount, 0);
+            emptyBuffer();
+            writeUtf8Buffers(values, rowCount);
+        }
+
+        private void writeUtf8Buffers(List<String> values, int rowCount) {
+            byte[][] encoded = new byte[rowCount][];
+            startBuffer();
+            int offset = 0;
+            writeInt(offset);
+            for (int row = 0; row < rowCount; row++) {
+                String value = values.get(row);
+                encoded[row] = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+                offset += encoded[row].length;
+                writeInt(offset);
+            }
+            endBuffer();
+
+            startBuffer();
+            for (byte[] value : encoded) {
+                writeBytes(value);
+            }
+            endBuffer();
+        }
+    }
+}
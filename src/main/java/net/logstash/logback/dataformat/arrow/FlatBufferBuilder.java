@@ -0,0 +1,240 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal <a href="https://flatbuffers.dev/">FlatBuffers</a> builder, sufficient to write the
+ * metadata of Arrow IPC messages without depending on the flatbuffers library.
+ *
+ * <p>Like the reference implementation, the buffer is built back to front:
+ * children (strings, vectors, tables) are written before the tables referencing them,
+ * and alignment is computed relative to the end of the buffer.
+ * Vtables are not deduplicated.</p>
+ */
+final class FlatBufferBuilder {
+
+    private byte[] buf = new byte[256];
+
+    /**
+     * Index of the first written byte of {@link #buf}.
+     */
+    private int space = buf.length;
+
+    private int minAlign = 1;
+
+    private int[] vtable = new int[8];
+    private int vtableInUse;
+    private int objectStart;
+
+    private int vectorNumElems;
+
+    /**
+     * Returns the number of bytes written so far, which is how objects are referenced.
+     */
+    int offset() {
+        return buf.length - space;
+    }
+
+    private void ensureSpace(int length) {
+        if (space < length) {
+            int used = offset();
+            int newLength = Math.max(buf.length * 2, used + length);
+            byte[] newBuf = new byte[newLength];
+            System.arraycopy(buf, space, newBuf, newLength - used, used);
+            space = newLength - used;
+            buf = newBuf;
+        }
+    }
+
+    /**
+     * Aligns the buffer so that {@code size} bytes are aligned once {@code additionalBytes} are written.
+     */
+    private void prep(int size, int additionalBytes) {
+        if (size > minAlign) {
+            minAlign = size;
+        }
+        int alignSize = -(offset() + additionalBytes) & (size - 1);
+        ensureSpace(alignSize + size + additionalBytes);
+        for (int i = 0; i < alignSize; i++) {
+            buf[--space] = 0;
+        }
+    }
+
+    private void putByte(int value) {
+        buf[--space] = (byte) value;
+    }
+
+    private void putShort(int value) {
+        space -= 2;
+        buf[space] = (byte) value;
+        buf[space + 1] = (byte) (value >> 8);
+    }
+
+    private void putInt(int value) {
+        space -= 4;
+        putIntAt(space, value);
+    }
+
+    private void putIntAt(int index, int value) {
+        buf[index] = (byte) value;
+        buf[index + 1] = (byte) (value >> 8);
+        buf[index + 2] = (byte) (value >> 16);
+        buf[index + 3] = (byte) (value >> 24);
+    }
+
+    private void putLong(long value) {
+        space -= 8;
+        for (int i = 0; i < 8; i++) {
+            buf[space + i] = (byte) (value >> (8 * i));
+        }
+    }
+
+    private void addOffset(int offset) {
+        prep(4, 0);
+        putInt(offset() - offset + 4);
+    }
+
+    /*
+     * Strings and vectors
+     */
+
+    int createString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        prep(1, 0);
+        putByte(0);
+        startVector(1, bytes.length, 1);
+        space -= bytes.length;
+        System.arraycopy(bytes, 0, buf, space, bytes.length);
+        return endVector();
+    }
+
+    int createOffsetVector(int[] offsets) {
+        startVector(4, offsets.length, 4);
+        for (int i = offsets.length - 1; i >= 0; i--) {
+            addOffset(offsets[i]);
+        }
+        return endVector();
+    }
+
+    /**
+     * Creates a vector of structs made of two longs each (such as Arrow's {@code FieldNode} and {@code Buffer}).
+     *
+     * @param values the fields of the structs, two consecutive values per struct
+     */
+    int createLongPairVector(long[] values) {
+        int count = values.length / 2;
+        startVector(16, count, 8);
+        for (int i = count - 1; i >= 0; i--) {
+            prep(8, 16);
+            putLong(values[2 * i + 1]);
+            putLong(values[2 * i]);
+        }
+        return endVector();
+    }
+
+    private void startVector(int elemSize, int numElems, int alignment) {
+        prep(4, elemSize * numElems);
+        prep(alignment, elemSize * numElems);
+        vectorNumElems = numElems;
+    }
+
+    private int endVector() {
+        putInt(vectorNumElems);
+        return offset();
+    }
+
+    /*
+     * Tables
+     */
+
+    void startTable(int numFields) {
+        if (vtable.length < numFields) {
+            vtable = new int[numFields];
+        }
+        Arrays.fill(vtable, 0, numFields, 0);
+        vtableInUse = numFields;
+        objectStart = offset();
+    }
+
+    void addBoolean(int slot, boolean value) {
+        prep(1, 0);
+        putByte(value ? 1 : 0);
+        vtable[slot] = offset();
+    }
+
+    void addByte(int slot, int value) {
+        prep(1, 0);
+        putByte(value);
+        vtable[slot] = offset();
+    }
+
+    void addShort(int slot, int value) {
+        prep(2, 0);
+        putShort(value);
+        vtable[slot] = offset();
+    }
+
+    void addInt(int slot, int value) {
+        prep(4, 0);
+        putInt(value);
+        vtable[slot] = offset();
+    }
+
+    void addLong(int slot, long value) {
+        prep(8, 0);
+        putLong(value);
+        vtable[slot] = offset();
+    }
+
+    void addOffset(int slot, int offset) {
+        addOffset(offset);
+        vtable[slot] = offset();
+    }
+
+    int endTable() {
+        prep(4, 0);
+        putInt(0);
+        int objectOffset = offset();
+
+        int last = vtableInUse - 1;
+        while (last >= 0 && vtable[last] == 0) {
+            last--;
+        }
+        for (int i = last; i >= 0; i--) {
+            prep(2, 0);
+            putShort(vtable[i] != 0 ? objectOffset - vtable[i] : 0);
+        }
+        prep(2, 0);
+        putShort(objectOffset - objectStart);
+        putShort((last + 3) * 2);
+
+        putIntAt(buf.length - objectOffset, offset() - objectOffset);
+        vtableInUse = 0;
+        return objectOffset;
+    }
+
+    /**
+     * Finishes the buffer with the given root table, and returns its content.
+     */
+    byte[] finish(int rootTable) {
+        prep(minAlign, 4);
+        addOffset(rootTable);
+        return Arrays.copyOfRange(buf, space, buf.length);
+    }
+}
@@ -19,6 +19,7 @@ import net.logstash.logback.dataformat.DataFormatFactory;
 import net.logstash.logback.decorate.TokenStreamFactoryFeatureDecorator;
 import net.logstash.logback.decorate.cbor.CborWriteFeatureDecorator;
 
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.StreamWriteFeature;
 import tools.jackson.core.TokenStreamFactory;
 import tools.jackson.dataformat.cbor.CBORFactory;
@@ -34,6 +35,11 @@ import tools.jackson.dataformat.cbor.CBORWriteFeature;
  */
 public class CborDataFormatFactory implements DataFormatFactory<CBORFactory, CBORFactoryBuilder, CBORMapper, CBORMapper.Builder> {
 
+    /**
+     * Whether strings are back-referenced across the events of a session.
+     */
+    private boolean streamSession;
+
     @Override
     public String getName() {
         return CBOR;
@@ -41,7 +47,11 @@ public class CborDataFormatFactory implements DataFormatFactory<CBORFactory, CBO
 
     @Override
     public CBORFactoryBuilder createTokenStreamFactoryBuilder() {
-        return CBORFactory.builder()
+        CBORFactoryBuilder builder = CBORFactory.builder();
+        if (streamSession) {
+            builder.enable(CBORWriteFeature.STRINGREF);
+        }
+        return builder
                 /*
                  * When CBORGenerator is flushed, flush the internal buffer to the underlying outputStream,
                  * but don't flush the underlying outputStream.
@@ -62,4 +72,48 @@ public class CborDataFormatFactory implements DataFormatFactory<CBORFactory, CBO
     public CBORMapper.Builder createMapperBuilder(CBORFactory factory) {
         return CBORMapper.builder(factory);
     }
+
+    /**
+     * A stringref namespace only covers a single data item, so the events of a session
+     * are written as the elements of an indefinite-length array.
+     */
+    @Override
+    public void writeSessionStart(JsonGenerator generator) {
+        if (streamSession) {
+            generator.writeStartArray();
+        }
+    }
+
+    /**
+     * The events of a session are the elements of a single array, and must not be separated
+     * by line separators. Otherwise, events are written as separate data items followed by
+     * line separators, as before.
+     */
+    @Override
+    public boolean isSelfDelimited() {
+        return streamSession;
+    }
+
+    @Override
+    public boolean isStreamSession() {
+        return streamSession;
+    }
+
+    /**
+     * Whether strings already written (such as names, levels and logger names) are back-referenced
+     * with a stringref instead of repeated, across all the events written in a session.
+     *
+     * <p>A session lasts until the encoder session is reset
+     * (see {@link net.logstash.logback.encoder.StreamingEncoder#resetSession()}),
+     * which the TCP appenders do on every new connection.
+     * The events of a session are written as the elements of an indefinite-length array
+     * (not closed when the session ends), starting a new stringref namespace.
+     * The events of a session must be decoded in order, and must be encoded by a single thread
+     * writing to a single destination (like the TCP appenders do).</p>
+     *
+     * @param streamSession whether strings are shared across the events of a session
+     */
+    public void setStreamSession(boolean streamSession) {
+        this.streamSession = streamSession;
+    }
 }
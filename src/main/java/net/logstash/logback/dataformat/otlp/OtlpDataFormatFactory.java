@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.otlp;
+
+import net.logstash.logback.dataformat.DataFormatFactory;
+
+import tools.jackson.core.StreamWriteFeature;
+
+/**
+ * A {@link DataFormatFactory} for OpenTelemetry (OTLP) protobuf log records.
+ *
+ * <p>Each event is written as a length-delimited {@code LogRecord} message
+ * (see {@link OtlpGenerator} for how fields are mapped).
+ * The names of the fields mapped to the dedicated record fields default to the
+ * default logstash field names, and can be changed with the properties below
+ * when the field names of the providers are changed.</p>
+ */
+public class OtlpDataFormatFactory implements DataFormatFactory<OtlpFactory, OtlpFactoryBuilder, OtlpMapper, OtlpMapper.Builder> {
+
+    private String timestampFieldName = OtlpFactoryBuilder.DEFAULT_TIMESTAMP_FIELD_NAME;
+    private String levelFieldName = OtlpFactoryBuilder.DEFAULT_LEVEL_FIELD_NAME;
+    private String levelValueFieldName = OtlpFactoryBuilder.DEFAULT_LEVEL_VALUE_FIELD_NAME;
+    private String messageFieldName = OtlpFactoryBuilder.DEFAULT_MESSAGE_FIELD_NAME;
+
+    @Override
+    public String getName() {
+        return OTLP;
+    }
+
+    /**
+     * Records are length-delimited, so no line separator is needed between them.
+     */
+    @Override
+    public boolean isSelfDelimited() {
+        return true;
+    }
+
+    @Override
+    public OtlpFactoryBuilder createTokenStreamFactoryBuilder() {
+        return OtlpFactory.builder()
+                .timestampFieldName(timestampFieldName)
+                .levelFieldName(levelFieldName)
+                .levelValueFieldName(levelValueFieldName)
+                .messageFieldName(messageFieldName)
+                /*
+                 * When OtlpGenerator is flushed, don't flush the underlying outputStream.
+                 *
+                 * The encoder generally determines when the stream should be flushed
+                 * by an 'immediateFlush' property.
+                 */
+                .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    @Override
+    public OtlpMapper.Builder createMapperBuilder(OtlpFactory factory) {
+        return OtlpMapper.builder(factory);
+    }
+
+    public String getTimestampFieldName() {
+        return timestampFieldName;
+    }
+
+    public void setTimestampFieldName(String timestampFieldName) {
+        this.timestampFieldName = timestampFieldName;
+    }
+
+    public String getLevelFieldName() {
+        return levelFieldName;
+    }
+
+    public void setLevelFieldName(String levelFieldName) {
+        this.levelFieldName = levelFieldName;
+    }
+
+    public String getLevelValueFieldName() {
+        return levelValueFieldName;
+    }
+
+    public void setLevelValueFieldName(String levelValueFieldName) {
+        this.levelValueFieldName = levelValueFieldName;
+    }
+
+    public String getMessageFieldName() {
+        return messageFieldName;
+    }
+
+    public void setMessageFieldName(String messageFieldName) {
+        this.messageFieldName = messageFieldName;
+    }
+}
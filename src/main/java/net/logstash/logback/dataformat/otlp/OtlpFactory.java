@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.otlp;
+
+import java.io.DataInput;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import tools.jackson.core.FormatSchema;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.TokenStreamFactory;
+import tools.jackson.core.Version;
+import tools.jackson.core.base.BinaryTSFactory;
+import tools.jackson.core.io.IOContext;
+
+/**
+ * A {@link TokenStreamFactory} creating {@link OtlpGenerator}s,
+ * which write OpenTelemetry (OTLP) protobuf log records.
+ *
+ * <p>Only generation is supported.</p>
+ */
+public class OtlpFactory extends BinaryTSFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String FORMAT_NAME_OTLP = "OTLP";
+
+    protected final String timestampFieldName;
+    protected final String levelFieldName;
+    protected final String levelValueFieldName;
+    protected final String messageFieldName;
+
+    public OtlpFactory() {
+        this(new OtlpFactoryBuilder());
+    }
+
+    public OtlpFactory(OtlpFactoryBuilder builder) {
+        super(builder);
+        this.timestampFieldName = builder.timestampFieldName();
+        this.levelFieldName = builder.levelFieldName();
+        this.levelValueFieldName = builder.levelValueFieldName();
+        this.messageFieldName = builder.messageFieldName();
+    }
+
+    protected OtlpFactory(OtlpFactory src) {
+        super(src);
+        this.timestampFieldName = src.timestampFieldName;
+        this.levelFieldName = src.levelFieldName;
+        this.levelValueFieldName = src.levelValueFieldName;
+        this.messageFieldName = src.messageFieldName;
+    }
+
+    public static OtlpFactoryBuilder builder() {
+        return new OtlpFactoryBuilder();
+    }
+
+    @Override
+    public OtlpFactoryBuilder rebuild() {
+        return new OtlpFactoryBuilder(this);
+    }
+
+    @Override
+    public OtlpFactory copy() {
+        return new OtlpFactory(this);
+    }
+
+    /**
+     * Instances are immutable, so there is no need to copy them.
+     */
+    @Override
+    public OtlpFactory snapshot() {
+        return this;
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public String getFormatName() {
+        return FORMAT_NAME_OTLP;
+    }
+
+    @Override
+    public boolean canParseAsync() {
+        return false;
+    }
+
+    @Override
+    public boolean canUseSchema(FormatSchema schema) {
+        return false;
+    }
+
+    public String getTimestampFieldName() {
+        return timestampFieldName;
+    }
+
+    public String getLevelFieldName() {
+        return levelFieldName;
+    }
+
+    public String getLevelValueFieldName() {
+        return levelValueFieldName;
+    }
+
+    public String getMessageFieldName() {
+        return messageFieldName;
+    }
+
+    @Override
+    protected JsonGenerator _createGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt, OutputStream out) {
+        return new OtlpGenerator(writeCtxt, ioCtxt, writeCtxt.getStreamWriteFeatures(_streamWriteFeatures), out,
+                timestampFieldName, levelFieldName, levelValueFieldName, messageFieldName);
+    }
+
+    @Override
+    protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt, InputStream in) {
+        return _unsupported("Reading OTLP log records is not supported");
+    }
+
+    @Override
+    protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt, byte[] data, int offset, int len) {
+        return _unsupported("Reading OTLP log records is not supported");
+    }
+
+    @Override
+    protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt, DataInput input) {
+        return _unsupported("Reading OTLP log records is not supported");
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.otlp;
+
+import tools.jackson.core.ErrorReportConfiguration;
+import tools.jackson.core.StreamReadConstraints;
+import tools.jackson.core.StreamWriteConstraints;
+import tools.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
+
+/**
+ * Builder for {@link OtlpFactory}, configuring the names of the properties
+ * mapped to the dedicated fields of the OTLP log record.
+ */
+public class OtlpFactoryBuilder extends DecorableTSFBuilder<OtlpFactory, OtlpFactoryBuilder> {
+
+    public static final String DEFAULT_TIMESTAMP_FIELD_NAME = "@timestamp";
+    public static final String DEFAULT_LEVEL_FIELD_NAME = "level";
+    public static final String DEFAULT_LEVEL_VALUE_FIELD_NAME = "level_value";
+    public static final String DEFAULT_MESSAGE_FIELD_NAME = "message";
+
+    private String timestampFieldName = DEFAULT_TIMESTAMP_FIELD_NAME;
+    private String levelFieldName = DEFAULT_LEVEL_FIELD_NAME;
+    private String levelValueFieldName = DEFAULT_LEVEL_VALUE_FIELD_NAME;
+    private String messageFieldName = DEFAULT_MESSAGE_FIELD_NAME;
+
+    public OtlpFactoryBuilder() {
+        super(StreamReadConstraints.defaults(), StreamWriteConstraints.defaults(), ErrorReportConfiguration.defaults(), 0, 0);
+    }
+
+    public OtlpFactoryBuilder(OtlpFactory base) {
+        super(base);
+        this.timestampFieldName = base.timestampFieldName;
+        this.levelFieldName = base.levelFieldName;
+        this.levelValueFieldName = base.levelValueFieldName;
+        this.messageFieldName = base.messageFieldName;
+    }
+
+    @Override
+    public OtlpFactory build() {
+        return new OtlpFactory(this);
+    }
+
+    public String timestampFieldName() {
+        return timestampFieldName;
+    }
+
+    /**
+     * Sets the name of the property mapped to {@code time_unix_nano}.
+     *
+     * @param timestampFieldName the property name
+     * @return this builder
+     */
+    public OtlpFactoryBuilder timestampFieldName(String timestampFieldName) {
+        this.timestampFieldName = timestampFieldName;
+        return this;
+    }
+
+    public String levelFieldName() {
+        return levelFieldName;
+    }
+
+    /**
+     * Sets the name of the property mapped to {@code severity_text} and {@code severity_number}.
+     *
+     * @param levelFieldName the property name
+     * @return this builder
+     */
+    public OtlpFactoryBuilder levelFieldName(String levelFieldName) {
+        this.levelFieldName = levelFieldName;
+        return this;
+    }
+
+    public String levelValueFieldName() {
+        return levelValueFieldName;
+    }
+
+    /**
+     * Sets the name of the property mapped to {@code severity_number}.
+     *
+     * @param levelValueFieldName the property name
+     * @return this builder
+     */
+    public OtlpFactoryBuilder levelValueFieldName(String levelValueFieldName) {
+        this.levelValueFieldName = levelValueFieldName;
+        return this;
+    }
+
+    public String messageFieldName() {
+        return messageFieldName;
+    }
+
+    /**
+     * Sets the name of the property mapped to {@code body}.
+     *
+     * @param messageFieldName the property name
+     * @return this builder
+     */
+    public OtlpFactoryBuilder messageFieldName(String messageFieldName) {
+        this.messageFieldName = messageFieldName;
+        return this;
+    }
+}
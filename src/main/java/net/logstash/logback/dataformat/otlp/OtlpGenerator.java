@@ -0,0 +1,780 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.otlp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import tools.jackson.core.Base64Variant;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.StreamWriteCapability;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.TokenStreamContext;
+import tools.jackson.core.Version;
+import tools.jackson.core.base.GeneratorBase;
+import tools.jackson.core.io.IOContext;
+import tools.jackson.core.json.DupDetector;
+import tools.jackson.core.util.JacksonFeatureSet;
+import tools.jackson.core.util.SimpleStreamWriteContext;
+
+/**
+ * Writes each root-level object as an OpenTelemetry (OTLP) protobuf {@code LogRecord},
+ * prefixed by its length as a varint (length-delimited framing).
+ *
+ * <p>Properties of the root object are mapped as follows:</p>
+ * <ul>
+ * <li>the timestamp property (epoch millis as a number or a string,
+ *     or an ISO-8601 date-time string) to {@code time_unix_nano}</li>
+ * <li>the level property to {@code severity_text} and {@code severity_number}</li>
+ * <li>the level value property to {@code severity_number}
+ *     (only if the level property did not already set it)</li>
+ * <li>the message property to {@code body}</li>
+ * <li>every other property to an entry of {@code attributes}.
+ *     Nested objects and arrays become {@code kvlist_value}s and {@code array_value}s.</li>
+ * </ul>
+ *
+ * <p>Tokens are encoded straight into a buffer holding the current record.
+ * The length of each nested message is reserved as a single byte and only
+ * shifted when the message turns out to need a longer varint,
+ * so no intermediate tree is built.</p>
+ */
+public class OtlpGenerator extends GeneratorBase {
+
+    /*
+     * Protobuf wire types
+     */
+    private static final int WIRE_TYPE_VARINT = 0;
+    private static final int WIRE_TYPE_FIXED64 = 1;
+    private static final int WIRE_TYPE_LEN = 2;
+
+    /*
+     * LogRecord field numbers
+     */
+    private static final int LOG_RECORD_TIME_UNIX_NANO = 1;
+    private static final int LOG_RECORD_SEVERITY_NUMBER = 2;
+    private static final int LOG_RECORD_SEVERITY_TEXT = 3;
+    private static final int LOG_RECORD_BODY = 5;
+    private static final int LOG_RECORD_ATTRIBUTES = 6;
+
+    /*
+     * KeyValue field numbers
+     */
+    private static final int KEY_VALUE_KEY = 1;
+    private static final int KEY_VALUE_VALUE = 2;
+
+    /*
+     * AnyValue field numbers
+     */
+    private static final int ANY_VALUE_STRING = 1;
+    private static final int ANY_VALUE_BOOL = 2;
+    private static final int ANY_VALUE_INT = 3;
+    private static final int ANY_VALUE_DOUBLE = 4;
+    private static final int ANY_VALUE_ARRAY = 5;
+    private static final int ANY_VALUE_KVLIST = 6;
+    private static final int ANY_VALUE_BYTES = 7;
+
+    /**
+     * Field number of the repeated values of both ArrayValue and KeyValueList.
+     */
+    private static final int VALUES = 1;
+
+    /*
+     * Kinds of containers being written
+     */
+    private static final int CONTAINER_RECORD = 0;
+    private static final int CONTAINER_KVLIST = 1;
+    private static final int CONTAINER_ARRAY = 2;
+
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+    private final OutputStream out;
+
+    private final String timestampFieldName;
+    private final String levelFieldName;
+    private final String levelValueFieldName;
+    private final String messageFieldName;
+
+    private SimpleStreamWriteContext streamWriteContext;
+
+    /**
+     * Protobuf encoding of the record being written.
+     */
+    private byte[] buffer = new byte[1024];
+    private int position;
+
+    /**
+     * Start positions of the nested messages not closed yet.
+     * Each start position holds the single byte reserved for the message length.
+     */
+    private int[] messageStarts = new int[16];
+    private int messageDepth;
+
+    /**
+     * Kinds of the open containers, and the number of messages to close with each of them.
+     */
+    private int[] containerKinds = new int[8];
+    private int[] containerMessages = new int[8];
+    private int containerDepth;
+
+    private String pendingName;
+
+    private boolean severityNumberWritten;
+
+    private final byte[] lengthPrefix = new byte[5];
+
+    public OtlpGenerator(ObjectWriteContext writeContext, IOContext ioContext, int streamWriteFeatures, OutputStream out,
+            String timestampFieldName, String levelFieldName, String levelValueFieldName, String messageFieldName) {
+        super(writeContext, ioContext, streamWriteFeatures);
+        this.out = out;
+        this.timestampFieldName = timestampFieldName;
+        this.levelFieldName = levelFieldName;
+        this.levelValueFieldName = levelValueFieldName;
+        this.messageFieldName = messageFieldName;
+        DupDetector dups = StreamWriteFeature.STRICT_DUPLICATE_DETECTION.enabledIn(streamWriteFeatures)
+                ? DupDetector.rootDetector(this)
+                : null;
+        this.streamWriteContext = SimpleStreamWriteContext.createRootContext(dups);
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public JacksonFeatureSet<StreamWriteCapability> streamWriteCapabilities() {
+        return DEFAULT_BINARY_WRITE_CAPABILITIES;
+    }
+
+    @Override
+    public TokenStreamContext streamWriteContext() {
+        return streamWriteContext;
+    }
+
+    @Override
+    public Object currentValue() {
+        return streamWriteContext.currentValue();
+    }
+
+    @Override
+    public void assignCurrentValue(Object value) {
+        streamWriteContext.assignCurrentValue(value);
+    }
+
+    @Override
+    public Object streamWriteOutputTarget() {
+        return out;
+    }
+
+    @Override
+    public int streamWriteOutputBuffered() {
+        return position;
+    }
+
+    /*
+     * Structure
+     */
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        _verifyValueWrite("start an object");
+        streamWriteContext = streamWriteContext.createChildObjectContext(null);
+        if (containerDepth == 0) {
+            position = 0;
+            messageDepth = 0;
+            severityNumberWritten = false;
+            pushContainer(CONTAINER_RECORD, 0);
+        } else {
+            int opened = openValue();
+            openMessage(ANY_VALUE_KVLIST);
+            pushContainer(CONTAINER_KVLIST, opened + 1);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(Object currentValue) {
+        writeStartObject();
+        streamWriteContext.assignCurrentValue(currentValue);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndObject() {
+        if (!streamWriteContext.inObject()) {
+            _reportError("Current context not an Object but " + streamWriteContext.typeDesc());
+        }
+        streamWriteContext = streamWriteContext.clearAndGetParent();
+        popContainer();
+        if (containerDepth == 0) {
+            writeRecord();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        _verifyValueWrite("start an array");
+        requireRecord();
+        streamWriteContext = streamWriteContext.createChildArrayContext(null);
+        int opened = openValue();
+        openMessage(ANY_VALUE_ARRAY);
+        pushContainer(CONTAINER_ARRAY, opened + 1);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(Object currentValue) {
+        writeStartArray();
+        streamWriteContext.assignCurrentValue(currentValue);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndArray() {
+        if (!streamWriteContext.inArray()) {
+            _reportError("Current context not an Array but " + streamWriteContext.typeDesc());
+        }
+        streamWriteContext = streamWriteContext.clearAndGetParent();
+        popContainer();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeName(String name) {
+        if (!streamWriteContext.writeName(name)) {
+            _reportError("Cannot write a property name, expecting a value");
+        }
+        pendingName = name;
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writePropertyId(long id) {
+        return writeName(Long.toString(id));
+    }
+
+    /*
+     * Scalar values
+     */
+
+    @Override
+    public JsonGenerator writeString(String text) {
+        if (text == null) {
+            return writeNull();
+        }
+        _verifyValueWrite(WRITE_STRING);
+        requireRecord();
+        if (isRecordField()) {
+            if (pendingName.equals(timestampFieldName)) {
+                long nanos = parseTimestampNanos(text);
+                if (nanos >= 0) {
+                    writeFixed64(LOG_RECORD_TIME_UNIX_NANO, nanos);
+                    return this;
+                }
+            } else if (pendingName.equals(levelFieldName)) {
+                writeStringField(LOG_RECORD_SEVERITY_TEXT, text);
+                writeSeverityNumber(severityNumberOfLevel(text));
+                return this;
+            }
+        }
+        int opened = openValue();
+        writeStringField(ANY_VALUE_STRING, text);
+        closeMessages(opened);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeString(char[] text, int offset, int len) {
+        return writeString(new String(text, offset, len));
+    }
+
+    @Override
+    public JsonGenerator writeUTF8String(byte[] text, int offset, int length) {
+        return writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public JsonGenerator writeRawUTF8String(byte[] text, int offset, int length) {
+        return writeUTF8String(text, offset, length);
+    }
+
+    @Override
+    public JsonGenerator writeString(SerializableString text) {
+        return writeString(text.getValue());
+    }
+
+    @Override
+    public JsonGenerator writeNumber(short v) {
+        return writeNumber((long) v);
+    }
+
+    @Override
+    public JsonGenerator writeNumber(int v) {
+        return writeNumber((long) v);
+    }
+
+    @Override
+    public JsonGenerator writeNumber(long v) {
+        _verifyValueWrite(WRITE_NUMBER);
+        requireRecord();
+        if (isRecordField()) {
+            if (pendingName.equals(timestampFieldName) && v >= 0 && v <= Long.MAX_VALUE / NANOS_PER_MILLI) {
+                writeFixed64(LOG_RECORD_TIME_UNIX_NANO, v * NANOS_PER_MILLI);
+                return this;
+            }
+            if (pendingName.equals(levelValueFieldName)) {
+                writeSeverityNumber(severityNumberOfLevelValue(v));
+                return this;
+            }
+        }
+        int opened = openValue();
+        writeTag(ANY_VALUE_INT, WIRE_TYPE_VARINT);
+        writeVarint(v);
+        closeMessages(opened);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(BigInteger v) {
+        if (v == null) {
+            return writeNull();
+        }
+        if (v.bitLength() < Long.SIZE) {
+            return writeNumber(v.longValue());
+        }
+        return writeNumber(v.toString());
+    }
+
+    @Override
+    public JsonGenerator writeNumber(double v) {
+        _verifyValueWrite(WRITE_NUMBER);
+        requireRecord();
+        int opened = openValue();
+        writeFixed64(ANY_VALUE_DOUBLE, Double.doubleToRawLongBits(v));
+        closeMessages(opened);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNumber(float v) {
+        return writeNumber((double) v);
+    }
+
+    @Override
+    public JsonGenerator writeNumber(BigDecimal v) {
+        if (v == null) {
+            return writeNull();
+        }
+        return writeNumber(v.doubleValue());
+    }
+
+    /**
+     * Numbers given in their textual representation are kept as strings,
+     * since they might not fit in an int64 or a double.
+     */
+    @Override
+    public JsonGenerator writeNumber(String encodedValue) {
+        return writeString(encodedValue);
+    }
+
+    @Override
+    public JsonGenerator writeBoolean(boolean state) {
+        _verifyValueWrite(WRITE_BOOLEAN);
+        requireRecord();
+        int opened = openValue();
+        writeTag(ANY_VALUE_BOOL, WIRE_TYPE_VARINT);
+        writeVarint(state ? 1 : 0);
+        closeMessages(opened);
+        return this;
+    }
+
+    /**
+     * Nulls are written as an empty {@code AnyValue}.
+     */
+    @Override
+    public JsonGenerator writeNull() {
+        _verifyValueWrite(WRITE_NULL);
+        requireRecord();
+        closeMessages(openValue());
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeBinary(Base64Variant bv, byte[] data, int offset, int len) {
+        if (data == null) {
+            return writeNull();
+        }
+        _verifyValueWrite(WRITE_BINARY);
+        requireRecord();
+        _checkRangeBoundsForByteArray(data, offset, len);
+        int opened = openValue();
+        writeTag(ANY_VALUE_BYTES, WIRE_TYPE_LEN);
+        writeVarint(len);
+        ensureCapacity(len);
+        System.arraycopy(data, offset, buffer, position, len);
+        position += len;
+        closeMessages(opened);
+        return this;
+    }
+
+    /*
+     * Raw content cannot be represented in a protobuf message
+     */
+
+    @Override
+    public JsonGenerator writeRaw(String text) {
+        return _reportUnsupportedOperation();
+    }
+
+    @Override
+    public JsonGenerator writeRaw(String text, int offset, int len) {
+        return _reportUnsupportedOperation();
+    }
+
+    @Override
+    public JsonGenerator writeRaw(char[] text, int offset, int len) {
+        return _reportUnsupportedOperation();
+    }
+
+    @Override
+    public JsonGenerator writeRaw(char c) {
+        return _reportUnsupportedOperation();
+    }
+
+    /*
+     * Lifecycle
+     */
+
+    @Override
+    public void flush() {
+        if (isEnabled(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw _wrapIOFailure(e);
+            }
+        }
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        if (_ioContext.isResourceManaged() || isEnabled(StreamWriteFeature.AUTO_CLOSE_TARGET)) {
+            out.close();
+        } else if (isEnabled(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)) {
+            out.flush();
+        }
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+        // buffers are owned by this generator
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) {
+        if (!streamWriteContext.writeValue()) {
+            _reportError("Cannot " + typeMsg + ", expecting a property name");
+        }
+    }
+
+    /*
+     * Record mapping
+     */
+
+    private void requireRecord() {
+        if (containerDepth == 0) {
+            _reportError("OTLP log records must be written as objects");
+        }
+    }
+
+    private boolean isRecordField() {
+        return containerDepth == 1;
+    }
+
+    /**
+     * Opens the messages wrapping the {@code AnyValue} of the value about to be written,
+     * according to the container the value is written in.
+     *
+     * @return the number of messages opened
+     */
+    private int openValue() {
+        switch (containerKinds[containerDepth - 1]) {
+            case CONTAINER_RECORD:
+                if (pendingName.equals(messageFieldName)) {
+                    openMessage(LOG_RECORD_BODY);
+                    return 1;
+                }
+                openMessage(LOG_RECORD_ATTRIBUTES);
+                writeStringField(KEY_VALUE_KEY, pendingName);
+                openMessage(KEY_VALUE_VALUE);
+                return 2;
+            case CONTAINER_KVLIST:
+                openMessage(VALUES);
+                writeStringField(KEY_VALUE_KEY, pendingName);
+                openMessage(KEY_VALUE_VALUE);
+                return 2;
+            default:
+                openMessage(VALUES);
+                return 1;
+        }
+    }
+
+    private void pushContainer(int kind, int messages) {
+        if (containerDepth == containerKinds.length) {
+            containerKinds = Arrays.copyOf(containerKinds, containerDepth * 2);
+            containerMessages = Arrays.copyOf(containerMessages, containerDepth * 2);
+        }
+        containerKinds[containerDepth] = kind;
+        containerMessages[containerDepth] = messages;
+        containerDepth++;
+    }
+
+    private void popContainer() {
+        containerDepth--;
+        closeMessages(containerMessages[containerDepth]);
+    }
+
+    private void writeSeverityNumber(int severityNumber) {
+        if (severityNumber != 0 && !severityNumberWritten) {
+            writeTag(LOG_RECORD_SEVERITY_NUMBER, WIRE_TYPE_VARINT);
+            writeVarint(severityNumber);
+            severityNumberWritten = true;
+        }
+    }
+
+    /**
+     * Writes the current record, prefixed by its length, to the output stream.
+     */
+    private void writeRecord() {
+        int prefixLength = 0;
+        int value = position;
+        while ((value & ~0x7F) != 0) {
+            lengthPrefix[prefixLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        lengthPrefix[prefixLength++] = (byte) value;
+        try {
+            out.write(lengthPrefix, 0, prefixLength);
+            out.write(buffer, 0, position);
+        } catch (IOException e) {
+            throw _wrapIOFailure(e);
+        }
+        position = 0;
+    }
+
+    /**
+     * Returns the OTLP {@code SeverityNumber} of the given logback level name,
+     * or zero ({@code SEVERITY_NUMBER_UNSPECIFIED}) if unknown.
+     */
+    static int severityNumberOfLevel(String level) {
+        switch (level) {
+            case "TRACE":
+                return 1;
+            case "DEBUG":
+                return 5;
+            case "INFO":
+                return 9;
+            case "WARN":
+                return 13;
+            case "ERROR":
+                return 17;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the OTLP {@code SeverityNumber} of the given logback level value,
+     * or zero ({@code SEVERITY_NUMBER_UNSPECIFIED}) if unknown.
+     */
+    static int severityNumberOfLevelValue(long levelValue) {
+        if (levelValue == 5000) {
+            return 1;
+        } else if (levelValue == 10000) {
+            return 5;
+        } else if (levelValue == 20000) {
+            return 9;
+        } else if (levelValue == 30000) {
+            return 13;
+        } else if (levelValue == 40000) {
+            return 17;
+        }
+        return 0;
+    }
+
+    /**
+     * Parses a timestamp written as epoch millis or as an ISO-8601 date-time with an offset or zone.
+     *
+     * @return the nanoseconds since the epoch, or -1 if the timestamp cannot be parsed
+     */
+    static long parseTimestampNanos(String text) {
+        try {
+            if (isDigits(text)) {
+                return Math.multiplyExact(Long.parseLong(text), NANOS_PER_MILLI);
+            }
+            Instant instant = DateTimeFormatter.ISO_DATE_TIME.parse(text, Instant::from);
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (DateTimeException | ArithmeticException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isDigits(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Protobuf encoding
+     */
+
+    private void ensureCapacity(int length) {
+        if (buffer.length - position < length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+        }
+    }
+
+    private void writeTag(int fieldNumber, int wireType) {
+        writeVarint((fieldNumber << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeFixed64(int fieldNumber, long value) {
+        writeTag(fieldNumber, WIRE_TYPE_FIXED64);
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private void writeStringField(int fieldNumber, String value) {
+        openMessage(fieldNumber);
+        writeUtf8(value);
+        closeMessage();
+    }
+
+    /**
+     * Starts a length-delimited field, reserving a single byte for its length.
+     */
+    private void openMessage(int fieldNumber) {
+        writeTag(fieldNumber, WIRE_TYPE_LEN);
+        if (messageDepth == messageStarts.length) {
+            messageStarts = Arrays.copyOf(messageStarts, messageDepth * 2);
+        }
+        messageStarts[messageDepth++] = position;
+        ensureCapacity(1);
+        position++;
+    }
+
+    /**
+     * Ends the innermost length-delimited field, writing its length in the reserved space,
+     * and shifting its content when the length does not fit in a single byte.
+     */
+    private void closeMessage() {
+        int start = messageStarts[--messageDepth];
+        int length = position - start - 1;
+        int lengthSize = varintSize(length);
+        if (lengthSize > 1) {
+            ensureCapacity(lengthSize - 1);
+            System.arraycopy(buffer, start + 1, buffer, start + lengthSize, length);
+            position += lengthSize - 1;
+        }
+        int p = start;
+        while ((length & ~0x7F) != 0) {
+            buffer[p++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        buffer[p] = (byte) length;
+    }
+
+    private void closeMessages(int count) {
+        for (int i = 0; i < count; i++) {
+            closeMessage();
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    /**
+     * Encodes the given string as UTF-8, replacing unpaired surrogates with {@code '?'}
+     * (like {@link String#getBytes(java.nio.charset.Charset)}).
+     */
+    private void writeUtf8(String value) {
+        int length = value.length();
+        ensureCapacity(length * 3);
+        byte[] buf = buffer;
+        int p = position;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[p++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[p++] = (byte) (0xC0 | (c >> 6));
+                buf[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buf[p++] = (byte) (0xF0 | (codePoint >> 18));
+                    buf[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buf[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buf[p++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    buf[p++] = '?';
+                }
+            } else {
+                buf[p++] = (byte) (0xE0 | (c >> 12));
+                buf[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = p;
+    }
+}
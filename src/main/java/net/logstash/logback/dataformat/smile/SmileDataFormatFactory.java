@@ -34,6 +34,11 @@ import tools.jackson.dataformat.smile.SmileWriteFeature;
  */
 public class SmileDataFormatFactory implements DataFormatFactory<SmileFactory, SmileFactoryBuilder, SmileMapper, SmileMapper.Builder> {
 
+    /**
+     * Whether both names and string values are back-referenced across the events of a session.
+     */
+    private boolean streamSession;
+
     @Override
     public String getName() {
         return SMILE;
@@ -41,7 +46,12 @@ public class SmileDataFormatFactory implements DataFormatFactory<SmileFactory, S
 
     @Override
     public SmileFactoryBuilder createTokenStreamFactoryBuilder() {
-        return SmileFactory.builder()
+        SmileFactoryBuilder builder = SmileFactory.builder();
+        if (streamSession) {
+            builder.enable(SmileWriteFeature.CHECK_SHARED_NAMES)
+                    .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES);
+        }
+        return builder
                 /*
                  * When SmileGenerator is flushed, flush the internal buffer to the underlying outputStream,
                  * but don't flush the underlying outputStream.
@@ -62,4 +72,36 @@ public class SmileDataFormatFactory implements DataFormatFactory<SmileFactory, S
     public SmileMapper.Builder createMapperBuilder(SmileFactory factory) {
         return SmileMapper.builder(factory);
     }
+
+    /**
+     * The events of a session share their back-references and must be read by a single parser,
+     * so they must not be separated by line separators. Otherwise, events are written as separate
+     * documents followed by line separators, as before.
+     */
+    @Override
+    public boolean isSelfDelimited() {
+        return streamSession;
+    }
+
+    @Override
+    public boolean isStreamSession() {
+        return streamSession;
+    }
+
+    /**
+     * Whether names and short string values (such as levels and logger names) already written
+     * are back-referenced instead of repeated, across all the events written in a session.
+     *
+     * <p>A session lasts until the encoder session is reset
+     * (see {@link net.logstash.logback.encoder.StreamingEncoder#resetSession()}),
+     * which the TCP appenders do on every new connection.
+     * The header and back-reference tables are written again at the start of each session.
+     * The events of a session must be decoded in order, and must be encoded by a single thread
+     * writing to a single destination (like the TCP appenders do).</p>
+     *
+     * @param streamSession whether names and string values are shared across the events of a session
+     */
+    public void setStreamSession(boolean streamSession) {
+        this.streamSession = streamSession;
+    }
 }
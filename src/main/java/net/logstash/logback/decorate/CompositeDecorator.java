@@ -41,4 +41,11 @@ public class CompositeDecorator<T, D extends Decorator<T>> implements Decorator<
         return decorators.remove(decorator);
     }
 
+    /**
+     * @return {@code true} if no decorator was added
+     */
+    public boolean isEmpty() {
+        return decorators.isEmpty();
+    }
+
 }
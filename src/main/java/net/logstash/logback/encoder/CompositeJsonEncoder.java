@@ -17,17 +17,28 @@ package net.logstash.logback.encoder;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.List;
 import java.util.Objects;
 
 import net.logstash.logback.composite.AbstractCompositeJsonFormatter;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.JsonProviders;
 import net.logstash.logback.dataformat.DataFormatFactory;
 import net.logstash.logback.decorate.CompositeJsonGeneratorDecorator;
 import net.logstash.logback.decorate.CompositeMapperBuilderDecorator;
 import net.logstash.logback.decorate.CompositeTokenStreamFactoryBuilderDecorator;
 import net.logstash.logback.decorate.Decorator;
+import net.logstash.logback.util.BoundedObjectPool;
+import net.logstash.logback.util.BoundedReusableByteBufferPool;
+import net.logstash.logback.util.ByteBufferOutputStream;
+import net.logstash.logback.util.ByteChunkPool;
+import net.logstash.logback.util.ObjectPool;
+import net.logstash.logback.util.ObjectPoolStrategy;
 import net.logstash.logback.util.ReusableByteBuffer;
+import net.logstash.logback.util.ReusableByteBufferRetention;
+import net.logstash.logback.util.ThreadLocalHolder;
 import net.logstash.logback.util.ThreadLocalReusableByteBuffer;
 
 import ch.qos.logback.core.encoder.Encoder;
@@ -52,14 +63,54 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
     private int minBufferSize = 1024;
 
     /**
-     * Per-thread {@link ReusableByteBuffer} instance used when calling {@link #encode(DeferredProcessingAware)}
+     * The maximum size of the byte buffer kept for reuse after encoding an event.
+     * Only used when {@link #adaptiveBufferSize} is enabled.
      */
-    private ThreadLocalReusableByteBuffer threadLocalBuffer;
+    private int maxRetainedBufferSize = 65536;
+
+    /**
+     * Whether the size of the byte buffer kept for reuse follows the 90th percentile of the
+     * size of the encoded events, between {@link #minBufferSize} and {@link #maxRetainedBufferSize}.
+     */
+    private boolean adaptiveBufferSize;
+
+    /**
+     * Whether the byte buffer borrows the chunks it needs above its initial size from the
+     * {@link ByteChunkPool} shared by the logback context.
+     */
+    private boolean sharedBufferPool;
+
+    /**
+     * Size of the chunks of the {@link ByteChunkPool} shared by the logback context.
+     */
+    private int sharedBufferChunkSize = ByteChunkPool.DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Maximum number of idle chunks kept by the {@link ByteChunkPool} shared by the logback context.
+     */
+    private int maxSharedBufferChunks = ByteChunkPool.DEFAULT_MAX_CHUNKS;
+
+    /**
+     * Pool of {@link ReusableByteBuffer} used when encoding events into a byte array
+     */
+    private ObjectPool<ReusableByteBuffer> bufferPool;
+
+    /**
+     * Pool of {@link ByteBufferOutputStream} used when encoding events into a {@link ByteBuffer}
+     */
+    private ObjectPool<ByteBufferOutputStream> byteBufferOutputStreamPool;
+
+    /**
+     * Retention policy of the buffers of the {@link #bufferPool}
+     */
+    private ReusableByteBufferRetention bufferRetention;
     
     private Encoder<Event> prefix;
     private Encoder<Event> suffix;
 
     private final AbstractCompositeJsonFormatter<Event> formatter;
+
+    private final PrefixSuffixDelimiter eventDelimiter = new PrefixSuffixDelimiter();
     
     private String lineSeparator = System.lineSeparator();
 
@@ -67,6 +118,21 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
 
     private Charset charset;
 
+    /**
+     * Whether the data format writes {@link #isStreamSession() stream sessions}, resolved when started.
+     */
+    private boolean streamSession;
+
+    /**
+     * Thread encoding the events of the current session, when the data format writes stream sessions.
+     */
+    private volatile Thread sessionThread;
+
+    /**
+     * Whether events of a stream session were encoded by several threads, already reported.
+     */
+    private volatile boolean sessionThreadsReported;
+
     public CompositeJsonEncoder() {
         super();
         this.formatter = Objects.requireNonNull(createFormatter());
@@ -89,7 +155,7 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
             throw new IllegalStateException("Encoder is not started");
         }
         
-        ReusableByteBuffer buffer = threadLocalBuffer.acquire();
+        ReusableByteBuffer buffer = bufferPool.acquire();
         
         try {
             encode(buffer, event);
@@ -100,11 +166,56 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
             return EMPTY_BYTES;
             
         } finally {
-            threadLocalBuffer.release();
+            bufferPool.release(buffer);
         }
     }
     
+    /**
+     * Encode the event straight into the given {@link ByteBuffer}, through a pooled
+     * {@link ByteBufferOutputStream} so that no object is allocated per event.
+     *
+     * @see StreamingEncoder#encode(Object, ByteBuffer)
+     */
+    @Override
+    public int encode(Event event, ByteBuffer buffer) throws IOException {
+        if (!isStarted()) {
+            throw new IllegalStateException("Encoder is not started");
+        }
+
+        int position = buffer.position();
+        ByteBufferOutputStream outputStream = byteBufferOutputStreamPool.acquire();
+        try {
+            outputStream.setBuffer(buffer);
+            encode(outputStream, event);
+            if (outputStream.isOverflowed()) {
+                buffer.position(position);
+                return (int) -Math.min(outputStream.getCount(), Integer.MAX_VALUE);
+            }
+            return buffer.position() - position;
+
+        } finally {
+            byteBufferOutputStreamPool.release(outputStream);
+        }
+    }
+
+    /**
+     * Encode several events into the given {@link OutputStream} with the same JSON generator,
+     * flushing the output stream only once after the last event.
+     *
+     * @see StreamingEncoder#encodeBatch(List, OutputStream)
+     */
+    @Override
+    public void encodeBatch(List<Event> events, OutputStream outputStream) throws IOException {
+        if (!isStarted()) {
+            throw new IllegalStateException("Encoder is not started");
+        }
+
+        checkSessionThread();
+        formatter.writeEvents(events, outputStream, eventDelimiter);
+    }
+
     private void encode(OutputStream outputStream, Event event) throws IOException {
+        checkSessionThread();
         encode(prefix, event, outputStream);
         formatter.writeEvent(event, outputStream);
         encode(suffix, event, outputStream);
@@ -120,6 +231,63 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
         }
     }
 
+    /**
+     * Writes the prefix, suffix and line separator around the events of a batch.
+     */
+    private class PrefixSuffixDelimiter implements AbstractCompositeJsonFormatter.EventDelimiter<Event> {
+        @Override
+        public void writeBefore(Event event, OutputStream outputStream) throws IOException {
+            encode(prefix, event, outputStream);
+        }
+
+        @Override
+        public void writeAfter(Event event, OutputStream outputStream) throws IOException {
+            encode(suffix, event, outputStream);
+            outputStream.write(lineSeparatorBytes);
+        }
+    }
+
+    /**
+     * Report, once, events of a stream session encoded by several threads. The formatter writes
+     * the events of each thread with its own generator, hence in its own session: the sessions
+     * are interleaved in the output, which cannot be decoded.
+     *
+     * <p>An encoder does not know at start which appender uses it, so this is detected when the events
+     * are encoded. Events are encoded by a single thread by the TCP appenders for instance, but by the
+     * logging threads with an {@code OutputStreamAppender}.
+     */
+    private void checkSessionThread() {
+        if (!streamSession || sessionThreadsReported) {
+            return;
+        }
+        Thread current = Thread.currentThread();
+        Thread previous = sessionThread;
+        if (previous == null) {
+            sessionThread = current;
+        } else if (previous != current) {
+            sessionThreadsReported = true;
+            addWarn("The events of a stream session are encoded by several threads ([" + previous.getName() + "] and [" + current.getName() + "])."
+                    + " Each thread writes its own session, interleaved with the others in the output, which cannot be decoded."
+                    + " Use an appender encoding the events from a single thread to a single destination (such as the TCP appenders), or disable streamSession.");
+        }
+    }
+
+    @Override
+    public void resetSession() {
+        sessionThread = null;
+        formatter.resetSession();
+    }
+
+    @Override
+    public boolean isStreamSession() {
+        return formatter.getDataFormatFactory().isStreamSession();
+    }
+
+    @Override
+    public boolean isBatchOnly() {
+        return formatter.getDataFormatFactory().isBatchOnly();
+    }
+
     @Override
     public void start() {
         if (isStarted()) {
@@ -131,13 +299,31 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
         formatter.setContext(getContext());
         formatter.start();
         charset = Charset.forName(formatter.getEncoding());
-        lineSeparatorBytes = this.lineSeparator == null
+        streamSession = formatter.getDataFormatFactory().isStreamSession();
+        lineSeparatorBytes = this.lineSeparator == null || formatter.getDataFormatFactory().isSelfDelimited()
                 ? EMPTY_BYTES
                 : this.lineSeparator.getBytes(charset);
         startWrapped(prefix);
         startWrapped(suffix);
         
-        this.threadLocalBuffer = new ThreadLocalReusableByteBuffer(minBufferSize);
+        this.bufferRetention = new ReusableByteBufferRetention(minBufferSize, Math.max(minBufferSize, maxRetainedBufferSize), adaptiveBufferSize,
+                sharedBufferPool ? getSharedBufferPool() : null);
+        this.bufferPool = formatter.getPoolStrategy() == ObjectPoolStrategy.BOUNDED
+                ? new BoundedReusableByteBufferPool(bufferRetention, formatter.getPoolSize())
+                : new ThreadLocalReusableByteBuffer(bufferRetention);
+        this.byteBufferOutputStreamPool = formatter.getPoolStrategy() == ObjectPoolStrategy.BOUNDED
+                ? new BoundedObjectPool<>(ByteBufferOutputStream::new, formatter.getPoolSize())
+                : new ThreadLocalHolder<>(ByteBufferOutputStream::new);
+    }
+
+    private ByteChunkPool getSharedBufferPool() {
+        ByteChunkPool pool = ByteChunkPool.getShared(getContext(), sharedBufferChunkSize, maxSharedBufferChunks);
+        if (pool.getChunkSize() != sharedBufferChunkSize || pool.getMaxChunks() != maxSharedBufferChunks) {
+            addWarn("The shared buffer pool was already created with chunks of " + pool.getChunkSize()
+                    + " bytes and at most " + pool.getMaxChunks() + " idle chunks by another encoder or layout of the context."
+                    + " Ignoring sharedBufferChunkSize=" + sharedBufferChunkSize + " and maxSharedBufferChunks=" + maxSharedBufferChunks + ".");
+        }
+        return pool;
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -179,7 +365,9 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
             stopWrapped(prefix);
             stopWrapped(suffix);
             
-            threadLocalBuffer = null;
+            bufferPool = null;
+            bufferRetention = null;
+            byteBufferOutputStreamPool = null;
         }
     }
 
@@ -257,6 +445,112 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
         formatter.setFindAndRegisterJacksonModules(findAndRegisterJacksonModules);
     }
 
+    public boolean isFuseProviders() {
+        return formatter.isFuseProviders();
+    }
+
+    /**
+     * Whether to generate, when started, a writer invoking the JSON providers directly in order
+     * instead of looping over them (default = {@code true}).
+     * When the writer cannot be generated, a warning status is reported and the providers
+     * are invoked in a loop.
+     *
+     * @param fuseProviders {@code true} to generate a fused writer, {@code false} to loop over the providers
+     * @see AbstractCompositeJsonFormatter#setFuseProviders(boolean)
+     */
+    public void setFuseProviders(boolean fuseProviders) {
+        formatter.setFuseProviders(fuseProviders);
+    }
+
+    public boolean isPrecomputeConstantFields() {
+        return formatter.isPrecomputeConstantFields();
+    }
+
+    /**
+     * Whether to serialize the output of consecutive constant JSON providers once and splice
+     * the pre-serialized fields into every event (default = {@code true}).
+     * Ignored when {@link #setMaxEventBytes(int) maxEventBytes} is set, for output other than
+     * JSON text and when pretty printing is enabled.
+     *
+     * @param precomputeConstantFields {@code true} to pre-serialize constant fields, {@code false} to invoke the providers for every event
+     * @see AbstractCompositeJsonFormatter#setPrecomputeConstantFields(boolean)
+     */
+    public void setPrecomputeConstantFields(boolean precomputeConstantFields) {
+        formatter.setPrecomputeConstantFields(precomputeConstantFields);
+    }
+
+    public int getMaxEventBytes() {
+        return formatter.getMaxEventBytes();
+    }
+
+    /**
+     * Maximum number of bytes of the JSON object written for an event.
+     * Prefix, suffix and line separator are not included.
+     *
+     * @param maxEventBytes the maximum number of bytes, or {@code 0} for no limit (default)
+     * @see AbstractCompositeJsonFormatter#setMaxEventBytes(int)
+     */
+    public void setMaxEventBytes(int maxEventBytes) {
+        formatter.setMaxEventBytes(maxEventBytes);
+    }
+
+    public boolean isFastJsonWriter() {
+        return formatter.isFastJsonWriter();
+    }
+
+    /**
+     * Write events with a lightweight writer instead of a Jackson generator whenever possible.
+     *
+     * @param fastJsonWriter {@code true} to write events with a {@link FastJsonWriter}, {@code false} to always use the generator (default)
+     * @see AbstractCompositeJsonFormatter#setFastJsonWriter(boolean)
+     */
+    public void setFastJsonWriter(boolean fastJsonWriter) {
+        formatter.setFastJsonWriter(fastJsonWriter);
+    }
+
+    public int getProviderProfilingInterval() {
+        return formatter.getProviderProfilingInterval();
+    }
+
+    /**
+     * Measure the time spent and the bytes written by every provider for one event out of
+     * {@code providerProfilingInterval} on average.
+     *
+     * @param providerProfilingInterval average number of events between two profiled events, or {@code 0} to disable profiling (default)
+     * @see AbstractCompositeJsonFormatter#setProviderProfilingInterval(int)
+     */
+    public void setProviderProfilingInterval(int providerProfilingInterval) {
+        formatter.setProviderProfilingInterval(providerProfilingInterval);
+    }
+
+    public ObjectPoolStrategy getPoolStrategy() {
+        return formatter.getPoolStrategy();
+    }
+
+    /**
+     * Strategy used to reuse the JSON generators and buffers needed to serialize events
+     * (default {@link ObjectPoolStrategy#THREAD_LOCAL}).
+     *
+     * @param poolStrategy the strategy to use
+     */
+    public void setPoolStrategy(ObjectPoolStrategy poolStrategy) {
+        formatter.setPoolStrategy(poolStrategy);
+    }
+
+    public int getPoolSize() {
+        return formatter.getPoolSize();
+    }
+
+    /**
+     * Maximum number of idle JSON generators and buffers kept when using the
+     * {@link ObjectPoolStrategy#BOUNDED} strategy (default: twice the number of available processors).
+     *
+     * @param poolSize the maximum number of idle generators and buffers
+     */
+    public void setPoolSize(int poolSize) {
+        formatter.setPoolSize(poolSize);
+    }
+
     public String getLineSeparator() {
         return lineSeparator;
     }
@@ -274,6 +568,9 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
      * </ul>
      * <p>
      * Any other value will be used as given as the lineSeparator.
+     * <p>
+     * The line separator is not written for self-delimited data formats
+     * (see {@link net.logstash.logback.dataformat.DataFormatFactory#isSelfDelimited()}).
      * 
      * @param lineSeparator the line separator
      */
@@ -303,6 +600,122 @@ public abstract class CompositeJsonEncoder<Event extends DeferredProcessingAware
         this.minBufferSize = minBufferSize;
     }
 
+    public int getMaxRetainedBufferSize() {
+        return maxRetainedBufferSize;
+    }
+
+    /**
+     * The maximum size of the byte buffer kept for reuse after encoding an event when
+     * {@link #setAdaptiveBufferSize(boolean) adaptiveBufferSize} is enabled (64KB by default).
+     * Buffers grown above this high-water mark are trimmed back after use.
+     *
+     * <p>Note: changes to the buffer size will not be taken into account after the encoder
+     *          is started.
+     *
+     * @param maxRetainedBufferSize maximum size of the byte buffer kept for reuse (in bytes)
+     */
+    public void setMaxRetainedBufferSize(int maxRetainedBufferSize) {
+        this.maxRetainedBufferSize = maxRetainedBufferSize;
+    }
+
+    public boolean isAdaptiveBufferSize() {
+        return adaptiveBufferSize;
+    }
+
+    /**
+     * Whether the size of the byte buffer kept for reuse is derived from the size of the
+     * encoded events instead of being fixed to {@code minBufferSize} (disabled by default).
+     *
+     * <p>When enabled, the size of the encoded events is recorded in a histogram and the
+     * buffers are resized after use to the 90th percentile of the observed sizes, rounded up
+     * to a power of two, and bounded by {@code minBufferSize} and {@code maxRetainedBufferSize}.
+     *
+     * <p>Note: changes will not be taken into account after the encoder is started.
+     *
+     * @param adaptiveBufferSize {@code true} to size the buffers after the encoded events
+     */
+    public void setAdaptiveBufferSize(boolean adaptiveBufferSize) {
+        this.adaptiveBufferSize = adaptiveBufferSize;
+    }
+
+    public boolean isSharedBufferPool() {
+        return sharedBufferPool;
+    }
+
+    /**
+     * Whether the byte buffer borrows the chunks it needs to accommodate with events larger than
+     * its initial size from a pool of fixed-size chunks shared by all the encoders and layouts of
+     * the logback context (disabled by default).
+     *
+     * <p>The chunks are returned to the pool after each event, so the memory kept between events
+     * for large events is bounded by the number of idle chunks kept by the pool instead of the
+     * number of threads. Chunks are still allocated when the pool is empty, so the memory used while
+     * encoding large events concurrently is not bounded.
+     *
+     * <p>Note: changes will not be taken into account after the encoder is started.
+     *
+     * @param sharedBufferPool {@code true} to borrow chunks from the shared pool
+     */
+    public void setSharedBufferPool(boolean sharedBufferPool) {
+        this.sharedBufferPool = sharedBufferPool;
+    }
+
+    public int getSharedBufferChunkSize() {
+        return sharedBufferChunkSize;
+    }
+
+    /**
+     * The size of the chunks of the shared buffer pool (16KB by default).
+     *
+     * <p>The pool is created by the first encoder or layout of the logback context using it,
+     * and its settings are ignored by the others.
+     *
+     * <p>Note: changes will not be taken into account after the encoder is started.
+     *
+     * @param sharedBufferChunkSize the size of the chunks (in bytes)
+     * @see #setSharedBufferPool(boolean)
+     */
+    public void setSharedBufferChunkSize(int sharedBufferChunkSize) {
+        if (sharedBufferChunkSize <= 0) {
+            throw new IllegalArgumentException("sharedBufferChunkSize must be greater than 0");
+        }
+        this.sharedBufferChunkSize = sharedBufferChunkSize;
+    }
+
+    public int getMaxSharedBufferChunks() {
+        return maxSharedBufferChunks;
+    }
+
+    /**
+     * The maximum number of idle chunks kept by the shared buffer pool
+     * (eight per available processor by default).
+     *
+     * <p>The pool is created by the first encoder or layout of the logback context using it,
+     * and its settings are ignored by the others.
+     *
+     * <p>Note: changes will not be taken into account after the encoder is started.
+     *
+     * @param maxSharedBufferChunks the maximum number of idle chunks
+     * @see #setSharedBufferPool(boolean)
+     */
+    public void setMaxSharedBufferChunks(int maxSharedBufferChunks) {
+        if (maxSharedBufferChunks <= 0) {
+            throw new IllegalArgumentException("maxSharedBufferChunks must be greater than 0");
+        }
+        this.maxSharedBufferChunks = maxSharedBufferChunks;
+    }
+
+    /**
+     * Return the number of bytes retained for reuse by the byte buffers of this encoder,
+     * or {@code 0} if it is not started.
+     *
+     * @return the retained buffer bytes
+     */
+    public long getRetainedBufferBytes() {
+        ReusableByteBufferRetention retention = this.bufferRetention;
+        return retention == null ? 0 : retention.getRetainedBytes();
+    }
+
     protected AbstractCompositeJsonFormatter<Event> getFormatter() {
         return formatter;
     }
@@ -211,6 +211,14 @@ public class LogstashEncoder extends LoggingEventCompositeJsonEncoder {
         this.getFormatter().setWriteStackTraceAsArray(writeStackTraceAsArray);
     }
 
+    public boolean isWriteStructuredStackTrace() {
+        return getFormatter().isWriteStructuredStackTrace();
+    }
+
+    public void setWriteStructuredStackTrace(boolean writeStructuredStackTrace) {
+        this.getFormatter().setWriteStructuredStackTrace(writeStructuredStackTrace);
+    }
+
     public String getTimeZone() {
         return getFormatter().getTimeZone();
     }
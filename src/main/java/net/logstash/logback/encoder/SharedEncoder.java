@@ -0,0 +1,298 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * Shares a single encoder between several appenders, so that an event logged to all of them
+ * is encoded only once.
+ *
+ * <p>One appender defines the shared encoder by giving it a {@link #setName(String) name} and the
+ * {@link #setEncoder(Encoder) encoder} to share. Other appenders declared after it refer to it by name only:
+ *
+ * <pre>
+ * &lt;appender name="file" class="ch.qos.logback.core.FileAppender"&gt;
+ *   &lt;encoder class="net.logstash.logback.encoder.SharedEncoder"&gt;
+ *     &lt;name&gt;json&lt;/name&gt;
+ *     &lt;encoder class="net.logstash.logback.encoder.LogstashEncoder"/&gt;
+ *   &lt;/encoder&gt;
+ * &lt;/appender&gt;
+ *
+ * &lt;appender name="console" class="ch.qos.logback.core.ConsoleAppender"&gt;
+ *   &lt;encoder class="net.logstash.logback.encoder.SharedEncoder"&gt;
+ *     &lt;name&gt;json&lt;/name&gt;
+ *   &lt;/encoder&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ *
+ * <p>Since all the appenders use the very same encoder, the bytes encoded for an event by the first
+ * appender are the bytes every other appender would produce. They are kept in a small cache indexed by
+ * the identity of the event and returned as-is to the other appenders: the returned arrays must therefore
+ * not be modified. The cache retains the last {@link #setCacheSize(int) cacheSize} encoded events at most.
+ * An event is encoded again if it was evicted before reaching an appender, for instance when it waits
+ * in the queue of an asynchronous appender.
+ *
+ * <p>Encoders with a different configuration must be shared under different names: defining two
+ * encoders with the same name is reported as an error.
+ *
+ * <p>Encoders writing {@link StreamingEncoder#isStreamSession() stream sessions} cannot be shared:
+ * the events of a session depend on each other and must all be written to the same destination.
+ * Such an encoder is used by the appender defining it only, without caching the encoded events,
+ * and referring to it from other appenders is reported as an error.
+ *
+ * @param <Event> type of event
+ */
+public class SharedEncoder<Event> extends EncoderBase<Event> implements StreamingEncoder<Event> {
+
+    /**
+     * Key of the map of shared encoders, by name, in the logback {@link Context}.
+     */
+    static final String SHARED_ENCODER_MAP = "LOGSTASH_SHARED_ENCODER_MAP";
+
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private String name;
+
+    /**
+     * The encoder to share, when this instance defines the shared encoder.
+     */
+    private Encoder<Event> encoder;
+
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+
+    /**
+     * The instance defining the shared encoder and holding the cache: this instance or the one
+     * referred to by {@link #name}.
+     */
+    private SharedEncoder<Event> owner;
+
+    private AtomicReferenceArray<CachedEvent> cache;
+
+    private int cacheMask;
+
+    /**
+     * An encoded event.
+     */
+    private static final class CachedEvent {
+        private final Object event;
+        private final byte[] bytes;
+
+        CachedEvent(Object event, byte[] bytes) {
+            this.event = event;
+            this.bytes = bytes;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (name == null || name.isEmpty()) {
+            addError("No name configured for the shared encoder");
+            return;
+        }
+
+        Map<String, SharedEncoder<Event>> sharedEncoders = getSharedEncoders(getContext());
+        if (encoder != null) {
+            if (sharedEncoders.putIfAbsent(name, this) != null) {
+                addError("A shared encoder named [" + name + "] is already defined. Use a different name for encoders with a different configuration.");
+                return;
+            }
+            if (encoder.getContext() == null) {
+                encoder.setContext(getContext());
+            }
+            if (!encoder.isStarted()) {
+                encoder.start();
+            }
+            if (cacheSize > 0 && !isStreamSession(encoder)) {
+                int size = cacheSize == 1 ? 1 : Integer.highestOneBit(cacheSize - 1) << 1;
+                cache = new AtomicReferenceArray<>(size);
+                cacheMask = size - 1;
+            }
+            owner = this;
+        } else {
+            owner = sharedEncoders.get(name);
+            if (owner == null) {
+                addError("No shared encoder named [" + name + "] is defined. It must be defined, with its encoder, by an appender declared before this one.");
+                return;
+            }
+            if (isStreamSession(owner.encoder)) {
+                addError("The shared encoder named [" + name + "] writes stream sessions and cannot be shared between appenders."
+                        + " Define a separate encoder for this appender.");
+                owner = null;
+                return;
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        if (owner == this) {
+            getSharedEncoders(getContext()).remove(name, this);
+            encoder.stop();
+            cache = null;
+        }
+        owner = null;
+    }
+
+    private static boolean isStreamSession(Encoder<?> encoder) {
+        return encoder instanceof StreamingEncoder<?> streamingEncoder && streamingEncoder.isStreamSession();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Event> Map<String, SharedEncoder<Event>> getSharedEncoders(Context context) {
+        synchronized (context) {
+            Map<String, SharedEncoder<Event>> sharedEncoders = (Map<String, SharedEncoder<Event>>) context.getObject(SHARED_ENCODER_MAP);
+            if (sharedEncoders == null) {
+                sharedEncoders = new ConcurrentHashMap<>();
+                context.putObject(SHARED_ENCODER_MAP, sharedEncoders);
+            }
+            return sharedEncoders;
+        }
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return owner.encoder.headerBytes();
+    }
+
+    /**
+     * Encode the event, or return the bytes encoded for the same event instance by another appender.
+     * The returned array must not be modified.
+     */
+    @Override
+    public byte[] encode(Event event) {
+        if (!isStarted()) {
+            throw new IllegalStateException("Encoder is not started");
+        }
+        return owner.encodeShared(event);
+    }
+
+    private byte[] encodeShared(Event event) {
+        AtomicReferenceArray<CachedEvent> cache = this.cache;
+        if (cache == null) {
+            return encoder.encode(event);
+        }
+
+        int index = System.identityHashCode(event) & cacheMask;
+        CachedEvent cached = cache.get(index);
+        if (cached != null && cached.event == event) {
+            return cached.bytes;
+        }
+
+        byte[] bytes = encoder.encode(event);
+        cache.set(index, new CachedEvent(event, bytes));
+        return bytes;
+    }
+
+    @Override
+    public void encode(Event event, OutputStream outputStream) throws IOException {
+        outputStream.write(encode(event));
+    }
+
+    @Override
+    public int encode(Event event, ByteBuffer buffer) {
+        byte[] bytes = encode(event);
+        if (bytes.length > buffer.remaining()) {
+            return -bytes.length;
+        }
+        buffer.put(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * Start a new session of the shared encoder. Encoders writing stream sessions are used by
+     * a single appender, so resetting their session does not affect other appenders.
+     */
+    @Override
+    public void resetSession() {
+        SharedEncoder<Event> owner = this.owner;
+        if (owner != null && owner.encoder instanceof StreamingEncoder<?> streamingEncoder) {
+            streamingEncoder.resetSession();
+        }
+    }
+
+    @Override
+    public boolean isStreamSession() {
+        SharedEncoder<Event> owner = this.owner;
+        return isStreamSession(owner != null ? owner.encoder : encoder);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return owner.encoder.footerBytes();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Name under which the encoder is shared.
+     *
+     * @param name the name of the shared encoder
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Encoder<Event> getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * The encoder to share. Only set on the instance defining the shared encoder.
+     *
+     * @param encoder the encoder to share
+     */
+    public void setEncoder(Encoder<Event> encoder) {
+        this.encoder = encoder;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Maximum number of encoded events kept for the other appenders (default {@value #DEFAULT_CACHE_SIZE}),
+     * rounded up to a power of two, or {@code 0} to disable caching.
+     * Only used by the instance defining the shared encoder.
+     *
+     * @param cacheSize the maximum number of cached events
+     */
+    public void setCacheSize(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must be >= 0");
+        }
+        this.cacheSize = cacheSize;
+    }
+}
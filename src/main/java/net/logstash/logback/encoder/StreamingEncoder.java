@@ -17,6 +17,10 @@ package net.logstash.logback.encoder;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import net.logstash.logback.util.ByteBufferOutputStream;
 
 import ch.qos.logback.core.encoder.Encoder;
 
@@ -28,4 +32,91 @@ public interface StreamingEncoder<Event> {
 
     void encode(Event event, OutputStream outputStream) throws IOException;
 
+    /**
+     * Encode several events into the given {@link OutputStream}, one after the other.
+     *
+     * <p>The default implementation encodes the events one by one. Implementations are encouraged to
+     * amortize the per-event overhead, for instance by flushing the output stream only once.
+     * If an event fails to be encoded, the events encoded before it may remain in the output stream.
+     * The TCP appenders encode the events available together in their ring buffer with this method.
+     *
+     * @param events the events to encode
+     * @param outputStream the output stream to write the encoded events into
+     * @throws IOException thrown upon failure to encode an event
+     */
+    default void encodeBatch(List<Event> events, OutputStream outputStream) throws IOException {
+        for (Event event : events) {
+            encode(event, outputStream);
+        }
+    }
+
+    /**
+     * Start a new session: the events encoded afterwards do not depend on the events encoded before.
+     *
+     * <p>Some encoders carry state from one event to the next, such as the names and values
+     * back-referenced by binary data formats, so that their output can only be decoded from the start
+     * of the session. Appenders call this method whenever the events start being written to a new
+     * destination, for instance when a connection is (re-)established.
+     *
+     * <p>The default implementation does nothing.
+     */
+    default void resetSession() {
+    }
+
+    /**
+     * Whether the events encoded in a session depend on the events encoded before them, so that
+     * they can only be decoded in order from the start of the session (see {@link #resetSession()}).
+     * The events of a session must then be encoded by a single thread writing to a single destination.
+     *
+     * <p>The default implementation returns {@code false}.
+     *
+     * @return {@code true} if the events of a session depend on each other
+     */
+    default boolean isStreamSession() {
+        return false;
+    }
+
+    /**
+     * Whether the events can only be encoded together with {@link #encodeBatch(List, OutputStream)},
+     * encoding a single event failing. Appenders must then encode every event as part of a batch,
+     * even when it is the only one available.
+     *
+     * <p>The default implementation returns {@code false}.
+     *
+     * @return {@code true} if the events can only be encoded as batches
+     */
+    default boolean isBatchOnly() {
+        return false;
+    }
+
+    /**
+     * Encode the event into the given {@link ByteBuffer} (heap or direct), starting at its current position.
+     *
+     * <p>If the buffer has enough remaining space, the encoded event is written into it, its position
+     * is advanced accordingly and the number of bytes written is returned.
+     *
+     * <p>Otherwise the position of the buffer is restored and the negated size of the encoded event
+     * is returned, so that the caller can retry with a buffer having at least that much remaining space.
+     * In this case the bytes between the position and the limit of the buffer may have been overwritten.
+     *
+     * <p>The default implementation writes the event straight into the buffer through a
+     * {@link ByteBufferOutputStream}, which keeps counting the bytes of the event once the buffer
+     * is full, so the event is encoded only once in both cases.
+     *
+     * @param event the event to encode
+     * @param buffer the buffer to write the encoded event into
+     * @return the number of bytes written into the buffer (zero or more), or the negated size of
+     *         the encoded event when the buffer does not have enough remaining space
+     * @throws IOException thrown upon failure to encode the event
+     */
+    default int encode(Event event, ByteBuffer buffer) throws IOException {
+        int position = buffer.position();
+        ByteBufferOutputStream outputStream = new ByteBufferOutputStream(buffer);
+        encode(event, outputStream);
+        if (outputStream.isOverflowed()) {
+            buffer.position(position);
+            return (int) -Math.min(outputStream.getCount(), Integer.MAX_VALUE);
+        }
+        return buffer.position() - position;
+    }
 }
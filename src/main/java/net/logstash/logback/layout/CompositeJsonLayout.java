@@ -22,6 +22,7 @@ import java.io.Writer;
 import java.util.Objects;
 
 import net.logstash.logback.composite.AbstractCompositeJsonFormatter;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.JsonProviders;
 import net.logstash.logback.dataformat.DataFormatFactory;
 import net.logstash.logback.decorate.CompositeJsonGeneratorDecorator;
@@ -30,7 +31,12 @@ import net.logstash.logback.decorate.CompositeTokenStreamFactoryBuilderDecorator
 import net.logstash.logback.decorate.Decorator;
 import net.logstash.logback.encoder.CompositeJsonEncoder;
 import net.logstash.logback.encoder.SeparatorParser;
+import net.logstash.logback.util.BoundedReusableByteBufferPool;
+import net.logstash.logback.util.ByteChunkPool;
+import net.logstash.logback.util.ObjectPool;
+import net.logstash.logback.util.ObjectPoolStrategy;
 import net.logstash.logback.util.ReusableByteBuffer;
+import net.logstash.logback.util.ReusableByteBufferRetention;
 import net.logstash.logback.util.ThreadLocalReusableByteBuffer;
 
 import ch.qos.logback.core.Layout;
@@ -67,9 +73,42 @@ public abstract class CompositeJsonLayout<Event extends DeferredProcessingAware>
     private int minBufferSize = 1024;
 
     /**
-     * Per-thread {@link ReusableByteBuffer}
+     * The maximum size of the byte buffer kept for reuse after encoding an event.
+     * Only used when {@link #adaptiveBufferSize} is enabled.
      */
-    private ThreadLocalReusableByteBuffer threadLocalBuffer;
+    private int maxRetainedBufferSize = 65536;
+
+    /**
+     * Whether the size of the byte buffer kept for reuse follows the 90th percentile of the
+     * size of the encoded events, between {@link #minBufferSize} and {@link #maxRetainedBufferSize}.
+     */
+    private boolean adaptiveBufferSize;
+
+    /**
+     * Whether the byte buffer borrows the chunks it needs above its initial size from the
+     * {@link ByteChunkPool} shared by the logback context.
+     */
+    private boolean sharedBufferPool;
+
+    /**
+     * Size of the chunks of the {@link ByteChunkPool} shared by the logback context.
+     */
+    private int sharedBufferChunkSize = ByteChunkPool.DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Maximum number of idle chunks kept by the {@link ByteChunkPool} shared by the logback context.
+     */
+    private int maxSharedBufferChunks = ByteChunkPool.DEFAULT_MAX_CHUNKS;
+
+    /**
+     * Pool of {@link ReusableByteBuffer} used when encoding events into a byte array
+     */
+    private ObjectPool<ReusableByteBuffer> bufferPool;
+
+    /**
+     * Retention policy of the buffers of the {@link #bufferPool}
+     */
+    private ReusableByteBufferRetention bufferRetention;
     
     private final AbstractCompositeJsonFormatter<Event> formatter;
     
@@ -86,7 +125,7 @@ public abstract class CompositeJsonLayout<Event extends DeferredProcessingAware>
             throw new IllegalStateException("Layout is not started");
         }
         
-        ReusableByteBuffer buffer = threadLocalBuffer.acquire();
+        ReusableByteBuffer buffer = bufferPool.acquire();
         try {
             writeEvent(buffer, event);
             return new String(buffer.toByteArray());
@@ -96,7 +135,7 @@ public abstract class CompositeJsonLayout<Event extends DeferredProcessingAware>
             return null;
             
         } finally {
-            threadLocalBuffer.release();
+            bufferPool.release(buffer);
         }
     }
 
@@ -139,7 +178,21 @@ public abstract class CompositeJsonLayout<Event extends DeferredProcessingAware>
         startWrapped(prefix);
         startWrapped(suffix);
         
-        this.threadLocalBuffer = new ThreadLocalReusableByteBuffer(minBufferSize);
+        this.bufferRetention = new ReusableByteBufferRetention(minBufferSize, Math.max(minBufferSize, maxRetainedBufferSize), adaptiveBufferSize,
+                sharedBufferPool ? getSharedBufferPool() : null);
+        this.bufferPool = formatter.getPoolStrategy() == ObjectPoolStrategy.BOUNDED
+                ? new BoundedReusableByteBufferPool(bufferRetention, formatter.getPoolSize())
+                : new ThreadLocalReusableByteBuffer(bufferRetention);
+    }
+
+    private ByteChunkPool getSharedBufferPool() {
+        ByteChunkPool pool = ByteChunkPool.getShared(getContext(), sharedBufferChunkSize, maxSharedBufferChunks);
+        if (pool.getChunkSize() != sharedBufferChunkSize || pool.getMaxChunks() != maxSharedBufferChunks) {
+            addWarn("The shared buffer pool was already created with chunks of " + pool.getChunkSize()
+                    + " bytes and at most " + pool.getMaxChunks() + " idle chunks by another encoder or layout of the context."
+                    + " Ignoring sharedBufferChunkSize=" + sharedBufferChunkSize + " and maxSharedBufferChunks=" + maxSharedBufferChunks + ".");
+        }
+        return pool;
     }
 
     private void startWrapped(Layout<Event> wrapped) {
@@ -172,7 +225,8 @@ public abstract class CompositeJsonLayout<Event extends DeferredProcessingAware>
         stopWrapped(prefix);
         stopWrapped(suffix);
         
-        this.threadLocalBuffer = null;
+        this.bufferPool = null;
+        this.bufferRetention = null;
     }
 
     private void stopWrapped(Layout<Event> wrapped) {
@@ -233,6 +287,112 @@ public abstract class CompositeJsonLayout<Event extends DeferredProcessingAware>
         formatter.setFindAndRegisterJacksonModules(findAndRegisterJacksonModules);
     }
 
+    public boolean isFuseProviders() {
+        return formatter.isFuseProviders();
+    }
+
+    /**
+     * Whether to generate, when started, a writer invoking the JSON providers directly in order
+     * instead of looping over them (default = {@code true}).
+     * When the writer cannot be generated, a warning status is reported and the providers
+     * are invoked in a loop.
+     *
+     * @param fuseProviders {@code true} to generate a fused writer, {@code false} to loop over the providers
+     * @see AbstractCompositeJsonFormatter#setFuseProviders(boolean)
+     */
+    public void setFuseProviders(boolean fuseProviders) {
+        formatter.setFuseProviders(fuseProviders);
+    }
+
+    public boolean isPrecomputeConstantFields() {
+        return formatter.isPrecomputeConstantFields();
+    }
+
+    /**
+     * Whether to serialize the output of consecutive constant JSON providers once and splice
+     * the pre-serialized fields into every event (default = {@code true}).
+     * Ignored when {@link #setMaxEventBytes(int) maxEventBytes} is set, for output other than
+     * JSON text and when pretty printing is enabled.
+     *
+     * @param precomputeConstantFields {@code true} to pre-serialize constant fields, {@code false} to invoke the providers for every event
+     * @see AbstractCompositeJsonFormatter#setPrecomputeConstantFields(boolean)
+     */
+    public void setPrecomputeConstantFields(boolean precomputeConstantFields) {
+        formatter.setPrecomputeConstantFields(precomputeConstantFields);
+    }
+
+    public int getMaxEventBytes() {
+        return formatter.getMaxEventBytes();
+    }
+
+    /**
+     * Maximum number of bytes of the JSON object written for an event.
+     * Prefix, suffix and line separator are not included.
+     *
+     * @param maxEventBytes the maximum number of bytes, or {@code 0} for no limit (default)
+     * @see AbstractCompositeJsonFormatter#setMaxEventBytes(int)
+     */
+    public void setMaxEventBytes(int maxEventBytes) {
+        formatter.setMaxEventBytes(maxEventBytes);
+    }
+
+    public boolean isFastJsonWriter() {
+        return formatter.isFastJsonWriter();
+    }
+
+    /**
+     * Write events with a lightweight writer instead of a Jackson generator whenever possible.
+     *
+     * @param fastJsonWriter {@code true} to write events with a {@link FastJsonWriter}, {@code false} to always use the generator (default)
+     * @see AbstractCompositeJsonFormatter#setFastJsonWriter(boolean)
+     */
+    public void setFastJsonWriter(boolean fastJsonWriter) {
+        formatter.setFastJsonWriter(fastJsonWriter);
+    }
+
+    public int getProviderProfilingInterval() {
+        return formatter.getProviderProfilingInterval();
+    }
+
+    /**
+     * Measure the time spent and the bytes written by every provider for one event out of
+     * {@code providerProfilingInterval} on average.
+     *
+     * @param providerProfilingInterval average number of events between two profiled events, or {@code 0} to disable profiling (default)
+     * @see AbstractCompositeJsonFormatter#setProviderProfilingInterval(int)
+     */
+    public void setProviderProfilingInterval(int providerProfilingInterval) {
+        formatter.setProviderProfilingInterval(providerProfilingInterval);
+    }
+
+    public ObjectPoolStrategy getPoolStrategy() {
+        return formatter.getPoolStrategy();
+    }
+
+    /**
+     * Strategy used to reuse the JSON generators and buffers needed to serialize events
+     * (default {@link ObjectPoolStrategy#THREAD_LOCAL}).
+     *
+     * @param poolStrategy the strategy to use
+     */
+    public void setPoolStrategy(ObjectPoolStrategy poolStrategy) {
+        formatter.setPoolStrategy(poolStrategy);
+    }
+
+    public int getPoolSize() {
+        return formatter.getPoolSize();
+    }
+
+    /**
+     * Maximum number of idle JSON generators and buffers kept when using the
+     * {@link ObjectPoolStrategy#BOUNDED} strategy (default: twice the number of available processors).
+     *
+     * @param poolSize the maximum number of idle generators and buffers
+     */
+    public void setPoolSize(int poolSize) {
+        formatter.setPoolSize(poolSize);
+    }
+
     protected AbstractCompositeJsonFormatter<Event> getFormatter() {
         return formatter;
     }
@@ -294,4 +454,120 @@ public abstract class CompositeJsonLayout<Event extends DeferredProcessingAware>
     public void setMinBufferSize(int minBufferSize) {
         this.minBufferSize = minBufferSize;
     }
+
+    public int getMaxRetainedBufferSize() {
+        return maxRetainedBufferSize;
+    }
+
+    /**
+     * The maximum size of the byte buffer kept for reuse after encoding an event when
+     * {@link #setAdaptiveBufferSize(boolean) adaptiveBufferSize} is enabled (64KB by default).
+     * Buffers grown above this high-water mark are trimmed back after use.
+     *
+     * <p>Note: changes to the buffer size will not be taken into account after the layout
+     *          is started.
+     *
+     * @param maxRetainedBufferSize maximum size of the byte buffer kept for reuse (in bytes)
+     */
+    public void setMaxRetainedBufferSize(int maxRetainedBufferSize) {
+        this.maxRetainedBufferSize = maxRetainedBufferSize;
+    }
+
+    public boolean isAdaptiveBufferSize() {
+        return adaptiveBufferSize;
+    }
+
+    /**
+     * Whether the size of the byte buffer kept for reuse is derived from the size of the
+     * encoded events instead of being fixed to {@code minBufferSize} (disabled by default).
+     *
+     * <p>When enabled, the size of the encoded events is recorded in a histogram and the
+     * buffers are resized after use to the 90th percentile of the observed sizes, rounded up
+     * to a power of two, and bounded by {@code minBufferSize} and {@code maxRetainedBufferSize}.
+     *
+     * <p>Note: changes will not be taken into account after the layout is started.
+     *
+     * @param adaptiveBufferSize {@code true} to size the buffers after the encoded events
+     */
+    public void setAdaptiveBufferSize(boolean adaptiveBufferSize) {
+        this.adaptiveBufferSize = adaptiveBufferSize;
+    }
+
+    public boolean isSharedBufferPool() {
+        return sharedBufferPool;
+    }
+
+    /**
+     * Whether the byte buffer borrows the chunks it needs to accommodate with events larger than
+     * its initial size from a pool of fixed-size chunks shared by all the encoders and layouts of
+     * the logback context (disabled by default).
+     *
+     * <p>The chunks are returned to the pool after each event, so the memory kept between events
+     * for large events is bounded by the number of idle chunks kept by the pool instead of the
+     * number of threads. Chunks are still allocated when the pool is empty, so the memory used while
+     * encoding large events concurrently is not bounded.
+     *
+     * <p>Note: changes will not be taken into account after the layout is started.
+     *
+     * @param sharedBufferPool {@code true} to borrow chunks from the shared pool
+     */
+    public void setSharedBufferPool(boolean sharedBufferPool) {
+        this.sharedBufferPool = sharedBufferPool;
+    }
+
+    public int getSharedBufferChunkSize() {
+        return sharedBufferChunkSize;
+    }
+
+    /**
+     * The size of the chunks of the shared buffer pool (16KB by default).
+     *
+     * <p>The pool is created by the first encoder or layout of the logback context using it,
+     * and its settings are ignored by the others.
+     *
+     * <p>Note: changes will not be taken into account after the layout is started.
+     *
+     * @param sharedBufferChunkSize the size of the chunks (in bytes)
+     * @see #setSharedBufferPool(boolean)
+     */
+    public void setSharedBufferChunkSize(int sharedBufferChunkSize) {
+        if (sharedBufferChunkSize <= 0) {
+            throw new IllegalArgumentException("sharedBufferChunkSize must be greater than 0");
+        }
+        this.sharedBufferChunkSize = sharedBufferChunkSize;
+    }
+
+    public int getMaxSharedBufferChunks() {
+        return maxSharedBufferChunks;
+    }
+
+    /**
+     * The maximum number of idle chunks kept by the shared buffer pool
+     * (eight per available processor by default).
+     *
+     * <p>The pool is created by the first encoder or layout of the logback context using it,
+     * and its settings are ignored by the others.
+     *
+     * <p>Note: changes will not be taken into account after the layout is started.
+     *
+     * @param maxSharedBufferChunks the maximum number of idle chunks
+     * @see #setSharedBufferPool(boolean)
+     */
+    public void setMaxSharedBufferChunks(int maxSharedBufferChunks) {
+        if (maxSharedBufferChunks <= 0) {
+            throw new IllegalArgumentException("maxSharedBufferChunks must be greater than 0");
+        }
+        this.maxSharedBufferChunks = maxSharedBufferChunks;
+    }
+
+    /**
+     * Return the number of bytes retained for reuse by the byte buffers of this layout,
+     * or {@code 0} if it is not started.
+     *
+     * @return the retained buffer bytes
+     */
+    public long getRetainedBufferBytes() {
+        ReusableByteBufferRetention retention = this.bufferRetention;
+        return retention == null ? 0 : retention.getRetainedBytes();
+    }
 }
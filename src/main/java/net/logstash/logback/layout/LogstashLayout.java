@@ -224,6 +224,14 @@ public class LogstashLayout extends LoggingEventCompositeJsonLayout {
         this.getFormatter().setWriteStackTraceAsArray(writeStackTraceAsArray);
     }
 
+    public boolean isWriteStructuredStackTrace() {
+        return getFormatter().isWriteStructuredStackTrace();
+    }
+
+    public void setWriteStructuredStackTrace(boolean writeStructuredStackTrace) {
+        this.getFormatter().setWriteStructuredStackTrace(writeStructuredStackTrace);
+    }
+
     public String getVersion() {
         return getFormatter().getVersion();
     }
@@ -92,7 +92,7 @@ public class ObjectAppendingMarker extends SingleFieldAppendingMarker {
     }
 
     @Override
-    protected Object getFieldValue() {
+    public Object getFieldValue() {
         return fieldValue;
     }
 
@@ -202,6 +202,17 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
 
     private StackHasher stackHasher;
 
+    /**
+     * Maximum number of rendered stack traces kept for reuse, {@code 0} to disable.
+     */
+    private int renderCacheSize;
+
+    /**
+     * Cache of rendered stack traces.
+     * Initialized during {@link #start()} when {@link #renderCacheSize} is greater than 0.
+     */
+    private StackTraceRenderCache renderCache;
+
     private StackElementFilter truncateAfterFilter;
 
     /**
@@ -231,6 +242,7 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
             stackHasher = new StackHasher(stackElementFilter);
         }
         truncateAfterFilter = StackElementFilter.byPattern(truncateAfterPatterns);
+        renderCache = renderCacheSize > 0 ? new StackTraceRenderCache(renderCacheSize) : null;
         LogbackUtils.start(getContext(), abbreviator);
         super.start();
     }
@@ -238,6 +250,7 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
     @Override
     public void stop() {
         super.stop();
+        renderCache = null;
         LogbackUtils.stop(this.abbreviator);
     }
 
@@ -337,27 +350,201 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
             return CoreConstants.EMPTY_STRING;
         }
 
-        // compute stack trace hashes
-        Deque<String> stackHashes = null;
-        if (inlineHash && (throwableProxy instanceof ThrowableProxy)) {
-            stackHashes = stackHasher.hexHashes(((ThrowableProxy) throwableProxy).getThrowable());
+        if (renderCache != null) {
+            return convertCached(throwableProxy, event);
+        }
+
+        StringBuilder builder = newBuilder();
+        appendThrowable(builder, throwableProxy, null, event);
+        truncate(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Render the throwable by reusing the text rendered for a previous throwable of the same shape,
+     * substituting the messages of the throwables.
+     */
+    private String convertCached(IThrowableProxy throwableProxy, ILoggingEvent event) {
+        StackTraceRenderCache.Shape shape = StackTraceRenderCache.Shape.of(throwableProxy);
+        StackTraceRenderCache.Template template = renderCache.get(shape);
+        if (template == null) {
+            /*
+             * The messages are left out while rendering the template, so the text kept before
+             * detecting the maxLength is at least as long as needed whatever the messages.
+             */
+            StringBuilder templateBuilder = newBuilder();
+            StackTraceRenderCache.TemplateBuilder messageSlots = new StackTraceRenderCache.TemplateBuilder(shape);
+            appendThrowable(templateBuilder, throwableProxy, messageSlots, event);
+            template = messageSlots.build(templateBuilder);
+            renderCache.put(shape, template);
         }
 
+        StringBuilder builder = newBuilder();
+        template.appendTo(builder, shape, proxy -> getMessage(proxy, event));
+        truncate(builder);
+        return builder.toString();
+    }
+
+    private StringBuilder newBuilder() {
         /*
          * The extra 100 gives a little more buffer room since we actually
          * go over the maxLength before detecting it and truncating.
          */
-        StringBuilder builder = new StringBuilder(Math.min(BUFFER_INITIAL_CAPACITY, this.maxLength + 100 > 0 ? this.maxLength + 100 : this.maxLength));
+        return new StringBuilder(Math.min(BUFFER_INITIAL_CAPACITY, this.maxLength + 100 > 0 ? this.maxLength + 100 : this.maxLength));
+    }
+
+    private void appendThrowable(StringBuilder builder, IThrowableProxy throwableProxy, StackTraceRenderCache.TemplateBuilder messageSlots, ILoggingEvent event) {
+        // compute stack trace hashes
+        Deque<String> stackHashes = null;
+        if (inlineHash && (throwableProxy instanceof ThrowableProxy)) {
+            stackHashes = stackHasher.hexHashes(((ThrowableProxy) throwableProxy).getThrowable());
+        }
+
         if (rootCauseFirst) {
-            appendRootCauseFirst(builder, null, ThrowableProxyUtil.REGULAR_EXCEPTION_INDENT, throwableProxy, stackHashes, event);
+            appendRootCauseFirst(builder, null, ThrowableProxyUtil.REGULAR_EXCEPTION_INDENT, throwableProxy, stackHashes, messageSlots, event);
         } else {
-            appendRootCauseLast(builder, null, ThrowableProxyUtil.REGULAR_EXCEPTION_INDENT, throwableProxy, stackHashes, event);
+            appendRootCauseLast(builder, null, ThrowableProxyUtil.REGULAR_EXCEPTION_INDENT, throwableProxy, stackHashes, messageSlots, event);
         }
+    }
+
+    private void truncate(StringBuilder builder) {
         if (builder.length() > this.maxLength) {
             builder.setLength(this.maxLength - ELLIPSIS.length() - getLineSeparator().length());
             builder.append(ELLIPSIS).append(getLineSeparator());
         }
-        return builder.toString();
+    }
+
+    /**
+     * Visit the structure of the throwable of the given event instead of rendering it as a String.
+     *
+     * <p>The same abbreviation, exclusion, max depth, truncate after, common frames, stack hash and
+     * evaluator rules apply as when rendering the throwable with {@link #convert(ILoggingEvent)}.
+     * The {@link #setMaxLength(int) maxLength} applies to the total length of the class names,
+     * messages, method names and file names visited. The {@link #setRootCauseFirst(boolean) rootCauseFirst}
+     * and {@link #setLineSeparator(String) lineSeparator} options and the packaging data do not apply.
+     *
+     * @param event the event whose throwable is visited
+     * @param visitor the visitor receiving the structure of the throwable
+     * @return {@code true} if a throwable was visited, {@code false} if the event has no throwable
+     *         or if it is excluded by an evaluator
+     */
+    public boolean visit(ILoggingEvent event, ThrowableVisitor visitor) {
+        if (!isStarted()) {
+            throw new IllegalStateException("Converter is not started");
+        }
+
+        IThrowableProxy throwableProxy = event.getThrowableProxy();
+        if (throwableProxy == null || isExcludedByEvaluator(event)) {
+            return false;
+        }
+
+        // compute stack trace hashes
+        Deque<String> stackHashes = null;
+        if (inlineHash && (throwableProxy instanceof ThrowableProxy)) {
+            stackHashes = stackHasher.hexHashes(((ThrowableProxy) throwableProxy).getThrowable());
+        }
+
+        LengthBudget budget = new LengthBudget(this.maxLength);
+        visitThrowable(throwableProxy, stackHashes, budget, visitor, event);
+        if (budget.exceeded) {
+            visitor.truncated();
+        }
+        visitor.endThrowable();
+        return true;
+    }
+
+    /**
+     * Visits a throwable and recursively visits its suppressed/causedby throwables,
+     * leaving the throwable to be ended by the caller.
+     */
+    private void visitThrowable(
+            IThrowableProxy throwableProxy,
+            Deque<String> stackHashes,
+            LengthBudget budget,
+            ThrowableVisitor visitor,
+            ILoggingEvent event) {
+
+        String hash = stackHashes == null || stackHashes.isEmpty() ? null : stackHashes.removeFirst();
+        String className = abbreviator.abbreviate(throwableProxy.getClassName());
+        String message = getMessage(throwableProxy, event);
+        visitor.startThrowable(className, message, hash);
+        budget.consume(className);
+        budget.consume(message);
+
+        if (budget.isAvailable()) {
+            visitStackTraceElements(throwableProxy, new FrameSink() {
+                @Override
+                public void frame(StackTraceElementProxy step, StackTraceElementProxy previousStep) {
+                    if (budget.isAvailable()) {
+                        StackTraceElement stackTraceElement = step.getStackTraceElement();
+                        String frameClassName = abbreviator.abbreviate(stackTraceElement.getClassName());
+                        visitor.frame(frameClassName, stackTraceElement.getMethodName(), stackTraceElement.getFileName(), stackTraceElement.getLineNumber());
+                        budget.consume(frameClassName);
+                        budget.consume(stackTraceElement.getMethodName());
+                        budget.consume(stackTraceElement.getFileName());
+                    }
+                }
+
+                @Override
+                public void omitted(int count, String reason) {
+                    if (count > 0 && budget.isAvailable()) {
+                        visitor.omittedFrames(count, reason);
+                    }
+                }
+            });
+        }
+
+        IThrowableProxy[] suppressedThrowableProxies = throwableProxy.getSuppressed();
+        if (suppressedThrowableProxies != null && suppressedThrowableProxies.length > 0 && budget.isAvailable()) {
+            visitor.startSuppressed();
+            for (IThrowableProxy suppressedThrowableProxy : suppressedThrowableProxies) {
+                if (!budget.isAvailable()) {
+                    break;
+                }
+                // stack hashes are not computed/inlined on suppressed errors
+                visitThrowable(suppressedThrowableProxy, null, budget, visitor, event);
+                visitor.endThrowable();
+            }
+            visitor.endSuppressed();
+        }
+
+        IThrowableProxy cause = throwableProxy.getCause();
+        if (cause != null && budget.isAvailable()) {
+            visitor.startCause();
+            visitThrowable(cause, stackHashes, budget, visitor, event);
+            visitor.endThrowable();
+        }
+    }
+
+    /**
+     * Tracks the length visited against the {@link #maxLength}.
+     */
+    private static final class LengthBudget {
+        private final int maxLength;
+        private int length;
+
+        /**
+         * True when something was not visited because the maxLength was exceeded.
+         */
+        private boolean exceeded;
+
+        LengthBudget(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        void consume(String value) {
+            if (value != null) {
+                length += value.length();
+            }
+        }
+
+        boolean isAvailable() {
+            if (length > maxLength) {
+                exceeded = true;
+                return false;
+            }
+            return true;
+        }
     }
 
 
@@ -425,6 +612,7 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
             int indent,
             IThrowableProxy throwableProxy,
             Deque<String> stackHashes,
+            StackTraceRenderCache.TemplateBuilder messageSlots,
             ILoggingEvent event) {
 
         if (throwableProxy == null || builder.length() > this.maxLength) {
@@ -432,17 +620,17 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
         }
 
         String hash = stackHashes == null || stackHashes.isEmpty() ? null : stackHashes.removeFirst();
-        appendFirstLine(builder, prefix, indent, throwableProxy, hash, event);
+        appendFirstLine(builder, prefix, indent, throwableProxy, hash, messageSlots, event);
         appendStackTraceElements(builder, indent, throwableProxy);
 
         IThrowableProxy[] suppressedThrowableProxies = throwableProxy.getSuppressed();
         if (suppressedThrowableProxies != null) {
             for (IThrowableProxy suppressedThrowableProxy : suppressedThrowableProxies) {
                 // stack hashes are not computed/inlined on suppressed errors
-                appendRootCauseLast(builder, CoreConstants.SUPPRESSED, indent + ThrowableProxyUtil.SUPPRESSED_EXCEPTION_INDENT, suppressedThrowableProxy, null, event);
+                appendRootCauseLast(builder, CoreConstants.SUPPRESSED, indent + ThrowableProxyUtil.SUPPRESSED_EXCEPTION_INDENT, suppressedThrowableProxy, null, messageSlots, event);
             }
         }
-        appendRootCauseLast(builder, CoreConstants.CAUSED_BY, indent, throwableProxy.getCause(), stackHashes, event);
+        appendRootCauseLast(builder, CoreConstants.CAUSED_BY, indent, throwableProxy.getCause(), stackHashes, messageSlots, event);
     }
 
     /**
@@ -455,6 +643,7 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
             int indent,
             IThrowableProxy throwableProxy,
             Deque<String> stackHashes,
+            StackTraceRenderCache.TemplateBuilder messageSlots,
             ILoggingEvent event) {
 
         if (throwableProxy == null || builder.length() > this.maxLength) {
@@ -462,19 +651,19 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
         }
 
         if (throwableProxy.getCause() != null) {
-            appendRootCauseFirst(builder, prefix, indent, throwableProxy.getCause(), stackHashes, event);
+            appendRootCauseFirst(builder, prefix, indent, throwableProxy.getCause(), stackHashes, messageSlots, event);
             prefix = CoreConstants.WRAPPED_BY;
         }
 
         String hash = stackHashes == null || stackHashes.isEmpty() ? null : stackHashes.removeLast();
-        appendFirstLine(builder, prefix, indent, throwableProxy, hash, event);
+        appendFirstLine(builder, prefix, indent, throwableProxy, hash, messageSlots, event);
         appendStackTraceElements(builder, indent, throwableProxy);
 
         IThrowableProxy[] suppressedThrowableProxies = throwableProxy.getSuppressed();
         if (suppressedThrowableProxies != null) {
             for (IThrowableProxy suppressedThrowableProxy : suppressedThrowableProxies) {
                 // stack hashes are not computed/inlined on suppressed errors
-                appendRootCauseFirst(builder, CoreConstants.SUPPRESSED, indent + ThrowableProxyUtil.SUPPRESSED_EXCEPTION_INDENT, suppressedThrowableProxy, null, event);
+                appendRootCauseFirst(builder, CoreConstants.SUPPRESSED, indent + ThrowableProxyUtil.SUPPRESSED_EXCEPTION_INDENT, suppressedThrowableProxy, null, messageSlots, event);
             }
         }
     }
@@ -487,6 +676,33 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
         if (builder.length() > this.maxLength) {
             return;
         }
+        visitStackTraceElements(throwableProxy, new FrameSink() {
+            @Override
+            public void frame(StackTraceElementProxy step, StackTraceElementProxy previousStep) {
+                appendStackTraceElement(builder, indent, step, previousStep);
+            }
+
+            @Override
+            public void omitted(int count, String reason) {
+                appendPlaceHolder(builder, indent, count, reason);
+            }
+        });
+    }
+
+    /**
+     * Receives the frames selected by {@link ShortenedThrowableConverter#visitStackTraceElements(IThrowableProxy, FrameSink)}.
+     */
+    private interface FrameSink {
+        void frame(StackTraceElementProxy step, StackTraceElementProxy previousStep);
+
+        void omitted(int count, String reason);
+    }
+
+    /**
+     * Selects the frames of the throwable according to the max depth, exclusion, truncate after
+     * and common frames rules.
+     */
+    private void visitStackTraceElements(IThrowableProxy throwableProxy, FrameSink sink) {
         StackTraceElementProxy[] stackTraceElements = throwableProxy.getStackTraceElementProxyArray();
         int commonFrames = isOmitCommonFrames() ? throwableProxy.getCommonFrames() : 0;
 
@@ -514,7 +730,7 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
                     /*
                      * Multiple consecutive lines were excluded, so append a placeholder
                      */
-                    appendPlaceHolder(builder, indent, consecutiveExcluded, "frames excluded");
+                    sink.omitted(consecutiveExcluded, "frames excluded");
                     consecutiveExcluded = 0;
                 } else if (consecutiveExcluded == 1) {
                     /*
@@ -526,7 +742,7 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
                     i -= 2;
                     continue;
                 }
-                appendStackTraceElement(builder, indent, stackTraceElement, previousWrittenStackTraceElement);
+                sink.frame(stackTraceElement, previousWrittenStackTraceElement);
                 previousWrittenStackTraceElement = stackTraceElement;
                 appendingExcluded = false;
                 appended++;
@@ -535,7 +751,7 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
                 /*
                  * We're going back and appending something we previously excluded
                  */
-                appendStackTraceElement(builder, indent, stackTraceElement, previousWrittenStackTraceElement);
+                sink.frame(stackTraceElement, previousWrittenStackTraceElement);
                 previousWrittenStackTraceElement = stackTraceElement;
                 appended++;
             }
@@ -561,17 +777,17 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
              */
             if (consecutiveExcluded > 0) {
                 consecutiveExcluded--;
-                appendPlaceHolder(builder, indent, consecutiveExcluded, "frames excluded");
+                sink.omitted(consecutiveExcluded, "frames excluded");
 
-                appendStackTraceElement(builder, indent, stackTraceElements[i], previousWrittenStackTraceElement);
+                sink.frame(stackTraceElements[i], previousWrittenStackTraceElement);
                 appended++;
             }
 
             if (commonFrames > 0) {
-                appendPlaceHolder(builder, indent, stackTraceElements.length - appended - consecutiveExcluded, "frames truncated (including " + commonFrames + " common frames)");
+                sink.omitted(stackTraceElements.length - appended - consecutiveExcluded, "frames truncated (including " + commonFrames + " common frames)");
             }
             else {
-                appendPlaceHolder(builder, indent, stackTraceElements.length - appended - consecutiveExcluded, "frames truncated");
+                sink.omitted(stackTraceElements.length - appended - consecutiveExcluded, "frames truncated");
             }
         }
         else {
@@ -579,14 +795,14 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
                 /*
                  * We were excluding stuff at the end, so append a placeholder
                  */
-                appendPlaceHolder(builder, indent, consecutiveExcluded, "frames excluded");
+                sink.omitted(consecutiveExcluded, "frames excluded");
             }
 
             if (commonFrames > 0) {
                 /*
                  * Common frames found, append a placeholder
                  */
-                appendPlaceHolder(builder, indent, commonFrames, "common frames omitted");
+                sink.omitted(commonFrames, "common frames omitted");
             }
         }
     }
@@ -678,9 +894,11 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
     }
 
     /**
-     * Appends the first line containing the prefix and throwable message
+     * Appends the first line containing the prefix and throwable message.
+     * When rendering a template, the position of the message is recorded instead of appending it.
      */
-    private void appendFirstLine(StringBuilder builder, String prefix, int indent, IThrowableProxy throwableProxy, String hash, ILoggingEvent event) {
+    private void appendFirstLine(StringBuilder builder, String prefix, int indent, IThrowableProxy throwableProxy, String hash,
+            StackTraceRenderCache.TemplateBuilder messageSlots, ILoggingEvent event) {
         if (builder.length() > this.maxLength) {
             return;
         }
@@ -693,9 +911,13 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
             builder.append("<#" + hash + "> ");
         }
         builder.append(abbreviator.abbreviate(throwableProxy.getClassName()))
-                .append(": ")
-                .append(getMessage(throwableProxy, event))
-                .append(getLineSeparator());
+                .append(": ");
+        if (messageSlots != null) {
+            messageSlots.addMessage(builder.length(), throwableProxy);
+        } else {
+            builder.append(getMessage(throwableProxy, event));
+        }
+        builder.append(getLineSeparator());
     }
 
     private void indent(StringBuilder builder, int indent) {
@@ -825,6 +1047,24 @@ public class ShortenedThrowableConverter extends ThrowableHandlingConverter {
         this.inlineHash = inlineHash;
     }
 
+    /**
+     * Set the maximum number of rendered stack traces kept for reuse.
+     * When the same exception is thrown repeatedly from the same call site, its stack trace is
+     * rendered once and only the messages of the throwables are substituted afterwards.
+     *
+     * @param renderCacheSize the maximum number of cached stack traces, or {@code 0} to disable the cache (default)
+     */
+    public void setRenderCacheSize(int renderCacheSize) {
+        if (renderCacheSize < 0) {
+            throw new IllegalArgumentException("renderCacheSize must be >= 0");
+        }
+        this.renderCacheSize = renderCacheSize;
+    }
+
+    public int getRenderCacheSize() {
+        return renderCacheSize;
+    }
+
     /* visible for testing */
     void setStackHasher(StackHasher stackHasher) {
         this.stackHasher = stackHasher;
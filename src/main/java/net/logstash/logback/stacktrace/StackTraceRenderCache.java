@@ -0,0 +1,266 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.stacktrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+
+/**
+ * Bounded cache of the stack traces rendered by a {@link ShortenedThrowableConverter}, so that the
+ * same exception thrown repeatedly from the same call site is rendered once.
+ *
+ * <p>Entries are keyed by the {@link Shape} of the throwable: the class names, stack trace elements,
+ * number of common frames, suppressed throwables and causes of all the throwables of the tree,
+ * but not their messages. The rendered text is stored as a {@link Template} with the position of
+ * the message of each throwable, so the messages of the throwable being rendered are substituted
+ * when it is reused. The shape of the cached entry is compared element by element with the shape
+ * of the throwable being rendered, so a hash collision never returns the stack trace of another
+ * throwable.
+ *
+ * <p>Entries are stored in a direct-mapped table indexed by the hash of the shape, a new entry
+ * replacing the one occupying its slot. This class is thread-safe: entries are immutable and
+ * published without synchronization.
+ */
+final class StackTraceRenderCache {
+
+    /**
+     * The throwables of a tree, in a canonical order (the throwable, its suppressed throwables, then its cause)
+     * and the hash of their structure.
+     */
+    static final class Shape {
+        final IThrowableProxy[] proxies;
+        final int hash;
+
+        private Shape(IThrowableProxy[] proxies, int hash) {
+            this.proxies = proxies;
+            this.hash = hash;
+        }
+
+        static Shape of(IThrowableProxy throwableProxy) {
+            List<IThrowableProxy> proxies = new ArrayList<>();
+            collect(throwableProxy, proxies);
+
+            int hash = 0;
+            for (IThrowableProxy proxy : proxies) {
+                hash = 31 * hash + proxy.getClassName().hashCode();
+                hash = 31 * hash + proxy.getCommonFrames();
+                hash = 31 * hash + suppressedCount(proxy);
+                hash = 31 * hash + (proxy.getCause() == null ? 0 : 1);
+                for (StackTraceElementProxy element : proxy.getStackTraceElementProxyArray()) {
+                    hash = 31 * hash + element.getStackTraceElement().hashCode();
+                }
+            }
+            return new Shape(proxies.toArray(new IThrowableProxy[0]), hash);
+        }
+
+        private static void collect(IThrowableProxy proxy, List<IThrowableProxy> proxies) {
+            if (proxy == null) {
+                return;
+            }
+            proxies.add(proxy);
+            IThrowableProxy[] suppressed = proxy.getSuppressed();
+            if (suppressed != null) {
+                for (IThrowableProxy suppressedProxy : suppressed) {
+                    collect(suppressedProxy, proxies);
+                }
+            }
+            collect(proxy.getCause(), proxies);
+        }
+
+        /**
+         * Return the index of the given throwable in the canonical order.
+         */
+        int indexOf(IThrowableProxy proxy) {
+            for (int i = 0; i < proxies.length; i++) {
+                if (proxies[i] == proxy) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Throwable not part of the shape");
+        }
+    }
+
+    /**
+     * A rendered stack trace, without the messages of the throwables.
+     */
+    static final class Template {
+        private final String text;
+
+        /**
+         * Position in the text of the message of the throwables.
+         */
+        private final int[] messageOffsets;
+
+        /**
+         * Index in the shape of the throwable of each message.
+         */
+        private final int[] messageProxies;
+
+        Template(String text, int[] messageOffsets, int[] messageProxies) {
+            this.text = text;
+            this.messageOffsets = messageOffsets;
+            this.messageProxies = messageProxies;
+        }
+
+        /**
+         * Append the text to the given builder, substituting the messages of the throwables of the given shape.
+         */
+        void appendTo(StringBuilder builder, Shape shape, Function<IThrowableProxy, String> messages) {
+            int start = 0;
+            for (int i = 0; i < messageOffsets.length; i++) {
+                builder.append(text, start, messageOffsets[i])
+                       .append(messages.apply(shape.proxies[messageProxies[i]]));
+                start = messageOffsets[i];
+            }
+            builder.append(text, start, text.length());
+        }
+    }
+
+    /**
+     * Records the position of the messages while a stack trace is rendered.
+     */
+    static final class TemplateBuilder {
+        private final Shape shape;
+        private final List<int[]> messages = new ArrayList<>();
+
+        TemplateBuilder(Shape shape) {
+            this.shape = shape;
+        }
+
+        /**
+         * Record the position of the message of the given throwable.
+         */
+        void addMessage(int offset, IThrowableProxy proxy) {
+            messages.add(new int[] {offset, shape.indexOf(proxy)});
+        }
+
+        Template build(CharSequence text) {
+            int[] messageOffsets = new int[messages.size()];
+            int[] messageProxies = new int[messages.size()];
+            for (int i = 0; i < messageOffsets.length; i++) {
+                messageOffsets[i] = messages.get(i)[0];
+                messageProxies[i] = messages.get(i)[1];
+            }
+            return new Template(text.toString(), messageOffsets, messageProxies);
+        }
+    }
+
+    private static final class Entry {
+        final int hash;
+        final String[] classNames;
+        final int[] commonFrames;
+        final int[] suppressedCounts;
+        final boolean[] hasCause;
+        final StackTraceElement[][] elements;
+        final Template template;
+
+        Entry(Shape shape, Template template) {
+            int length = shape.proxies.length;
+            this.hash = shape.hash;
+            this.classNames = new String[length];
+            this.commonFrames = new int[length];
+            this.suppressedCounts = new int[length];
+            this.hasCause = new boolean[length];
+            this.elements = new StackTraceElement[length][];
+            for (int i = 0; i < length; i++) {
+                IThrowableProxy proxy = shape.proxies[i];
+                classNames[i] = proxy.getClassName();
+                commonFrames[i] = proxy.getCommonFrames();
+                suppressedCounts[i] = suppressedCount(proxy);
+                hasCause[i] = proxy.getCause() != null;
+                StackTraceElementProxy[] elementProxies = proxy.getStackTraceElementProxyArray();
+                elements[i] = new StackTraceElement[elementProxies.length];
+                for (int j = 0; j < elementProxies.length; j++) {
+                    elements[i][j] = elementProxies[j].getStackTraceElement();
+                }
+            }
+            this.template = template;
+        }
+
+        boolean matches(Shape shape) {
+            if (hash != shape.hash || classNames.length != shape.proxies.length) {
+                return false;
+            }
+            for (int i = 0; i < classNames.length; i++) {
+                IThrowableProxy proxy = shape.proxies[i];
+                if (!classNames[i].equals(proxy.getClassName())
+                        || commonFrames[i] != proxy.getCommonFrames()
+                        || suppressedCounts[i] != suppressedCount(proxy)
+                        || hasCause[i] != (proxy.getCause() != null)) {
+                    return false;
+                }
+                StackTraceElementProxy[] elementProxies = proxy.getStackTraceElementProxyArray();
+                if (elements[i].length != elementProxies.length) {
+                    return false;
+                }
+                for (int j = 0; j < elementProxies.length; j++) {
+                    if (!elements[i][j].equals(elementProxies[j].getStackTraceElement())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    private final Entry[] entries;
+
+    private final int mask;
+
+    /**
+     * Create a new cache.
+     *
+     * @param capacity the maximum number of cached stack traces, rounded up to a power of two
+     */
+    StackTraceRenderCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Return the template rendered for a throwable of the given shape.
+     *
+     * @param shape the shape of the throwable
+     * @return the cached template, or {@code null} if not cached
+     */
+    Template get(Shape shape) {
+        Entry entry = entries[shape.hash & mask];
+        return entry != null && entry.matches(shape) ? entry.template : null;
+    }
+
+    /**
+     * Cache the template rendered for a throwable of the given shape.
+     *
+     * @param shape the shape of the throwable
+     * @param template the rendered template
+     */
+    void put(Shape shape, Template template) {
+        entries[shape.hash & mask] = new Entry(shape, template);
+    }
+
+    private static int suppressedCount(IThrowableProxy proxy) {
+        IThrowableProxy[] suppressed = proxy.getSuppressed();
+        return suppressed == null ? 0 : suppressed.length;
+    }
+}
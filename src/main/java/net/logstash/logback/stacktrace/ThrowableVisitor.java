@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.stacktrace;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Receives the structure of a throwable as rendered by a {@link ShortenedThrowableConverter},
+ * see {@link ShortenedThrowableConverter#visit(ILoggingEvent, ThrowableVisitor)}.
+ *
+ * <p>Throwables are visited in the "normal" order (root cause last), each one as follows:
+ * <ol>
+ * <li>{@link #startThrowable(String, String, String)}</li>
+ * <li>{@link #frame(String, String, String, int)} and {@link #omittedFrames(int, String)} for its frames</li>
+ * <li>{@link #startSuppressed()}, its suppressed throwables, then {@link #endSuppressed()} if it has suppressed throwables</li>
+ * <li>{@link #startCause()} then its cause if it has a cause</li>
+ * <li>{@link #truncated()} if this is the outer-most throwable and the output was truncated</li>
+ * <li>{@link #endThrowable()}</li>
+ * </ol>
+ */
+public interface ThrowableVisitor {
+
+    /**
+     * Start a throwable.
+     *
+     * @param className the (possibly abbreviated) class name of the throwable
+     * @param message the message of the throwable (may be {@code null})
+     * @param hash the stack hash of the throwable, or {@code null} if not computed
+     */
+    void startThrowable(String className, String message, String hash);
+
+    /**
+     * A frame of the current throwable.
+     *
+     * @param className the (possibly abbreviated) class name
+     * @param methodName the method name
+     * @param fileName the file name, or {@code null} if unknown
+     * @param lineNumber the line number, or a negative value if unknown
+     */
+    void frame(String className, String methodName, String fileName, int lineNumber);
+
+    /**
+     * Frames of the current throwable that were not visited.
+     *
+     * @param count the number of frames
+     * @param reason the reason why they were omitted (for instance "frames excluded" or "common frames omitted")
+     */
+    void omittedFrames(int count, String reason);
+
+    /**
+     * Start the suppressed throwables of the current throwable.
+     */
+    void startSuppressed();
+
+    /**
+     * End the suppressed throwables of the current throwable.
+     */
+    void endSuppressed();
+
+    /**
+     * The next throwable is the cause of the current throwable.
+     */
+    void startCause();
+
+    /**
+     * Frames and throwables were omitted because the output exceeded the maximum length.
+     */
+    void truncated();
+
+    /**
+     * End the current throwable.
+     */
+    void endThrowable();
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free {@link ObjectPool} keeping at most a fixed number of idle instances, shared
+ * by all threads.
+ *
+ * <p>Idle instances are stored in the slots of an {@link AtomicReferenceArray}. A thread
+ * {@link #acquire() acquires} an instance by clearing a non-empty slot and {@link #release(Object)
+ * releases} it by filling an empty slot, both using a compare-and-set operation. Each thread
+ * starts scanning the slots at a position derived from its id so concurrent threads usually
+ * work on different slots.
+ *
+ * <p>A new instance is created when no idle instance is available, and a released instance
+ * is disposed when all slots are already filled. The number of instances kept by the pool
+ * is therefore bounded by its capacity, regardless of the number of threads using it.
+ *
+ * <p>Unlike {@link ThreadLocalHolder}, a thread may acquire multiple instances at the same time.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ *
+ * @param <T> type of pooled instances
+ */
+public class BoundedObjectPool<T> implements ObjectPool<T> {
+
+    /**
+     * Default capacity: two instances per available processor.
+     */
+    public static final int DEFAULT_CAPACITY = 2 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The factory used to create new instances
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * Idle instances, {@code null} for empty slots
+     */
+    private final AtomicReferenceArray<T> slots;
+
+    /**
+     * {@code true} when the pool is closed.
+     * When closed, released instances are immediately disposed.
+     */
+    private volatile boolean closed;
+
+
+    /**
+     * Create a new pool keeping at most {@code capacity} idle instances.
+     *
+     * @param factory the factory used to create new instances
+     * @param capacity the maximum number of idle instances kept by the pool
+     */
+    public BoundedObjectPool(Supplier<T> factory, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.factory = Objects.requireNonNull(factory);
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Create a new pool keeping at most {@link #DEFAULT_CAPACITY} idle instances.
+     *
+     * @param factory the factory used to create new instances
+     */
+    public BoundedObjectPool(Supplier<T> factory) {
+        this(factory, DEFAULT_CAPACITY);
+    }
+
+
+    @Override
+    public T acquire() {
+        int capacity = slots.length();
+        int start = startSlot(capacity);
+        for (int i = 0; i < capacity; i++) {
+            int index = (start + i) % capacity;
+            T instance = slots.get(index);
+            if (instance != null && slots.compareAndSet(index, instance, null)) {
+                return instance;
+            }
+        }
+        return Objects.requireNonNull(createInstance());
+    }
+
+
+    @Override
+    public void release(T instance) {
+        Objects.requireNonNull(instance);
+
+        if (this.closed || !safelyRecycleInstance(instance)) {
+            safelyDisposeInstance(instance);
+            return;
+        }
+
+        int capacity = slots.length();
+        int start = startSlot(capacity);
+        for (int i = 0; i < capacity; i++) {
+            int index = (start + i) % capacity;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, instance)) {
+                /*
+                 * The pool may have been closed while the instance was put back: make sure
+                 * it is disposed if close() did not see it.
+                 */
+                if (this.closed && slots.compareAndSet(index, instance, null)) {
+                    safelyDisposeInstance(instance);
+                }
+                return;
+            }
+        }
+
+        /*
+         * Pool is full
+         */
+        safelyDisposeInstance(instance);
+    }
+
+
+    @Override
+    public void close() {
+        this.closed = true;
+
+        for (int i = 0; i < slots.length(); i++) {
+            T instance = slots.getAndSet(i, null);
+            if (instance != null) {
+                safelyDisposeInstance(instance);
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of idle instances currently held by the pool.
+     *
+     * @return the number of idle instances
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Get the slot a thread starts scanning from, spreading the threads over the slots.
+     */
+    private static int startSlot(int capacity) {
+        long threadId = Thread.currentThread().getId();
+        return (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 33) % capacity;
+    }
+
+
+    /**
+     * Create a new object instance (must be non-null).
+     * Sub-classes may override this method to implement their own custom logic if needed.
+     *
+     * @return a new object instance
+     */
+    protected T createInstance() {
+        return this.factory.get();
+    }
+
+
+    /**
+     * Dispose the object instance by calling its life cycle methods.
+     * Sub-classes may override this method if they wish to implement their own custom logic.
+     *
+     * @param instance the instance to dispose
+     */
+    protected void disposeInstance(T instance) {
+        if (instance instanceof ThreadLocalHolder.Lifecycle) {
+            ((ThreadLocalHolder.Lifecycle) instance).dispose();
+        }
+    }
+
+
+    private void safelyDisposeInstance(T instance) {
+        try {
+            disposeInstance(instance);
+        } catch (Exception e) {
+            // ignore
+        }
+    }
+
+
+    /**
+     * Recycle the instance before returning it to the pool.
+     * Sub-classes may override this method if they wish to implement their own custom logic.
+     *
+     * @param instance the instance to recycle
+     * @return {@code true} if the instance can be recycled and returned to the pool, {@code false} if not.
+     */
+    protected boolean recycleInstance(T instance) {
+        if (instance instanceof ThreadLocalHolder.Lifecycle) {
+            return ((ThreadLocalHolder.Lifecycle) instance).recycle();
+        } else {
+            return true;
+        }
+    }
+
+
+    private boolean safelyRecycleInstance(T instance) {
+        try {
+            return recycleInstance(instance);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
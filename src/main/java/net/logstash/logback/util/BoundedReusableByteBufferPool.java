@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+/**
+ * A {@link BoundedObjectPool} of {@link ReusableByteBuffer}.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public class BoundedReusableByteBufferPool extends BoundedObjectPool<ReusableByteBuffer> {
+
+    private final ReusableByteBufferRetention retention;
+
+    /**
+     * Create a new pool of buffers with an initial capacity of {@code initialCapacity} bytes.
+     *
+     * @param initialCapacity the initial capacity of buffers
+     * @param poolSize the maximum number of idle buffers kept by the pool
+     */
+    public BoundedReusableByteBufferPool(int initialCapacity, int poolSize) {
+        this(new ReusableByteBufferRetention(initialCapacity), poolSize);
+    }
+
+    /**
+     * Create a new pool of buffers sized according to the given retention policy.
+     *
+     * @param retention the retention policy of the buffers
+     * @param poolSize the maximum number of idle buffers kept by the pool
+     */
+    public BoundedReusableByteBufferPool(ReusableByteBufferRetention retention, int poolSize) {
+        super(retention::newBuffer, poolSize);
+        this.retention = retention;
+    }
+
+    /**
+     * Return a buffer to the pool after usage.
+     *
+     * @param buffer the buffer to return to the pool.
+     */
+    @Override
+    protected boolean recycleInstance(ReusableByteBuffer buffer) {
+        retention.recycle(buffer);
+        return true;
+    }
+
+    @Override
+    protected void disposeInstance(ReusableByteBuffer buffer) {
+        retention.dispose(buffer);
+    }
+
+    /**
+     * Return the retention policy of the buffers.
+     *
+     * @return the retention policy
+     */
+    public ReusableByteBufferRetention getRetention() {
+        return retention;
+    }
+}
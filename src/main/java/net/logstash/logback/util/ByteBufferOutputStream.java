@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} writing into a fixed-size {@link ByteBuffer} (heap or direct).
+ *
+ * <p>Bytes are written at the current position of the buffer. When the buffer does not have enough
+ * remaining space to accommodate the bytes to write, the stream {@link #isOverflowed() overflows}:
+ * these bytes and all the bytes written afterwards are discarded, but still counted by {@link #getCount()}
+ * so the caller knows how much space would have been needed. No exception is thrown, so whatever
+ * writes into the stream (such as a JSON generator) is not left in a failed state.
+ * The bytes written into the buffer before the overflow are left in place.
+ *
+ * <p>The target buffer can be changed at any time by calling {@link #setBuffer(ByteBuffer)}
+ * so the same stream instance can be reused for multiple buffers.
+ *
+ * <p>This class is *not* thread-safe!
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public class ByteBufferOutputStream extends OutputStream {
+
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+    private ByteBuffer buffer;
+
+    /**
+     * Number of bytes written since the buffer was set, including the discarded ones.
+     */
+    private long count;
+
+    private boolean overflowed;
+
+    /**
+     * Create a new {@link ByteBufferOutputStream} not writing into any buffer until
+     * {@link #setBuffer(ByteBuffer)} is called: bytes written before overflow the stream.
+     */
+    public ByteBufferOutputStream() {
+        this(EMPTY_BUFFER);
+    }
+
+    /**
+     * Create a new {@link ByteBufferOutputStream} writing into the given buffer.
+     *
+     * @param buffer the buffer to write into
+     */
+    public ByteBufferOutputStream(ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer, "buffer must not be null");
+    }
+
+    @Override
+    public void write(int b) {
+        count++;
+        if (!overflowed) {
+            if (buffer.hasRemaining()) {
+                buffer.put((byte) b);
+            } else {
+                overflowed = true;
+            }
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        count += len;
+        if (!overflowed) {
+            if (len <= buffer.remaining()) {
+                buffer.put(b, off, len);
+            } else {
+                overflowed = true;
+            }
+        }
+    }
+
+    /**
+     * Get the number of bytes written since the buffer was set, including the bytes discarded
+     * after an overflow.
+     *
+     * @return the number of bytes written
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Whether the buffer did not have enough remaining space for the bytes written.
+     *
+     * @return {@code true} if bytes were discarded
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * Get the buffer this stream is currently writing into.
+     *
+     * @return the target buffer
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Change the buffer this stream is writing into, and reset the count and overflow state.
+     *
+     * @param buffer the new target buffer
+     */
+    public void setBuffer(ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer, "buffer must not be null");
+        this.count = 0;
+        this.overflowed = false;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import ch.qos.logback.core.Context;
+
+/**
+ * A {@link BoundedObjectPool} of fixed-size {@code byte[]} chunks shared by {@link ReusableByteBuffer}s.
+ *
+ * <p>A {@link ReusableByteBuffer} created with a chunk pool borrows its additional chunks from the
+ * pool instead of allocating them, and gives them back when {@link ReusableByteBuffer#reset() reset}.
+ * The memory kept <em>between</em> events by the buffers of all threads for large events is therefore
+ * bounded by {@code chunkSize * maxChunks}, instead of growing with the number of threads.
+ *
+ * <p>Only idle chunks are bounded: a new chunk is allocated whenever the pool is empty, so the
+ * memory used <em>while</em> encoding still grows with the number and size of the events encoded
+ * concurrently. Chunks returned to a full pool are left to the garbage collector.
+ *
+ * <p>A single pool is shared by the encoders and layouts of a logback {@link Context}, see
+ * {@link #getShared(Context, int, int)}.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public class ByteChunkPool extends BoundedObjectPool<byte[]> {
+
+    /**
+     * Default size of the chunks, in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16384;
+
+    /**
+     * Default maximum number of idle chunks kept by the pool.
+     */
+    public static final int DEFAULT_MAX_CHUNKS = 4 * DEFAULT_CAPACITY;
+
+    /**
+     * Name of the object holding the shared pool in the logback {@link Context}.
+     */
+    static final String SHARED_POOL = "LOGSTASH_BYTE_CHUNK_POOL";
+
+    private final int chunkSize;
+
+    private final int maxChunks;
+
+    /**
+     * Create a new pool of chunks.
+     *
+     * @param chunkSize the size of the chunks, in bytes
+     * @param maxChunks the maximum number of idle chunks kept by the pool
+     */
+    public ByteChunkPool(int chunkSize, int maxChunks) {
+        super(() -> new byte[chunkSize], maxChunks);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    /**
+     * Return the pool shared by the components of the given context, creating it with the
+     * default chunk size and maximum number of chunks if needed.
+     *
+     * @param context the logback context
+     * @return the shared pool
+     */
+    public static ByteChunkPool getShared(Context context) {
+        return getShared(context, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS);
+    }
+
+    /**
+     * Return the pool shared by the components of the given context, creating it with the
+     * given chunk size and maximum number of chunks if needed.
+     *
+     * <p>The pool is created by the first component asking for it: a pool created with other
+     * settings is returned as is.
+     *
+     * @param context the logback context
+     * @param chunkSize the size of the chunks, in bytes
+     * @param maxChunks the maximum number of idle chunks kept by the pool
+     * @return the shared pool
+     */
+    public static ByteChunkPool getShared(Context context, int chunkSize, int maxChunks) {
+        synchronized (context) {
+            ByteChunkPool pool = (ByteChunkPool) context.getObject(SHARED_POOL);
+            if (pool == null) {
+                pool = new ByteChunkPool(chunkSize, maxChunks);
+                context.putObject(SHARED_POOL, pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Return the size of the chunks of this pool.
+     *
+     * @return the size of the chunks, in bytes
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Return the maximum number of idle chunks kept by this pool.
+     *
+     * @return the maximum number of idle chunks
+     */
+    public int getMaxChunks() {
+        return maxChunks;
+    }
+
+    /**
+     * Only chunks of the expected size are returned to the pool.
+     */
+    @Override
+    protected boolean recycleInstance(byte[] chunk) {
+        return chunk.length == chunkSize;
+    }
+}
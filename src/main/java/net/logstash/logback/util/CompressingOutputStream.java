@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An {@link OutputStream} compressing the bytes written into it using either the GZIP (RFC 1952)
+ * or ZLIB (RFC 1950) format, and writing the compressed bytes into a target {@link OutputStream}.
+ *
+ * <p>Unlike {@link java.util.zip.GZIPOutputStream} and {@link java.util.zip.DeflaterOutputStream},
+ * the same instance (and its native {@link Deflater}) can be reused to produce multiple independent
+ * compressed documents:
+ * <ol>
+ * <li>call {@link #start(OutputStream)} to begin a new document written into the given target,</li>
+ * <li>write the uncompressed bytes,</li>
+ * <li>call {@link #finish()} to complete the document.</li>
+ * </ol>
+ *
+ * <p>{@link #close()} must be called when the instance is not needed anymore to release the native
+ * resources held by the {@link Deflater}.
+ *
+ * <p>This class is *not* thread-safe!
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public class CompressingOutputStream extends OutputStream {
+
+    private static final byte[] GZIP_HEADER = new byte[] {
+        (byte) 0x1f, (byte) 0x8b,   // magic number
+        Deflater.DEFLATED,          // compression method
+        0,                          // flags
+        0, 0, 0, 0,                 // modification time
+        0,                          // extra flags
+        (byte) 0xff                 // operating system (unknown)
+    };
+
+    private final boolean gzip;
+
+    private final Deflater deflater;
+
+    private final CRC32 crc;
+
+    private final byte[] outputBuffer = new byte[4096];
+
+    private final byte[] singleByte = new byte[1];
+
+    private OutputStream target;
+
+
+    /**
+     * Create a new instance.
+     *
+     * @param gzip {@code true} to produce the GZIP format, {@code false} to produce the ZLIB format
+     */
+    public CompressingOutputStream(boolean gzip) {
+        this.gzip = gzip;
+        this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, gzip);
+        this.crc = gzip ? new CRC32() : null;
+    }
+
+
+    /**
+     * Begin a new compressed document written into the given target.
+     *
+     * @param target the stream receiving the compressed bytes
+     * @throws IOException thrown when the target stream fails
+     */
+    public void start(OutputStream target) throws IOException {
+        this.target = Objects.requireNonNull(target);
+        this.deflater.reset();
+        if (gzip) {
+            this.crc.reset();
+            target.write(GZIP_HEADER);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (gzip) {
+            crc.update(b, off, len);
+        }
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            deflate();
+        }
+    }
+
+    /**
+     * Complete the current compressed document.
+     *
+     * @throws IOException thrown when the target stream fails
+     */
+    public void finish() throws IOException {
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflate();
+        }
+        if (gzip) {
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) deflater.getBytesRead());
+        }
+        target = null;
+    }
+
+    /**
+     * Release the native resources held by this instance.
+     */
+    @Override
+    public void close() {
+        deflater.end();
+    }
+
+    private void deflate() throws IOException {
+        int length = deflater.deflate(outputBuffer, 0, outputBuffer.length);
+        if (length > 0) {
+            target.write(outputBuffer, 0, length);
+        }
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        target.write(value & 0xff);
+        target.write((value >> 8) & 0xff);
+        target.write((value >> 16) & 0xff);
+        target.write((value >> 24) & 0xff);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+/**
+ * A pool of reusable object instances.
+ *
+ * <p>An instance is obtained by calling {@link #acquire()} and must be given back to the pool
+ * after use by calling {@link #release(Object)}.
+ *
+ * <p>Pooled instances may implement the optional {@link ThreadLocalHolder.Lifecycle} interface
+ * if they wish to be notified when they are recycled or disposed.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ *
+ * @param <T> type of pooled instances
+ */
+public interface ObjectPool<T> {
+
+    /**
+     * Get an instance from the pool, creating a new one if none is available.
+     *
+     * @return an instance for the exclusive use of the caller until it is released
+     */
+    T acquire();
+
+    /**
+     * Give back to the pool an instance previously obtained from {@link #acquire()}.
+     *
+     * @param instance the instance to release
+     */
+    void release(T instance);
+
+    /**
+     * Close the pool and dispose all pooled instances.
+     * Instances released after the pool is closed are disposed instead of being recycled.
+     */
+    void close();
+}
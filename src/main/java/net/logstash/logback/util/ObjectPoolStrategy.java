@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+/**
+ * Strategy used by encoders and layouts to reuse the objects (JSON generators and buffers)
+ * needed to serialize events.
+ */
+public enum ObjectPoolStrategy {
+
+    /**
+     * Each thread is assigned its own instances, kept for the lifetime of the thread
+     * (see {@link ThreadLocalHolder}).
+     *
+     * <p>This is the best choice when events are logged by a limited set of long-lived threads.
+     */
+    THREAD_LOCAL,
+
+    /**
+     * Instances are shared by all threads through a pool of bounded size
+     * (see {@link BoundedObjectPool}).
+     *
+     * <p>This is the best choice when events are logged by a large number of short-lived
+     * threads (like virtual threads), which would otherwise create and discard new instances
+     * for every thread.
+     */
+    BOUNDED
+}
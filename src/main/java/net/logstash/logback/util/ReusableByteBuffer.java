@@ -17,6 +17,8 @@ package net.logstash.logback.util;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -35,6 +37,13 @@ import java.util.Objects;
  *
  * <p>The {@link #reset()} method clears the content and resets the buffer to its initial state.
  * Buffers are disposed except the initial buffer which is reused by subsequent usage.
+ * The {@link #reset(int)} variant also replaces the initial buffer when its capacity differs
+ * from the requested one, which is used by {@link ReusableByteBufferRetention} to trim or
+ * grow the memory retained between usages.
+ *
+ * <p>When created with a {@link ByteChunkPool}, the additional buffers are fixed-size chunks
+ * borrowed from the pool instead of buffers of doubling size, and they are returned to the pool
+ * when the {@link ReusableByteBuffer} is reset.
  *
  * <p>This class is *not* thread-safe!
  * 
@@ -75,6 +84,11 @@ public class ReusableByteBuffer extends OutputStream {
      */
     private boolean closed = false;
 
+    /**
+     * The pool additional chunks are borrowed from, {@code null} to allocate them.
+     */
+    private final ByteChunkPool chunkPool;
+
 
     /**
      * Create a new {@link ReusableByteBuffer} with the default initial capacity of 1024 bytes.
@@ -89,10 +103,22 @@ public class ReusableByteBuffer extends OutputStream {
      * @param initialCapacity the initial buffer size in bytes
      */
     public ReusableByteBuffer(int initialCapacity) {
+        this(initialCapacity, null);
+    }
+
+    /**
+     * Create a new {@link ReusableByteBuffer} with the specified initial capacity, borrowing
+     * additional chunks from the given pool.
+     *
+     * @param initialCapacity the initial buffer size in bytes
+     * @param chunkPool the pool to borrow additional chunks from, or {@code null} to allocate them
+     */
+    public ReusableByteBuffer(int initialCapacity, ByteChunkPool chunkPool) {
         if (initialCapacity <= 0) {
             throw new IllegalArgumentException("initialCapacity must be greater than 0");
         }
         this.buffers.add(new byte[initialCapacity]);
+        this.chunkPool = chunkPool;
     }
 
 
@@ -161,6 +187,11 @@ public class ReusableByteBuffer extends OutputStream {
     public void reset() {
         // Clear allocated buffers but keep the first one
         if (buffers.size() > 1) {
+            if (this.chunkPool != null) {
+                for (int i = 1; i < this.buffers.size(); i++) {
+                    this.chunkPool.release(this.buffers.get(i));
+                }
+            }
             byte[] initialBuffer = this.buffers.get(0);
             this.buffers.clear();
             this.buffers.add(initialBuffer);
@@ -172,6 +203,48 @@ public class ReusableByteBuffer extends OutputStream {
     }
 
 
+    /**
+     * Reset the contents of this {@link ReusableByteBuffer} like {@link #reset()}, and replace the
+     * initial buffer by a new one of {@code initialCapacity} bytes if its size is different.
+     *
+     * @param initialCapacity the size in bytes of the initial buffer kept after the reset
+     */
+    public void reset(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be greater than 0");
+        }
+        reset();
+        if (this.buffers.get(0).length != initialCapacity) {
+            this.buffers.set(0, new byte[initialCapacity]);
+        }
+    }
+
+
+    /**
+     * Return the size of the initial buffer, i.e. the number of bytes retained after a {@link #reset()}.
+     *
+     * @return the size of the initial buffer in bytes
+     */
+    public int getInitialCapacity() {
+        return this.buffers.get(0).length;
+    }
+
+
+    /**
+     * Return the number of bytes currently allocated by this buffer, including the unused
+     * space at the end of the tail buffer.
+     *
+     * @return the allocated size in bytes
+     */
+    public int capacity() {
+        int capacity = 0;
+        for (byte[] buffer : this.buffers) {
+            capacity += buffer.length;
+        }
+        return capacity;
+    }
+
+
     /**
      * Write the buffers content to the given OutputStream.
      *
@@ -191,6 +264,29 @@ public class ReusableByteBuffer extends OutputStream {
     }
 
 
+    /**
+     * Write the buffered content into the given {@link ByteBuffer}, starting at its current position.
+     *
+     * @param target the {@link ByteBuffer} to write into
+     * @throws BufferOverflowException if the target does not have enough remaining space for the
+     *         whole content, in which case nothing is written
+     */
+    public void writeTo(ByteBuffer target) {
+        if (size() > target.remaining()) {
+            throw new BufferOverflowException();
+        }
+        Iterator<byte[]> it = this.buffers.iterator();
+        while (it.hasNext()) {
+            byte[] buffer = it.next();
+            if (it.hasNext()) {
+                target.put(buffer, 0, buffer.length);
+            } else {
+                target.put(buffer, 0, this.tailWriteIndex);
+            }
+        }
+    }
+
+
     /**
      * Creates a newly allocated byte array.
      * 
@@ -230,7 +326,11 @@ public class ReusableByteBuffer extends OutputStream {
     private void growIfNeeded() {
         if (getTailBuffer().length == this.tailWriteIndex) {
             this.alreadyBufferedSize += this.tailWriteIndex;
-            this.buffers.add(new byte[this.tailWriteIndex * 2]); // block size doubles each time
+            if (this.chunkPool != null) {
+                this.buffers.add(this.chunkPool.acquire());
+            } else {
+                this.buffers.add(new byte[this.tailWriteIndex * 2]); // block size doubles each time
+            }
             this.tailWriteIndex = 0;
         }
     }
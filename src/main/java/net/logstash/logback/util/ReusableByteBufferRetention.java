@@ -0,0 +1,230 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Controls how much memory the {@link ReusableByteBuffer} of a pool retain between usages.
+ *
+ * <p>{@link ReusableByteBuffer#reset()} already disposes the chunks allocated to accommodate
+ * with large events, but the initial buffer of every pooled instance is kept. This class decides
+ * the size of that initial buffer:
+ * <ul>
+ * <li>it is never smaller than the configured {@code minCapacity};</li>
+ * <li>when {@code adaptive}, the size of the content of recycled buffers is recorded in a
+ *     histogram with power of two buckets, and the initial buffer is sized after the 90th percentile
+ *     of the observed sizes so that most events fit without allocating additional chunks;</li>
+ * <li>it is never larger than {@code maxRetainedCapacity}: buffers whose initial buffer exceeds
+ *     this high-water mark are trimmed back when recycled.</li>
+ * </ul>
+ *
+ * <p>The histogram is halved every {@value #DECAY_SAMPLES} samples so that it follows changes in
+ * the size of the events instead of being dominated by the history.
+ *
+ * <p>The number of bytes retained by the initial buffers of the instances created by the pool
+ * and not disposed yet is available from {@link #getRetainedBytes()}.
+ *
+ * <p>This class is thread-safe.
+ *
+ * <p>Note: This class is for internal use only and subject to backward incompatible change
+ * at any time.
+ */
+public class ReusableByteBufferRetention {
+
+    /**
+     * Number of samples between two updates of the target capacity.
+     */
+    static final int UPDATE_SAMPLES = 64;
+
+    /**
+     * Number of samples after which the histogram is halved.
+     */
+    static final int DECAY_SAMPLES = 1 << 16;
+
+    /**
+     * Bucket {@code i} counts the sizes in {@code (2^(i-1), 2^i]}.
+     */
+    private static final int BUCKETS = 31;
+
+    private final int minCapacity;
+
+    private final int maxRetainedCapacity;
+
+    private final boolean adaptive;
+
+    private final ByteChunkPool chunkPool;
+
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong sampleCount = new AtomicLong();
+
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    /**
+     * Capacity of the initial buffer of new and recycled instances.
+     */
+    private volatile int targetCapacity;
+
+
+    /**
+     * Create a non adaptive retention policy keeping initial buffers of {@code minCapacity} bytes.
+     *
+     * @param minCapacity the capacity of the initial buffers
+     */
+    public ReusableByteBufferRetention(int minCapacity) {
+        this(minCapacity, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Create a new retention policy.
+     *
+     * @param minCapacity the minimum capacity of the initial buffers
+     * @param maxRetainedCapacity the maximum capacity of the initial buffers kept after usage
+     * @param adaptive whether the capacity of the initial buffers follows the size of the content
+     */
+    public ReusableByteBufferRetention(int minCapacity, int maxRetainedCapacity, boolean adaptive) {
+        this(minCapacity, maxRetainedCapacity, adaptive, null);
+    }
+
+    /**
+     * Create a new retention policy for buffers borrowing their additional chunks from the given pool.
+     *
+     * @param minCapacity the minimum capacity of the initial buffers
+     * @param maxRetainedCapacity the maximum capacity of the initial buffers kept after usage
+     * @param adaptive whether the capacity of the initial buffers follows the size of the content
+     * @param chunkPool the pool to borrow additional chunks from, or {@code null} to allocate them
+     */
+    public ReusableByteBufferRetention(int minCapacity, int maxRetainedCapacity, boolean adaptive, ByteChunkPool chunkPool) {
+        if (minCapacity <= 0) {
+            throw new IllegalArgumentException("minCapacity must be greater than 0");
+        }
+        if (maxRetainedCapacity < minCapacity) {
+            throw new IllegalArgumentException("maxRetainedCapacity must be greater than or equal to minCapacity");
+        }
+        this.minCapacity = minCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+        this.adaptive = adaptive;
+        this.targetCapacity = minCapacity;
+        this.chunkPool = chunkPool;
+    }
+
+
+    /**
+     * Create a new buffer whose initial buffer has the current target capacity.
+     *
+     * @return a new buffer
+     */
+    public ReusableByteBuffer newBuffer() {
+        int capacity = this.targetCapacity;
+        this.retainedBytes.addAndGet(capacity);
+        return new ReusableByteBuffer(capacity, chunkPool);
+    }
+
+    /**
+     * Record the size of the content of the buffer, then reset it with an initial buffer
+     * resized to the target capacity if needed.
+     *
+     * @param buffer the buffer to recycle
+     */
+    public void recycle(ReusableByteBuffer buffer) {
+        if (adaptive) {
+            record(buffer.size());
+        }
+
+        int current = buffer.getInitialCapacity();
+        int target = this.targetCapacity;
+        if (current != target && (adaptive || current > maxRetainedCapacity)) {
+            buffer.reset(target);
+            this.retainedBytes.addAndGet(target - current);
+        } else {
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Forget about a buffer discarded by the pool.
+     *
+     * @param buffer the disposed buffer
+     */
+    public void dispose(ReusableByteBuffer buffer) {
+        this.retainedBytes.addAndGet(-buffer.getInitialCapacity());
+    }
+
+
+    /**
+     * Return the number of bytes retained by the initial buffers of the instances created
+     * by {@link #newBuffer()} and not disposed yet.
+     *
+     * @return the retained bytes
+     */
+    public long getRetainedBytes() {
+        return this.retainedBytes.get();
+    }
+
+    /**
+     * Return the capacity of the initial buffer of new and recycled instances.
+     *
+     * @return the target capacity in bytes
+     */
+    public int getTargetCapacity() {
+        return this.targetCapacity;
+    }
+
+    /**
+     * Return an upper bound of the given percentile of the recorded sizes, rounded up to the next
+     * power of two, or {@code 0} if no size was recorded.
+     *
+     * @param percentile the percentile, between {@code 0} (exclusive) and {@code 1} (inclusive)
+     * @return the upper bound of the bucket holding the percentile
+     */
+    public int getSizePercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += histogram.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile);
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulated += histogram.get(i);
+            if (cumulated >= rank) {
+                return 1 << i;
+            }
+        }
+        return 1 << (BUCKETS - 1);
+    }
+
+
+    private void record(int size) {
+        int bucket = size <= 1 ? 0 : Math.min(BUCKETS - 1, Integer.SIZE - Integer.numberOfLeadingZeros(size - 1));
+        histogram.incrementAndGet(bucket);
+
+        long count = sampleCount.incrementAndGet();
+        if (count % DECAY_SAMPLES == 0) {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram.getAndUpdate(i, value -> value >> 1);
+            }
+        }
+        if (count % UPDATE_SAMPLES == 0) {
+            this.targetCapacity = Math.min(maxRetainedCapacity, Math.max(minCapacity, getSizePercentile(0.9)));
+        }
+    }
+}
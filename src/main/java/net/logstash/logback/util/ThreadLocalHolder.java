@@ -46,7 +46,7 @@ import java.util.function.Supplier;
  *
  * @author brenuart
  */
-public class ThreadLocalHolder<T> {
+public class ThreadLocalHolder<T> implements ObjectPool<T> {
 
     /**
      * The factory used to create new instances
@@ -95,6 +95,7 @@ public class ThreadLocalHolder<T> {
      * @return the value assigned to this thread
      * @throws IllegalStateException if the value is already in use and {@link #release()} was not yet invoked.
      */
+    @Override
     public final T acquire() {
         Holder<T> holder = this.threadLocal.get();
 
@@ -138,11 +139,25 @@ public class ThreadLocalHolder<T> {
     }
 
 
+    /**
+     * Release the value assigned to the current thread and recycle it if possible.
+     * Equivalent to {@link #release()}.
+     *
+     * @param instance the value assigned to the current thread
+     * @throws IllegalStateException if the value was not previously {@link #acquire()}.
+     */
+    @Override
+    public final void release(T instance) {
+        release();
+    }
+
+
     /**
      * Close the holder and dispose all values.
      * Threads are still able to {@link #acquire()} values after the holder is closed, but they will be disposed
      * immediately when {@link #release()} instead of recycled.
      */
+    @Override
     public void close() {
         /*
          * Indicate the holder so values released by running threads will be disposed
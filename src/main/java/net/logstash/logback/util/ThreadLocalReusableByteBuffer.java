@@ -26,17 +26,25 @@ package net.logstash.logback.util;
  */
 public class ThreadLocalReusableByteBuffer extends ThreadLocalHolder<ReusableByteBuffer> {
     
+    private final ReusableByteBufferRetention retention;
+    
     /**
      * Create a new instance with an initial capacity of {@code initialSize} bytes.
      *
      * @param initialCapacity the initial capacity of buffers
      */
     public ThreadLocalReusableByteBuffer(int initialCapacity) {
-        super(() -> new ReusableByteBuffer(initialCapacity));
-        
-        if (initialCapacity <= 0) {
-            throw new IllegalArgumentException("initialCapacity must be greater than 0");
-        }
+        this(new ReusableByteBufferRetention(initialCapacity));
+    }
+    
+    /**
+     * Create a new instance whose buffers are sized according to the given retention policy.
+     *
+     * @param retention the retention policy of the buffers
+     */
+    public ThreadLocalReusableByteBuffer(ReusableByteBufferRetention retention) {
+        super(retention::newBuffer);
+        this.retention = retention;
     }
     
     /**
@@ -54,7 +62,23 @@ public class ThreadLocalReusableByteBuffer extends ThreadLocalHolder<ReusableByt
      */
     @Override
     protected boolean recycleInstance(ReusableByteBuffer buffer) {
-        buffer.reset();
+        retention.recycle(buffer);
         return true;
     }
+    
+    
+    @Override
+    protected void disposeInstance(ReusableByteBuffer buffer) {
+        retention.dispose(buffer);
+    }
+    
+    
+    /**
+     * Return the retention policy of the buffers.
+     *
+     * @return the retention policy
+     */
+    public ReusableByteBufferRetention getRetention() {
+        return retention;
+    }
 }
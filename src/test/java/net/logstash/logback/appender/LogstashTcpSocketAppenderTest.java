@@ -47,8 +47,10 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +66,7 @@ import net.logstash.logback.encoder.StreamingEncoder;
 import net.logstash.logback.test.AbstractLogbackTest;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.encoder.Encoder;
 import ch.qos.logback.core.encoder.EncoderBase;
@@ -106,6 +109,8 @@ public class LogstashTcpSocketAppenderTest extends AbstractLogbackTest {
     @Mock
     private TcpAppenderListener<ILoggingEvent> listener;
 
+    private final BatchStreamingEncoder batchEncoder = new BatchStreamingEncoder();
+
     
     private class TestableLogstashTcpSocketAppender extends LogstashTcpSocketAppender {
         @Override
@@ -821,6 +826,146 @@ public class LogstashTcpSocketAppenderTest extends AbstractLogbackTest {
         });
     }
     
+    /**
+     * Assert that the session of a {@link StreamingEncoder} is reset when connected,
+     * so that the destination does not receive content depending on a previous connection.
+     */
+    @Test
+    public void testStreamingEncoderSessionResetOnConnect() throws Exception {
+        BadStreamingEncoder streamingEncoder = spy(new BadStreamingEncoder());
+        appender.setEncoder(streamingEncoder);
+
+        appender.addDestination("localhost:10000");
+        appender.start();
+
+        verify(listener, async()).connectionOpened(appender, socket);
+        verify(streamingEncoder).resetSession();
+    }
+
+    /**
+     * Assert that the events available together in the ring buffer are encoded
+     * together with {@link StreamingEncoder#encodeBatch(List, OutputStream)}.
+     */
+    @Test
+    public void testStreamingEncoderEncodesBatch() throws Exception {
+        ByteArrayOutputStream bos = startWithBatchedEvents("a", "b", "c");
+
+        verify(listener, async().times(3)).eventSent(eq(appender), eq(socket), any(), anyLong());
+        assertThat(batchEncoder.batchSizes).containsExactly(3);
+        assertThat(bos.toString(StandardCharsets.UTF_8)).isEqualTo("a\nb\nc\n");
+    }
+
+    /**
+     * Assert that only the events failing to be encoded are dropped when a batch fails to be encoded.
+     */
+    @Test
+    public void testStreamingEncoderBatchFailure() throws Exception {
+        ByteArrayOutputStream bos = startWithBatchedEvents("a", "bad", "c");
+
+        verify(listener, async()).eventSendFailure(eq(appender), argThat(event -> event.getMessage().equals("bad")), any());
+        verify(listener, async().times(2)).eventSent(eq(appender), eq(socket), any(), anyLong());
+        assertThat(batchEncoder.batchSizes).containsExactly(3);
+        assertThat(bos.toString(StandardCharsets.UTF_8)).isEqualTo("a\nc\n");
+        assertThat(statusManager.getCopyOfStatusList()).anySatisfy(status -> {
+            assertThat(status.getLevel()).isEqualTo(Status.WARN);
+            assertThat(status.getMessage()).contains("Encoder failed to encode event. Dropping event.");
+        });
+    }
+
+    /**
+     * Assert that a single event is encoded as a batch by an encoder that can only encode batches.
+     */
+    @Test
+    public void testBatchOnlyEncoderEncodesSingleEvent() throws Exception {
+        batchEncoder.batchOnly = true;
+        ByteArrayOutputStream bos = startWithBatchedEvents("a");
+
+        verify(listener, async()).eventSent(eq(appender), eq(socket), any(), anyLong());
+        assertThat(batchEncoder.batchSizes).containsExactly(1);
+        assertThat(bos.toString(StandardCharsets.UTF_8)).isEqualTo("a\n");
+    }
+
+    /**
+     * Assert that the whole batch is dropped when an encoder that can only encode batches fails.
+     */
+    @Test
+    public void testBatchOnlyEncoderBatchFailure() throws Exception {
+        batchEncoder.batchOnly = true;
+        ByteArrayOutputStream bos = startWithBatchedEvents("a", "bad", "c");
+
+        verify(listener, async().times(3)).eventSendFailure(eq(appender), any(), any());
+        verify(listener, never()).eventSent(eq(appender), eq(socket), any(), anyLong());
+        assertThat(bos.size()).isZero();
+        assertThat(statusManager.getCopyOfStatusList()).anySatisfy(status -> {
+            assertThat(status.getLevel()).isEqualTo(Status.WARN);
+            assertThat(status.getMessage()).contains("Encoder failed to encode a batch of 3 events. Dropping events.");
+        });
+    }
+
+    /**
+     * Start the appender with a {@link BatchStreamingEncoder} and append events with the given messages
+     * while the connection is being opened, so that they are handled as a single batch.
+     */
+    private ByteArrayOutputStream startWithBatchedEvents(String... messages) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        CountDownLatch connecting = new CountDownLatch(1);
+        when(socket.getOutputStream()).thenAnswer(invocation -> {
+            connecting.await();
+            return bos;
+        });
+        appender.setEncoder(batchEncoder);
+
+        appender.addDestination("localhost:10000");
+        appender.start();
+        for (String message : messages) {
+            LoggingEvent event = new LoggingEvent();
+            event.setMessage(message);
+            appender.append(event);
+        }
+        connecting.countDown();
+        return bos;
+    }
+
+    private static class BatchStreamingEncoder extends EncoderBase<ILoggingEvent> implements StreamingEncoder<ILoggingEvent> {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        private volatile boolean batchOnly;
+
+        @Override
+        public byte[] headerBytes() {
+            return null;
+        }
+
+        @Override
+        public byte[] encode(ILoggingEvent event) {
+            if (event.getMessage().equals("bad")) {
+                throw new IllegalStateException("Exception thrown by the Encoder");
+            }
+            return (event.getMessage() + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] footerBytes() {
+            return null;
+        }
+
+        @Override
+        public void encode(ILoggingEvent event, OutputStream outputStream) throws IOException {
+            outputStream.write(encode(event));
+        }
+
+        @Override
+        public void encodeBatch(List<ILoggingEvent> events, OutputStream outputStream) throws IOException {
+            batchSizes.add(events.size());
+            StreamingEncoder.super.encodeBatch(events, outputStream);
+        }
+
+        @Override
+        public boolean isBatchOnly() {
+            return batchOnly;
+        }
+    }
+
     private static class BadStreamingEncoder extends EncoderBase<ILoggingEvent> implements StreamingEncoder<ILoggingEvent> {
         @Override
         public byte[] headerBytes() {
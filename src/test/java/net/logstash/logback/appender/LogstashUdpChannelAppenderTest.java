@@ -0,0 +1,385 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.appender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import net.logstash.logback.appender.listener.UdpAppenderListener;
+import net.logstash.logback.encoder.StreamingEncoder;
+import net.logstash.logback.test.AbstractLogbackTest;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.EncoderBase;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+public class LogstashUdpChannelAppenderTest extends AbstractLogbackTest {
+
+    private static final int VERIFICATION_TIMEOUT = 1000 * 10;
+
+    private final LogstashUdpChannelAppender appender = new LogstashUdpChannelAppender();
+
+    private DatagramSocket receiver;
+
+    @Mock
+    private ILoggingEvent event1;
+
+    @Mock
+    private UdpAppenderListener<ILoggingEvent> listener;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        super.setup();
+
+        receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        receiver.setSoTimeout(VERIFICATION_TIMEOUT);
+
+        appender.setContext(context);
+        appender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        appender.setPort(receiver.getLocalPort());
+        appender.addListener(listener);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        appender.stop();
+        receiver.close();
+        super.tearDown();
+    }
+
+    @Test
+    public void testSendWithEncoder() throws Exception {
+        @SuppressWarnings("unchecked")
+        Encoder<ILoggingEvent> encoder = mock(Encoder.class);
+        when(encoder.encode(event1)).thenReturn("event1".getBytes(StandardCharsets.UTF_8));
+        appender.setEncoder(encoder);
+
+        appender.start();
+        verify(encoder).start();
+
+        appender.append(event1);
+
+        assertThat(receive()).isEqualTo("event1");
+        verify(listener, timeout(VERIFICATION_TIMEOUT)).eventSent(eq(appender), eq(event1), anyLong());
+    }
+
+    @Test
+    public void testSendWithStreamingEncoder() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder());
+
+        appender.start();
+        appender.append(event1);
+        appender.append(event1);
+
+        assertThat(receive()).isEqualTo("streaming");
+        assertThat(receive()).isEqualTo("streaming");
+    }
+
+    @Test
+    public void testBatchOnlyEncoderRejected() {
+        appender.setEncoder(new TestStreamingEncoder() {
+            @Override
+            public boolean isBatchOnly() {
+                return true;
+            }
+        });
+
+        appender.start();
+
+        assertThat(appender.isStarted()).isFalse();
+        assertThat(statusManager.getCopyOfStatusList()).anySatisfy(status -> {
+            assertThat(status.getLevel()).isEqualTo(Status.ERROR);
+            assertThat(status.getMessage()).contains("The encoder can only encode batches of events");
+        });
+    }
+
+    @Test
+    public void testEventTooLarge() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder());
+        appender.setMaxDatagramSize(4);
+
+        appender.start();
+        appender.append(event1);
+
+        verify(listener, timeout(VERIFICATION_TIMEOUT)).eventSendFailure(eq(appender), eq(event1), any(DatagramTooLargeException.class));
+    }
+
+    @Test
+    public void testChunking() throws Exception {
+        String message = "0123456789".repeat(10);
+        appender.setEncoder(new TestStreamingEncoder(message));
+        appender.setMaxDatagramSize(42);
+        appender.setChunking(true);
+
+        appender.start();
+        appender.append(event1);
+
+        // 100 bytes in chunks of 30 bytes (42 - 12 bytes header) -> 4 chunks
+        ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        long messageId = 0;
+        for (int i = 0; i < 4; i++) {
+            ByteBuffer chunk = ByteBuffer.wrap(receiveBytes());
+            assertThat(chunk.remaining()).isLessThanOrEqualTo(42);
+            assertThat(chunk.get()).isEqualTo((byte) 0x1e);
+            assertThat(chunk.get()).isEqualTo((byte) 0x0f);
+            long id = chunk.getLong();
+            if (i == 0) {
+                messageId = id;
+            } else {
+                assertThat(id).isEqualTo(messageId);
+            }
+            assertThat(chunk.get()).isEqualTo((byte) i);
+            assertThat(chunk.get()).isEqualTo((byte) 4);
+            reassembled.write(chunk.array(), chunk.position(), chunk.remaining());
+        }
+        assertThat(reassembled.toString(StandardCharsets.UTF_8)).isEqualTo(message);
+        verify(listener, timeout(VERIFICATION_TIMEOUT)).eventSent(eq(appender), eq(event1), anyLong());
+    }
+
+    @Test
+    public void testSmallEventNotChunked() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder());
+        appender.setChunking(true);
+
+        appender.start();
+        appender.append(event1);
+
+        assertThat(receive()).isEqualTo("streaming");
+    }
+
+    @Test
+    public void testTooManyChunks() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder("x".repeat(AbstractLogstashUdpChannelAppender.MAX_CHUNKS + 1)));
+        appender.setMaxDatagramSize(13);
+        appender.setChunking(true);
+
+        appender.start();
+        appender.append(event1);
+
+        verify(listener, timeout(VERIFICATION_TIMEOUT)).eventSendFailure(eq(appender), eq(event1), any(DatagramTooLargeException.class));
+    }
+
+    @Test
+    public void testGzipCompression() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder());
+        appender.setCompression(DatagramCompression.GZIP);
+
+        appender.start();
+        appender.append(event1);
+        appender.append(event1);
+
+        assertThat(decompress(new GZIPInputStream(new ByteArrayInputStream(receiveBytes())))).isEqualTo("streaming");
+        assertThat(decompress(new GZIPInputStream(new ByteArrayInputStream(receiveBytes())))).isEqualTo("streaming");
+    }
+
+    @Test
+    public void testDeflateCompressionWithChunking() throws Exception {
+        String message = "abcdefghijklmnopqrstuvwxyz".repeat(50);
+        appender.setEncoder(new TestStreamingEncoder(message));
+        appender.setCompression(DatagramCompression.DEFLATE);
+        appender.setChunking(true);
+        appender.setMaxDatagramSize(32);
+
+        appender.start();
+        appender.append(event1);
+
+        ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        int count;
+        int sequence = 0;
+        do {
+            ByteBuffer chunk = ByteBuffer.wrap(receiveBytes());
+            chunk.position(10);
+            assertThat(chunk.get()).isEqualTo((byte) sequence++);
+            count = chunk.get();
+            reassembled.write(chunk.array(), chunk.position(), chunk.remaining());
+        } while (sequence < count);
+
+        assertThat(decompress(new InflaterInputStream(new ByteArrayInputStream(reassembled.toByteArray())))).isEqualTo(message);
+    }
+
+    @Test
+    public void testBatchingFlushOnSize() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder("abc\n"));
+        appender.setBatching(true);
+        appender.setMaxDatagramSize(8);
+        appender.setLingerTime(Duration.buildBySeconds(1));
+
+        appender.start();
+        appender.append(event1);
+        appender.append(event1);
+        appender.append(event1);
+
+        // first two events fill the datagram, the third is sent after the linger time
+        assertThat(receive()).isEqualTo("abc\nabc\n");
+        assertThat(receive()).isEqualTo("abc\n");
+        verify(listener, timeout(VERIFICATION_TIMEOUT).times(3)).eventSent(eq(appender), eq(event1), anyLong());
+    }
+
+    @Test
+    public void testBatchingFlushWhenDrained() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder("abc\n"));
+        appender.setBatching(true);
+
+        appender.start();
+        for (int i = 0; i < 10; i++) {
+            appender.append(event1);
+        }
+
+        StringBuilder received = new StringBuilder();
+        while (received.length() < 40) {
+            received.append(receive());
+        }
+        assertThat(received.toString()).isEqualTo("abc\n".repeat(10));
+    }
+
+    @Test
+    public void testBatchingLargeEventSentAlone() throws Exception {
+        appender.setEncoder(new TestStreamingEncoder("01234567890123456789"));
+        appender.setBatching(true);
+        appender.setChunking(true);
+        appender.setMaxDatagramSize(16);
+
+        appender.start();
+        appender.append(event1);
+
+        // 20 bytes in chunks of 4 bytes (16 - 12 bytes header)
+        for (int i = 0; i < 5; i++) {
+            byte[] chunk = receiveBytes();
+            assertThat(chunk).hasSize(16);
+            assertThat(chunk[10]).isEqualTo((byte) i);
+            assertThat(chunk[11]).isEqualTo((byte) 5);
+        }
+    }
+
+    @Test
+    public void testBatchingWithCompressionNotAllowed() {
+        appender.setEncoder(new TestStreamingEncoder());
+        appender.setBatching(true);
+        appender.setCompression(DatagramCompression.GZIP);
+
+        appender.start();
+
+        assertThat(appender.isStarted()).isFalse();
+    }
+
+    @Test
+    public void testEncoderFailure() throws Exception {
+        RuntimeException failure = new RuntimeException("boom");
+        TestStreamingEncoder encoder = new TestStreamingEncoder();
+        appender.setEncoder(encoder);
+        appender.start();
+
+        encoder.failure = failure;
+        appender.append(event1);
+
+        verify(listener, timeout(VERIFICATION_TIMEOUT)).eventSendFailure(appender, event1, failure);
+
+        // next event is sent normally
+        encoder.failure = null;
+        appender.append(event1);
+        assertThat(receive()).isEqualTo("streaming");
+    }
+
+    @Test
+    public void testMissingHost() {
+        appender.setHost(null);
+        appender.setEncoder(new TestStreamingEncoder());
+
+        appender.start();
+
+        assertThat(appender.isStarted()).isFalse();
+    }
+
+    private String receive() throws Exception {
+        return new String(receiveBytes(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] receiveBytes() throws Exception {
+        DatagramPacket packet = new DatagramPacket(new byte[1024], 1024);
+        receiver.receive(packet);
+        return Arrays.copyOfRange(packet.getData(), packet.getOffset(), packet.getOffset() + packet.getLength());
+    }
+
+    private static String decompress(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class TestStreamingEncoder extends EncoderBase<ILoggingEvent> implements StreamingEncoder<ILoggingEvent> {
+
+        private final byte[] content;
+
+        private volatile RuntimeException failure;
+
+        TestStreamingEncoder() {
+            this("streaming");
+        }
+
+        TestStreamingEncoder(String content) {
+            this.content = content.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void encode(ILoggingEvent event, OutputStream outputStream) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            outputStream.write(content);
+        }
+
+        @Override
+        public byte[] encode(ILoggingEvent event) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public byte[] headerBytes() {
+            return null;
+        }
+
+        @Override
+        public byte[] footerBytes() {
+            return null;
+        }
+    }
+}
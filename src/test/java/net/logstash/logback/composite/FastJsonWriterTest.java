@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+public class FastJsonWriterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private final FastJsonWriter writer = new FastJsonWriter(16);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "plain",
+        "quote \" backslash \\ slash /",
+        "control \u0000 \u0001 \b \t \n \u000b \f \r \u001f \u007f",
+        "latin \u00e9 euro \u20ac line separator \u2028 emoji \ud83d\ude00"
+    })
+    public void testStringSameAsJackson(String value) {
+        writer.writeStartObject();
+        assertThat(writer.writeName(value)).isTrue();
+        assertThat(writer.writeString(value)).isTrue();
+        writer.writeEndObject();
+
+        assertThat(writer.toByteArray()).isEqualTo(writeWithJackson(generator -> {
+            generator.writeStartObject();
+            generator.writeName(value);
+            generator.writeString(value);
+            generator.writeEndObject();
+        }));
+    }
+
+    @Test
+    public void testSerializedStringSameAsJackson() {
+        SerializableString value = new SerializedString("quote \" control \u0001 euro \u20ac");
+
+        writer.writeStartArray();
+        writer.writeString(value);
+        writer.writeString(value);
+        writer.writeEndArray();
+
+        assertThat(writer.toByteArray()).isEqualTo(writeWithJackson(generator -> {
+            generator.writeStartArray();
+            generator.writeString(value.getValue());
+            generator.writeString(value.getValue());
+            generator.writeEndArray();
+        }));
+    }
+
+    @Test
+    public void testLongStringSameAsJackson() {
+        String value = "\ud83d\ude00\"\u00e9a".repeat(1000);
+
+        assertThat(writer.writeString(value)).isTrue();
+
+        assertThat(writer.toByteArray()).isEqualTo(writeWithJackson(generator -> generator.writeString(value)));
+    }
+
+    @Test
+    public void testStructureSameAsJackson() {
+        SerializableString name = new SerializedString("na\"me");
+
+        writer.writeStartObject();
+        writer.writeStringField(name, "value");
+        writer.writeNumberField(new SerializedString("min"), Long.MIN_VALUE);
+        writer.writeNumberField(new SerializedString("max"), Long.MAX_VALUE);
+        writer.writeNumberField(new SerializedString("zero"), 0);
+        writer.writeStringArrayField(new SerializedString("array"), new String[] {"a", "b"});
+        writer.writeName("object");
+        writer.writeStartObject();
+        writer.writeName("empty");
+        writer.writeStartArray();
+        writer.writeEndArray();
+        writer.writeName("values");
+        writer.writeStartArray();
+        writer.writeSimpleValue(true);
+        writer.writeSimpleValue(-42);
+        writer.writeSimpleValue((short) 7);
+        writer.writeNull();
+        writer.writeEndArray();
+        writer.writeEndObject();
+        writer.writeEndObject();
+
+        assertThat(writer.toByteArray()).isEqualTo(writeWithJackson(generator -> {
+            generator.writeStartObject();
+            generator.writeName(name);
+            generator.writeString("value");
+            generator.writeNumberProperty("min", Long.MIN_VALUE);
+            generator.writeNumberProperty("max", Long.MAX_VALUE);
+            generator.writeNumberProperty("zero", 0);
+            generator.writeArrayPropertyStart("array");
+            generator.writeString("a");
+            generator.writeString("b");
+            generator.writeEndArray();
+            generator.writeObjectPropertyStart("object");
+            generator.writeArrayPropertyStart("empty");
+            generator.writeEndArray();
+            generator.writeArrayPropertyStart("values");
+            generator.writeBoolean(true);
+            generator.writeNumber(-42);
+            generator.writeNumber(7);
+            generator.writeNull();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }));
+    }
+
+    @Test
+    public void testIgnoredAndNullFieldsSkipped() {
+        writer.writeStartObject();
+        writer.writeStringField(new SerializedString("[ignore]"), "value");
+        writer.writeStringField(new SerializedString("name"), null);
+        writer.writeStringField(null, "value");
+        writer.writeEndObject();
+
+        assertThat(writer.toByteArray()).asString().isEqualTo("{}");
+    }
+
+    @Test
+    public void testUnpairedSurrogates() {
+        assertThat(writer.writeString("high \ud83d only")).isFalse();
+        assertThat(writer.writeString("low \ude00 only")).isFalse();
+        assertThat(writer.writeString("trailing \ud83d")).isFalse();
+        assertThat(writer.writeName("\ude00")).isFalse();
+    }
+
+    @Test
+    public void testComplexValuesNotWritten() {
+        assertThat(writer.writeSimpleValue(1.5d)).isFalse();
+        assertThat(writer.writeSimpleValue(new Object())).isFalse();
+        assertThat(writer.size()).isZero();
+    }
+
+    @Test
+    public void testReset() {
+        writer.writeStartObject();
+        writer.writeStringField(new SerializedString("name"), "value");
+        writer.writeEndObject();
+        writer.reset();
+        writer.writeStartObject();
+        writer.writeEndObject();
+
+        assertThat(writer.toByteArray()).asString().isEqualTo("{}");
+    }
+
+    private byte[] writeWithJackson(Consumer<JsonGenerator> callback) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            callback.accept(generator);
+        }
+        return outputStream.toByteArray();
+    }
+}
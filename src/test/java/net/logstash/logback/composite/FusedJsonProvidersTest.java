@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import tools.jackson.core.JsonGenerator;
+
+public class FusedJsonProvidersTest {
+
+    private final JsonGenerator generator = mock(JsonGenerator.class);
+
+    private final ILoggingEvent event = mock(ILoggingEvent.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInvokesProvidersInOrder() throws Exception {
+        JsonProvider<ILoggingEvent> provider1 = mock(JsonProvider.class);
+        JsonProvider<ILoggingEvent> provider2 = mock(JsonProvider.class);
+        JsonProvider<ILoggingEvent> provider3 = mock(JsonProvider.class);
+
+        FusedJsonProviders.Writer<ILoggingEvent> writer = FusedJsonProviders.generate(Arrays.asList(provider1, provider2, provider3));
+        writer.writeTo(generator, event);
+
+        InOrder inOrder = inOrder(provider1, provider2, provider3);
+        inOrder.verify(provider1).writeTo(generator, event);
+        inOrder.verify(provider2).writeTo(generator, event);
+        inOrder.verify(provider3).writeTo(generator, event);
+
+        assertThat(writer.getClass().isHidden()).isTrue();
+    }
+
+    @Test
+    public void testNoProviders() throws Exception {
+        FusedJsonProviders.Writer<ILoggingEvent> writer = FusedJsonProviders.generate(Collections.emptyList());
+        writer.writeTo(generator, event);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMaxProviders() throws Exception {
+        List<JsonProvider<ILoggingEvent>> providers = new ArrayList<>();
+        for (int i = 0; i < FusedJsonProviders.MAX_PROVIDERS; i++) {
+            providers.add(mock(JsonProvider.class));
+        }
+
+        FusedJsonProviders.generate(providers).writeTo(generator, event);
+
+        for (JsonProvider<ILoggingEvent> provider : providers) {
+            verify(provider).writeTo(generator, event);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTooManyProviders() {
+        List<JsonProvider<ILoggingEvent>> providers = new ArrayList<>();
+        for (int i = 0; i <= FusedJsonProviders.MAX_PROVIDERS; i++) {
+            providers.add(mock(JsonProvider.class));
+        }
+
+        assertThatThrownBy(() -> FusedJsonProviders.generate(providers)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+public class JsonProviderProfilerTest {
+
+    private final StringWriter writer = new StringWriter();
+
+    private final JsonGenerator generator = JsonMapper.builder().build().createGenerator(writer);
+
+    @Test
+    public void profile() {
+        JsonProviderProfiler<ILoggingEvent> profiler = new JsonProviderProfiler<>(1,
+                List.of(new FieldProvider("a", "x"), new FieldProvider("b", "yyyy")),
+                gen -> gen.streamWriteOutputBuffered() + writer.getBuffer().length());
+
+        for (int i = 0; i < 3; i++) {
+            generator.writeStartObject();
+            profiler.writeTo(generator, null);
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        assertThat(writer).hasToString("{\"a\":\"x\",\"b\":\"yyyy\"} {\"a\":\"x\",\"b\":\"yyyy\"} {\"a\":\"x\",\"b\":\"yyyy\"}");
+        assertThat(profiler.getProfiledEvents()).isEqualTo(3);
+        assertThat(profiler.getProviderProfiles()).satisfiesExactly(
+            profile -> assertThat(profile).startsWith("FieldProvider(a): ").contains(", 7 bytes/event, "),
+            profile -> assertThat(profile).startsWith("FieldProvider(b): ").contains(", 11 bytes/event, "));
+        assertThat(profiler.toString()).startsWith("Provider profiles over 3 events:");
+
+        profiler.reset();
+        assertThat(profiler.getProfiledEvents()).isZero();
+        assertThat(profiler.getProviderProfiles()).allSatisfy(profile -> assertThat(profile).contains(": 0 ns/event, 0 bytes/event, 0.0% of time"));
+    }
+
+    @Test
+    public void sample() {
+        JsonProviderProfiler<ILoggingEvent> always = new JsonProviderProfiler<>(1, List.of(), gen -> 0);
+        JsonProviderProfiler<ILoggingEvent> sometimes = new JsonProviderProfiler<>(10, List.of(), gen -> 0);
+
+        int sampled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(always.sample()).isTrue();
+            if (sometimes.sample()) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isBetween(500, 1_500);
+    }
+
+    @Test
+    public void invalidSampleInterval() {
+        assertThatThrownBy(() -> new JsonProviderProfiler<ILoggingEvent>(0, List.of(), gen -> 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class FieldProvider extends AbstractFieldJsonProvider<ILoggingEvent> {
+        private final String value;
+
+        FieldProvider(String fieldName, String value) {
+            setFieldName(fieldName);
+            this.value = value;
+        }
+
+        @Override
+        public void writeTo(JsonGenerator generator, ILoggingEvent event) {
+            generator.writeStringProperty(getFieldName(), value);
+        }
+    }
+}
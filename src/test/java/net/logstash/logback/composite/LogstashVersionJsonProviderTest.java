@@ -25,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class LogstashVersionJsonProviderTest {
@@ -43,14 +44,16 @@ public class LogstashVersionJsonProviderTest {
 
         provider.writeTo(generator, event);
         
-        verify(generator).writeNumberProperty(LogstashVersionJsonProvider.FIELD_VERSION, Long.parseLong(LogstashVersionJsonProvider.DEFAULT_VERSION));
+        verify(generator).writeName(new SerializedString(LogstashVersionJsonProvider.FIELD_VERSION));
+        verify(generator).writeNumber(Long.parseLong(LogstashVersionJsonProvider.DEFAULT_VERSION));
     }
 
     @Test
     public void testVersionAsString() {
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(LogstashVersionJsonProvider.FIELD_VERSION, LogstashVersionJsonProvider.DEFAULT_VERSION);
+        verify(generator).writeName(new SerializedString(LogstashVersionJsonProvider.FIELD_VERSION));
+        verify(generator).writeString(LogstashVersionJsonProvider.DEFAULT_VERSION);
     }
 
     @Test
@@ -60,7 +63,8 @@ public class LogstashVersionJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeNumberProperty(LogstashVersionJsonProvider.FIELD_VERSION, 800L);
+        verify(generator).writeName(new SerializedString(LogstashVersionJsonProvider.FIELD_VERSION));
+        verify(generator).writeNumber(800L);
     }
 
     @Test
@@ -69,7 +73,8 @@ public class LogstashVersionJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(LogstashVersionJsonProvider.FIELD_VERSION, "800");
+        verify(generator).writeName(new SerializedString(LogstashVersionJsonProvider.FIELD_VERSION));
+        verify(generator).writeString("800");
     }
 
     @Test
@@ -78,7 +83,8 @@ public class LogstashVersionJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", LogstashVersionJsonProvider.DEFAULT_VERSION);
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString(LogstashVersionJsonProvider.DEFAULT_VERSION);
     }
 
     @Test
@@ -90,7 +96,8 @@ public class LogstashVersionJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", LogstashVersionJsonProvider.DEFAULT_VERSION);
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString(LogstashVersionJsonProvider.DEFAULT_VERSION);
     }
 
 }
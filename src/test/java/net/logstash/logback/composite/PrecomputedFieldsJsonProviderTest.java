@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+public class PrecomputedFieldsJsonProviderTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private final ILoggingEvent event = mock(ILoggingEvent.class);
+
+    @Test
+    public void testSingleField() {
+        PrecomputedFieldsJsonProvider<ILoggingEvent> provider = create(new TestConstantProvider("a", "1"));
+
+        assertThat(write(provider, null, null)).isEqualTo("{\"a\":1}");
+        assertThat(write(provider, "before", null)).isEqualTo("{\"before\":true,\"a\":1}");
+        assertThat(write(provider, null, "after")).isEqualTo("{\"a\":1,\"after\":true}");
+        assertThat(write(provider, "before", "after")).isEqualTo("{\"before\":true,\"a\":1,\"after\":true}");
+    }
+
+    @Test
+    public void testMultipleFields() {
+        PrecomputedFieldsJsonProvider<ILoggingEvent> provider = create(
+                new TestConstantProvider("a", "\"x,y\"", "b", "{\"c\":[1,2]}"),
+                new TestConstantProvider("d", "\"e\\\"f\""));
+
+        assertThat(write(provider, null, null)).isEqualTo("{\"a\":\"x,y\",\"b\":{\"c\":[1,2]},\"d\":\"e\\\"f\"}");
+        assertThat(write(provider, "before", "after")).isEqualTo("{\"before\":true,\"a\":\"x,y\",\"b\":{\"c\":[1,2]},\"d\":\"e\\\"f\",\"after\":true}");
+    }
+
+    @Test
+    public void testNoFields() {
+        PrecomputedFieldsJsonProvider<ILoggingEvent> provider = create(new TestConstantProvider());
+
+        assertThat(write(provider, null, null)).isEqualTo("{}");
+        assertThat(write(provider, "before", "after")).isEqualTo("{\"before\":true,\"after\":true}");
+    }
+
+    @Test
+    public void testProvidersInvokedOnlyWhenOutdated() {
+        TestConstantProvider constantProvider = new TestConstantProvider("a", "1");
+        PrecomputedFieldsJsonProvider<ILoggingEvent> provider = create(constantProvider);
+
+        write(provider, null, null);
+        write(provider, null, null);
+        assertThat(constantProvider.invocations).isEqualTo(1);
+
+        constantProvider.output = new String[] {"a", "2"};
+        constantProvider.upToDate = false;
+        assertThat(write(provider, null, null)).isEqualTo("{\"a\":2}");
+        assertThat(constantProvider.invocations).isEqualTo(2);
+    }
+
+    @Test
+    public void testPrettyPrinterInvokesProviders() {
+        TestConstantProvider constantProvider = new TestConstantProvider("a", "1");
+        ObjectMapper prettyMapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+        PrecomputedFieldsJsonProvider<ILoggingEvent> provider = new PrecomputedFieldsJsonProvider<>(List.of(constantProvider), prettyMapper, prettyMapper::createGenerator);
+
+        write(provider, null, null);
+        write(provider, null, null);
+        assertThat(constantProvider.invocations).isEqualTo(2);
+    }
+
+    private PrecomputedFieldsJsonProvider<ILoggingEvent> create(TestConstantProvider... providers) {
+        return new PrecomputedFieldsJsonProvider<>(List.of(providers), objectMapper, objectMapper::createGenerator);
+    }
+
+    private String write(PrecomputedFieldsJsonProvider<ILoggingEvent> provider, String before, String after) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.createGenerator(writer)) {
+            generator.writeStartObject();
+            if (before != null) {
+                generator.writeBooleanProperty(before, true);
+            }
+            provider.writeTo(generator, event);
+            if (after != null) {
+                generator.writeBooleanProperty(after, true);
+            }
+            generator.writeEndObject();
+        }
+        return writer.toString();
+    }
+
+
+    private static class TestConstantProvider extends AbstractJsonProvider<ILoggingEvent> implements ConstantJsonProvider<ILoggingEvent> {
+        /**
+         * Alternating field names and raw values.
+         */
+        private String[] output;
+        private boolean upToDate = true;
+        private int invocations;
+
+        TestConstantProvider(String... output) {
+            this.output = output;
+        }
+
+        @Override
+        public void writeTo(JsonGenerator generator, ILoggingEvent event) {
+            invocations++;
+            upToDate = true;
+            for (int i = 0; i < output.length; i += 2) {
+                generator.writeName(output[i]);
+                generator.writeRawValue(output[i + 1]);
+            }
+        }
+
+        @Override
+        public boolean isOutputUpToDate(ILoggingEvent event) {
+            return upToDate;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 @Deprecated
@@ -42,7 +43,8 @@ public class SequenceJsonProviderTest {
     public void testDefaultName() throws IOException {
         provider.writeTo(generator, event);
 
-        verify(generator).writeNumberProperty(SequenceJsonProvider.FIELD_SEQUENCE, 1L);
+        verify(generator).writeName(new SerializedString(SequenceJsonProvider.FIELD_SEQUENCE));
+        verify(generator).writeNumber(1L);
 
     }
 
@@ -52,6 +54,7 @@ public class SequenceJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeNumberProperty("newFieldName", 1L);
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeNumber(1L);
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+
+public class SerializedStringCacheTest {
+
+    private final SerializedStringCache cache = new SerializedStringCache(4);
+
+    @Test
+    public void invalidCapacity() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new SerializedStringCache(0));
+    }
+
+    @Test
+    public void admittedOnSecondLookup() {
+        assertThat(cache.get("tenant")).isNull();
+
+        SerializableString serialized = cache.get("tenant");
+        assertThat(serialized).isNotNull();
+        assertThat(serialized.getValue()).isEqualTo("tenant");
+
+        // equal but not identical value
+        assertThat(cache.get(new String("tenant"))).isSameAs(serialized);
+    }
+
+    @Test
+    public void escaped() {
+        String value = "quote \" control \u0001";
+        cache.get(value);
+
+        assertThat(cache.get(value).asQuotedUTF8()).isEqualTo(new SerializedString(value).asQuotedUTF8());
+    }
+
+    @Test
+    public void highCardinalityValuesDoNotEvictFrequentValues() {
+        SerializedStringCache single = new SerializedStringCache(1);
+        for (int i = 0; i < 5; i++) {
+            single.get("frequent");
+        }
+        SerializableString frequent = single.get("frequent");
+        assertThat(frequent).isNotNull();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(single.get("id-" + i)).isNull();
+        }
+        assertThat(single.get("frequent")).isSameAs(frequent);
+    }
+
+    @Test
+    public void notCached() {
+        String longValue = "x".repeat(SerializedStringCache.MAX_VALUE_LENGTH + 1);
+        cache.get(longValue);
+        assertThat(cache.get(longValue)).isNull();
+
+        String unpaired = "high \ud83d only";
+        cache.get(unpaired);
+        assertThat(cache.get(unpaired)).isNull();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+public class TruncatingJsonGeneratorTest {
+
+    private static final String LONG = "0123456789".repeat(20);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    public void testUnderLimit() {
+        assertThat(write(1000, this::writeEvent))
+            .isEqualTo("{\"message\":\"" + LONG + "\",\"level\":\"INFO\",\"tags\":[\"a\",\"b\"],\"mdc\":{\"key\":\"value\"},\"count\":42}");
+    }
+
+    @Test
+    public void testLongStringTruncated() {
+        String json = write(100, this::writeEvent);
+
+        assertThat(json).hasSizeLessThanOrEqualTo(100);
+        JsonNode node = objectMapper.readTree(json);
+        assertThat(node.get("message").asString())
+            .startsWith("0123456789")
+            .endsWith(TruncatingJsonGenerator.TRUNCATION_MARKER);
+    }
+
+    @Test
+    public void testPropertiesOmittedWhenExhausted() {
+        String json = write(60, generator -> {
+            generator.writeStartObject();
+            generator.writeStringProperty("message", LONG);
+            generator.writeName("mdc");
+            generator.writeStartObject();
+            generator.writeStringProperty("key", "value");
+            generator.writeEndObject();
+            generator.writeNumberProperty("count", 42);
+            generator.writeEndObject();
+        });
+
+        assertThat(json).hasSizeLessThanOrEqualTo(60);
+        JsonNode node = objectMapper.readTree(json);
+        assertThat(node.propertyNames()).containsExactly("message");
+    }
+
+    @Test
+    public void testArrayElementsOmittedWhenExhausted() {
+        String json = write(50, generator -> {
+            generator.writeStartObject();
+            generator.writeName("values");
+            generator.writeStartArray();
+            for (int i = 0; i < 100; i++) {
+                generator.writeNumber(i);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+
+        assertThat(json).hasSizeLessThanOrEqualTo(50);
+        assertThat(objectMapper.readTree(json).get("values").size()).isPositive();
+    }
+
+    @Test
+    public void testPOJOsTruncated() {
+        String json = write(80, generator -> {
+            generator.writeStartObject();
+            generator.writeName("mdc");
+            generator.writePOJO(Map.of("key", LONG));
+            generator.writeName("args");
+            generator.writePOJO(List.of(LONG, LONG));
+            generator.writeEndObject();
+        });
+
+        assertThat(json).hasSizeLessThanOrEqualTo(80);
+        assertThat(objectMapper.readTree(json).get("mdc").get("key").asString()).endsWith(TruncatingJsonGenerator.TRUNCATION_MARKER);
+    }
+
+    @Test
+    public void testEscapedAndMultiByteCharacters() {
+        String text = "é中\"\\\n😀".repeat(20);
+        for (int max = 30; max < 300; max++) {
+            String json = write(max, generator -> {
+                generator.writeStartObject();
+                generator.writeStringProperty("message", text);
+                generator.writeEndObject();
+            });
+            assertThat(json.getBytes(StandardCharsets.UTF_8)).hasSizeLessThanOrEqualTo(max);
+            JsonNode message = objectMapper.readTree(json).get("message");
+            if (message != null) {
+                assertThat(message.asString()).doesNotContain("\uFFFD");
+            }
+        }
+    }
+
+    /*
+     * Whatever the limit, the output never exceeds it and remains valid JSON
+     */
+    @Test
+    public void testValidJsonWithinLimit() {
+        for (int max = 40; max < 250; max++) {
+            String json = write(max, this::writeEvent);
+            assertThat(json).hasSizeLessThanOrEqualTo(max);
+            assertThat(objectMapper.readTree(json).isObject()).isTrue();
+        }
+    }
+
+    /*
+     * The budget is reset for every event written with the same generator
+     */
+    @Test
+    public void testBudgetResetForEveryEvent() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new TruncatingJsonGenerator(objectMapper.createGenerator(out), 100, JsonEncoding.UTF8, out::size)) {
+            writeEvent(generator);
+            generator.flush();
+            int first = out.size();
+
+            writeEvent(generator);
+            generator.flush();
+            assertThat(out.size() - first).isLessThanOrEqualTo(100).isGreaterThan(50);
+        }
+    }
+
+    private void writeEvent(JsonGenerator generator) {
+        generator.writeStartObject();
+        generator.writeStringProperty("message", LONG);
+        generator.writeStringProperty("level", "INFO");
+        generator.writeName("tags");
+        generator.writeArray(new String[] {"a", "b"}, 0, 2);
+        generator.writeName("mdc");
+        generator.writeStartObject();
+        generator.writeStringProperty("key", "value");
+        generator.writeEndObject();
+        generator.writeNumberProperty("count", 42);
+        generator.writeEndObject();
+    }
+
+    private String write(int maxEventBytes, Consumer<JsonGenerator> writer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new TruncatingJsonGenerator(objectMapper.createGenerator(out), maxEventBytes, JsonEncoding.UTF8, out::size)) {
+            writer.accept(generator);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
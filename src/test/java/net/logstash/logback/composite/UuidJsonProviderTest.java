@@ -24,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class UuidJsonProviderTest {
@@ -41,7 +42,7 @@ public class UuidJsonProviderTest {
     public void testDefaultName() {
         provider.writeTo(generator, event);
 
-        verify(generator).writeName(UuidJsonProvider.FIELD_UUID);
+        verify(generator).writeName(new SerializedString(UuidJsonProvider.FIELD_UUID));
         verify(generator).writeString(matches(UUID));
     }
 
@@ -51,7 +52,7 @@ public class UuidJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeName("newFieldName");
+        verify(generator).writeName(new SerializedString("newFieldName"));
         verify(generator).writeString(matches(UUID));
     }
 
@@ -61,7 +62,7 @@ public class UuidJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeName("uuid");
+        verify(generator).writeName(new SerializedString("uuid"));
         verify(generator).writeString(matches(UUID));
     }
 
@@ -72,7 +73,7 @@ public class UuidJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeName("uuid");
+        verify(generator).writeName(new SerializedString("uuid"));
         verify(generator).writeString(matches(UUID));
     }
 }
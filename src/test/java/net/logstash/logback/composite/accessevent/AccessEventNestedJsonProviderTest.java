@@ -26,6 +26,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class AccessEventNestedJsonProviderTest {
@@ -56,7 +57,8 @@ public class AccessEventNestedJsonProviderTest {
         
         InOrder inOrder = inOrder(generator, providers);
         
-        inOrder.verify(generator).writeObjectPropertyStart("newFieldName");
+        inOrder.verify(generator).writeName(new SerializedString("newFieldName"));
+        inOrder.verify(generator).writeStartObject();
         inOrder.verify(providers).writeTo(generator, event);
         inOrder.verify(generator).writeEndObject();
     }
@@ -31,6 +31,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class RequestHeadersJsonProviderTest {
@@ -65,7 +66,7 @@ public class RequestHeadersJsonProviderTest {
         provider.writeTo(generator, event);
         
         InOrder inOrder = inOrder(generator);
-        inOrder.verify(generator).writeName("fieldName");
+        inOrder.verify(generator).writeName(new SerializedString("fieldName"));
         inOrder.verify(generator).writeStartObject();
         inOrder.verify(generator).writeName("headerA");
         inOrder.verify(generator).writeString("valueA");
@@ -81,7 +82,7 @@ public class RequestHeadersJsonProviderTest {
         provider.writeTo(generator, event);
         
         InOrder inOrder = inOrder(generator);
-        inOrder.verify(generator).writeName("fieldName");
+        inOrder.verify(generator).writeName(new SerializedString("fieldName"));
         inOrder.verify(generator).writeStartObject();
         inOrder.verify(generator).writeName("headera");
         inOrder.verify(generator).writeString("valueA");
@@ -102,7 +103,7 @@ public class RequestHeadersJsonProviderTest {
         provider.writeTo(generator, event);
         
         InOrder inOrder = inOrder(generator);
-        inOrder.verify(generator).writeName("fieldName");
+        inOrder.verify(generator).writeName(new SerializedString("fieldName"));
         inOrder.verify(generator).writeStartObject();
         inOrder.verify(generator).writeName("headerb");
         inOrder.verify(generator).writeString("valueB");
@@ -32,6 +32,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class CallerDataJsonProviderTest {
@@ -61,10 +62,14 @@ public class CallerDataJsonProviderTest {
         
         InOrder inOrder = inOrder(generator);
         
-        inOrder.verify(generator).writeStringProperty(CallerDataJsonProvider.FIELD_CALLER_CLASS_NAME, CALLER_DATA.getClassName());
-        inOrder.verify(generator).writeStringProperty(CallerDataJsonProvider.FIELD_CALLER_METHOD_NAME, CALLER_DATA.getMethodName());
-        inOrder.verify(generator).writeStringProperty(CallerDataJsonProvider.FIELD_CALLER_FILE_NAME, CALLER_DATA.getFileName());
-        inOrder.verify(generator).writeNumberProperty(CallerDataJsonProvider.FIELD_CALLER_LINE_NUMBER, CALLER_DATA.getLineNumber());
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_CLASS_NAME));
+        inOrder.verify(generator).writeString(CALLER_DATA.getClassName());
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_METHOD_NAME));
+        inOrder.verify(generator).writeString(CALLER_DATA.getMethodName());
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_FILE_NAME));
+        inOrder.verify(generator).writeString(CALLER_DATA.getFileName());
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_LINE_NUMBER));
+        inOrder.verify(generator).writeNumber(CALLER_DATA.getLineNumber());
     }
 
     @Test
@@ -77,11 +82,16 @@ public class CallerDataJsonProviderTest {
         
         InOrder inOrder = inOrder(generator);
         
-        inOrder.verify(generator).writeObjectPropertyStart("caller");
-        inOrder.verify(generator).writeStringProperty(CallerDataJsonProvider.FIELD_CALLER_CLASS_NAME, CALLER_DATA.getClassName());
-        inOrder.verify(generator).writeStringProperty(CallerDataJsonProvider.FIELD_CALLER_METHOD_NAME, CALLER_DATA.getMethodName());
-        inOrder.verify(generator).writeStringProperty(CallerDataJsonProvider.FIELD_CALLER_FILE_NAME, CALLER_DATA.getFileName());
-        inOrder.verify(generator).writeNumberProperty(CallerDataJsonProvider.FIELD_CALLER_LINE_NUMBER, CALLER_DATA.getLineNumber());
+        inOrder.verify(generator).writeName(new SerializedString("caller"));
+        inOrder.verify(generator).writeStartObject();
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_CLASS_NAME));
+        inOrder.verify(generator).writeString(CALLER_DATA.getClassName());
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_METHOD_NAME));
+        inOrder.verify(generator).writeString(CALLER_DATA.getMethodName());
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_FILE_NAME));
+        inOrder.verify(generator).writeString(CALLER_DATA.getFileName());
+        inOrder.verify(generator).writeName(new SerializedString(CallerDataJsonProvider.FIELD_CALLER_LINE_NUMBER));
+        inOrder.verify(generator).writeNumber(CALLER_DATA.getLineNumber());
         inOrder.verify(generator).writeEndObject();
     }
 
@@ -106,11 +116,16 @@ public class CallerDataJsonProviderTest {
         
         InOrder inOrder = inOrder(generator);
         
-        inOrder.verify(generator).writeObjectPropertyStart("caller");
-        inOrder.verify(generator).writeStringProperty("class", CALLER_DATA.getClassName());
-        inOrder.verify(generator).writeStringProperty("method", CALLER_DATA.getMethodName());
-        inOrder.verify(generator).writeStringProperty("file", CALLER_DATA.getFileName());
-        inOrder.verify(generator).writeNumberProperty("line", CALLER_DATA.getLineNumber());
+        inOrder.verify(generator).writeName(new SerializedString("caller"));
+        inOrder.verify(generator).writeStartObject();
+        inOrder.verify(generator).writeName(new SerializedString("class"));
+        inOrder.verify(generator).writeString(CALLER_DATA.getClassName());
+        inOrder.verify(generator).writeName(new SerializedString("method"));
+        inOrder.verify(generator).writeString(CALLER_DATA.getMethodName());
+        inOrder.verify(generator).writeName(new SerializedString("file"));
+        inOrder.verify(generator).writeString(CALLER_DATA.getFileName());
+        inOrder.verify(generator).writeName(new SerializedString("line"));
+        inOrder.verify(generator).writeNumber(CALLER_DATA.getLineNumber());
         inOrder.verify(generator).writeEndObject();
     }
 
@@ -131,11 +146,16 @@ public class CallerDataJsonProviderTest {
         
         InOrder inOrder = inOrder(generator);
         
-        inOrder.verify(generator).writeObjectPropertyStart("caller");
-        inOrder.verify(generator).writeStringProperty("class", CALLER_DATA.getClassName());
-        inOrder.verify(generator).writeStringProperty("method", CALLER_DATA.getMethodName());
-        inOrder.verify(generator).writeStringProperty("file", CALLER_DATA.getFileName());
-        inOrder.verify(generator).writeNumberProperty("line", CALLER_DATA.getLineNumber());
+        inOrder.verify(generator).writeName(new SerializedString("caller"));
+        inOrder.verify(generator).writeStartObject();
+        inOrder.verify(generator).writeName(new SerializedString("class"));
+        inOrder.verify(generator).writeString(CALLER_DATA.getClassName());
+        inOrder.verify(generator).writeName(new SerializedString("method"));
+        inOrder.verify(generator).writeString(CALLER_DATA.getMethodName());
+        inOrder.verify(generator).writeName(new SerializedString("file"));
+        inOrder.verify(generator).writeString(CALLER_DATA.getFileName());
+        inOrder.verify(generator).writeName(new SerializedString("line"));
+        inOrder.verify(generator).writeNumber(CALLER_DATA.getLineNumber());
         inOrder.verify(generator).writeEndObject();
     }
 
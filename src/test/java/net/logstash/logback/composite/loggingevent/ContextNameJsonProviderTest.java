@@ -27,6 +27,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class ContextNameJsonProviderTest {
@@ -50,7 +51,8 @@ public class ContextNameJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(ContextNameJsonProvider.FIELD_CONTEXT_NAME, "testcontext");
+        verify(generator).writeName(new SerializedString(ContextNameJsonProvider.FIELD_CONTEXT_NAME));
+        verify(generator).writeString("testcontext");
     }
 
     @Test
@@ -62,7 +64,8 @@ public class ContextNameJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "testcontext");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("testcontext");
     }
 
 }
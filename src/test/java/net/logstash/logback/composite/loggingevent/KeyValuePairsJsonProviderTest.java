@@ -20,6 +20,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -33,6 +34,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.event.KeyValuePair;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.json.JsonWriteFeature;
 import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -103,6 +105,45 @@ public class KeyValuePairsJsonProviderTest {
                 .isEqualTo("{\"alternativeName1\":\"value1\",\"name2\":2023,\"name3\":{\"a\":1}}");
     }
 
+    @Test
+    public void testAlternativeFieldNameWhenStarted() {
+        provider.setFieldName("kvp");
+        provider.addKeyFieldName("name1=alternativeName1");
+        provider.setIncludeKeyNames(Arrays.asList("name1", "name3"));
+        provider.start();
+
+        assertThat(generateJson())
+                .isEqualTo("{\"kvp\":{\"alternativeName1\":\"value1\",\"name3\":{\"a\":1}}}");
+    }
+
+    @Test
+    public void testValueCache() {
+        provider.setValueCacheSize(16);
+        provider.addKeyFieldName("name1=renamed1");
+        provider.start();
+
+        String expected = "{\"renamed1\":\"value1\",\"name2\":2023,\"name3\":{\"a\":1}}";
+        for (int i = 0; i < 3; i++) {
+            assertThat(generateJson()).isEqualTo(expected);
+            resultStream.reset();
+            generator = JsonMapper.builder().build().createGenerator(resultStream);
+        }
+    }
+
+    @Test
+    public void testValueCacheBypassedWhenNonAsciiEscaped() {
+        when(event.getKeyValuePairs()).thenReturn(List.of(new KeyValuePair("name1", "caf\u00e9")));
+        provider.setValueCacheSize(16);
+        provider.start();
+
+        JsonMapper mapper = JsonMapper.builder().enable(JsonWriteFeature.ESCAPE_NON_ASCII).build();
+        for (int i = 0; i < 3; i++) {
+            resultStream.reset();
+            generator = mapper.createGenerator(resultStream);
+            assertThat(generateJson()).isEqualTo("{\"name1\":\"caf\\u00E9\"}");
+        }
+    }
+
     private String generateJson() {
         generator.writeStartObject();
         provider.writeTo(generator, event);
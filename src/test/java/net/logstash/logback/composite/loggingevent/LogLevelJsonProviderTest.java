@@ -29,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class LogLevelJsonProviderTest {
@@ -48,7 +49,8 @@ public class LogLevelJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(LogLevelJsonProvider.FIELD_LEVEL, Level.WARN.toString());
+        verify(generator).writeName(new SerializedString(LogLevelJsonProvider.FIELD_LEVEL));
+        verify(generator).writeString(Level.WARN.toString());
     }
 
     @Test
@@ -59,7 +61,8 @@ public class LogLevelJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", Level.WARN.toString());
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString(Level.WARN.toString());
     }
 
     @Test
@@ -73,7 +76,8 @@ public class LogLevelJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", Level.WARN.toString());
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString(Level.WARN.toString());
     }
 
 }
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class LogLevelValueJsonProviderTest {
@@ -48,7 +49,8 @@ public class LogLevelValueJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeNumberProperty(LogLevelValueJsonProvider.FIELD_LEVEL_VALUE, Level.WARN.toInt());
+        verify(generator).writeName(new SerializedString(LogLevelValueJsonProvider.FIELD_LEVEL_VALUE));
+        verify(generator).writeNumber(Level.WARN.toInt());
     }
 
     @Test
@@ -59,7 +61,8 @@ public class LogLevelValueJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeNumberProperty("newFieldName", Level.WARN.toInt());
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeNumber(Level.WARN.toInt());
     }
 
     @Test
@@ -73,7 +76,8 @@ public class LogLevelValueJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeNumberProperty("newFieldName", Level.WARN.toInt());
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeNumber(Level.WARN.toInt());
     }
 
 }
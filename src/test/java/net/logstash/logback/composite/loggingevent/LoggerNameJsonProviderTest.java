@@ -28,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class LoggerNameJsonProviderTest {
@@ -46,7 +47,8 @@ public class LoggerNameJsonProviderTest {
         
         writeEvent();
         
-        verify(generator).writeStringProperty(LoggerNameJsonProvider.FIELD_LOGGER_NAME, getClass().getName());
+        verify(generator).writeName(new SerializedString(LoggerNameJsonProvider.FIELD_LOGGER_NAME));
+        verify(generator).writeString(getClass().getName());
     }
 
     @Test
@@ -57,7 +59,8 @@ public class LoggerNameJsonProviderTest {
         
         writeEvent();
         
-        verify(generator).writeStringProperty("newFieldName", getClass().getName());
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString(getClass().getName());
     }
 
     @Test
@@ -71,7 +74,8 @@ public class LoggerNameJsonProviderTest {
         
         writeEvent();
         
-        verify(generator).writeStringProperty("newFieldName", getClass().getName());
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString(getClass().getName());
     }
 
     @Test
@@ -82,7 +86,8 @@ public class LoggerNameJsonProviderTest {
         
         writeEvent();
         
-        verify(generator).writeStringProperty(LoggerNameJsonProvider.FIELD_LOGGER_NAME, "n.l.l.c.l.LoggerNameJsonProviderTest");
+        verify(generator).writeName(new SerializedString(LoggerNameJsonProvider.FIELD_LOGGER_NAME));
+        verify(generator).writeString("n.l.l.c.l.LoggerNameJsonProviderTest");
     }
 
     @Test
@@ -93,7 +98,8 @@ public class LoggerNameJsonProviderTest {
         
         writeEvent();
         
-        verify(generator).writeStringProperty(LoggerNameJsonProvider.FIELD_LOGGER_NAME, "LoggerNameJsonProviderTest");
+        verify(generator).writeName(new SerializedString(LoggerNameJsonProvider.FIELD_LOGGER_NAME));
+        verify(generator).writeString("LoggerNameJsonProviderTest");
     }
     
     protected void writeEvent() {
@@ -28,12 +28,23 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import net.logstash.logback.argument.StructuredArguments;
 import net.logstash.logback.composite.AbstractJsonProvider;
+import net.logstash.logback.composite.ContextJsonProvider;
+import net.logstash.logback.composite.GlobalCustomFieldsJsonProvider;
+import net.logstash.logback.composite.JsonProviderProfiler;
+import net.logstash.logback.composite.LogstashVersionJsonProvider;
 import net.logstash.logback.decorate.JsonGeneratorDecorator;
 
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.spi.ConfigurationEvent;
 import ch.qos.logback.core.spi.ContextAware;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -159,4 +170,183 @@ public class LoggingEventCompositeJsonFormatterTest {
             assertThat(bos).hasToString("{\"answer\":\"is <42>\"}");
         }
     }
+
+    @Test
+    public void testFusedProvidersSameOutputAsLoop() throws IOException {
+        when(event.getArgumentArray()).thenReturn(new Object[] {StructuredArguments.keyValue("answer", 42)});
+        when(event.getMessage()).thenReturn("message");
+        LoggingEventJsonProviders providers = (LoggingEventJsonProviders) formatter.getProviders();
+        providers.addRawMessage(new RawMessageJsonProvider());
+        providers.addArguments(new ArgumentsJsonProvider());
+
+        LoggerContext context = new LoggerContext();
+        formatter.setContext(context);
+        formatter.start();
+        String fused = write(formatter);
+        formatter.stop();
+        assertThat(context.getStatusManager().getCopyOfStatusList()).isEmpty();
+
+        formatter.setFuseProviders(false);
+        formatter.start();
+        String loop = write(formatter);
+
+        assertThat(fused)
+            .isEqualTo(loop)
+            .isEqualTo("{\"raw_message\":\"message\",\"answer\":42}");
+    }
+
+    /*
+     * Providers are not fused when JsonProviders#writeTo is overridden
+     */
+    @Test
+    public void testOverriddenJsonProvidersWriteToIsHonored() throws IOException {
+        formatter.setProviders(new LoggingEventJsonProviders() {
+            @Override
+            public void writeTo(JsonGenerator generator, ILoggingEvent event) {
+                generator.writeStringProperty("overridden", "true");
+            }
+        });
+        formatter.start();
+
+        assertThat(write(formatter)).isEqualTo("{\"overridden\":\"true\"}");
+    }
+
+    @Test
+    public void testPrecomputedConstantFieldsSameOutputAsProviders() throws IOException {
+        when(event.getMessage()).thenReturn("message");
+        LoggingEventJsonProviders providers = (LoggingEventJsonProviders) formatter.getProviders();
+        providers.addVersion(new LogstashVersionJsonProvider<>());
+        providers.addRawMessage(new RawMessageJsonProvider());
+        providers.addContext(new ContextJsonProvider<>());
+        GlobalCustomFieldsJsonProvider<ILoggingEvent> customFields = new GlobalCustomFieldsJsonProvider<>();
+        customFields.setCustomFields("{\"app\":\"test\",\"tags\":[\"a\",\"b\"]}");
+        providers.addGlobalCustomFields(customFields);
+
+        LoggerContext context = new LoggerContext();
+        context.putProperty("host", "localhost");
+        formatter.setContext(context);
+        formatter.start();
+        String precomputed = write(formatter);
+        formatter.stop();
+        assertThat(context.getStatusManager().getCopyOfStatusList()).isEmpty();
+
+        formatter.setPrecomputeConstantFields(false);
+        formatter.start();
+        String invoked = write(formatter);
+
+        assertThat(precomputed)
+            .isEqualTo(invoked)
+            .isEqualTo("{\"@version\":\"1\",\"raw_message\":\"message\",\"host\":\"localhost\",\"app\":\"test\",\"tags\":[\"a\",\"b\"]}");
+    }
+
+    /*
+     * Precomputed context properties are refreshed when a property changes or the context is reconfigured
+     */
+    @Test
+    public void testPrecomputedContextPropertiesRefreshed() throws IOException {
+        LoggingEventJsonProviders providers = (LoggingEventJsonProviders) formatter.getProviders();
+        ContextJsonProvider<ILoggingEvent> contextProvider = new ContextJsonProvider<>();
+        providers.addContext(contextProvider);
+
+        LoggerContext context = new LoggerContext();
+        context.putProperty("a", "1");
+        formatter.setContext(context);
+        formatter.start();
+        assertThat(contextProvider.isPrecomputable()).isTrue();
+        assertThat(write(formatter)).isEqualTo("{\"a\":\"1\"}");
+
+        context.putProperty("a", "2");
+        assertThat(write(formatter)).isEqualTo("{\"a\":\"2\"}");
+
+        // a property added after start is written as well
+        context.putProperty("b", "3");
+        assertThat(write(formatter)).isEqualTo("{\"a\":\"2\",\"b\":\"3\"}");
+
+        context.fireConfigurationEvent(ConfigurationEvent.newConfigurationEndedSuccessfullyEvent(this));
+        assertThat(write(formatter)).isEqualTo("{\"a\":\"2\",\"b\":\"3\"}");
+    }
+
+    /*
+     * The properties of contexts other than LoggerContext are written for every event
+     */
+    @Test
+    public void testContextPropertiesNotPrecomputedWithOtherContext() throws IOException {
+        LoggingEventJsonProviders providers = (LoggingEventJsonProviders) formatter.getProviders();
+        ContextJsonProvider<ILoggingEvent> contextProvider = new ContextJsonProvider<>();
+        providers.addContext(contextProvider);
+
+        ContextBase context = new ContextBase();
+        context.putProperty("a", "1");
+        formatter.setContext(context);
+        formatter.start();
+        assertThat(contextProvider.isPrecomputable()).isFalse();
+        assertThat(write(formatter)).isEqualTo("{\"a\":\"1\"}");
+
+        context.putProperty("b", "2");
+        assertThat(write(formatter)).isEqualTo("{\"a\":\"1\",\"b\":\"2\"}");
+    }
+
+    @Test
+    public void testMaxEventBytes() throws IOException {
+        when(event.getFormattedMessage()).thenReturn("x".repeat(1000));
+        when(event.getLoggerName()).thenReturn("logger");
+        LoggingEventJsonProviders providers = (LoggingEventJsonProviders) formatter.getProviders();
+        providers.addMessage(new MessageJsonProvider());
+        providers.addLoggerName(new LoggerNameJsonProvider());
+        formatter.setMaxEventBytes(400);
+        formatter.start();
+
+        String json = write(formatter);
+        assertThat(json)
+            .hasSizeLessThanOrEqualTo(400)
+            .startsWith("{\"message\":\"xxx")
+            .endsWith("...[truncated]\",\"logger_name\":\"logger\"}");
+    }
+
+    /*
+     * Profiled events are written the same way, measured, exposed as an MBean and reported when stopped
+     */
+    @Test
+    public void testProviderProfiling() throws Exception {
+        when(event.getFormattedMessage()).thenReturn("message");
+        when(event.getLoggerName()).thenReturn("logger");
+        LoggingEventJsonProviders providers = (LoggingEventJsonProviders) formatter.getProviders();
+        providers.addMessage(new MessageJsonProvider());
+        providers.addLoggerName(new LoggerNameJsonProvider());
+        providers.addVersion(new LogstashVersionJsonProvider<>());
+
+        LoggerContext context = new LoggerContext();
+        formatter.setContext(context);
+        formatter.setProviderProfilingInterval(1);
+        formatter.start();
+
+        assertThat(write(formatter)).isEqualTo("{\"message\":\"message\",\"logger_name\":\"logger\",\"@version\":\"1\"}");
+        assertThat(write(formatter)).isEqualTo("{\"message\":\"message\",\"logger_name\":\"logger\",\"@version\":\"1\"}");
+
+        JsonProviderProfiler<ILoggingEvent> profiler = formatter.getProviderProfiler();
+        assertThat(profiler.getProfiledEvents()).isEqualTo(2);
+        assertThat(profiler.getProviderProfiles()).satisfiesExactly(
+            profile -> assertThat(profile).startsWith("MessageJsonProvider(message): ").contains(", 19 bytes/event, "),
+            profile -> assertThat(profile).startsWith("LoggerNameJsonProvider(logger_name): ").contains(", 23 bytes/event, "),
+            profile -> assertThat(profile).startsWith("precomputed[LogstashVersionJsonProvider(@version)]: ").contains(", 15 bytes/event, "));
+
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName query = new ObjectName("net.logstash.logback:type=JsonProviderProfiler,*");
+        assertThat(mbeanServer.queryNames(query, null))
+            .anySatisfy(name -> assertThat(mbeanServer.getAttribute(name, "ProfiledEvents")).isEqualTo(2L));
+
+        formatter.stop();
+        assertThat(formatter.getProviderProfiler()).isNull();
+        assertThat(mbeanServer.queryNames(query, null))
+            .noneSatisfy(name -> assertThat(mbeanServer.getAttribute(name, "ProfiledEvents")).isEqualTo(2L));
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+            .anySatisfy(status -> assertThat(status.getMessage()).startsWith("Provider profiles over 2 events:"));
+    }
+
+    private String write(LoggingEventCompositeJsonFormatter formatter) throws IOException {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+            formatter.writeEvent(event, bos);
+            return bos.toString();
+        }
+    }
 }
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class LoggingEventFormattedTimestampJsonProviderTest {
@@ -60,7 +61,8 @@ public class LoggingEventFormattedTimestampJsonProviderTest {
         provider.writeTo(generator, event);
 
         String expectedValue = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(TimeZone.getDefault().toZoneId()).format(now);
-        verify(generator).writeStringProperty(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP, expectedValue);
+        verify(generator).writeName(new SerializedString(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP));
+        verify(generator).writeString(expectedValue);
     }
 
     @Test
@@ -71,7 +73,8 @@ public class LoggingEventFormattedTimestampJsonProviderTest {
         provider.writeTo(generator, event);
 
         String expectedValue = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.of("UTC")).format(now);
-        verify(generator).writeStringProperty(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP, expectedValue);
+        verify(generator).writeName(new SerializedString(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP));
+        verify(generator).writeString(expectedValue);
     }
 
     @Test
@@ -82,7 +85,8 @@ public class LoggingEventFormattedTimestampJsonProviderTest {
         provider.writeTo(generator, event);
 
         String expectedValue = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(TimeZone.getDefault().toZoneId()).format(now);
-        verify(generator).writeStringProperty(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP, expectedValue);
+        verify(generator).writeName(new SerializedString(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP));
+        verify(generator).writeString(expectedValue);
     }
 
     @Test
@@ -102,7 +106,8 @@ public class LoggingEventFormattedTimestampJsonProviderTest {
         provider.writeTo(generator, event);
 
         String expectedValue = DateTimeFormatter.ofPattern(pattern).withZone(TimeZone.getDefault().toZoneId()).format(now);
-        verify(generator).writeStringProperty(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP, expectedValue);
+        verify(generator).writeName(new SerializedString(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP));
+        verify(generator).writeString(expectedValue);
     }
 
     @Test
@@ -112,7 +117,8 @@ public class LoggingEventFormattedTimestampJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeNumberProperty(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP, event.getTimeStamp());
+        verify(generator).writeName(new SerializedString(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP));
+        verify(generator).writeNumber(event.getTimeStamp());
     }
 
     @Test
@@ -122,6 +128,7 @@ public class LoggingEventFormattedTimestampJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeStringProperty(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP, Long.toString(event.getTimeStamp()));
+        verify(generator).writeName(new SerializedString(AbstractFormattedTimestampJsonProvider.FIELD_TIMESTAMP));
+        verify(generator).writeString(Long.toString(event.getTimeStamp()));
     }
 }
@@ -27,6 +27,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,7 +59,8 @@ public class LoggingEventNestedJsonProviderTest {
         
         InOrder inOrder = inOrder(generator, providers);
         
-        inOrder.verify(generator).writeObjectPropertyStart("newFieldName");
+        inOrder.verify(generator).writeName(new SerializedString("newFieldName"));
+        inOrder.verify(generator).writeStartObject();
         inOrder.verify(providers).writeTo(generator, event);
         inOrder.verify(generator).writeEndObject();
     }
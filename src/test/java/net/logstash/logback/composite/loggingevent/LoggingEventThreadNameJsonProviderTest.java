@@ -28,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class LoggingEventThreadNameJsonProviderTest {
@@ -47,7 +48,8 @@ public class LoggingEventThreadNameJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(LoggingEventThreadNameJsonProvider.FIELD_THREAD_NAME, "threadName");
+        verify(generator).writeName(new SerializedString(LoggingEventThreadNameJsonProvider.FIELD_THREAD_NAME));
+        verify(generator).writeString("threadName");
     }
 
     @Test
@@ -58,7 +60,8 @@ public class LoggingEventThreadNameJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "threadName");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("threadName");
     }
 
     @Test
@@ -72,7 +75,8 @@ public class LoggingEventThreadNameJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "threadName");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("threadName");
     }
 
 }
@@ -15,12 +15,16 @@
  */
 package net.logstash.logback.composite.loggingevent;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -28,6 +32,8 @@ import java.util.Map;
 import net.logstash.logback.composite.loggingevent.mdc.BooleanMdcEntryWriter;
 import net.logstash.logback.composite.loggingevent.mdc.DoubleMdcEntryWriter;
 import net.logstash.logback.composite.loggingevent.mdc.LongMdcEntryWriter;
+import net.logstash.logback.composite.loggingevent.mdc.RegexFilteringMdcEntryWriter;
+import net.logstash.logback.decorate.json.CharacterEscapesDecorator;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
@@ -38,6 +44,10 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.core.json.JsonFactory;
+import tools.jackson.core.json.JsonWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class MdcJsonProviderTest {
@@ -78,7 +88,8 @@ public class MdcJsonProviderTest {
         provider.writeTo(generator, event);
         
         InOrder inOrder = inOrder(generator);
-        inOrder.verify(generator).writeObjectPropertyStart("mdc");
+        inOrder.verify(generator).writeName(new SerializedString("mdc"));
+        inOrder.verify(generator).writeStartObject();
         inOrder.verify(generator).writePOJOProperty("name1", "value1");
         inOrder.verify(generator).writePOJOProperty("name2", "value2");
         inOrder.verify(generator).writePOJOProperty("name3", "value3");
@@ -95,7 +106,8 @@ public class MdcJsonProviderTest {
         provider.writeTo(generator, event);
         
         InOrder inOrder = inOrder(generator);
-        inOrder.verify(generator).writeObjectPropertyStart("mdc");
+        inOrder.verify(generator).writeName(new SerializedString("mdc"));
+        inOrder.verify(generator).writeStartObject();
         inOrder.verify(generator).writePOJOProperty("name1", "value1");
         inOrder.verify(generator).writePOJOProperty("name2", "value2");
         inOrder.verify(generator).writePOJOProperty("name3", "value3");
@@ -135,6 +147,130 @@ public class MdcJsonProviderTest {
         verify(generator).writePOJOProperty("name3", "value3");
     }
 
+    @Test
+    public void testConfiguredKeysUseSerializedFieldNames() {
+        provider.setIncludeMdcKeyNames(Arrays.asList("name1", "name2"));
+        provider.addMdcKeyFieldName("name1=alternateName1");
+        provider.start();
+
+        provider.writeTo(generator, event);
+
+        InOrder inOrder = inOrder(generator);
+        inOrder.verify(generator).writeName(new SerializedString("alternateName1"));
+        inOrder.verify(generator).writePOJO("value1");
+        inOrder.verify(generator).writeName(new SerializedString("name2"));
+        inOrder.verify(generator).writePOJO("value2");
+        verify(generator, times(2)).getCharacterEscapes();
+        verify(generator, times(2)).getHighestNonEscapedChar();
+        verifyNoMoreInteractions(generator);
+    }
+
+    @Test
+    public void testIncludedKeysWrittenInIncludeOrder() {
+        provider.setIncludeMdcKeyNames(Arrays.asList("name3", "missing", "name1"));
+        provider.start();
+
+        provider.writeTo(generator, event);
+
+        InOrder inOrder = inOrder(generator);
+        inOrder.verify(generator).writeName(new SerializedString("name3"));
+        inOrder.verify(generator).writePOJO("value3");
+        inOrder.verify(generator).writeName(new SerializedString("name1"));
+        inOrder.verify(generator).writePOJO("value1");
+        verify(generator, times(2)).getCharacterEscapes();
+        verify(generator, times(2)).getHighestNonEscapedChar();
+        verifyNoMoreInteractions(generator);
+    }
+
+    @Test
+    public void testExcludeStarted() {
+        provider.setExcludeMdcKeyNames(Collections.singletonList("name1"));
+        provider.addMdcKeyFieldName("name2=alternateName2");
+        provider.start();
+
+        provider.writeTo(generator, event);
+
+        verify(generator).writeName(new SerializedString("alternateName2"));
+        verify(generator).writePOJO("value2");
+        verify(generator).writePOJOProperty("name3", "value3");
+        verify(generator, never()).writePOJO("value1");
+    }
+
+    @Test
+    public void testMdcEntryWritersResolvedPerKey() {
+        RegexFilteringMdcEntryWriter filtering = new RegexFilteringMdcEntryWriter();
+        filtering.setIncludeMdcKeyPattern("name1");
+        filtering.addMdcEntryWriter((gen, fieldName, mdcKey, mdcValue) -> {
+            gen.writeStringProperty(fieldName, mdcValue.toUpperCase());
+            return true;
+        });
+        provider.addMdcEntryWriter(filtering);
+        provider.setIncludeMdcKeyNames(Arrays.asList("name1", "name2"));
+        provider.start();
+
+        provider.writeTo(generator, event);
+
+        verify(generator).writeStringProperty("name1", "VALUE1");
+        verify(generator).writeName(new SerializedString("name2"));
+        verify(generator).writePOJO("value2");
+        verify(generator, never()).writePOJO("value1");
+        verify(generator, never()).writeStringProperty("name2", "VALUE2");
+    }
+
+    @Test
+    public void testValueCache() {
+        provider.setValueCacheSize(16);
+        provider.start();
+
+        provider.writeTo(generator, event);
+        verify(generator).writePOJOProperty("name1", "value1");
+
+        // admitted in the cache when seen for the second time
+        provider.writeTo(generator, event);
+        verify(generator, times(2)).writeName("name1");
+        verify(generator).writeString(new SerializedString("value1"));
+        verify(generator).writeString(new SerializedString("value3"));
+    }
+
+    @Test
+    public void testValueCacheBypassedWithCustomEscapes() {
+        CharacterEscapesDecorator escapes = new CharacterEscapesDecorator();
+        escapes.addEscape(new CharacterEscapesDecorator.Escape("1", "one"));
+        JsonMapper mapper = JsonMapper.builder(escapes.decorate(JsonFactory.builder()).build()).build();
+        provider.setValueCacheSize(16);
+        provider.start();
+
+        for (int i = 0; i < 3; i++) {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator escapingGenerator = mapper.createGenerator(writer)) {
+                escapingGenerator.writeStartObject();
+                provider.writeTo(escapingGenerator, event);
+                escapingGenerator.writeEndObject();
+            }
+            assertThat(writer.toString()).isEqualTo("{\"nameone\":\"valueone\",\"name2\":\"value2\",\"name3\":\"value3\"}");
+        }
+    }
+
+    @Test
+    public void testValueCacheBypassedWhenForwardSlashesEscaped() {
+        mdc = new LinkedHashMap<>();
+        mdc.put("path", "/api/users");
+        when(event.getMDCPropertyMap()).thenReturn(mdc);
+        JsonMapper mapper = JsonMapper.builder().enable(JsonWriteFeature.ESCAPE_FORWARD_SLASHES).build();
+        provider.setValueCacheSize(16);
+        provider.start();
+
+        for (int i = 0; i < 3; i++) {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator escapingGenerator = mapper.createGenerator(writer)) {
+                escapingGenerator.writeStartObject();
+                provider.writeTo(escapingGenerator, event);
+                escapingGenerator.writeEndObject();
+            }
+            assertThat(writer.toString()).isEqualTo("{\"path\":\"\\/api\\/users\"}");
+        }
+    }
+
     @Test
     public void testMdcEntryWriters() {
         mdc = new LinkedHashMap<>();
@@ -21,7 +21,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.StringWriter;
 
+import net.logstash.logback.decorate.json.CharacterEscapesDecorator;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
@@ -30,6 +32,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.core.json.JsonFactory;
+import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class MessageJsonProviderTest {
@@ -49,7 +54,8 @@ public class MessageJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(MessageJsonProvider.FIELD_MESSAGE, "message");
+        verify(generator).writeName(new SerializedString(MessageJsonProvider.FIELD_MESSAGE));
+        verify(generator).writeString("message");
     }
 
     @Test
@@ -60,7 +66,8 @@ public class MessageJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "message");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("message");
     }
 
     @Test
@@ -74,7 +81,26 @@ public class MessageJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "message");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("message");
+    }
+
+    @Test
+    public void testFieldNameWithCustomEscapes() {
+        CharacterEscapesDecorator escapes = new CharacterEscapesDecorator();
+        escapes.addEscape(new CharacterEscapesDecorator.Escape(" ", "_"));
+        JsonMapper mapper = JsonMapper.builder(escapes.decorate(JsonFactory.builder()).build()).build();
+        provider.setFieldName("log message");
+
+        when(event.getFormattedMessage()).thenReturn("message");
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator escapingGenerator = mapper.createGenerator(writer)) {
+            escapingGenerator.writeStartObject();
+            provider.writeTo(escapingGenerator, event);
+            escapingGenerator.writeEndObject();
+        }
+        assertThat(writer.toString()).isEqualTo("{\"log_message\":\"message\"}");
     }
 
     @Test
@@ -166,11 +192,13 @@ public class MessageJsonProviderTest {
 
     private void verifySingleLineMessageGenerated(String lineSeparator) {
         String message = buildMultiLineMessage(lineSeparator);
-        verify(generator).writeStringProperty(MessageJsonProvider.FIELD_MESSAGE, message);
+        verify(generator).writeName(new SerializedString(MessageJsonProvider.FIELD_MESSAGE));
+        verify(generator).writeString(message);
     }
 
     private void verifyMultiLineMessageGenerated() {
-        verify(generator).writeArrayPropertyStart(MessageJsonProvider.FIELD_MESSAGE);
+        verify(generator).writeName(new SerializedString(MessageJsonProvider.FIELD_MESSAGE));
+        verify(generator).writeStartArray();
         verify(generator).writeString("line1");
         verify(generator).writeString("line2");
         verify(generator).writeString("line3");
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class RawMessageJsonProviderTest {
@@ -45,7 +46,8 @@ public class RawMessageJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(RawMessageJsonProvider.FIELD_RAW_MESSAGE, "raw_message");
+        verify(generator).writeName(new SerializedString(RawMessageJsonProvider.FIELD_RAW_MESSAGE));
+        verify(generator).writeString("raw_message");
     }
 
     @Test
@@ -56,7 +58,8 @@ public class RawMessageJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "raw_message");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("raw_message");
     }
 
 }
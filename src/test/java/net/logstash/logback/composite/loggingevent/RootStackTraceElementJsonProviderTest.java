@@ -29,6 +29,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class RootStackTraceElementJsonProviderTest {
@@ -62,9 +63,12 @@ public class RootStackTraceElementJsonProviderTest {
         // THEN
         InOrder inOrder = inOrder(generator);
 
-        inOrder.verify(generator).writeObjectPropertyStart(RootStackTraceElementJsonProvider.FIELD_STACKTRACE_ELEMENT);
-        inOrder.verify(generator).writeStringProperty(RootStackTraceElementJsonProvider.FIELD_CLASS_NAME, "TestDeclaringClass");
-        inOrder.verify(generator).writeStringProperty(RootStackTraceElementJsonProvider.FIELD_METHOD_NAME, "testMethodName");
+        inOrder.verify(generator).writeName(new SerializedString(RootStackTraceElementJsonProvider.FIELD_STACKTRACE_ELEMENT));
+        inOrder.verify(generator).writeStartObject();
+        inOrder.verify(generator).writeName(new SerializedString(RootStackTraceElementJsonProvider.FIELD_CLASS_NAME));
+        inOrder.verify(generator).writeString("TestDeclaringClass");
+        inOrder.verify(generator).writeName(new SerializedString(RootStackTraceElementJsonProvider.FIELD_METHOD_NAME));
+        inOrder.verify(generator).writeString("testMethodName");
         inOrder.verify(generator).writeEndObject();
     }
 
@@ -81,9 +85,12 @@ public class RootStackTraceElementJsonProviderTest {
         // THEN
         InOrder inOrder = inOrder(generator);
 
-        inOrder.verify(generator).writeObjectPropertyStart(RootStackTraceElementJsonProvider.FIELD_STACKTRACE_ELEMENT);
-        inOrder.verify(generator).writeStringProperty(ShortenedFieldNames.FIELD_CLASS, "TestDeclaringClass");
-        inOrder.verify(generator).writeStringProperty(ShortenedFieldNames.FIELD_METHOD, "testMethodName");
+        inOrder.verify(generator).writeName(new SerializedString(RootStackTraceElementJsonProvider.FIELD_STACKTRACE_ELEMENT));
+        inOrder.verify(generator).writeStartObject();
+        inOrder.verify(generator).writeName(new SerializedString(ShortenedFieldNames.FIELD_CLASS));
+        inOrder.verify(generator).writeString("TestDeclaringClass");
+        inOrder.verify(generator).writeName(new SerializedString(ShortenedFieldNames.FIELD_METHOD));
+        inOrder.verify(generator).writeString("testMethodName");
         inOrder.verify(generator).writeEndObject();
     }
 }
@@ -36,6 +36,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class SequenceJsonProviderTest extends AbstractLogbackTest {
@@ -69,7 +70,8 @@ public class SequenceJsonProviderTest extends AbstractLogbackTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeNumberProperty(SequenceJsonProvider.FIELD_SEQUENCE, 1L);
+        verify(generator).writeName(new SerializedString(SequenceJsonProvider.FIELD_SEQUENCE));
+        verify(generator).writeNumber(1L);
     }
     
     
@@ -81,7 +83,8 @@ public class SequenceJsonProviderTest extends AbstractLogbackTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeNumberProperty("newFieldName", 1L);
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeNumber(1L);
     }
     
     
@@ -98,11 +101,11 @@ public class SequenceJsonProviderTest extends AbstractLogbackTest {
         
         // assert the local generator produces the expected output
         provider.writeTo(generator, event);
-        verify(generator).writeName(SequenceJsonProvider.FIELD_SEQUENCE);
+        verify(generator).writeName(new SerializedString(SequenceJsonProvider.FIELD_SEQUENCE));
         verify(generator).writeNumber(1L);
 
         provider.writeTo(generator, event);
-        verify(generator, times(2)).writeName(SequenceJsonProvider.FIELD_SEQUENCE);
+        verify(generator, times(2)).writeName(new SerializedString(SequenceJsonProvider.FIELD_SEQUENCE));
         verify(generator).writeNumber(2L);
 
         verify(event, never()).getSequenceNumber();
@@ -126,7 +129,8 @@ public class SequenceJsonProviderTest extends AbstractLogbackTest {
         
         // assert expected output
         provider.writeTo(generator, event);
-        verify(generator).writeNumberProperty(SequenceJsonProvider.FIELD_SEQUENCE, 123L);
+        verify(generator).writeName(new SerializedString(SequenceJsonProvider.FIELD_SEQUENCE));
+        verify(generator).writeNumber(123L);
         
         verify(event, times(1)).getSequenceNumber();
     }
@@ -151,7 +155,8 @@ public class SequenceJsonProviderTest extends AbstractLogbackTest {
         
         // assert expected output
         provider.writeTo(generator, event);
-        verify(generator).writeNumberProperty(SequenceJsonProvider.FIELD_SEQUENCE, 456L);
+        verify(generator).writeName(new SerializedString(SequenceJsonProvider.FIELD_SEQUENCE));
+        verify(generator).writeNumber(456L);
         
         verify(sequenceProvider).apply(event);
         verify(event, never()).getSequenceNumber();
@@ -30,6 +30,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class StackHashJsonProviderTest {
@@ -57,7 +58,7 @@ public class StackHashJsonProviderTest {
         provider.writeTo(generator, event);
         // THEN
         ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
-        verify(generator).writeName(StackHashJsonProvider.FIELD_NAME);
+        verify(generator).writeName(new SerializedString(StackHashJsonProvider.FIELD_NAME));
         verify(generator).writeString(hashCaptor.capture());
 
         assertThat(hashCaptor.getValue()).matches(HEX_PATTERN);
@@ -76,7 +77,7 @@ public class StackHashJsonProviderTest {
         provider.writeTo(generator, event);
         // THEN
         ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
-        verify(generator).writeName("newFieldName");
+        verify(generator).writeName(new SerializedString("newFieldName"));
         verify(generator).writeString(hashCaptor.capture());
 
         assertThat(hashCaptor.getValue()).matches(HEX_PATTERN);
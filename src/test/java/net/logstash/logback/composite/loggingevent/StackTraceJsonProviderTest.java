@@ -15,18 +15,25 @@
  */
 package net.logstash.logback.composite.loggingevent;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.fieldnames.LogstashFieldNames;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
 
 import ch.qos.logback.classic.pattern.ThrowableHandlingConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxy;
 import org.assertj.core.util.Throwables;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +41,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class StackTraceJsonProviderTest {
@@ -51,10 +62,12 @@ public class StackTraceJsonProviderTest {
     
     @Mock
     private IThrowableProxy ThrowableProxy;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
     
     @BeforeEach
     public void setup() {
-        when(converter.convert(event)).thenReturn("stack");
+        lenient().when(converter.convert(event)).thenReturn("stack");
         provider.setThrowableConverter(converter);
     }
     
@@ -65,7 +78,8 @@ public class StackTraceJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty(StackTraceJsonProvider.FIELD_STACK_TRACE, "stack");
+        verify(generator).writeName(new SerializedString(StackTraceJsonProvider.FIELD_STACK_TRACE));
+        verify(generator).writeString("stack");
     }
 
     @Test
@@ -76,7 +90,8 @@ public class StackTraceJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "stack");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("stack");
     }
 
     @Test
@@ -90,7 +105,8 @@ public class StackTraceJsonProviderTest {
         
         provider.writeTo(generator, event);
         
-        verify(generator).writeStringProperty("newFieldName", "stack");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("stack");
     }
 
     @Test
@@ -104,11 +120,88 @@ public class StackTraceJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeName("stack_trace");
+        verify(generator).writeName(new SerializedString("stack_trace"));
         verify(generator).writeStartArray();
         verify(generator).writeString("java.lang.RuntimeException: testing exception handling");
         verify(generator, atLeastOnce()).writeString(anyString());
         verify(generator).writeEndArray();
     }
 
+
+    @Test
+    public void testStructured() {
+        RuntimeException cause = new IllegalStateException("cause");
+        RuntimeException e = new RuntimeException("testing exception handling", cause);
+        e.addSuppressed(new IllegalArgumentException("suppressed"));
+        when(event.getThrowableProxy()).thenReturn(new ThrowableProxy(e));
+
+        ShortenedThrowableConverter shortenedConverter = new ShortenedThrowableConverter();
+        shortenedConverter.setMaxDepthPerThrowable(2);
+        provider.setThrowableConverter(shortenedConverter);
+        provider.setStructured(true);
+        provider.start();
+
+        JsonNode stackTrace = objectMapper.readTree(writeWithJackson()).get(StackTraceJsonProvider.FIELD_STACK_TRACE);
+
+        assertThat(stackTrace.get("class").asString()).isEqualTo("java.lang.RuntimeException");
+        assertThat(stackTrace.get("message").asString()).isEqualTo("testing exception handling");
+        assertThat(stackTrace.get("frames")).hasSize(3);
+        JsonNode frame = stackTrace.get("frames").get(0);
+        assertThat(frame.get("class").asString()).isEqualTo(getClass().getName());
+        assertThat(frame.get("method").asString()).isEqualTo("testStructured");
+        assertThat(frame.get("file").asString()).isEqualTo(getClass().getSimpleName() + ".java");
+        assertThat(frame.get("line").asInt()).isPositive();
+        assertThat(stackTrace.get("frames").get(2).get("reason").asString()).isEqualTo("frames truncated");
+        assertThat(stackTrace.get("suppressed")).hasSize(1);
+        assertThat(stackTrace.get("suppressed").get(0).get("message").asString()).isEqualTo("suppressed");
+        assertThat(stackTrace.get("cause").get("class").asString()).isEqualTo("java.lang.IllegalStateException");
+        assertThat(stackTrace.get("cause").get("message").asString()).isEqualTo("cause");
+        assertThat(stackTrace.has("truncated")).isFalse();
+
+        // the FastJsonWriter output is the same as Jackson
+        FastJsonWriter writer = new FastJsonWriter();
+        writer.writeStartObject();
+        assertThat(provider.writeTo(writer, event)).isTrue();
+        writer.writeEndObject();
+        assertThat(new String(writer.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(writeWithJackson());
+    }
+
+    @Test
+    public void testStructured_maxLength() {
+        when(event.getThrowableProxy()).thenReturn(new ThrowableProxy(new RuntimeException("testing exception handling")));
+
+        ShortenedThrowableConverter shortenedConverter = new ShortenedThrowableConverter();
+        shortenedConverter.setMaxLength(100);
+        provider.setThrowableConverter(shortenedConverter);
+        provider.setStructured(true);
+        provider.start();
+
+        JsonNode stackTrace = objectMapper.readTree(writeWithJackson()).get(StackTraceJsonProvider.FIELD_STACK_TRACE);
+
+        assertThat(stackTrace.get("truncated").asBoolean()).isTrue();
+        assertThat(stackTrace.get("frames").size()).isBetween(1, 3);
+    }
+
+    @Test
+    public void testStructured_requiresShortenedThrowableConverter() {
+        provider.setStructured(true);
+        provider.start();
+
+        when(event.getThrowableProxy()).thenReturn(ThrowableProxy);
+
+        provider.writeTo(generator, event);
+
+        verify(generator).writeName(new SerializedString(StackTraceJsonProvider.FIELD_STACK_TRACE));
+        verify(generator).writeString("stack");
+    }
+
+    private String writeWithJackson() {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator jsonGenerator = objectMapper.createGenerator(writer)) {
+            jsonGenerator.writeStartObject();
+            provider.writeTo(jsonGenerator, event);
+            jsonGenerator.writeEndObject();
+        }
+        return writer.toString();
+    }
 }
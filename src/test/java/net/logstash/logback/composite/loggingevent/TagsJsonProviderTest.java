@@ -33,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class TagsJsonProviderTest {
@@ -65,13 +66,14 @@ public class TagsJsonProviderTest {
         
         InOrder inOrder = inOrder(generator);
         
-        inOrder.verify(generator).writeName(TagsJsonProvider.FIELD_TAGS);
+        inOrder.verify(generator).writeName(new SerializedString(TagsJsonProvider.FIELD_TAGS));
         inOrder.verify(generator).writeStartArray();
         inOrder.verify(generator).writeString("marker1");
         inOrder.verify(generator).writeString("marker3");
         inOrder.verify(generator).writeString("marker4");
         inOrder.verify(generator).writeEndArray();
         
+        verifyEscapingQueried();
         Mockito.verifyNoMoreInteractions(generator);
     }
 
@@ -83,13 +85,14 @@ public class TagsJsonProviderTest {
         
         InOrder inOrder = inOrder(generator);
         
-        inOrder.verify(generator).writeName("newFieldName");
+        inOrder.verify(generator).writeName(new SerializedString("newFieldName"));
         inOrder.verify(generator).writeStartArray();
         inOrder.verify(generator).writeString("marker1");
         inOrder.verify(generator).writeString("marker3");
         inOrder.verify(generator).writeString("marker4");
         inOrder.verify(generator).writeEndArray();
         
+        verifyEscapingQueried();
         Mockito.verifyNoMoreInteractions(generator);
     }
 
@@ -103,13 +106,14 @@ public class TagsJsonProviderTest {
         
         InOrder inOrder = inOrder(generator);
         
-        inOrder.verify(generator).writeName("newFieldName");
+        inOrder.verify(generator).writeName(new SerializedString("newFieldName"));
         inOrder.verify(generator).writeStartArray();
         inOrder.verify(generator).writeString("marker1");
         inOrder.verify(generator).writeString("marker3");
         inOrder.verify(generator).writeString("marker4");
         inOrder.verify(generator).writeEndArray();
         
+        verifyEscapingQueried();
         Mockito.verifyNoMoreInteractions(generator);
     }
 
@@ -136,6 +140,11 @@ public class TagsJsonProviderTest {
         return event;
     }
     
+    private void verifyEscapingQueried() {
+        Mockito.verify(generator).getCharacterEscapes();
+        Mockito.verify(generator).getHighestNonEscapedChar();
+    }
+
     private static class TestLogstashMarker extends LogstashMarker {
         TestLogstashMarker(String name) {
             super(name);
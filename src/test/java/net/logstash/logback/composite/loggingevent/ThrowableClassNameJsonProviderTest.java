@@ -28,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class ThrowableClassNameJsonProviderTest {
@@ -49,7 +50,8 @@ public class ThrowableClassNameJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeStringProperty("newFieldName", throwable.getClass().getSimpleName());
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString(throwable.getClass().getSimpleName());
     }
 
     @Test
@@ -59,8 +61,8 @@ public class ThrowableClassNameJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator)
-                .writeStringProperty(ThrowableClassNameJsonProvider.FIELD_NAME, throwable.getClass().getSimpleName());
+        verify(generator).writeName(new SerializedString(ThrowableClassNameJsonProvider.FIELD_NAME));
+        verify(generator).writeString(throwable.getClass().getSimpleName());
     }
 
     @Test
@@ -78,6 +80,7 @@ public class ThrowableClassNameJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeStringProperty(ThrowableClassNameJsonProvider.FIELD_NAME, throwable.getClass().getName());
+        verify(generator).writeName(new SerializedString(ThrowableClassNameJsonProvider.FIELD_NAME));
+        verify(generator).writeString(throwable.getClass().getName());
     }
 }
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class ThrowableMessageJsonProviderTest {
@@ -50,7 +51,8 @@ public class ThrowableMessageJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeStringProperty("newFieldName", "kaput");
+        verify(generator).writeName(new SerializedString("newFieldName"));
+        verify(generator).writeString("kaput");
     }
 
     @Test
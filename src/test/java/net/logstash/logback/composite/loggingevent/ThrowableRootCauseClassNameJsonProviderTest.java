@@ -31,6 +31,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class ThrowableRootCauseClassNameJsonProviderTest {
@@ -71,7 +72,8 @@ public class ThrowableRootCauseClassNameJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeStringProperty(fieldName, expectedClassName);
+        verify(generator).writeName(new SerializedString(fieldName));
+        verify(generator).writeString(expectedClassName);
     }
 
     @Test
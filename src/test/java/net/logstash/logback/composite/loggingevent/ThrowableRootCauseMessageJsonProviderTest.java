@@ -15,7 +15,7 @@
  */
 package net.logstash.logback.composite.loggingevent;
 
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -30,6 +30,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
 
 @ExtendWith(MockitoExtension.class)
 public class ThrowableRootCauseMessageJsonProviderTest {
@@ -58,7 +60,7 @@ public class ThrowableRootCauseMessageJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeName("throwable_root_cause_message");
+        verify(generator).writeName(new SerializedString("throwable_root_cause_message"));
         verify(generator).writeString("kaput");
     }
 
@@ -69,7 +71,7 @@ public class ThrowableRootCauseMessageJsonProviderTest {
         provider.setFieldName("some_custom_field");
         provider.writeTo(generator, event);
 
-        verify(generator).writeName("some_custom_field");
+        verify(generator).writeName(new SerializedString("some_custom_field"));
         verify(generator).writeString("kaput");
     }
 
@@ -80,7 +82,7 @@ public class ThrowableRootCauseMessageJsonProviderTest {
 
         provider.writeTo(generator, event);
 
-        verify(generator).writeName(anyString());
+        verify(generator).writeName(any(SerializableString.class));
         verify(generator).writeString("baz");
     }
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.composite.loggingevent.mdc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.core.JsonGenerator;
+
+@ExtendWith(MockitoExtension.class)
+class LearningMdcEntryWriterTest {
+
+    private final LearningMdcEntryWriter mdcEntryWriter = new LearningMdcEntryWriter();
+
+    /**
+     * Names of the delegate writers invoked, in order.
+     */
+    private final List<String> attempts = new ArrayList<>();
+
+    @Mock
+    private JsonGenerator generator;
+
+    @BeforeEach
+    void setup() {
+        mdcEntryWriter.addMdcEntryWriter(prefixWriter("a"));
+        mdcEntryWriter.addMdcEntryWriter(prefixWriter("b"));
+    }
+
+    @Test
+    void writersTriedInOrder() {
+        assertThat(mdcEntryWriter.writeMdcEntry(generator, "field", "key", "b1")).isTrue();
+        assertThat(attempts).containsExactly("a", "b");
+
+        attempts.clear();
+        assertThat(mdcEntryWriter.writeMdcEntry(generator, "field", "key", "a1")).isTrue();
+        assertThat(attempts).containsExactly("a");
+
+        attempts.clear();
+        assertThat(mdcEntryWriter.writeMdcEntry(generator, "field", "key", "b2")).isTrue();
+        assertThat(attempts).containsExactly("a", "b");
+    }
+
+    @Test
+    void firstHandlingWriterWins() {
+        LearningMdcEntryWriter numbers = new LearningMdcEntryWriter();
+        numbers.addMdcEntryWriter(new LongMdcEntryWriter());
+        numbers.addMdcEntryWriter(new DoubleMdcEntryWriter());
+        numbers.addMdcEntryWriter(new BooleanMdcEntryWriter());
+
+        assertThat(numbers.writeMdcEntry(generator, "field", "key", "1.5")).isTrue();
+        assertThat(numbers.writeMdcEntry(generator, "field", "key", "5")).isTrue();
+
+        InOrder inOrder = inOrder(generator);
+        inOrder.verify(generator).writeName("field");
+        inOrder.verify(generator).writeNumber(1.5);
+        inOrder.verify(generator).writeName("field");
+        inOrder.verify(generator).writeNumber(5L);
+    }
+
+    @Test
+    void unhandledKeysSkipWriters() {
+        mdcEntryWriter.setRelearnInterval(2);
+
+        assertThat(mdcEntryWriter.writeMdcEntry(generator, "field", "traceId", "x1")).isFalse();
+        assertThat(attempts).containsExactly("a", "b");
+
+        attempts.clear();
+        assertThat(mdcEntryWriter.writeMdcEntry(generator, "field", "traceId", "x2")).isFalse();
+        assertThat(mdcEntryWriter.writeMdcEntry(generator, "field", "traceId", "a3")).isFalse();
+        assertThat(attempts).isEmpty();
+
+        assertThat(mdcEntryWriter.writeMdcEntry(generator, "field", "traceId", "a4")).isTrue();
+        assertThat(attempts).containsExactly("a");
+    }
+
+    @Test
+    void maxLearnedKeys() {
+        mdcEntryWriter.setMaxLearnedKeys(0);
+
+        mdcEntryWriter.writeMdcEntry(generator, "field", "key", "x1");
+        mdcEntryWriter.writeMdcEntry(generator, "field", "key", "x2");
+        assertThat(attempts).containsExactly("a", "b", "a", "b");
+    }
+
+    @Test
+    void forMdcKey() {
+        mdcEntryWriter.setMaxLearnedKeys(0);
+        MdcEntryWriter keyWriter = mdcEntryWriter.forMdcKey("key");
+
+        keyWriter.writeMdcEntry(generator, "field", "key", "x1");
+        keyWriter.writeMdcEntry(generator, "field", "key", "x2");
+        assertThat(attempts).containsExactly("a", "b");
+
+        assertThat(new LearningMdcEntryWriter().forMdcKey("key")).isNull();
+    }
+
+    /**
+     * Handles the values starting with the given prefix.
+     */
+    private MdcEntryWriter prefixWriter(String prefix) {
+        return (generator, fieldName, mdcKey, mdcValue) -> {
+            attempts.add(prefix);
+            if (mdcValue.startsWith(prefix)) {
+                generator.writeStringProperty(fieldName, mdcValue);
+                return true;
+            }
+            return false;
+        };
+    }
+}
@@ -51,6 +51,21 @@ class RegexFilteringMdcEntryWriterTest {
         verifyNoMoreInteractions(mockedMdcEntryWriter);
     }
 
+    @Test
+    void forMdcKey() {
+        mdcEntryWriter.setIncludeMdcKeyPattern("incl.*");
+        mdcEntryWriter.addMdcEntryWriter(new LongMdcEntryWriter());
+
+        assertThat(mdcEntryWriter.forMdcKey("other")).isNull();
+
+        MdcEntryWriter resolved = mdcEntryWriter.forMdcKey("included");
+        assertThat(resolved).isNotNull();
+        assertThat(resolved.writeMdcEntry(generator, "field", "included", "42")).isTrue();
+        assertThat(resolved.writeMdcEntry(generator, "field", "included", "abc")).isFalse();
+        verify(generator).writeName("field");
+        verify(generator).writeNumber(42L);
+    }
+
     @Test
     void noMdcEntryWriter() {
         boolean result = mdcEntryWriter.writeMdcEntry(generator, "field", "key", "value");
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.arrow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.logstash.logback.encoder.LogstashEncoder;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.Text;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+
+class ArrowDataFormatFactoryTest {
+
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_FLOATING_POINT = 3;
+    private static final byte TYPE_UTF8 = 5;
+    private static final byte TYPE_BOOL = 6;
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void encodeBatch() throws IOException {
+        LogstashEncoder encoder = createEncoder();
+
+        List<ILoggingEvent> events = List.of(
+                event(Level.INFO, "first", Map.of()),
+                event(Level.WARN, "second", Map.of("requestId", "abc")),
+                event(Level.INFO, "third", Map.of()));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        encoder.encodeBatch(events, output);
+
+        List<Map<String, Column>> batches = readStreams(output.toByteArray());
+        assertThat(batches).hasSize(1);
+        Map<String, Column> batch = batches.get(0);
+
+        assertThat(batch).containsKeys("@timestamp", "message", "logger_name", "thread_name", "level", "level_value", "requestId");
+        assertThat(batch.get("message").values).containsExactly("first", "second", "third");
+        assertThat(batch.get("level").values).containsExactly("INFO", "WARN", "INFO");
+        assertThat(batch.get("level").dictionaryId).isNotNegative();
+        assertThat(batch.get("logger_name").dictionaryId).isNotNegative();
+        assertThat(batch.get("message").dictionaryId).isNegative();
+        assertThat(batch.get("level_value").type).isEqualTo(TYPE_INT);
+        assertThat(batch.get("level_value").values).containsExactly(20000L, 30000L, 20000L);
+        assertThat(batch.get("requestId").values).containsExactly(null, "abc", null);
+
+        encoder.stop();
+    }
+
+    @Test
+    void readWithArrowStreamReader() throws IOException {
+        LogstashEncoder encoder = createEncoder();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        encoder.encodeBatch(List.of(
+                event(Level.INFO, "first", Map.of()),
+                event(Level.WARN, "second", Map.of("requestId", "abc")),
+                event(Level.INFO, "third", Map.of())), output);
+        encoder.encodeBatch(List.of(event(Level.ERROR, "fourth", Map.of())), output);
+        encoder.stop();
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+        try (BufferAllocator allocator = new RootAllocator()) {
+            try (ArrowStreamReader reader = new ArrowStreamReader(input, allocator)) {
+                assertThat(reader.loadNextBatch()).isTrue();
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                assertThat(root.getRowCount()).isEqualTo(3);
+                assertThat(root.getSchema().findField("level_value").getType()).isEqualTo(new ArrowType.Int(64, true));
+                assertThat(root.getSchema().findField("message").getType()).isEqualTo(ArrowType.Utf8.INSTANCE);
+                assertThat(root.getSchema().findField("level").getDictionary()).isNotNull();
+
+                assertThat(values(root.getVector("message"))).containsExactly("first", "second", "third");
+                assertThat(values(root.getVector("level_value"))).containsExactly(20000L, 30000L, 20000L);
+                assertThat(values(root.getVector("requestId"))).containsExactly(null, "abc", null);
+                assertThat(decode(reader, root.getVector("level"))).containsExactly("INFO", "WARN", "INFO");
+                assertThat(decode(reader, root.getVector("logger_name"))).containsExactly("my.logger", "my.logger", "my.logger");
+
+                assertThat(reader.loadNextBatch()).isFalse();
+            }
+
+            // each batch is a complete stream, carrying its own schema
+            try (ArrowStreamReader reader = new ArrowStreamReader(input, allocator)) {
+                assertThat(reader.loadNextBatch()).isTrue();
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                assertThat(root.getSchema().getFields()).extracting(Field::getName).doesNotContain("requestId");
+                assertThat(values(root.getVector("message"))).containsExactly("fourth");
+                assertThat(decode(reader, root.getVector("level"))).containsExactly("ERROR");
+                assertThat(reader.loadNextBatch()).isFalse();
+            }
+        }
+        assertThat(input.available()).isZero();
+    }
+
+    @Test
+    void encodeSingleEventIsRejected() {
+        LogstashEncoder encoder = createEncoder();
+        assertThat(encoder.isBatchOnly()).isTrue();
+
+        assertThatThrownBy(() -> encoder.encode(event(Level.ERROR, "alone", Map.of())))
+                .hasMessageContaining("Arrow record batches must be written as arrays of objects");
+
+        encoder.stop();
+    }
+
+    @Test
+    void columnTypes() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("long", 1);
+        first.put("number", 2);
+        first.put("bool", true);
+        first.put("mixed", 3);
+        first.put("nested", Map.of("a", List.of(1, "x\"y")));
+        first.put("empty", null);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("long", -4L);
+        second.put("number", 2.5d);
+        second.put("bool", false);
+        second.put("mixed", "text");
+
+        List<Map<String, Column>> batches = readStreams(new ArrowMapper().writeValueAsBytes(List.of(first, second)));
+        assertThat(batches).hasSize(1);
+        Map<String, Column> batch = batches.get(0);
+
+        assertThat(batch.get("long").type).isEqualTo(TYPE_INT);
+        assertThat(batch.get("long").values).containsExactly(1L, -4L);
+        assertThat(batch.get("number").type).isEqualTo(TYPE_FLOATING_POINT);
+        assertThat(batch.get("number").values).containsExactly(2.0d, 2.5d);
+        assertThat(batch.get("bool").type).isEqualTo(TYPE_BOOL);
+        assertThat(batch.get("bool").values).containsExactly(true, false);
+        assertThat(batch.get("mixed").type).isEqualTo(TYPE_UTF8);
+        assertThat(batch.get("mixed").values).containsExactly("3", "text");
+        assertThat(batch.get("nested").values).containsExactly("{\"a\":[1,\"x\\\"y\"]}", null);
+        assertThat(batch.get("empty").values).containsExactly(null, null);
+    }
+
+    @Test
+    void rootValuesMustBeArraysOfObjects() {
+        assertThatThrownBy(() -> new ArrowMapper().writeValueAsBytes("text"))
+                .isInstanceOf(JacksonException.class);
+        assertThatThrownBy(() -> new ArrowMapper().writeValueAsBytes(Map.of("a", 1)))
+                .isInstanceOf(JacksonException.class);
+        assertThatThrownBy(() -> new ArrowMapper().writeValueAsBytes(List.of(List.of(Map.of("a", 1)))))
+                .isInstanceOf(JacksonException.class);
+    }
+
+    private LogstashEncoder createEncoder() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setDataFormat("arrow");
+        encoder.start();
+        return encoder;
+    }
+
+    private ILoggingEvent event(Level level, String message, Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerContext(context);
+        event.setTimeStamp(1_700_000_000_000L);
+        event.setLevel(level);
+        event.setLoggerName("my.logger");
+        event.setThreadName("main");
+        event.setMessage(message);
+        event.setMDCPropertyMap(mdc);
+        return event;
+    }
+
+    private static List<Object> values(FieldVector vector) {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < vector.getValueCount(); i++) {
+            Object value = vector.getObject(i);
+            values.add(value instanceof Text ? value.toString() : value);
+        }
+        return values;
+    }
+
+    private static List<Object> decode(ArrowStreamReader reader, FieldVector indices) throws IOException {
+        Dictionary dictionary = reader.getDictionaryVectors().get(indices.getField().getDictionary().getId());
+        try (FieldVector decoded = (FieldVector) DictionaryEncoder.decode(indices, dictionary)) {
+            return values(decoded);
+        }
+    }
+
+    private static final class Column {
+        byte type;
+        long dictionaryId = -1;
+        List<Object> values;
+    }
+
+    /**
+     * Reads consecutive Arrow IPC streams, returning the columns of each record batch by name.
+     */
+    private static List<Map<String, Column>> readStreams(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        List<Map<String, Column>> batches = new ArrayList<>();
+        while (in.hasRemaining()) {
+            List<Table> schema = null;
+            Map<Long, List<Object>> dictionaries = new HashMap<>();
+            while (true) {
+                assertThat(in.getInt()).isEqualTo(-1);
+                int metadataLength = in.getInt();
+                if (metadataLength == 0) {
+                    break;
+                }
+                assertThat(metadataLength % 8).isZero();
+                Table message = Table.root(slice(in, metadataLength));
+                assertThat(message.getShort(0)).isEqualTo((short) 4);
+                byte headerType = message.getByte(1);
+                Table header = message.getTable(2);
+                long bodyLength = message.getLong(3);
+                assertThat(bodyLength % 8).isZero();
+                ByteBuffer body = slice(in, (int) bodyLength);
+
+                switch (headerType) {
+                    case 1:
+                        schema = new ArrayList<>();
+                        for (int i = 0; i < header.vectorLength(1); i++) {
+                            Table field = header.vectorTable(1, i);
+                            assertThat(field.vectorLength(5)).isZero();
+                            schema.add(field);
+                        }
+                        break;
+                    case 2:
+                        Column dictionary = readRecordBatch(header.getTable(1), body, List.of(new FieldType(TYPE_UTF8, -1)), dictionaries).get(0);
+                        dictionaries.put(header.getLong(0), dictionary.values);
+                        break;
+                    case 3:
+                        List<FieldType> types = new ArrayList<>();
+                        for (Table field : schema) {
+                            Table dictionaryEncoding = field.getTable(4);
+                            if (dictionaryEncoding != null) {
+                                assertThat(dictionaryEncoding.getTable(1).getInt(0)).isEqualTo(32);
+                            }
+                            types.add(new FieldType(field.getByte(2), dictionaryEncoding == null ? -1 : dictionaryEncoding.getLong(0)));
+                        }
+                        List<Column> columns = readRecordBatch(header, body, types, dictionaries);
+                        Map<String, Column> batch = new LinkedHashMap<>();
+                        for (int i = 0; i < columns.size(); i++) {
+                            batch.put(schema.get(i).getString(0), columns.get(i));
+                        }
+                        batches.add(batch);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected message " + headerType);
+                }
+            }
+        }
+        return batches;
+    }
+
+    private static final class FieldType {
+        final byte type;
+        final long dictionaryId;
+
+        FieldType(byte type, long dictionaryId) {
+            this.type = type;
+            this.dictionaryId = dictionaryId;
+        }
+    }
+
+    private static List<Column> readRecordBatch(Table recordBatch, ByteBuffer body, List<FieldType> types, Map<Long, List<Object>> dictionaries) {
+        int rowCount = (int) recordBatch.getLong(0);
+        int nodes = recordBatch.vector(1);
+        int buffers = recordBatch.vector(2);
+        ByteBuffer bb = recordBatch.bb;
+        int buffer = 0;
+        List<Column> columns = new ArrayList<>();
+        for (int i = 0; i < types.size(); i++) {
+            FieldType type = types.get(i);
+            assertThat(bb.getLong(nodes + 16 * i)).isEqualTo(rowCount);
+            ByteBuffer validity = buffer(body, bb, buffers, buffer++);
+            ByteBuffer values = buffer(body, bb, buffers, buffer++);
+            ByteBuffer data = type.dictionaryId < 0 && type.type == TYPE_UTF8 ? buffer(body, bb, buffers, buffer++) : null;
+
+            Column column = new Column();
+            column.type = type.type;
+            column.dictionaryId = type.dictionaryId;
+            column.values = new ArrayList<>();
+            for (int row = 0; row < rowCount; row++) {
+                if (validity.limit() > 0 && !isSet(validity, row)) {
+                    column.values.add(null);
+                } else if (type.dictionaryId >= 0) {
+                    column.values.add(dictionaries.get(type.dictionaryId).get(values.getInt(4 * row)));
+                } else if (type.type == TYPE_INT) {
+                    column.values.add(values.getLong(8 * row));
+                } else if (type.type == TYPE_FLOATING_POINT) {
+                    column.values.add(values.getDouble(8 * row));
+                } else if (type.type == TYPE_BOOL) {
+                    column.values.add(isSet(values, row));
+                } else {
+                    int start = values.getInt(4 * row);
+                    byte[] text = new byte[values.getInt(4 * row + 4) - start];
+                    data.get(start, text);
+                    column.values.add(new String(text, StandardCharsets.UTF_8));
+                }
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private static ByteBuffer buffer(ByteBuffer body, ByteBuffer metadata, int buffers, int index) {
+        int offset = (int) metadata.getLong(buffers + 16 * index);
+        int length = (int) metadata.getLong(buffers + 16 * index + 8);
+        assertThat(offset % 8).isZero();
+        return body.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static boolean isSet(ByteBuffer bitmap, int index) {
+        return (bitmap.get(index / 8) & (1 << (index % 8))) != 0;
+    }
+
+    private static ByteBuffer slice(ByteBuffer in, int length) {
+        ByteBuffer slice = in.slice(in.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+        in.position(in.position() + length);
+        return slice;
+    }
+
+    /**
+     * Reads a flatbuffers table, checking the alignment of its scalars.
+     */
+    private static final class Table {
+        final ByteBuffer bb;
+        final int position;
+
+        Table(ByteBuffer bb, int position) {
+            this.bb = bb;
+            this.position = position;
+        }
+
+        static Table root(ByteBuffer bb) {
+            return new Table(bb, bb.getInt(0));
+        }
+
+        private int field(int slot, int size) {
+            int vtable = position - bb.getInt(position);
+            int entry = 4 + 2 * slot;
+            if (entry >= bb.getShort(vtable)) {
+                return 0;
+            }
+            int offset = bb.getShort(vtable + entry);
+            if (offset == 0) {
+                return 0;
+            }
+            assertThat((position + offset) % size).isZero();
+            return position + offset;
+        }
+
+        byte getByte(int slot) {
+            int field = field(slot, 1);
+            return field == 0 ? 0 : bb.get(field);
+        }
+
+        short getShort(int slot) {
+            int field = field(slot, 2);
+            return field == 0 ? 0 : bb.getShort(field);
+        }
+
+        int getInt(int slot) {
+            int field = field(slot, 4);
+            return field == 0 ? 0 : bb.getInt(field);
+        }
+
+        long getLong(int slot) {
+            int field = field(slot, 8);
+            return field == 0 ? 0 : bb.getLong(field);
+        }
+
+        Table getTable(int slot) {
+            int field = field(slot, 4);
+            return field == 0 ? null : new Table(bb, field + bb.getInt(field));
+        }
+
+        String getString(int slot) {
+            int string = vector(slot);
+            byte[] bytes = new byte[bb.getInt(string - 4)];
+            bb.get(string, bytes);
+            assertThat(bb.get(string + bytes.length)).isZero();
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns the position of the first element of a vector.
+         */
+        int vector(int slot) {
+            int field = field(slot, 4);
+            int vector = field + bb.getInt(field);
+            assertThat(vector % 4).isZero();
+            return vector + 4;
+        }
+
+        int vectorLength(int slot) {
+            return bb.getInt(vector(slot) - 4);
+        }
+
+        Table vectorTable(int slot, int index) {
+            int element = vector(slot) + 4 * index;
+            return new Table(bb, element + bb.getInt(element));
+        }
+    }
+}
@@ -20,6 +20,9 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import net.logstash.logback.composite.loggingevent.LoggingEventCompositeJsonFormatter;
 import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
@@ -32,6 +35,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
 @ExtendWith(MockitoExtension.class)
 class CborDataFormatFactoryTest {
@@ -59,4 +64,50 @@ class CborDataFormatFactoryTest {
 
         assertThat(baos.toByteArray()).asBase64Encoded().isEqualTo("v2dtZXNzYWdlaWEgbWVzc2FnZf8=");
     }
+
+    @Test
+    void streamSession() throws IOException {
+        LoggingEventJsonProviders providers = new LoggingEventJsonProviders();
+        providers.addMessage(new MessageJsonProvider());
+
+        CborDataFormatFactory dataFormatFactory = new CborDataFormatFactory();
+        dataFormatFactory.setStreamSession(true);
+
+        LoggingEventCompositeJsonFormatter formatter = new LoggingEventCompositeJsonFormatter(contextAware);
+        formatter.setProviders(providers);
+        formatter.setDataFormatFactory(dataFormatFactory);
+        formatter.start();
+
+        when(event.getFormattedMessage()).thenReturn("a message");
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        formatter.writeEvent(event, first);
+        int firstSize = first.size();
+        formatter.writeEvent(event, first);
+
+        // name and value back-referenced by the second event
+        assertThat(first.size() - firstSize).isLessThan(firstSize - 4);
+        assertThat(readMessages(first)).containsExactly("a message", "a message");
+
+        // a new session does not depend on the previous one
+        formatter.resetSession();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        formatter.writeEvent(event, second);
+
+        assertThat(second.toByteArray()).isEqualTo(Arrays.copyOf(first.toByteArray(), firstSize));
+        assertThat(readMessages(second)).containsExactly("a message");
+    }
+
+    /**
+     * Read the events of a session, closing the indefinite-length array holding them.
+     */
+    private static List<String> readMessages(ByteArrayOutputStream output) throws IOException {
+        byte[] bytes = Arrays.copyOf(output.toByteArray(), output.size() + 1);
+        bytes[bytes.length - 1] = (byte) 0xFF;
+        List<String> messages = new ArrayList<>();
+        for (JsonNode value : new CBORMapper().readTree(bytes)) {
+            messages.add(value.get("message").asString());
+        }
+        return messages;
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.dataformat.otlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.logstash.logback.encoder.LogstashEncoder;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+
+class OtlpDataFormatFactoryTest {
+
+    @Test
+    void encodesLogRecord() {
+        LoggerContext context = new LoggerContext();
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setDataFormat("otlp");
+        encoder.start();
+
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerContext(context);
+        event.setMDCPropertyMap(Map.of());
+        event.setTimeStamp(1_700_000_000_123L);
+        event.setLevel(Level.WARN);
+        event.setLoggerName("my.logger");
+        event.setThreadName("main");
+        event.setMessage("a message");
+
+        byte[] encoded = encoder.encode(event);
+
+        // no line separator after the length-delimited record
+        Reader reader = new Reader(encoded);
+        Fields record = new Reader(reader.readBytes()).readMessage();
+        assertThat(reader.hasMore()).isFalse();
+
+        assertThat(record.get(1)).containsExactly(1_700_000_000_123_000_000L);
+        assertThat(record.get(2)).containsExactly(13L);
+        assertThat(record.string(3)).isEqualTo("WARN");
+        assertThat(record.message(5).string(1)).isEqualTo("a message");
+
+        Map<String, Fields> attributes = attributes(record, 6);
+        assertThat(attributes).containsOnlyKeys("@version", "logger_name", "thread_name");
+        assertThat(attributes.get("logger_name").string(1)).isEqualTo("my.logger");
+
+        encoder.stop();
+    }
+
+    @Test
+    void encodesNestedValues() {
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            longText.append((char) ('a' + i % 26));
+        }
+
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("flag", true);
+        nested.put("list", Arrays.asList(1, -2L, 1.5d, "xé€😀", null));
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("@timestamp", "not a timestamp");
+        root.put("message", longText.toString());
+        root.put("nested", nested);
+        root.put("level_value", 40000);
+
+        byte[] bytes = new OtlpMapper().writeValueAsBytes(root);
+
+        Fields record = new Reader(new Reader(bytes).readBytes()).readMessage();
+        assertThat(record.get(1)).isEmpty();
+        assertThat(record.get(2)).containsExactly(17L);
+        assertThat(record.message(5).string(1)).isEqualTo(longText.toString());
+
+        Map<String, Fields> attributes = attributes(record, 6);
+        assertThat(attributes).containsOnlyKeys("@timestamp", "nested");
+        assertThat(attributes.get("@timestamp").string(1)).isEqualTo("not a timestamp");
+
+        Map<String, Fields> nestedValues = attributes(attributes.get("nested").message(6), 1);
+        assertThat(nestedValues).containsOnlyKeys("flag", "list");
+        assertThat(nestedValues.get("flag").get(2)).containsExactly(1L);
+
+        List<Fields> values = new ArrayList<>();
+        for (Object value : nestedValues.get("list").message(5).get(1)) {
+            values.add(new Reader((byte[]) value).readMessage());
+        }
+        assertThat(values).hasSize(5);
+        assertThat(values.get(0).get(3)).containsExactly(1L);
+        assertThat(values.get(1).get(3)).containsExactly(-2L);
+        assertThat(values.get(2).get(4)).containsExactly(Double.doubleToRawLongBits(1.5d));
+        assertThat(values.get(3).string(1)).isEqualTo("xé€😀");
+        assertThat(values.get(4).fields).isEmpty();
+    }
+
+    @Test
+    void customFieldNames() {
+        OtlpDataFormatFactory dataFormatFactory = new OtlpDataFormatFactory();
+        dataFormatFactory.setTimestampFieldName("time");
+        dataFormatFactory.setLevelFieldName("severity");
+        dataFormatFactory.setMessageFieldName("msg");
+        OtlpMapper mapper = dataFormatFactory.createMapperBuilder(dataFormatFactory.createTokenStreamFactoryBuilder().build()).build();
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("time", "2023-11-14T22:13:20.5+01:00");
+        root.put("severity", "DEBUG");
+        root.put("msg", "hello");
+        root.put("message", "an attribute");
+
+        Fields record = new Reader(new Reader(mapper.writeValueAsBytes(root)).readBytes()).readMessage();
+        assertThat(record.get(1)).containsExactly(1_699_996_400_500_000_000L);
+        assertThat(record.get(2)).containsExactly(5L);
+        assertThat(record.string(3)).isEqualTo("DEBUG");
+        assertThat(record.message(5).string(1)).isEqualTo("hello");
+        assertThat(attributes(record, 6)).containsOnlyKeys("message");
+    }
+
+    @Test
+    void rootValuesMustBeObjects() {
+        assertThatThrownBy(() -> new OtlpMapper().writeValueAsBytes("text"))
+                .isInstanceOf(JacksonException.class);
+    }
+
+    private static Map<String, Fields> attributes(Fields message, int fieldNumber) {
+        Map<String, Fields> attributes = new LinkedHashMap<>();
+        for (Object keyValue : message.get(fieldNumber)) {
+            Fields fields = new Reader((byte[]) keyValue).readMessage();
+            attributes.put(fields.string(1), fields.message(2));
+        }
+        return attributes;
+    }
+
+    /**
+     * Fields of a decoded protobuf message: varint and fixed64 values as longs, length-delimited values as byte arrays.
+     */
+    private static class Fields {
+        private final Map<Integer, List<Object>> fields = new LinkedHashMap<>();
+
+        List<Object> get(int fieldNumber) {
+            return fields.getOrDefault(fieldNumber, List.of());
+        }
+
+        String string(int fieldNumber) {
+            assertThat(get(fieldNumber)).hasSize(1);
+            return new String((byte[]) get(fieldNumber).get(0), StandardCharsets.UTF_8);
+        }
+
+        Fields message(int fieldNumber) {
+            assertThat(get(fieldNumber)).hasSize(1);
+            return new Reader((byte[]) get(fieldNumber).get(0)).readMessage();
+        }
+    }
+
+    private static class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasMore() {
+            return position < bytes.length;
+        }
+
+        long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = (int) readVarint();
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        Fields readMessage() {
+            Fields message = new Fields();
+            while (hasMore()) {
+                long tag = readVarint();
+                Object value;
+                switch ((int) (tag & 0x7)) {
+                    case 0:
+                        value = readVarint();
+                        break;
+                    case 1:
+                        long fixed = 0;
+                        for (int i = 0; i < 8; i++) {
+                            fixed |= (bytes[position++] & 0xFFL) << (8 * i);
+                        }
+                        value = fixed;
+                        break;
+                    case 2:
+                        value = readBytes();
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected wire type in tag " + tag);
+                }
+                message.fields.computeIfAbsent((int) (tag >>> 3), k -> new ArrayList<>()).add(value);
+            }
+            return message;
+        }
+    }
+}
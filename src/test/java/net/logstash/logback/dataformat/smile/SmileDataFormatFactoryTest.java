@@ -20,6 +20,9 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import net.logstash.logback.composite.loggingevent.LoggingEventCompositeJsonFormatter;
 import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
@@ -32,6 +35,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 @ExtendWith(MockitoExtension.class)
 class SmileDataFormatFactoryTest {
@@ -59,4 +65,47 @@ class SmileDataFormatFactoryTest {
 
         assertThat(baos.toByteArray()).asBase64Encoded().isEqualTo("OikKAfqGbWVzc2FnZUhhIG1lc3NhZ2X7");
     }
+
+    @Test
+    void streamSession() throws IOException {
+        LoggingEventJsonProviders providers = new LoggingEventJsonProviders();
+        providers.addMessage(new MessageJsonProvider());
+
+        SmileDataFormatFactory dataFormatFactory = new SmileDataFormatFactory();
+        dataFormatFactory.setStreamSession(true);
+
+        LoggingEventCompositeJsonFormatter formatter = new LoggingEventCompositeJsonFormatter(contextAware);
+        formatter.setProviders(providers);
+        formatter.setDataFormatFactory(dataFormatFactory);
+        formatter.start();
+
+        when(event.getFormattedMessage()).thenReturn("a message");
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        formatter.writeEvent(event, first);
+        int firstSize = first.size();
+        formatter.writeEvent(event, first);
+
+        // name and value back-referenced by the second event
+        assertThat(first.size() - firstSize).isLessThan(firstSize - 4);
+        assertThat(readMessages(first)).containsExactly("a message", "a message");
+
+        // a new session does not depend on the previous one
+        formatter.resetSession();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        formatter.writeEvent(event, second);
+
+        assertThat(second.toByteArray()).isEqualTo(Arrays.copyOf(first.toByteArray(), firstSize));
+        assertThat(readMessages(second)).containsExactly("a message");
+    }
+
+    private static List<String> readMessages(ByteArrayOutputStream output) throws IOException {
+        List<String> messages = new ArrayList<>();
+        try (MappingIterator<JsonNode> values = new SmileMapper().readerFor(JsonNode.class).readValues(output.toByteArray())) {
+            while (values.hasNext()) {
+                messages.add(values.next().get("message").asString());
+            }
+        }
+        return messages;
+    }
 }
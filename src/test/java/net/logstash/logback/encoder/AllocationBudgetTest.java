@@ -0,0 +1,261 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.encoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import net.logstash.logback.composite.loggingevent.LogLevelJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
+import net.logstash.logback.composite.loggingevent.MdcJsonProvider;
+import net.logstash.logback.composite.loggingevent.MessageJsonProvider;
+import net.logstash.logback.fieldnames.ShortenedFieldNames;
+import net.logstash.logback.util.ObjectPoolStrategy;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Guards the number of bytes allocated by the encoders on the hot path, once warmed up.
+ *
+ * <p>Allocations are measured with {@link ThreadMXBean#getThreadAllocatedBytes(long)} while
+ * encoding events without throwable and with a modest MDC. Building the events is not measured.
+ * The lowest of several measurement rounds is compared with the budget to filter out the noise
+ * caused by the JIT compiler.
+ *
+ * <p>Encoding into an {@link OutputStream} or a {@link ByteBuffer} reuses the pooled generators and
+ * buffers and must stay within {@link #STREAMING_BUDGET}. The only remaining allocation is the formatted {@code @timestamp}.
+ * Encoding into a {@code byte[]} additionally allocates the returned array.
+ */
+class AllocationBudgetTest {
+
+    /**
+     * Maximum number of bytes allocated per event when encoding into an {@link OutputStream}.
+     */
+    private static final long STREAMING_BUDGET = 128;
+
+    /**
+     * Maximum number of bytes allocated per event when encoding into a {@code byte[]},
+     * in addition to {@link #STREAMING_BUDGET} and to the size of the encoded event.
+     */
+    private static final long BYTE_ARRAY_OVERHEAD_BUDGET = 64;
+
+    private static final int EVENT_COUNT = 1_000;
+    private static final int WARMUP_ROUNDS = 100;
+    private static final int MEASUREMENT_ROUNDS = 5;
+
+    enum EncoderConfiguration {
+        LOGSTASH(LogstashEncoder::new),
+        LOGSTASH_BOUNDED_POOL(() -> {
+            LogstashEncoder encoder = new LogstashEncoder();
+            encoder.setPoolStrategy(ObjectPoolStrategy.BOUNDED);
+            return encoder;
+        }),
+        LOGSTASH_UNFUSED_PROVIDERS(() -> {
+            LogstashEncoder encoder = new LogstashEncoder();
+            encoder.setFuseProviders(false);
+            return encoder;
+        }),
+        LOGSTASH_SHORTENED_FIELD_NAMES(() -> {
+            LogstashEncoder encoder = new LogstashEncoder();
+            encoder.setFieldNames(new ShortenedFieldNames());
+            return encoder;
+        }),
+        COMPOSITE(() -> {
+            LoggingEventJsonProviders providers = new LoggingEventJsonProviders();
+            providers.addTimestamp(new LoggingEventFormattedTimestampJsonProvider());
+            providers.addLogLevel(new LogLevelJsonProvider());
+            providers.addLoggerName(new LoggerNameJsonProvider());
+            providers.addMessage(new MessageJsonProvider());
+            providers.addMdc(new MdcJsonProvider());
+
+            LoggingEventCompositeJsonEncoder encoder = new LoggingEventCompositeJsonEncoder();
+            encoder.setProviders(providers);
+            return encoder;
+        });
+
+        private final Supplier<CompositeJsonEncoder<ILoggingEvent>> factory;
+
+        EncoderConfiguration(Supplier<CompositeJsonEncoder<ILoggingEvent>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final List<ILoggingEvent> events = new ArrayList<>();
+
+    private ThreadMXBean threadMXBean;
+
+    @BeforeEach
+    void setup() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean, "ThreadMXBean allocation measurement not available");
+        threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Thread allocated memory measurement not supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        Logger logger = context.getLogger("org.company.service.OrderService");
+        long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Map<String, String> mdc = new HashMap<>();
+            mdc.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+            mdc.put("spanId", "00f067aa0ba902b7");
+            mdc.put("userId", "user-" + i);
+
+            LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.INFO, "Order {} processed", null, new Object[] {i});
+            event.setTimeStamp(timestamp + i);
+            event.setThreadName("http-nio-8080-exec-1");
+            event.setMDCPropertyMap(mdc);
+            event.prepareForDeferredProcessing();
+            events.add(event);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @ParameterizedTest
+    @EnumSource(EncoderConfiguration.class)
+    void encodeToOutputStream(EncoderConfiguration configuration) throws IOException {
+        CompositeJsonEncoder<ILoggingEvent> encoder = start(configuration);
+        OutputStream outputStream = OutputStream.nullOutputStream();
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                encodeAll(encoder, outputStream);
+            }
+
+            long allocatedPerEvent = Long.MAX_VALUE;
+            for (int i = 0; i < MEASUREMENT_ROUNDS; i++) {
+                long before = allocatedBytes();
+                encodeAll(encoder, outputStream);
+                allocatedPerEvent = Math.min(allocatedPerEvent, (allocatedBytes() - before) / EVENT_COUNT);
+            }
+
+            assertThat(allocatedPerEvent)
+                .as("bytes allocated per event by %s", configuration)
+                .isLessThanOrEqualTo(STREAMING_BUDGET);
+        } finally {
+            encoder.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EncoderConfiguration.class)
+    void encodeToByteBuffer(EncoderConfiguration configuration) throws IOException {
+        CompositeJsonEncoder<ILoggingEvent> encoder = start(configuration);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8192);
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                encodeAll(encoder, buffer);
+            }
+
+            long allocatedPerEvent = Long.MAX_VALUE;
+            for (int i = 0; i < MEASUREMENT_ROUNDS; i++) {
+                long before = allocatedBytes();
+                encodeAll(encoder, buffer);
+                allocatedPerEvent = Math.min(allocatedPerEvent, (allocatedBytes() - before) / EVENT_COUNT);
+            }
+
+            assertThat(allocatedPerEvent)
+                .as("bytes allocated per event by %s", configuration)
+                .isLessThanOrEqualTo(STREAMING_BUDGET);
+        } finally {
+            encoder.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EncoderConfiguration.class)
+    void encodeToByteArray(EncoderConfiguration configuration) {
+        CompositeJsonEncoder<ILoggingEvent> encoder = start(configuration);
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                encodeAll(encoder);
+            }
+
+            long allocatedPerEvent = Long.MAX_VALUE;
+            long encodedPerEvent = 0;
+            for (int i = 0; i < MEASUREMENT_ROUNDS; i++) {
+                long before = allocatedBytes();
+                long encoded = encodeAll(encoder);
+                allocatedPerEvent = Math.min(allocatedPerEvent, (allocatedBytes() - before) / EVENT_COUNT);
+                encodedPerEvent = encoded / EVENT_COUNT;
+            }
+
+            assertThat(allocatedPerEvent)
+                .as("bytes allocated per event by %s", configuration)
+                .isLessThanOrEqualTo(STREAMING_BUDGET + BYTE_ARRAY_OVERHEAD_BUDGET + encodedPerEvent);
+        } finally {
+            encoder.stop();
+        }
+    }
+
+    private CompositeJsonEncoder<ILoggingEvent> start(EncoderConfiguration configuration) {
+        CompositeJsonEncoder<ILoggingEvent> encoder = configuration.factory.get();
+        encoder.setContext(context);
+        encoder.start();
+        return encoder;
+    }
+
+    private void encodeAll(CompositeJsonEncoder<ILoggingEvent> encoder, OutputStream outputStream) throws IOException {
+        for (ILoggingEvent event : events) {
+            encoder.encode(event, outputStream);
+        }
+    }
+
+    private void encodeAll(CompositeJsonEncoder<ILoggingEvent> encoder, ByteBuffer buffer) throws IOException {
+        for (ILoggingEvent event : events) {
+            buffer.clear();
+            if (encoder.encode(event, buffer) <= 0) {
+                throw new IllegalStateException("The buffer is too small");
+            }
+        }
+    }
+
+    private long encodeAll(CompositeJsonEncoder<ILoggingEvent> encoder) {
+        long encoded = 0;
+        for (ILoggingEvent event : events) {
+            encoded += encoder.encode(event).length;
+        }
+        return encoded;
+    }
+
+    private long allocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -29,10 +29,15 @@ import static org.mockito.Mockito.verify;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import net.logstash.logback.TestJsonProvider;
 import net.logstash.logback.composite.AbstractCompositeJsonFormatter;
+import net.logstash.logback.composite.AbstractJsonProvider;
+import net.logstash.logback.util.ByteChunkPool;
+import net.logstash.logback.util.ObjectPoolStrategy;
 
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
@@ -132,6 +137,21 @@ public class CompositeJsonEncoderTest {
         assertThat(new String(encoder.encode(event))).isEqualTo("{}");
     }
 
+
+    @Test
+    public void retainedBufferBytes() {
+        encoder.setMinBufferSize(256);
+        encoder.setAdaptiveBufferSize(true);
+        assertThat(encoder.getRetainedBufferBytes()).isZero();
+
+        encoder.start();
+        encoder.encode(event);
+        assertThat(encoder.getRetainedBufferBytes()).isEqualTo(256);
+
+        encoder.stop();
+        assertThat(encoder.getRetainedBufferBytes()).isZero();
+    }
+
     
     /*
      * Encode log event with prefix and suffix encoders.
@@ -177,6 +197,22 @@ public class CompositeJsonEncoderTest {
     }
     
     
+    /*
+     * Encode using a bounded pool of generators and buffers
+     */
+    @Test
+    public void encode_boundedPool() {
+        encoder.setPoolStrategy(ObjectPoolStrategy.BOUNDED);
+        encoder.setPoolSize(1);
+        encoder.setPrefix(new TestEncoder("prefix"));
+        encoder.start();
+
+        assertThat(formatter.getPoolStrategy()).isEqualTo(ObjectPoolStrategy.BOUNDED);
+        assertThat(new String(encoder.encode(event))).isEqualTo("prefix/event{}");
+        assertThat(new String(encoder.encode(event))).isEqualTo("prefix/event{}");
+    }
+    
+    
     /*
      * Encode using the StreamingEncoder API
      */
@@ -192,6 +228,91 @@ public class CompositeJsonEncoderTest {
     
     
     /*
+     * Encode into a direct ByteBuffer using the StreamingEncoder API
+     */
+    @Test
+    public void byteBufferEncode() throws IOException {
+        encoder.setPrefix(new TestEncoder("prefix"));
+        encoder.start();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        buffer.put((byte) '>');
+
+        assertThat(encoder.encode(event, buffer)).isEqualTo(14);
+        assertThat(buffer.position()).isEqualTo(15);
+
+        buffer.flip();
+        assertThat(StandardCharsets.UTF_8.decode(buffer).toString()).isEqualTo(">prefix/event{}");
+    }
+
+
+    /*
+     * Encoding into a ByteBuffer with not enough room returns the negated size of the event
+     * and restores the position of the buffer
+     */
+    @Test
+    public void byteBufferEncode_overflow() throws IOException {
+        encoder.setPrefix(new TestEncoder("prefix"));
+        encoder.start();
+
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) '>');
+
+        assertThat(encoder.encode(event, buffer)).isEqualTo(-14);
+        assertThat(buffer.position()).isEqualTo(1);
+
+        // the encoder can still be used afterwards
+        ByteBuffer largerBuffer = ByteBuffer.allocate(14);
+        assertThat(encoder.encode(event, largerBuffer)).isEqualTo(14);
+        largerBuffer.flip();
+        assertThat(StandardCharsets.UTF_8.decode(largerBuffer).toString()).isEqualTo("prefix/event{}");
+    }
+
+
+    /*
+     * Encode a batch of events with prefix, suffix and line separator, flushing the output stream once
+     */
+    @Test
+    public void encodeBatch() throws IOException {
+        encoder.setPrefix(new TestEncoder("prefix"));
+        encoder.setSuffix(new TestEncoder("suffix"));
+        encoder.setLineSeparator("UNIX");
+        encoder.start();
+
+        OutputStream outputStream = spy(new ByteArrayOutputStream());
+        encoder.encodeBatch(List.of(event, event, event), outputStream);
+
+        assertThat(outputStream).hasToString("prefix/event{}suffix/event\n".repeat(3));
+        verify(outputStream, times(1)).flush();
+    }
+
+
+    /*
+     * A failure in the middle of a batch keeps the events written before it
+     * and the generator is not reused afterwards
+     */
+    @Test
+    public void encodeBatch_exception() throws IOException {
+        ILoggingEvent failing = mock(ILoggingEvent.class);
+        doThrow(new IllegalStateException("boom")).when(failing).getMarkerList();
+        encoder.getFormatter().getProviders().addProvider(new AbstractJsonProvider<>() {
+            @Override
+            public void writeTo(JsonGenerator generator, ILoggingEvent event) {
+                event.getMarkerList();
+            }
+        });
+        encoder.start();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(() -> encoder.encodeBatch(List.of(event, failing, event), outputStream));
+        assertThat(outputStream.toString()).startsWith("{}");
+
+        assertThat(encoder.encode(event)).asString(StandardCharsets.UTF_8).isEqualTo("{}");
+    }
+
+
+        /*
      * Test decoding of special line separators
      */
     @Test
@@ -254,6 +375,37 @@ public class CompositeJsonEncoderTest {
             .noneMatch(s -> s.getMessage().startsWith("Error encountered while encoding log event."));
     }
     
+
+    /*
+     * The shared buffer pool is created with the settings of the first encoder using it
+     */
+    @Test
+    public void sharedBufferPoolSettings() {
+        encoder.setSharedBufferPool(true);
+        encoder.setSharedBufferChunkSize(1024);
+        encoder.setMaxSharedBufferChunks(3);
+        encoder.start();
+
+        ByteChunkPool pool = ByteChunkPool.getShared(context);
+        assertThat(pool.getChunkSize()).isEqualTo(1024);
+        assertThat(pool.getMaxChunks()).isEqualTo(3);
+
+        TestCompositeJsonEncoder other = new TestCompositeJsonEncoder();
+        other.setContext(context);
+        other.setSharedBufferPool(true);
+        other.start();
+
+        assertThat(statusManager.getCopyOfStatusList())
+            .anyMatch(s -> s.getMessage().startsWith("The shared buffer pool was already created with chunks of 1024 bytes and at most 3 idle chunks"));
+        other.stop();
+    }
+
+    @Test
+    public void invalidSharedBufferPoolSettings() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> encoder.setSharedBufferChunkSize(0));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> encoder.setMaxSharedBufferChunks(0));
+    }
+
     
     // ----------------------------------------------------------------------------------------------------------------
     
@@ -15,6 +15,7 @@
  */
 package net.logstash.logback.encoder;
 
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
 import static net.logstash.logback.marker.Markers.append;
 import static net.logstash.logback.marker.Markers.appendEntries;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,8 +25,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
@@ -38,10 +41,17 @@ import java.util.Map;
 import java.util.TimeZone;
 
 import net.logstash.logback.composite.AbstractFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.AbstractJsonProvider;
+import net.logstash.logback.composite.FastJsonProvider;
+import net.logstash.logback.composite.FastJsonWriter;
 import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
 import net.logstash.logback.composite.loggingevent.mdc.BooleanMdcEntryWriter;
 import net.logstash.logback.composite.loggingevent.mdc.DoubleMdcEntryWriter;
 import net.logstash.logback.composite.loggingevent.mdc.LongMdcEntryWriter;
+import net.logstash.logback.dataformat.cbor.CborDataFormatFactory;
+import net.logstash.logback.dataformat.smile.SmileDataFormatFactory;
+import net.logstash.logback.decorate.Decorator;
+import net.logstash.logback.decorate.JsonGeneratorDecorator;
 import net.logstash.logback.decorate.PrettyPrintingDecorator;
 import net.logstash.logback.decorate.json.JsonWriteFeatureDecorator;
 import net.logstash.logback.fieldnames.LogstashCommonFieldNames;
@@ -65,11 +75,16 @@ import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 import org.slf4j.event.KeyValuePair;
 import org.slf4j.helpers.NOPMDCAdapter;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.core.json.JsonWriteFeature;
 import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.MappingIterator;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 public class LogstashEncoderTest {
 
@@ -644,6 +659,105 @@ public class LogstashEncoderTest {
                 "{ \"version\" : \"Version 0.1.0-SNAPSHOT\", \"lastcommit\" : \"75473700d5befa953c45f630c6d9105413c16fe1\"}"));
     }
 
+    @Test
+    public void maxEventBytesIncludesConstantFields() {
+        LoggerContext context = new LoggerContext();
+        context.putProperty("host", "localhost");
+        context.putProperty("service", "orders");
+
+        for (int maxEventBytes : new int[] {60, 100, 200}) {
+            LogstashEncoder encoder = new LogstashEncoder();
+            encoder.setContext(context);
+            encoder.setCustomFields("{\"a\":\"value-a\",\"b\":\"value-b\",\"c\":\"value-c\"}");
+            encoder.setLineSeparator(null);
+            encoder.setMaxEventBytes(maxEventBytes);
+            encoder.start();
+
+            byte[] encoded = encoder.encode(mockBasicILoggingEvent(Level.INFO));
+
+            assertThat(encoded).hasSizeLessThanOrEqualTo(maxEventBytes);
+            assertThat(MAPPER.readTree(encoded).isObject()).isTrue();
+            encoder.stop();
+        }
+    }
+
+    @Test
+    public void cborStreamSession() throws IOException {
+        CborDataFormatFactory dataFormatFactory = new CborDataFormatFactory();
+        dataFormatFactory.setStreamSession(true);
+        encoder.setDataFormatFactory(dataFormatFactory);
+        encoder.start();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            stream.write(encoder.encode(mockBasicILoggingEvent(Level.INFO, "message " + i)));
+        }
+
+        CBORMapper mapper = new CBORMapper();
+        List<String> messages = new ArrayList<>();
+        try (JsonParser parser = mapper.createParser(stream.toByteArray())) {
+            assertThat(parser.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+            // the array holding the events of a session is only closed with the session
+            for (int i = 0; i < 3; i++) {
+                assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+                JsonNode node = parser.readValueAsTree();
+                assertThat(node.get("level").asString()).isEqualTo("INFO");
+                messages.add(node.get("message").asString());
+            }
+        }
+        assertThat(messages).containsExactly("message 0", "message 1", "message 2");
+    }
+
+    @Test
+    public void smileStreamSession() throws IOException {
+        SmileDataFormatFactory dataFormatFactory = new SmileDataFormatFactory();
+        dataFormatFactory.setStreamSession(true);
+        encoder.setDataFormatFactory(dataFormatFactory);
+        encoder.start();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            stream.write(encoder.encode(mockBasicILoggingEvent(Level.INFO, "message " + i)));
+        }
+
+        List<String> messages = new ArrayList<>();
+        try (MappingIterator<JsonNode> values = new SmileMapper().readerFor(JsonNode.class).readValues(stream.toByteArray())) {
+            while (values.hasNext()) {
+                JsonNode node = values.next();
+                assertThat(node.get("level").asString()).isEqualTo("INFO");
+                messages.add(node.get("message").asString());
+            }
+        }
+        assertThat(messages).containsExactly("message 0", "message 1", "message 2");
+    }
+
+    @Test
+    public void streamSessionEncodedBySeveralThreads() throws InterruptedException {
+        LoggerContext context = new LoggerContext();
+        encoder.setContext(context);
+        CborDataFormatFactory dataFormatFactory = new CborDataFormatFactory();
+        dataFormatFactory.setStreamSession(true);
+        encoder.setDataFormatFactory(dataFormatFactory);
+        encoder.start();
+        assertThat(encoder.isStreamSession()).isTrue();
+
+        // a new session may be written by another thread
+        encoder.encode(mockBasicILoggingEvent(Level.INFO));
+        encoder.resetSession();
+        encodeInOtherThread();
+        assertThat(context.getStatusManager().getCopyOfStatusList()).isEmpty();
+
+        encoder.encode(mockBasicILoggingEvent(Level.INFO));
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+            .anySatisfy(status -> assertThat(status.getMessage()).startsWith("The events of a stream session are encoded by several threads"));
+    }
+
+    private void encodeInOtherThread() throws InterruptedException {
+        Thread other = new Thread(() -> encoder.encode(mockBasicILoggingEvent(Level.INFO)));
+        other.start();
+        other.join();
+    }
+
     @Test
     public void customTimeZone() {
         ILoggingEvent event = mockBasicILoggingEvent(Level.ERROR);
@@ -844,12 +958,101 @@ public class LogstashEncoderTest {
         assertThat(node.path("message").asString()).isEqualTo(message);
     }
 
+    @Test
+    public void fastJsonWriterSameOutputAsJackson() {
+        LogstashEncoder fastEncoder = new LogstashEncoder();
+        fastEncoder.setFastJsonWriter(true);
+        FastJsonWriterCounter counter = new FastJsonWriterCounter();
+        fastEncoder.addProvider(counter);
+        fastEncoder.start();
+        encoder.start();
+
+        List<LoggingEvent> events = new ArrayList<>();
+        events.add(mockBasicILoggingEvent(Level.INFO, "quote \" backslash \\ control \u0001 \t latin \u00e9 emoji \ud83d\ude00"));
+        events.add(mockBasicILoggingEvent(Level.WARN, "mdc", Map.of("key", "value", "other", "line\nbreak")));
+        LoggingEvent withThrowable = mockBasicILoggingEvent(Level.ERROR);
+        withThrowable.setThrowableProxy(new ThrowableProxy(new IllegalStateException("failure")));
+        events.add(withThrowable);
+        LoggingEvent withArguments = mockBasicILoggingEvent(Level.INFO, "arguments {} {} {}");
+        withArguments.setArgumentArray(new Object[] {keyValue("id", "value"), keyValue("count", 42), "not structured"});
+        events.add(withArguments);
+        LoggingEvent withKeyValuePairs = mockBasicILoggingEvent(Level.INFO);
+        withKeyValuePairs.addKeyValuePair(new KeyValuePair("key", "value"));
+        withKeyValuePairs.addKeyValuePair(new KeyValuePair("count", 42L));
+        events.add(withKeyValuePairs);
+
+        // Written by Jackson
+        LoggingEvent withObjectArgument = mockBasicILoggingEvent(Level.INFO);
+        withObjectArgument.setArgumentArray(new Object[] {keyValue("map", Map.of("key", 1))});
+        events.add(withObjectArgument);
+        LoggingEvent withMarker = mockBasicILoggingEvent(Level.INFO);
+        addMarker(withMarker, append("marker", "value"));
+        events.add(withMarker);
+        LoggingEvent withTag = mockBasicILoggingEvent(Level.INFO);
+        addMarker(withTag, MarkerFactory.getMarker("tag"));
+        events.add(withTag);
+        LoggingEvent withDoublePair = mockBasicILoggingEvent(Level.INFO);
+        withDoublePair.addKeyValuePair(new KeyValuePair("ratio", 1.5d));
+        events.add(withDoublePair);
+        events.add(mockBasicILoggingEvent(Level.INFO, "unpaired \ud83d surrogate"));
+
+        for (LoggingEvent event : events) {
+            assertThat(fastEncoder.encode(event)).asString(StandardCharsets.UTF_8)
+                .isEqualTo(new String(encoder.encode(event), StandardCharsets.UTF_8));
+        }
+        assertThat(counter.count).isEqualTo(5);
+        fastEncoder.stop();
+    }
+
+    @Test
+    public void fastJsonWriterDisabledWithGeneratorDecorators() {
+        assertFastJsonWriterDisabled((JsonGeneratorDecorator) generator -> generator, "JSON generator decorators are configured");
+    }
+
+    @Test
+    public void fastJsonWriterDisabledWhenOutputDiffers() {
+        assertFastJsonWriterDisabled(new PrettyPrintingDecorator<>(), "the configuration of the JSON generator changes its output");
+    }
+
+    private void assertFastJsonWriterDisabled(Decorator<?> decorator, String reason) {
+        LoggerContext context = new LoggerContext();
+        encoder.setContext(context);
+        encoder.setFastJsonWriter(true);
+        FastJsonWriterCounter counter = new FastJsonWriterCounter();
+        encoder.addProvider(counter);
+        encoder.addDecorator(decorator);
+        encoder.start();
+
+        encoder.encode(mockBasicILoggingEvent(Level.INFO));
+
+        assertThat(counter.count).isZero();
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+            .anySatisfy(status -> assertThat(status.getMessage()).endsWith(reason));
+    }
+
     @Test
     public void testJsonProvidersCannotBeChanged() {
         assertThatExceptionOfType(IllegalArgumentException.class)
             .isThrownBy(() -> encoder.setProviders(new LoggingEventJsonProviders()));
     }
 
+    /**
+     * Counts the events completely written by a {@link FastJsonWriter}, when added last.
+     */
+    private static class FastJsonWriterCounter extends AbstractJsonProvider<ILoggingEvent> implements FastJsonProvider<ILoggingEvent> {
+        private int count;
+
+        @Override
+        public void writeTo(JsonGenerator generator, ILoggingEvent event) {
+        }
+
+        @Override
+        public boolean writeTo(FastJsonWriter writer, ILoggingEvent event) {
+            count++;
+            return true;
+        }
+    }
+
     private void assertJsonArray(JsonNode jsonNode, String... expected) {
         assertThat(jsonNode).isNotNull();
         assertThat(jsonNode.isArray()).isTrue();
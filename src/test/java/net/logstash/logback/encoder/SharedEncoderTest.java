@@ -0,0 +1,213 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.encoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import net.logstash.logback.composite.loggingevent.MessageJsonProvider;
+import net.logstash.logback.dataformat.cbor.CborDataFormatFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.joran.spi.JoranException;
+import ch.qos.logback.core.status.Status;
+import org.junit.jupiter.api.Test;
+
+public class SharedEncoderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final LoggingEventCompositeJsonEncoder delegate = spy(new LoggingEventCompositeJsonEncoder());
+
+    @Test
+    public void encodedOncePerEvent() throws IOException {
+        SharedEncoder<ILoggingEvent> first = define("json", delegate);
+        SharedEncoder<ILoggingEvent> second = refer("json");
+        assertThat(first.isStarted()).isTrue();
+        assertThat(second.isStarted()).isTrue();
+
+        LoggingEvent event = event("hello");
+        byte[] bytes = first.encode(event);
+        assertThat(second.encode(event)).isSameAs(bytes);
+        assertThat(new String(bytes)).isEqualTo("{\"message\":\"hello\"}" + System.lineSeparator());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        second.encode(event, outputStream);
+        assertThat(outputStream.toByteArray()).isEqualTo(bytes);
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        assertThat(second.encode(event, buffer)).isEqualTo(bytes.length);
+        assertThat(second.encode(event, ByteBuffer.allocate(4))).isEqualTo(-bytes.length);
+
+        verify(delegate, times(1)).encode(event);
+
+        // another event instance is encoded again, even with the same content
+        LoggingEvent other = event("hello");
+        assertThat(second.encode(other)).isNotSameAs(bytes).isEqualTo(bytes);
+        verify(delegate, times(1)).encode(other);
+    }
+
+    @Test
+    public void cacheDisabled() {
+        SharedEncoder<ILoggingEvent> first = new SharedEncoder<>();
+        first.setCacheSize(0);
+        start(first, "json", delegate);
+        SharedEncoder<ILoggingEvent> second = refer("json");
+
+        LoggingEvent event = event("hello");
+        assertThat(second.encode(event)).isEqualTo(first.encode(event));
+        verify(delegate, times(2)).encode(event);
+    }
+
+    @Test
+    public void differentNames() {
+        SharedEncoder<ILoggingEvent> first = define("first", delegate);
+        LoggingEventCompositeJsonEncoder otherDelegate = spy(new LoggingEventCompositeJsonEncoder());
+        SharedEncoder<ILoggingEvent> second = define("second", otherDelegate);
+
+        LoggingEvent event = event("hello");
+        first.encode(event);
+        second.encode(event);
+        verify(delegate, times(1)).encode(event);
+        verify(otherDelegate, times(1)).encode(event);
+    }
+
+    @Test
+    public void duplicateDefinition() {
+        define("json", delegate);
+        SharedEncoder<ILoggingEvent> duplicate = define("json", new LoggingEventCompositeJsonEncoder());
+
+        assertThat(duplicate.isStarted()).isFalse();
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+            .anySatisfy(status -> {
+                assertThat(status.getLevel()).isEqualTo(Status.ERROR);
+                assertThat(status.getMessage()).contains("[json] is already defined");
+            });
+    }
+
+    @Test
+    public void undefinedReference() {
+        SharedEncoder<ILoggingEvent> reference = refer("json");
+
+        assertThat(reference.isStarted()).isFalse();
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+            .anySatisfy(status -> assertThat(status.getMessage()).contains("No shared encoder named [json]"));
+    }
+
+    @Test
+    public void resetSessionForwarded() {
+        SharedEncoder<ILoggingEvent> first = define("json", delegate);
+
+        first.resetSession();
+        verify(delegate).resetSession();
+    }
+
+    @Test
+    public void streamSessionNotShared() {
+        CborDataFormatFactory dataFormatFactory = new CborDataFormatFactory();
+        dataFormatFactory.setStreamSession(true);
+        delegate.setDataFormatFactory(dataFormatFactory);
+        SharedEncoder<ILoggingEvent> first = define("cbor", delegate);
+        assertThat(first.isStarted()).isTrue();
+        assertThat(first.isStreamSession()).isTrue();
+
+        // events of a session are not cached
+        LoggingEvent event = event("hello");
+        first.encode(event);
+        first.encode(event);
+        verify(delegate, times(2)).encode(event);
+
+        SharedEncoder<ILoggingEvent> reference = refer("cbor");
+        assertThat(reference.isStarted()).isFalse();
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+            .anySatisfy(status -> {
+                assertThat(status.getLevel()).isEqualTo(Status.ERROR);
+                assertThat(status.getMessage()).contains("[cbor] writes stream sessions");
+            });
+    }
+
+    @Test
+    public void stop() {
+        SharedEncoder<ILoggingEvent> first = define("json", delegate);
+        first.stop();
+
+        assertThat(delegate.isStarted()).isFalse();
+        assertThat(refer("json").isStarted()).isFalse();
+
+        // can be defined again once stopped
+        assertThat(define("json", new LoggingEventCompositeJsonEncoder()).isStarted()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void xmlConfiguration() throws IOException, JoranException {
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        try (InputStream is = getClass().getResourceAsStream("SharedEncoderTest.xml")) {
+            configurator.doConfigure(is);
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        SharedEncoder<ILoggingEvent> first = (SharedEncoder<ILoggingEvent>) ((OutputStreamAppender<ILoggingEvent>) root.getAppender("FIRST")).getEncoder();
+        SharedEncoder<ILoggingEvent> second = (SharedEncoder<ILoggingEvent>) ((OutputStreamAppender<ILoggingEvent>) root.getAppender("SECOND")).getEncoder();
+        assertThat(first.isStarted()).isTrue();
+        assertThat(second.isStarted()).isTrue();
+        assertThat(first.getEncoder()).isInstanceOf(LoggingEventCompositeJsonEncoder.class);
+
+        LoggingEvent event = event("hello");
+        assertThat(second.encode(event)).isSameAs(first.encode(event));
+    }
+
+    private SharedEncoder<ILoggingEvent> define(String name, LoggingEventCompositeJsonEncoder encoder) {
+        SharedEncoder<ILoggingEvent> sharedEncoder = new SharedEncoder<>();
+        start(sharedEncoder, name, encoder);
+        return sharedEncoder;
+    }
+
+    private void start(SharedEncoder<ILoggingEvent> sharedEncoder, String name, LoggingEventCompositeJsonEncoder encoder) {
+        encoder.getProviders().addProvider(new MessageJsonProvider());
+        sharedEncoder.setName(name);
+        sharedEncoder.setEncoder(encoder);
+        sharedEncoder.setContext(context);
+        sharedEncoder.start();
+    }
+
+    private SharedEncoder<ILoggingEvent> refer(String name) {
+        SharedEncoder<ILoggingEvent> sharedEncoder = new SharedEncoder<>();
+        sharedEncoder.setName(name);
+        sharedEncoder.setContext(context);
+        sharedEncoder.start();
+        return sharedEncoder;
+    }
+
+    private LoggingEvent event(String message) {
+        LoggingEvent event = new LoggingEvent();
+        event.setMessage(message);
+        return event;
+    }
+}
@@ -840,6 +840,177 @@ public class ShortenedThrowableConverterTest {
         }
     }
 
+    @Test
+    public void testRenderCache() {
+        ShortenedThrowableConverter converter = new ShortenedThrowableConverter();
+        converter.setMaxDepthPerThrowable(8);
+        converter.start();
+
+        ShortenedThrowableConverter cachingConverter = new ShortenedThrowableConverter();
+        cachingConverter.setMaxDepthPerThrowable(8);
+        cachingConverter.setRenderCacheSize(16);
+        cachingConverter.start();
+
+        for (int i = 0; i < 3; i++) {
+            Throwable e = throwFromSameSite("message " + i);
+            assertThat(convert(cachingConverter, e))
+                .contains("message " + i)
+                .contains("cause of message " + i)
+                .contains("suppressed by message " + i)
+                .isEqualTo(convert(converter, e));
+        }
+
+        // throwables thrown from another call site are not confused with the cached one
+        try {
+            StackTraceElementGenerator.generateCausedBy();
+            fail("Exception must have been thrown");
+        } catch (RuntimeException e) {
+            assertThat(convert(cachingConverter, e)).isEqualTo(convert(converter, e));
+        }
+    }
+
+    @Test
+    public void testRenderCache_options() {
+        ShortenedThrowableConverter converter = new ShortenedThrowableConverter();
+        converter.setRootCauseFirst(true);
+        converter.setInlineHash(true);
+        converter.start();
+        int totalLength = convert(converter, throwFromSameSite("message")).length();
+
+        ShortenedThrowableConverter cachingConverter = new ShortenedThrowableConverter();
+        cachingConverter.setRootCauseFirst(true);
+        cachingConverter.setInlineHash(true);
+        cachingConverter.setRenderCacheSize(1);
+        cachingConverter.start();
+
+        // truncation depends on the length of the messages substituted in the cached stack trace
+        converter.stop();
+        converter.setMaxLength(totalLength / 2);
+        converter.start();
+        cachingConverter.stop();
+        cachingConverter.setMaxLength(totalLength / 2);
+        cachingConverter.start();
+
+        for (String message : Arrays.asList("short", "a much longer message" + "-".repeat(totalLength))) {
+            Throwable e = throwFromSameSite(message);
+            assertThat(convert(cachingConverter, e))
+                .hasSize(totalLength / 2)
+                .isEqualTo(convert(converter, e));
+
+            ILoggingEvent event = createEvent(e);
+            when(event.getMarkerList()).thenReturn(List.of(ShortenedThrowableConverter.OMIT_THROWABLE_MESSAGE));
+            assertThat(convert(cachingConverter, event))
+                .doesNotContain(message)
+                .isEqualTo(convert(converter, event));
+        }
+    }
+
+    @Test
+    public void testRenderCache_invalidSize() {
+        ShortenedThrowableConverter converter = new ShortenedThrowableConverter();
+        assertThatThrownBy(() -> converter.setRenderCacheSize(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testVisit() {
+        try {
+            StackTraceElementGenerator.generateCausedBy();
+            fail("Exception must have been thrown");
+        } catch (RuntimeException e) {
+            ShortenedThrowableConverter converter = new ShortenedThrowableConverter();
+            converter.addExclude("five");
+            converter.addExclude("six");
+            converter.setMaxDepthPerThrowable(8);
+            converter.setInlineHash(true);
+            converter.start();
+
+            /*
+             * Render the structure with the same lines as the String rendering
+             */
+            String lineSeparator = converter.getLineSeparator();
+            StringBuilder visited = new StringBuilder();
+            boolean result = converter.visit(createEvent(e), new ThrowableVisitor() {
+                private String prefix = "";
+
+                @Override
+                public void startThrowable(String className, String message, String hash) {
+                    visited.append(prefix).append("<#").append(hash).append("> ")
+                        .append(className).append(": ").append(message).append(lineSeparator);
+                }
+
+                @Override
+                public void frame(String className, String methodName, String fileName, int lineNumber) {
+                    visited.append("\tat ").append(className).append('.').append(methodName)
+                        .append('(').append(fileName);
+                    if (lineNumber >= 0) {
+                        visited.append(':').append(lineNumber);
+                    }
+                    visited.append(')').append(lineSeparator);
+                }
+
+                @Override
+                public void omittedFrames(int count, String reason) {
+                    visited.append("\t... ").append(count).append(' ').append(reason).append(lineSeparator);
+                }
+
+                @Override
+                public void startSuppressed() {
+                    fail("No suppressed throwable");
+                }
+
+                @Override
+                public void endSuppressed() {
+                    fail("No suppressed throwable");
+                }
+
+                @Override
+                public void startCause() {
+                    prefix = CoreConstants.CAUSED_BY;
+                }
+
+                @Override
+                public void truncated() {
+                    fail("Not truncated");
+                }
+
+                @Override
+                public void endThrowable() {
+                }
+            });
+
+            assertThat(result).isTrue();
+            assertThat(visited).hasToString(convert(converter, e));
+        }
+    }
+
+    @Test
+    public void testVisit_evaluator() throws EvaluationException {
+        ShortenedThrowableConverter converter = new ShortenedThrowableConverter();
+        @SuppressWarnings("unchecked")
+        EventEvaluator<ILoggingEvent> evaluator = mock(EventEvaluator.class);
+        when(evaluator.evaluate(any(ILoggingEvent.class))).thenReturn(true);
+        converter.addEvaluator(evaluator);
+        converter.start();
+
+        ThrowableVisitor visitor = mock(ThrowableVisitor.class);
+        assertThat(converter.visit(createEvent(new RuntimeException()), visitor)).isFalse();
+        Mockito.verifyNoInteractions(visitor);
+    }
+
+    private static Throwable throwFromSameSite(String message) {
+        try {
+            try {
+                throw new IllegalStateException("cause of " + message);
+            } catch (IllegalStateException cause) {
+                RuntimeException e = new RuntimeException(message, cause);
+                e.addSuppressed(new IllegalArgumentException("suppressed by " + message));
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
     
     // --------------------------------------------------------------------------------------------
     
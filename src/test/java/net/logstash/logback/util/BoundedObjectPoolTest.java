@@ -0,0 +1,183 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.logstash.logback.util.ThreadLocalHolder.Lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundedObjectPoolTest {
+
+    private final BoundedObjectPool<Lifecycle> pool = new BoundedObjectPool<>(() -> spy(Lifecycle.class), 2);
+
+
+    /*
+     * Released instances are reused
+     */
+    @Test
+    public void testAcquire_reuseReleasedInstance() {
+        Lifecycle obj1 = pool.acquire();
+        pool.release(obj1);
+
+        assertThat(pool.acquire()).isSameAs(obj1);
+    }
+
+
+    /*
+     * A new instance is created when all instances are in use, including by the same thread
+     */
+    @Test
+    public void testAcquire_newInstanceWhenAllInUse() {
+        Lifecycle obj1 = pool.acquire();
+        Lifecycle obj2 = pool.acquire();
+
+        assertThat(obj2).isNotSameAs(obj1);
+    }
+
+
+    /*
+     * Instances released when the pool is full are disposed
+     */
+    @Test
+    public void testRelease_disposeWhenFull() {
+        Lifecycle obj1 = pool.acquire();
+        Lifecycle obj2 = pool.acquire();
+        Lifecycle obj3 = pool.acquire();
+
+        pool.release(obj1);
+        pool.release(obj2);
+        pool.release(obj3);
+
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+        verify(obj1, never()).dispose();
+        verify(obj2, never()).dispose();
+        verify(obj3).dispose();
+    }
+
+
+    /*
+     * Instances that cannot be recycled are disposed instead of returned to the pool
+     */
+    @Test
+    public void testRelease_notRecyclable() {
+        Lifecycle obj1 = pool.acquire();
+        doReturn(false).when(obj1).recycle();
+
+        pool.release(obj1);
+
+        verify(obj1).dispose();
+        assertThat(pool.getIdleCount()).isZero();
+        assertThat(pool.acquire()).isNotSameAs(obj1);
+    }
+
+
+    /*
+     * Exceptions thrown by recycle() prevent reuse, exceptions thrown by dispose() are ignored
+     */
+    @Test
+    public void testRelease_lifecycleExceptions() {
+        Lifecycle obj1 = pool.acquire();
+        doThrow(new IllegalStateException()).when(obj1).recycle();
+        doThrow(new IllegalStateException()).when(obj1).dispose();
+
+        pool.release(obj1);
+
+        assertThat(pool.getIdleCount()).isZero();
+    }
+
+
+    /*
+     * Idle instances are disposed when the pool is closed, released instances afterwards too
+     */
+    @Test
+    public void testClose() {
+        Lifecycle obj1 = pool.acquire();
+        Lifecycle obj2 = pool.acquire();
+        pool.release(obj1);
+
+        pool.close();
+        verify(obj1).dispose();
+        verify(obj2, never()).dispose();
+
+        pool.release(obj2);
+        verify(obj2).dispose();
+        assertThat(pool.getIdleCount()).isZero();
+    }
+
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThatThrownBy(() -> new BoundedObjectPool<>(Object::new, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+
+    /*
+     * Concurrent threads never get the same instance at the same time, and the pool never holds
+     * more than its capacity
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        BoundedObjectPool<Object> sharedPool = new BoundedObjectPool<>(Object::new, 4);
+        Set<Object> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        Object obj = sharedPool.acquire();
+                        if (!inUse.add(obj)) {
+                            return false;
+                        }
+                        inUse.remove(obj);
+                        sharedPool.release(obj);
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(sharedPool.getIdleCount()).isLessThanOrEqualTo(4);
+    }
+}
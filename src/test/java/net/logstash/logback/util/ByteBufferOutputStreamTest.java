@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteBufferOutputStreamTest {
+
+    @Test
+    public void write() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        ByteBufferOutputStream outputStream = new ByteBufferOutputStream(buffer);
+
+        outputStream.write('a');
+        outputStream.write(new byte[] {'b', 'c', 'd'}, 1, 2);
+
+        assertThat(outputStream.isOverflowed()).isFalse();
+        assertThat(outputStream.getCount()).isEqualTo(3);
+        assertThat(buffer.position()).isEqualTo(3);
+    }
+
+
+    @Test
+    public void overflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        ByteBufferOutputStream outputStream = new ByteBufferOutputStream(buffer);
+
+        outputStream.write(new byte[] {'a', 'b', 'c'}, 0, 3);
+        outputStream.write(new byte[] {'d', 'e'}, 0, 2);
+        outputStream.write('f');
+
+        // bytes are counted but no longer written once overflowed
+        assertThat(outputStream.isOverflowed()).isTrue();
+        assertThat(outputStream.getCount()).isEqualTo(6);
+        assertThat(buffer.position()).isEqualTo(3);
+
+        // a new buffer resets the state
+        outputStream.setBuffer(ByteBuffer.allocate(4));
+        assertThat(outputStream.isOverflowed()).isFalse();
+        assertThat(outputStream.getCount()).isZero();
+    }
+
+    @Test
+    public void noBuffer() {
+        ByteBufferOutputStream outputStream = new ByteBufferOutputStream();
+
+        outputStream.write('a');
+        assertThat(outputStream.isOverflowed()).isTrue();
+        assertThat(outputStream.getCount()).isEqualTo(1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        outputStream.setBuffer(buffer);
+        outputStream.write('b');
+        assertThat(outputStream.isOverflowed()).isFalse();
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+}
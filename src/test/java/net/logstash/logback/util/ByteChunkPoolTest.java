@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.Test;
+
+public class ByteChunkPoolTest {
+
+    @Test
+    public void invalidChunkSize() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new ByteChunkPool(0, 1));
+    }
+
+
+    @Test
+    public void sharedByContext() {
+        LoggerContext context = new LoggerContext();
+
+        ByteChunkPool pool = ByteChunkPool.getShared(context);
+        assertThat(pool.getChunkSize()).isEqualTo(ByteChunkPool.DEFAULT_CHUNK_SIZE);
+        assertThat(ByteChunkPool.getShared(context)).isSameAs(pool);
+        assertThat(ByteChunkPool.getShared(new LoggerContext())).isNotSameAs(pool);
+    }
+
+
+    @Test
+    public void sharedSettingsFromFirstComponent() {
+        LoggerContext context = new LoggerContext();
+
+        ByteChunkPool pool = ByteChunkPool.getShared(context, 1024, 3);
+        assertThat(pool.getChunkSize()).isEqualTo(1024);
+        assertThat(pool.getMaxChunks()).isEqualTo(3);
+        assertThat(ByteChunkPool.getShared(context, 2048, 5)).isSameAs(pool);
+    }
+
+
+    @Test
+    public void buffersBorrowChunks() throws IOException {
+        ByteChunkPool pool = new ByteChunkPool(8, 2);
+        ReusableByteBuffer buffer = new ReusableByteBuffer(4, pool);
+
+        byte[] content = "0123456789abcdefghij".getBytes();
+        buffer.write(content);
+        assertThat(buffer.toByteArray()).containsExactly(content);
+        assertThat(buffer.capacity()).isEqualTo(4 + 8 + 8);
+        assertThat(pool.getIdleCount()).isZero();
+
+        buffer.reset();
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+
+        // chunks are reused by other buffers
+        ReusableByteBuffer other = new ReusableByteBuffer(4, pool);
+        other.write(content);
+        assertThat(other.toByteArray()).containsExactly(content);
+        assertThat(pool.getIdleCount()).isZero();
+
+        // idle chunks are bounded by the pool size
+        buffer.write(content);
+        buffer.write(content);
+        buffer.reset();
+        other.reset();
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+    }
+
+
+    @Test
+    public void foreignChunksNotRecycled() {
+        ByteChunkPool pool = new ByteChunkPool(8, 2);
+        pool.release(new byte[16]);
+        assertThat(pool.getIdleCount()).isZero();
+    }
+}
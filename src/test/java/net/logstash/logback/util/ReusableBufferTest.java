@@ -22,6 +22,8 @@ import static org.assertj.core.api.Assertions.assertThatIOException;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
@@ -80,6 +82,26 @@ public class ReusableBufferTest {
     }
     
     
+    @Test
+    public void resetWithCapacity() throws IOException {
+        ReusableByteBuffer buffer = new ReusableByteBuffer(4);
+
+        buffer.write(helloBytes);
+        assertThat(buffer.capacity()).isEqualTo(4 + 8);
+
+        buffer.reset(16);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.getInitialCapacity()).isEqualTo(16);
+        assertThat(buffer.capacity()).isEqualTo(16);
+
+        buffer.write(helloBytes);
+        assertThat(buffer.toByteArray()).containsExactly(helloBytes);
+        assertThat(buffer.capacity()).isEqualTo(16);
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> buffer.reset(0));
+    }
+    
+    
     @Test
     public void close() {
         ReusableByteBuffer buffer = new ReusableByteBuffer();
@@ -102,4 +124,27 @@ public class ReusableBufferTest {
         buffer.writeTo(baos);
         assertThat(baos.toByteArray()).isEqualTo(this.helloBytes);
     }
+
+
+    @Test
+    public void writeToByteBuffer() throws IOException {
+        ReusableByteBuffer buffer = new ReusableByteBuffer(2);
+        buffer.write(this.helloBytes);
+
+        ByteBuffer target = ByteBuffer.allocate(this.helloBytes.length);
+        buffer.writeTo(target);
+        assertThat(target.array()).isEqualTo(this.helloBytes);
+        assertThat(target.hasRemaining()).isFalse();
+    }
+
+
+    @Test
+    public void writeToByteBuffer_overflow() throws IOException {
+        ReusableByteBuffer buffer = new ReusableByteBuffer();
+        buffer.write(this.helloBytes);
+
+        ByteBuffer target = ByteBuffer.allocate(this.helloBytes.length - 1);
+        assertThatExceptionOfType(BufferOverflowException.class).isThrownBy(() -> buffer.writeTo(target));
+        assertThat(target.position()).isZero();
+    }
 }
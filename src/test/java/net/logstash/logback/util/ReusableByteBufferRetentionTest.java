@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.logstash.logback.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+public class ReusableByteBufferRetentionTest {
+
+    @Test
+    public void invalidCapacities() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new ReusableByteBufferRetention(0));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new ReusableByteBufferRetention(1024, 512, true));
+    }
+
+
+    @Test
+    public void fixedCapacity() throws IOException {
+        ReusableByteBufferRetention retention = new ReusableByteBufferRetention(1024);
+
+        ReusableByteBuffer buffer = retention.newBuffer();
+        assertThat(retention.getRetainedBytes()).isEqualTo(1024);
+
+        for (int i = 0; i < ReusableByteBufferRetention.UPDATE_SAMPLES; i++) {
+            buffer.write(new byte[5000]);
+            retention.recycle(buffer);
+        }
+
+        assertThat(buffer.getInitialCapacity()).isEqualTo(1024);
+        assertThat(retention.getTargetCapacity()).isEqualTo(1024);
+        assertThat(retention.getSizePercentile(0.9)).isZero();
+        assertThat(retention.getRetainedBytes()).isEqualTo(1024);
+
+        retention.dispose(buffer);
+        assertThat(retention.getRetainedBytes()).isZero();
+    }
+
+
+    @Test
+    public void adaptiveCapacity() throws IOException {
+        ReusableByteBufferRetention retention = new ReusableByteBufferRetention(1024, 16384, true);
+        ReusableByteBuffer buffer = retention.newBuffer();
+
+        // 90% of the events fit in 4096 bytes
+        recycle(retention, buffer, 3000, ReusableByteBufferRetention.UPDATE_SAMPLES - 6);
+        recycle(retention, buffer, 100_000, 6);
+        assertThat(retention.getSizePercentile(0.9)).isEqualTo(4096);
+        assertThat(retention.getTargetCapacity()).isEqualTo(4096);
+
+        // Grown on next recycle
+        recycle(retention, buffer, 10, 1);
+        assertThat(buffer.getInitialCapacity()).isEqualTo(4096);
+        assertThat(retention.getRetainedBytes()).isEqualTo(4096);
+
+        // Large events are bounded by the high-water mark
+        recycle(retention, buffer, 1_000_000, ReusableByteBufferRetention.UPDATE_SAMPLES * 10);
+        assertThat(retention.getTargetCapacity()).isEqualTo(16384);
+        assertThat(buffer.getInitialCapacity()).isEqualTo(16384);
+
+        // New buffers use the adapted capacity
+        ReusableByteBuffer other = retention.newBuffer();
+        assertThat(other.getInitialCapacity()).isEqualTo(16384);
+        assertThat(retention.getRetainedBytes()).isEqualTo(2 * 16384);
+
+        // Trimmed back when events get smaller
+        recycle(retention, buffer, 10, ReusableByteBufferRetention.DECAY_SAMPLES * 2);
+        assertThat(retention.getTargetCapacity()).isEqualTo(1024);
+        assertThat(buffer.getInitialCapacity()).isEqualTo(1024);
+        assertThat(retention.getRetainedBytes()).isEqualTo(1024 + 16384);
+    }
+
+
+    @Test
+    public void pools() {
+        ReusableByteBufferRetention retention = new ReusableByteBufferRetention(1024);
+        ThreadLocalReusableByteBuffer threadLocal = new ThreadLocalReusableByteBuffer(retention);
+        threadLocal.acquire();
+        threadLocal.release();
+        assertThat(retention.getRetainedBytes()).isEqualTo(1024);
+
+        threadLocal.close();
+        assertThat(retention.getRetainedBytes()).isZero();
+
+        BoundedReusableByteBufferPool bounded = new BoundedReusableByteBufferPool(retention, 1);
+        ReusableByteBuffer first = bounded.acquire();
+        ReusableByteBuffer second = bounded.acquire();
+        assertThat(retention.getRetainedBytes()).isEqualTo(2048);
+
+        bounded.release(first);
+        bounded.release(second); // pool is full
+        assertThat(retention.getRetainedBytes()).isEqualTo(1024);
+        assertThat(bounded.getRetention()).isSameAs(retention);
+    }
+
+
+    private static void recycle(ReusableByteBufferRetention retention, ReusableByteBuffer buffer, int size, int count) throws IOException {
+        byte[] content = new byte[size];
+        for (int i = 0; i < count; i++) {
+            buffer.write(content);
+            retention.recycle(buffer);
+        }
+    }
+}